@@ -0,0 +1,206 @@
+package AI;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Az AIBenchmark osztály az AI motorok forró útvonalait méri JMH-val.
+ * Az AI csomagban van, hogy a védett findWinningMove és checkWin metódusok is mérhetők legyenek.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AIBenchmark {
+
+    /**
+     * Egy 3x3-as és egy 5x5-ös állás, üres és játék közbeni változatban.
+     */
+    @State(Scope.Thread)
+    public static class Positions {
+        @Param({"3x3", "5x5"})
+        public String size;
+
+        @Param({"empty", "midgame"})
+        public String position;
+
+        char[][] board;
+        AIParent ai;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            boolean large = size.equals("5x5");
+            board = new char[large ? 5 : 3][large ? 5 : 3];
+            if (position.equals("midgame")) {
+                if (large) {
+                    board[2][2] = 'X';
+                    board[1][1] = 'O';
+                    board[2][3] = 'X';
+                    board[3][1] = 'O';
+                } else {
+                    board[1][1] = 'X';
+                    board[0][0] = 'O';
+                    board[2][1] = 'X';
+                    board[0][1] = 'O';
+                }
+            }
+            ai = large ? new TicTacToeAI5x5(board, 'O', 'X') : new TicTacToeAI(board, 'O', 'X');
+        }
+    }
+
+    /**
+     * 3x3-as állás a lépésválasztás méréséhez.
+     */
+    @State(Scope.Thread)
+    public static class Board3x3 {
+        @Param({"empty", "midgame"})
+        public String position;
+
+        char[][] board;
+        TicTacToeAI ai;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            board = new char[3][3];
+            if (position.equals("midgame")) {
+                board[1][1] = 'X';
+                board[0][0] = 'O';
+                board[2][1] = 'X';
+                board[0][1] = 'O';
+            }
+            ai = new TicTacToeAI(board, 'O', 'X');
+        }
+    }
+
+    /**
+     * Rögzített mélységű 5x5-ös keresés; minden híváshoz friss transzpozíciós tábla tartozik.
+     */
+    @State(Scope.Thread)
+    public static class Search5x5 {
+        @Param({"4", "6"})
+        public int depth;
+
+        TicTacToeAI5x5 ai;
+
+        @Setup(Level.Invocation)
+        public void setUp() {
+            char[][] board = new char[5][5];
+            board[2][2] = 'X';
+            board[1][1] = 'O';
+            board[2][3] = 'X';
+            ai = new TicTacToeAI5x5(board, 'O', 'X', 60_000); // Az időkorlát itt nem szólhat bele
+            ai.setMaxDepth(depth);
+            ai.setProofBudget(0); // Csak az alfa-béta keresést mérjük
+        }
+    }
+
+    /**
+     * A párhuzamos gyökérfelosztás: szálanként saját ForkJoinPool.
+     */
+    @State(Scope.Thread)
+    public static class ParallelSearch {
+        @Param({"1", "4", "16"})
+        public int threads;
+
+        ForkJoinPool pool;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            pool = new ForkJoinPool(threads);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * 3x3: a táblás válasz ideje.
+     */
+    @Benchmark
+    public int[] getBestMove3x3(Board3x3 board) {
+        return board.ai.getBestMove();
+    }
+
+    /**
+     * 3x3: a teljes alfa-béta keresés ideje friss transzpozíciós táblával.
+     */
+    @Benchmark
+    public int[] searchBestMove3x3(Board3x3 board) {
+        return new TicTacToeAI(board.board, 'O', 'X').searchBestMove();
+    }
+
+    /**
+     * 5x5: a rögzített mélységű keresés ideje.
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public int[] getBestMove5x5(Search5x5 search) {
+        return search.ai.getBestMove();
+    }
+
+    /**
+     * 5x5: a rögzített mélységű keresés ideje a gyökérlépések párhuzamos felosztásával.
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public int[] getBestMoveParallel5x5(Search5x5 search, ParallelSearch parallel) {
+        search.ai.setParallel(parallel.pool);
+        return search.ai.getBestMove();
+    }
+
+    /**
+     * A bizonyítószám-keresés: nyitott hármas kikényszerített nyerésének bizonyítása üres táblával.
+     */
+    @Benchmark
+    public ProofNumberSearch.Result proveOpenThree5x5() {
+        BitBoard bits = new BitBoard(5, 4);
+        bits.place(11, 'X');
+        bits.place(12, 'X');
+        bits.place(0, 'O');
+        bits.place(4, 'O');
+        return new ProofNumberSearch(5, 4, 1 << 12).prove(bits, 'X', 'X', 1_000_000, Long.MAX_VALUE);
+    }
+
+    /**
+     * 5x5: 10 000 UCT lejátszás a megadott számú szálon (gyökérpárhuzamosítás).
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public int[] monteCarlo5x5(ParallelSearch parallel) {
+        char[][] board = new char[5][5];
+        board[2][2] = 'X';
+        board[1][1] = 'O';
+        board[2][3] = 'X';
+        MonteCarloAI ai = new MonteCarloAI(board, 'O', 'X', 4, 60_000);
+        ai.setPlayoutLimit(10_000);
+        ai.setThreads(parallel.threads);
+        return ai.getBestMove();
+    }
+
+    @Benchmark
+    public int[] findWinningMove(Positions positions) {
+        return positions.ai.findWinningMove('O');
+    }
+
+    @Benchmark
+    public boolean checkWin(Positions positions) {
+        return positions.ai.checkWin('X');
+    }
+}
@@ -0,0 +1,34 @@
+package Benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * A BenchmarkRunner osztály az összes JMH mérést futtatja a GC profilerrel (foglalási ráta),
+ * és az eredményt gépileg feldolgozható JSON fájlba írja, hogy a verziók összevethetők legyenek.
+ */
+public class BenchmarkRunner {
+
+    /**
+     * A program belépési pontja.
+     *
+     * @param args Opcionálisan az eredményfájl neve (alapértelmezés: jmh-result.json)
+     *             és egy reguláris kifejezés a futtatandó mérésekre.
+     * @throws RunnerException Ha a mérés nem futtatható.
+     */
+    public static void main(String[] args) throws RunnerException {
+        String resultFile = args.length > 0 ? args[0] : "jmh-result.json";
+        String include = args.length > 1 ? args[1] : "(AI|Logic)\\..*Benchmark";
+        Options options = new OptionsBuilder()
+                .include(include)
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result(resultFile)
+                .build();
+        new Runner(options).run();
+    }
+}
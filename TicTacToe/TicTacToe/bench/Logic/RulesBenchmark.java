@@ -0,0 +1,109 @@
+package Logic;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * A RulesBenchmark osztály a szabályok forró útvonalait méri: a GamePanel győzelem- és
+ * döntetlenvizsgálatát, valamint a GameState lépés/visszavonás ciklusát. A végtelen táblán
+ * ugyanez a ciklus a kövek számától függetlenül közel állandó idejű kell, hogy legyen.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class RulesBenchmark {
+
+    @State(Scope.Thread)
+    public static class Panel {
+        @Param({"3x3", "5x5"})
+        public String size;
+
+        GamePanel panel;
+        GameState state;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            panel = new GamePanel("Player vs Player", size);
+            state = panel.state;
+            // Nem nyerő, félig teli állás: a győzelemvizsgálatnak minden vonalat be kell járnia
+            int n = state.getSize();
+            for (int i = 0; i < n * n / 2; i++) {
+                int cell = (i * 7) % (n * n);
+                if (state.isLegal(cell / n, cell % n)) {
+                    state.applyMove(cell / n, cell % n);
+                    if (state.isGameOver()) {
+                        state.undo();
+                        break;
+                    }
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public boolean gamePanelCheckWin(Panel panel) {
+        return panel.panel.checkWin();
+    }
+
+    @Benchmark
+    public boolean gamePanelCheckDraw(Panel panel) {
+        return panel.panel.checkDraw();
+    }
+
+    /**
+     * Egy szabályos lépés végrehajtása és visszavonása (győzelem- és döntetlenvizsgálattal együtt).
+     */
+    @Benchmark
+    public boolean applyAndUndo(Panel panel) {
+        GameState state = panel.state;
+        int n = state.getSize();
+        for (int cell = 0; cell < n * n; cell++) {
+            if (state.applyMove(cell / n, cell % n)) {
+                return state.undo();
+            }
+        }
+        return false;
+    }
+
+    @State(Scope.Thread)
+    public static class Infinite {
+        @Param({"100", "10000"})
+        public int stones;
+
+        InfiniteGameState state;
+        int row;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            state = new InfiniteGameState(InfiniteGameState.DEFAULT_WIN_CONDITION);
+            // Hosszú játszma szétszórt kövekkel (senki sem nyer)
+            for (int i = 0; i < stones; i++) {
+                state.applyMove(i * 3, (i % 2) * 7 - i);
+            }
+            row = stones * 3 + 100;
+        }
+    }
+
+    /**
+     * Lépés és visszavonás a végtelen táblán (jelöltek frissítése és győzelemvizsgálat).
+     */
+    @Benchmark
+    public boolean infiniteApplyAndUndo(Infinite infinite) {
+        infinite.state.applyMove(infinite.row, 0);
+        return infinite.state.undo();
+    }
+}
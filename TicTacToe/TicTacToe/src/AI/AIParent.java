@@ -1,5 +1,7 @@
 package AI;
 
+import java.util.concurrent.atomic.LongAdder;
+
 /**
  * Az AIParent osztály egy absztrakt osztály, amely általános funkciókat biztosít 
  * Tic-Tac-Toe mesterséges intelligencia (AI) számára.
@@ -9,6 +11,10 @@ public abstract class AIParent {
     protected char aiPlayer; // Az AI által használt karakter (X vagy O)
     protected char humanPlayer; // Az ember által használt karakter (X vagy O)
     protected int winCondition; // A győzelemhez szükségesek száma
+    protected final BitBoard bits; // A tábla bitmaszkos másolata, ezen fut a keresés (null, ha a tábla nem fér bele)
+    protected volatile boolean cancelled; // Kérték-e a keresés leállítását
+    private volatile SearchStats lastStats; // Az utolsó keresés mérőszámai
+    private final LongAdder workerAllocated = new LongAdder(); // A munkaszálakon lefoglalt memória az utolsó keresésben
 
     /**
      * Konstruktor a tábla és a játékosok inicializálására.
@@ -23,14 +29,189 @@ public abstract class AIParent {
         this.aiPlayer = aiPlayer;
         this.humanPlayer = humanPlayer;
         this.winCondition = winCondition;
+        // A 64 cellánál nagyobb vagy nem négyzetes táblákon csak a bittáblát nem használó motorok (pl. MonteCarloAI) futnak
+        this.bits = board.length == board[0].length && board.length * board.length <= BitBoard.MAX_CELLS
+                ? new BitBoard(board.length, winCondition) : null;
+    }
+
+    /**
+     * Konstruktor a char[][] táblát nem használó motorokhoz (pl. a végtelen tábla AI-ja, lásd InfiniteAI).
+     *
+     * @param aiPlayer     Az AI karaktere.
+     * @param humanPlayer  Az ember karaktere.
+     * @param winCondition A győzelem feltétele.
+     */
+    protected AIParent(char aiPlayer, char humanPlayer, int winCondition) {
+        this.board = null;
+        this.aiPlayer = aiPlayer;
+        this.humanPlayer = humanPlayer;
+        this.winCondition = winCondition;
+        this.bits = null;
+    }
+
+    /**
+     * Betölti a közös char[][] tábla aktuális állapotát a bittáblába.
+     * Minden nyilvános belépési pont ezzel kezd, mert a táblát kívülről is módosíthatják.
+     */
+    protected void syncFromBoard() {
+        if (bits != null) {
+            bits.load(board);
+        }
+    }
+
+    /**
+     * Cellaindexből koordinátapárt készít.
+     *
+     * @param cell A cella indexe (sor * oszlopszám + oszlop), vagy -1.
+     * @return A koordináták {sor, oszlop}, vagy {-1, -1}, ha a cella -1.
+     */
+    protected int[] toMove(int cell) {
+        if (cell < 0) {
+            return new int[]{-1, -1};
+        }
+        return new int[]{cell / board[0].length, cell % board[0].length};
     }
 
     /**
-     * Meghatározza az AI számára a legjobb lépést.
+     * Egyenletes eloszlással kiválaszt egy üres cellát a bittáblán.
+     *
+     * @return A cella indexe, vagy -1, ha nincs üres cella.
+     */
+    protected int randomEmptyCell() {
+        long empty = bits.emptyBits();
+        int count = Long.bitCount(empty);
+        if (count == 0) {
+            return -1;
+        }
+        for (int skip = (int) (Math.random() * count); skip > 0; skip--) {
+            empty &= empty - 1; // A legalsó bit törlése
+        }
+        return Long.numberOfTrailingZeros(empty);
+    }
+
+    /**
+     * Kooperatív leállítás: egy másik szálról jelzi a futó keresésnek, hogy minél előbb
+     * térjen vissza. A hosszan kereső motorok ezt felülírják, hogy a keresésük is figyelje.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * Visszavonja a korábbi leállítást, hogy a motor újra kereshessen (pl. egy félbehagyott előrekeresés után).
+     * A felülíró motorok a saját kereséseiket is újraindíthatóvá teszik.
+     */
+    public void resume() {
+        cancelled = false;
+    }
+
+    /**
+     * Meghatározza az AI számára a legjobb lépést. A keresés mérőszámait (lásd SearchStats) a getLastStats()
+     * adja, és a SearchMonitor is megkapja; felvétel közben egy tictactoe.AISearch JFR esemény is rögzül.
+     * A lefoglalt memória a hívó szálé és a trackWorker()-rel futtatott munkaszálaké együtt.
      *
      * @return Az optimális lépés koordinátái {sor, oszlop}.
      */
-    public abstract int[] getBestMove();
+    public final int[] getBestMove() {
+        AISearchEvent event = new AISearchEvent(); // JFR esemény; ha nem rögzítünk, a JIT elhagyja
+        event.begin();
+        int[] move;
+        if (SearchStats.ENABLED) {
+            workerAllocated.reset();
+            long allocated = SearchMonitor.allocatedBytes();
+            long start = System.nanoTime();
+            move = findBestMove();
+            long elapsed = System.nanoTime() - start;
+            long allocatedAfter = SearchMonitor.allocatedBytes();
+            lastStats = new SearchStats(getClass().getSimpleName(), getLastNodes(), getLastDepth(), elapsed,
+                    getLastTableProbes(), getLastTableHits(),
+                    allocated < 0 ? -1 : allocatedAfter - allocated + workerAllocated.sum());
+            SearchMonitor.get().record(lastStats);
+        } else {
+            move = findBestMove();
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.engine = getClass().getSimpleName();
+            event.depth = getLastDepth();
+            event.nodes = getLastNodes();
+            event.row = move[0];
+            event.col = move[1];
+            event.cancelled = cancelled;
+            event.commit();
+        }
+        return move;
+    }
+
+    /**
+     * A keresés egy munkaszálon futó része: a szálon közben lefoglalt memóriát a keresés mérőszámaihoz adja.
+     * A motorok a segédszálaikra küldött munkát ezen keresztül futtatják; a munkának a findBestMove()
+     * visszatérése előtt be kell fejeződnie.
+     *
+     * @param work A munkaszálon futó keresésrész.
+     */
+    protected final void trackWorker(Runnable work) {
+        long before = SearchStats.ENABLED ? SearchMonitor.allocatedBytes() : -1;
+        try {
+            work.run();
+        } finally {
+            if (before >= 0) {
+                workerAllocated.add(SearchMonitor.allocatedBytes() - before);
+            }
+        }
+    }
+
+    /**
+     * A motor saját keresése; a getBestMove() ezt hívja és méri.
+     *
+     * @return Az optimális lépés koordinátái {sor, oszlop}.
+     */
+    protected abstract int[] findBestMove();
+
+    /**
+     * @return Az utolsó keresés mérőszámai, vagy null, ha még nem keresett (vagy a mérés ki van kapcsolva).
+     */
+    public SearchStats getLastStats() {
+        return lastStats;
+    }
+
+    /**
+     * @return Az utolsó keresésben vizsgált csomópontok száma (a motorok felülírják).
+     */
+    public long getLastNodes() {
+        return 0;
+    }
+
+    /**
+     * @return Az utolsó keresésben befejezett mélység (a motorok felülírják).
+     */
+    public int getLastDepth() {
+        return 0;
+    }
+
+    /**
+     * Az utolsó keresés értéke a lépő (az AI) szemszögéből: 1 biztos nyerés, -1 biztos vereség, 0 döntetlen
+     * vagy kiegyenlített állás, közte a motor becslése. A motorok felülírják.
+     *
+     * @return Az érték, vagy NaN, ha a motor nem értékelte az állást (pl. kényszerlépésnél vagy táblás lépésnél).
+     */
+    public double getLastScore() {
+        return Double.NaN;
+    }
+
+    /**
+     * @return Az utolsó keresés transzpozíciós-tábla kérdezései (0, ha a motor nem használ táblát).
+     */
+    protected long getLastTableProbes() {
+        return 0;
+    }
+
+    /**
+     * @return Az utolsó keresés transzpozíciós-tábla találatai.
+     */
+    protected long getLastTableHits() {
+        return 0;
+    }
 
     /**
      * Megkeresi a győztes lépést a megadott játékos számára, ha van ilyen.
@@ -54,24 +235,4 @@ public abstract class AIParent {
      * @return A véletlenszerű lépés koordinátái {sor, oszlop}.
      */
     protected abstract int[] pickRandomMove();
-
-    /**
-     * Ellenőrzi, hogy egy sorozat (sor, oszlop vagy átló) teljesül-e egy adott játékos számára.
-     *
-     * @param player    A játékos karaktere.
-     * @param startRow  A kezdősor indexe.
-     * @param startCol  A kezdőoszlop indexe.
-     * @param deltaRow  A sor irányának változása.
-     * @param deltaCol  Az oszlop irányának változása.
-     * @return Igaz, ha a sorozat teljesül; hamis, ha nem.
-     */
-    protected boolean checkLine(char player, int startRow, int startCol, int deltaRow, int deltaCol) {
-        for (int i = 0; i < winCondition; i++) {
-            // Ellenőrizzük, hogy minden pozíció a játékos karakterét tartalmazza-e.
-            if (board[startRow + i * deltaRow][startCol + i * deltaCol] != player) {
-                return false;
-            }
-        }
-        return true;
-    }
 }
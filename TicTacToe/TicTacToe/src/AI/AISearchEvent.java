@@ -0,0 +1,38 @@
+package AI;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Java Flight Recorder esemény egy AI keresésről (egy getBestMove hívás), a motorral, a mélységgel,
+ * a csomópontokkal és a választott lépéssel. Verem nélkül rögzül, így bekapcsolva is olcsó;
+ * a küszöb (threshold) a felvétel beállításaiban állítható, kikapcsolva pedig semmibe sem kerül.
+ */
+@Name("tictactoe.AISearch")
+@Label("AI Search")
+@Category({"TicTacToe", "AI"})
+@Description("One AI move search")
+@StackTrace(false)
+final class AISearchEvent extends Event {
+    @Label("Engine")
+    String engine;
+
+    @Label("Depth")
+    int depth;
+
+    @Label("Nodes")
+    long nodes;
+
+    @Label("Row")
+    int row;
+
+    @Label("Column")
+    int col;
+
+    @Label("Cancelled")
+    boolean cancelled;
+}
@@ -0,0 +1,47 @@
+package AI;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+class AISearchEventTest {
+
+    @Test
+    void testSearchEmitsFlightRecorderEvent() throws Exception {
+        char[][] board = new char[5][5];
+        board[2][2] = 'X';
+        board[1][1] = 'O';
+        board[2][3] = 'X';
+        TicTacToeAI5x5 ai = new TicTacToeAI5x5(board, 'O', 'X', 50);
+        ai.setProofBudget(0);
+        Path file = Files.createTempFile("tictactoe-search", ".jfr");
+        int[] move;
+        try (Recording recording = new Recording()) {
+            recording.enable("tictactoe.AISearch");
+            recording.start();
+            move = ai.getBestMove();
+            recording.stop();
+            recording.dump(file);
+        }
+        try {
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+            assertEquals(1, events.size());
+            RecordedEvent event = events.get(0);
+            assertEquals("TicTacToeAI5x5", event.getString("engine"));
+            assertEquals(ai.getLastDepth(), event.getInt("depth"));
+            assertEquals(ai.getLastNodes(), event.getLong("nodes"));
+            assertEquals(move[0], event.getInt("row"));
+            assertEquals(move[1], event.getInt("col"));
+            assertFalse(event.getBoolean("cancelled"));
+            assertTrue(event.getDuration().toMillis() >= 10); // A keresés az időkeret nagy részét kitölti
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
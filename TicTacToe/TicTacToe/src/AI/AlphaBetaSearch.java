@@ -0,0 +1,414 @@
+package AI;
+
+import java.util.Arrays;
+
+/**
+ * Az AlphaBetaSearch osztály egy iteratívan mélyülő negamax alfa-béta keresést valósít meg a bittáblán.
+ * A levelekben a nyitott vonalszakaszokat számoló heurisztikával értékel, a lépéseket
+ * gyilkos lépések (killer) és előzmény-heurisztika (history) alapján rendezi,
+ * és a megadott határidő lejártakor az utolsó teljesen befejezett mélység legjobb lépését adja vissza.
+ * A transzpozíciós tábla kulcsa a pozíció kanonikus (szimmetria szerinti legkisebb) Zobrist-kulcsa, így a
+ * szimmetrikus pozíciók egy bejegyzésen osztoznak; a gyökérben a szimmetrikusan egyenértékű lépések közül
+ * csak egyet vizsgálunk.
+ * Egy példány egyetlen szálon használható; a Lazy SMP és a gyökérfelosztásos keresés több példányt futtat
+ * párhuzamosan egy közös SharedTranspositionTable-lel.
+ */
+final class AlphaBetaSearch {
+    /** A nyerés pontszáma; a gyorsabb nyerés többet ér (WIN - ply). */
+    static final int WIN = 1_000_000;
+    private static final int MAX_PLY = BitBoard.MAX_CELLS + 1;
+    private static final int TIME_CHECK_INTERVAL = 1024; // Ennyi csomópontonként nézzük az órát
+
+    private final BitBoard bits; // A keresés saját táblája
+    private final SearchTable table; // A pozíciók táblája
+    private final Symmetry symmetry; // A tábla szimmetriái
+    private final long[] imageKeys = new long[Symmetry.COUNT]; // A pozíció 8 képének kulcsa
+    private final int cells; // A cellák száma
+    private final int[] segmentWeights; // Egy nyitott szakasz értéke a benne lévő bábuk száma szerint
+    private final int[][] moveBuffers; // Mélységenként előre lefoglalt lépéslista
+    private final int[][] moveScores; // A lépések rendezési pontszámai
+    private final int[][] killers; // Mélységenként két vágást okozó lépés
+    private final int[][] history; // Játékosonként és cellánként a vágások súlyozott száma
+    private long deadline; // A keresés határideje (System.nanoTime)
+    private boolean aborted; // Lejárt-e az idő
+    private volatile boolean stopped; // Másik szálról kért leállítás
+    private long nodes; // A meglátogatott csomópontok száma
+    private long tableProbes; // A tábla kérdezései (csak ha SearchStats.ENABLED)
+    private long tableHits; // A tábla találatai
+    private int completedDepth; // Az utolsó befejezett mélység
+    private int bestScore; // Az utolsó befejezett mélység pontszáma
+    private int fullDepth; // A játék végéig tartó mélység (az üres cellák száma)
+
+    /**
+     * Konstruktor a keresés inicializálására.
+     *
+     * @param size         A tábla mérete.
+     * @param winCondition A győzelem feltétele.
+     * @param table        A transzpozíciós tábla.
+     */
+    AlphaBetaSearch(int size, int winCondition, SearchTable table) {
+        this.bits = new BitBoard(size, winCondition);
+        this.table = table;
+        this.cells = size * size;
+        this.symmetry = Symmetry.forSize(size);
+        this.segmentWeights = new int[winCondition + 1];
+        for (int count = 1; count < winCondition; count++) {
+            segmentWeights[count] = segmentWeights[count - 1] * 8 + 1; // 1, 9, 73, ...
+        }
+        this.moveBuffers = new int[MAX_PLY][cells];
+        this.moveScores = new int[MAX_PLY][cells];
+        this.killers = new int[MAX_PLY][2];
+        this.history = new int[2][cells];
+    }
+
+    /**
+     * Megkeresi a legjobb lépést iteratív mélyítéssel, amíg a határidő le nem jár.
+     *
+     * @param position     A kiinduló pozíció (nem módosul).
+     * @param toMove       A soron következő játékos karaktere.
+     * @param deadlineNanos A határidő System.nanoTime() szerint.
+     * @param maxDepth     A legnagyobb keresési mélység.
+     * @return A legjobb lépés cellája, vagy -1, ha nincs üres cella.
+     */
+    int search(BitBoard position, char toMove, long deadlineNanos, int maxDepth) {
+        return search(position, toMove, deadlineNanos, maxDepth, 1);
+    }
+
+    /**
+     * Iteratív mélyítés a megadott kezdőmélységtől (a Lazy SMP segédszálai eltolt mélységekkel indulnak).
+     *
+     * @param position      A kiinduló pozíció (nem módosul).
+     * @param toMove        A soron következő játékos karaktere.
+     * @param deadlineNanos A határidő System.nanoTime() szerint.
+     * @param maxDepth      A legnagyobb keresési mélység.
+     * @param firstDepth    Az első iteráció mélysége.
+     * @return A legjobb lépés cellája, vagy -1, ha nincs üres cella.
+     */
+    int search(BitBoard position, char toMove, long deadlineNanos, int maxDepth, int firstDepth) {
+        bits.copyFrom(position);
+        deadline = deadlineNanos;
+        aborted = false;
+        nodes = 0;
+        tableProbes = 0;
+        tableHits = 0;
+        completedDepth = 0;
+        bestScore = 0;
+        for (int[] pair : killers) {
+            pair[0] = -1;
+            pair[1] = -1;
+        }
+        for (int[] side : history) {
+            Arrays.fill(side, 0);
+        }
+
+        int[] rootMoves = moveBuffers[0];
+        int count = rootMoves(bits, rootMoves);
+        if (count == 0) {
+            return -1;
+        }
+        int bestCell = rootMoves[0]; // Ha egy mélység sem fejeződik be, legalább érvényes lépést adunk
+        symmetry.hashes(bits, imageKeys);
+        char opponent = opponent(toMove);
+        fullDepth = Long.bitCount(bits.emptyBits());
+        maxDepth = Math.min(maxDepth, fullDepth);
+
+        for (int depth = Math.min(firstDepth, maxDepth); depth <= maxDepth; depth++) {
+            int alpha = -WIN - 1;
+            int iterationBest = -1;
+            for (int i = 0; i < count; i++) {
+                int cell = rootMoves[i];
+                bits.place(cell, toMove);
+                symmetry.update(imageKeys, cell, toMove);
+                int score = -negamax(opponent, cell, depth - 1, 1, -WIN - 1, -alpha);
+                symmetry.update(imageKeys, cell, toMove);
+                bits.clear(cell);
+                if (aborted) {
+                    break;
+                }
+                if (score > alpha) {
+                    alpha = score;
+                    iterationBest = i;
+                }
+            }
+            if (aborted) {
+                break; // A félbehagyott mélység eredményét eldobjuk
+            }
+            // A legjobb lépés kerül előre, így a következő mélység ezzel kezd
+            int best = rootMoves[iterationBest];
+            System.arraycopy(rootMoves, 0, rootMoves, 1, iterationBest);
+            rootMoves[0] = best;
+            bestCell = best;
+            bestScore = alpha;
+            completedDepth = depth;
+            if (isDecided(alpha)) {
+                break; // Kikényszerített eredmény: a mélyebb keresés nem változtat rajta
+            }
+        }
+        return bestCell;
+    }
+
+    /**
+     * A gyökérlépések: a szimmetrikus pozícióban az egyenértékű lépések közül csak egy.
+     *
+     * @param position A pozíció.
+     * @param moves    A lépések tömbje (legalább annyi elemű, ahány üres cella van).
+     * @return A lépések száma.
+     */
+    int rootMoves(BitBoard position, int[] moves) {
+        long unique = symmetry.uniqueMoves(position.emptyBits(),
+                symmetry.stabilizer(position.bits('X'), position.bits('O')));
+        int count = 0;
+        for (long rest = unique; rest != 0; rest &= rest - 1) {
+            moves[count++] = Long.numberOfTrailingZeros(rest);
+        }
+        return count;
+    }
+
+    /**
+     * Egyetlen gyökérlépés pontos értéke adott mélységben, teljes ablakkal (a gyökérfelosztásos keresés
+     * feladata). A lépésrendezés gyilkos lépései és előzményei a hívások között megmaradnak.
+     *
+     * @param position      A kiinduló pozíció (nem módosul).
+     * @param toMove        A soron következő játékos karaktere.
+     * @param cell          A vizsgált lépés cellája.
+     * @param depth         A keresési mélység a lépéssel együtt.
+     * @param deadlineNanos A határidő System.nanoTime() szerint.
+     * @return A lépés pontszáma a lépő szemszögéből; érvénytelen, ha isAborted().
+     */
+    int searchMove(BitBoard position, char toMove, int cell, int depth, long deadlineNanos) {
+        bits.copyFrom(position);
+        deadline = deadlineNanos;
+        aborted = false;
+        nodes = 0;
+        tableProbes = 0;
+        tableHits = 0;
+        symmetry.hashes(bits, imageKeys);
+        bits.place(cell, toMove);
+        symmetry.update(imageKeys, cell, toMove);
+        int score = -negamax(opponent(toMove), cell, depth - 1, 1, -WIN - 1, WIN + 1);
+        symmetry.update(imageKeys, cell, toMove);
+        bits.clear(cell);
+        return score;
+    }
+
+    /**
+     * @return Igaz, ha az utolsó keresést a határidő vagy a stop() félbeszakította.
+     */
+    boolean isAborted() {
+        return aborted;
+    }
+
+    /**
+     * @return Igaz, ha a pontszám kikényszerített nyerés vagy vereség.
+     */
+    static boolean isDecided(int score) {
+        return Math.abs(score) >= WIN - MAX_PLY;
+    }
+
+    /**
+     * Leállítja a futó keresést; a keresés a legutóbb befejezett mélység eredményével tér vissza.
+     * Bármely szálról hívható.
+     */
+    void stop() {
+        stopped = true;
+    }
+
+    /**
+     * Visszavonja a korábbi leállítást, hogy a példány újra kereshessen.
+     */
+    void resume() {
+        stopped = false;
+    }
+
+    /**
+     * Negamax alfa-béta keresés; a pontszám mindig a soron következő játékos szemszögéből értendő.
+     */
+    private int negamax(char toMove, int lastCell, int depth, int ply, int alpha, int beta) {
+        if ((++nodes & (TIME_CHECK_INTERVAL - 1)) == 0 && (stopped || System.nanoTime() >= deadline)) {
+            aborted = true;
+        }
+        if (aborted) {
+            return 0;
+        }
+        char opponent = opponent(toMove);
+        if (bits.hasWonThrough(opponent, lastCell)) {
+            return -(WIN - ply); // Az előző lépéssel az ellenfél nyert
+        }
+        if (bits.isFull()) {
+            return 0; // Döntetlen
+        }
+        if (depth == 0) {
+            return evaluate(toMove);
+        }
+
+        int originalAlpha = alpha;
+        int originalBeta = beta;
+        long hash = symmetry.canonicalHash(imageKeys, toMove);
+        long entry = table.lookup(hash);
+        if (SearchStats.ENABLED) {
+            tableProbes++;
+            if (entry != SearchTable.NO_ENTRY) {
+                tableHits++;
+            }
+        }
+        if (entry != SearchTable.NO_ENTRY && SearchTable.depth(entry) >= depth) {
+            int stored = fromTable(SearchTable.score(entry), ply);
+            byte bound = SearchTable.bound(entry);
+            if (bound == TranspositionTable.EXACT) return stored;
+            if (bound == TranspositionTable.LOWER) alpha = Math.max(alpha, stored);
+            else beta = Math.min(beta, stored);
+            if (alpha >= beta) return stored;
+        }
+
+        int[] moves = moveBuffers[ply];
+        int[] scores = moveScores[ply];
+        int side = toMove == 'X' ? 0 : 1;
+        int count = 0;
+        for (long empty = bits.emptyBits(); empty != 0; empty &= empty - 1) {
+            int cell = Long.numberOfTrailingZeros(empty);
+            moves[count] = cell;
+            scores[count] = cell == killers[ply][0] ? Integer.MAX_VALUE
+                    : cell == killers[ply][1] ? Integer.MAX_VALUE - 1
+                    : history[side][cell];
+            count++;
+        }
+
+        int best = -WIN - 1;
+        for (int i = 0; i < count; i++) {
+            // Kiválasztásos rendezés menet közben: a vágás után a többit már nem kell rendezni
+            int pick = i;
+            for (int j = i + 1; j < count; j++) {
+                if (scores[j] > scores[pick]) pick = j;
+            }
+            int cell = moves[pick];
+            moves[pick] = moves[i];
+            moves[i] = cell;
+            int tmp = scores[pick];
+            scores[pick] = scores[i];
+            scores[i] = tmp;
+
+            bits.place(cell, toMove);
+            symmetry.update(imageKeys, cell, toMove);
+            int score = -negamax(opponent, cell, depth - 1, ply + 1, -beta, -alpha);
+            symmetry.update(imageKeys, cell, toMove);
+            bits.clear(cell);
+            if (aborted) {
+                return 0;
+            }
+            if (score > best) {
+                best = score;
+            }
+            if (best > alpha) {
+                alpha = best;
+            }
+            if (alpha >= beta) {
+                if (killers[ply][0] != cell) {
+                    killers[ply][1] = killers[ply][0];
+                    killers[ply][0] = cell;
+                }
+                history[side][cell] += depth * depth;
+                break; // Vágás
+            }
+        }
+
+        byte bound = best <= originalAlpha ? TranspositionTable.UPPER
+                : best >= originalBeta ? TranspositionTable.LOWER
+                : TranspositionTable.EXACT;
+        table.store(hash, toTable(best, ply), depth, bound);
+        return best;
+    }
+
+    /**
+     * Heurisztikus kiértékelés: minden olyan nyerő vonal, amelyben csak az egyik játékos bábui
+     * vannak, a bábuk számával meredeken növekvő értéket ér az adott játékosnak.
+     *
+     * @param toMove A soron következő játékos, akinek szemszögéből értékelünk.
+     * @return A pozíció becsült értéke.
+     */
+    private int evaluate(char toMove) {
+        long mine = bits.bits(toMove);
+        long theirs = bits.bits(opponent(toMove));
+        int score = 0;
+        for (long mask : bits.winMasks()) {
+            long m = mine & mask;
+            long t = theirs & mask;
+            if (t == 0) {
+                score += segmentWeights[Long.bitCount(m)];
+            } else if (m == 0) {
+                score -= segmentWeights[Long.bitCount(t)];
+            }
+        }
+        return score;
+    }
+
+    /**
+     * A nyerési pontszámot a csomóponttól mért távolságra alakítja, hogy a tábla bejegyzése
+     * bármely mélységben újrahasználható legyen.
+     */
+    private static int toTable(int score, int ply) {
+        if (score >= WIN - MAX_PLY) return score + ply;
+        if (score <= -(WIN - MAX_PLY)) return score - ply;
+        return score;
+    }
+
+    private static int fromTable(int score, int ply) {
+        if (score >= WIN - MAX_PLY) return score - ply;
+        if (score <= -(WIN - MAX_PLY)) return score + ply;
+        return score;
+    }
+
+    private static char opponent(char player) {
+        return player == 'X' ? 'O' : 'X';
+    }
+
+    SearchTable getTable() {
+        return table;
+    }
+
+    long getNodes() {
+        return nodes;
+    }
+
+    long getTableProbes() {
+        return tableProbes;
+    }
+
+    long getTableHits() {
+        return tableHits;
+    }
+
+    int getCompletedDepth() {
+        return completedDepth;
+    }
+
+    int getBestScore() {
+        return bestScore;
+    }
+
+    /**
+     * Az utolsó befejezett mélység értéke a lépő szemszögéből: ±1 kikényszerített nyerés vagy vereség, 0 döntetlen,
+     * ha a keresés a játék végéig ért. Egyébként a heurisztikus pontszám tanh-ja, egy nyerés előtti nyitott
+     * szakasz értékével skálázva, így a becslés a ±1-et nem éri el.
+     *
+     * @return Az érték, vagy NaN, ha egy mélység sem fejeződött be.
+     */
+    double getBestValue() {
+        return completedDepth == 0 ? Double.NaN : value(bestScore, completedDepth, fullDepth);
+    }
+
+    /**
+     * Egy pontszám értéke -1 és 1 között (lásd getBestValue).
+     *
+     * @param score     A pontszám a lépő szemszögéből.
+     * @param depth     A keresés mélysége.
+     * @param fullDepth A játék végéig tartó mélység.
+     * @return Az érték.
+     */
+    double value(int score, int depth, int fullDepth) {
+        if (score >= WIN - MAX_PLY) return 1;
+        if (score <= -(WIN - MAX_PLY)) return -1;
+        if (depth >= fullDepth) return 0;
+        int scale = Math.max(1, segmentWeights[Math.max(0, segmentWeights.length - 2)]);
+        return Math.tanh((double) score / scale);
+    }
+}
@@ -0,0 +1,743 @@
+package AI;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Az Arena osztály két AI motort játszat egymás ellen fej nélkül, sok játszmán át, párhuzamosan.
+ * A játszmák egy ForkJoinPool munkalopó szálain futnak; minden szál a saját táblájával és a saját
+ * motorpéldányaival játszik, amelyeket játszmáról játszmára újrahasznál (a motorok nem szálbiztosak,
+ * és a táblák lefoglalása a rövid játszmák idejének nagy része lenne).
+ * <p>
+ * A játszmák párokban futnak: egy pár mindkét játszmája ugyanazzal a véletlen megnyitással indul
+ * (a kezdőértékből és a pár sorszámából), és a motorok színt cserélnek, így a kezdés előnye kiesik.
+ * A lépésenkénti időkeretet a motorok kapják meg a létrehozáskor. Ha egy motor szabálytalan lépést ad,
+ * a játszmát elveszíti.
+ * <p>
+ * Az eredmények a befejezés sorrendjében érkeznek a figyelőhöz, mindegyik a pillanatnyi állással
+ * (Standings): az A motor Elo-különbsége hibahatárral, és ha be van kapcsolva, az SPRT
+ * log-likelihood aránya. Ha az SPRT döntött, a még el nem kezdett játszmák elmaradnak.
+ */
+public final class Arena {
+    private static final double Z_95 = 1.959964; // A 95%-os konfidenciaintervallum kvantilise
+    private static final double PRIOR = 0.5; // Az SPRT képzeletbeli játszmái eredményenként
+
+    /**
+     * Motorgyár: a játszó szál tábláján hozza létre a motort. Minden szál színenként egy példányt kér,
+     * és azt a játszmái során újrahasznosítja.
+     */
+    public interface Engine {
+        /**
+         * @param board        A játszó szál táblája (az aréna írja a lépések között).
+         * @param player       A motor karaktere.
+         * @param opponent     Az ellenfél karaktere.
+         * @param winCondition A győzelemhez szükséges szimbólumok száma.
+         * @param moveMillis   A lépésenkénti időkeret ezredmásodpercben.
+         * @return A motor.
+         */
+        AIParent create(char[][] board, char player, char opponent, int winCondition, long moveMillis);
+    }
+
+    /**
+     * Az eredmények figyelője. A hívások sorban (egyszerre egy) érkeznek, bármelyik játszó szálról.
+     */
+    public interface Listener {
+        void gameFinished(Game game, Standings standings);
+    }
+
+    /**
+     * Az SPRT döntése.
+     */
+    public enum Decision {
+        /** Még nincs döntés (vagy az SPRT nincs bekapcsolva). */
+        CONTINUE,
+        /** Az A motor nem erősebb elo0-nál (H0). */
+        ACCEPT_H0,
+        /** Az A motor legalább elo1-gyel erősebb (H1). */
+        ACCEPT_H1
+    }
+
+    /**
+     * Egy lejátszott játszma.
+     */
+    public static final class Game {
+        private final int index;
+        private final int[] opening;
+        private final boolean engineAIsX;
+        private final char winner;
+        private final int plies;
+        private final boolean forfeit;
+        private final long elapsedNanos;
+
+        Game(int index, int[] opening, boolean engineAIsX, char winner, int plies, boolean forfeit,
+             long elapsedNanos) {
+            this.index = index;
+            this.opening = opening;
+            this.engineAIsX = engineAIsX;
+            this.winner = winner;
+            this.plies = plies;
+            this.forfeit = forfeit;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        /**
+         * @return A megnyitás lépései cellaindexként (sor * oszlopszám + oszlop), X kezd.
+         */
+        public int[] getOpening() {
+            return opening.clone();
+        }
+
+        public boolean isEngineAX() {
+            return engineAIsX;
+        }
+
+        /**
+         * @return A győztes karaktere, vagy 0 döntetlennél.
+         */
+        public char getWinner() {
+            return winner;
+        }
+
+        public int getPlies() {
+            return plies;
+        }
+
+        /**
+         * @return Igaz, ha a vesztes szabálytalan lépéssel veszített.
+         */
+        public boolean isForfeit() {
+            return forfeit;
+        }
+
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        /**
+         * @return Az A motor pontja: 1 győzelem, 0.5 döntetlen, 0 vereség.
+         */
+        public double getScore() {
+            if (winner == 0) {
+                return 0.5;
+            }
+            return (winner == 'X') == engineAIsX ? 1 : 0;
+        }
+    }
+
+    /**
+     * Az A motor állása a B ellen, logisztikus Elo-modellel. Az SPRT a fishtest-féle általánosított
+     * (trinomiális) közelítés: LLR = N (s1 - s0) (2s - s0 - s1) / (2 szórásnégyzet).
+     */
+    public static final class Standings {
+        private final int wins;
+        private final int draws;
+        private final int losses;
+        private final boolean sprt;
+        private final double elo0;
+        private final double elo1;
+        private final double alpha;
+        private final double beta;
+
+        /**
+         * @param wins   Az A motor győzelmei.
+         * @param draws  A döntetlenek.
+         * @param losses Az A motor vereségei.
+         * @param sprt   Számoljunk-e SPRT-t (különben az LLR NaN, a döntés CONTINUE).
+         * @param elo0   A H0 Elo-különbsége.
+         * @param elo1   A H1 Elo-különbsége.
+         * @param alpha  Az elsőfajú hiba valószínűsége.
+         * @param beta   A másodfajú hiba valószínűsége.
+         */
+        public Standings(int wins, int draws, int losses, boolean sprt, double elo0, double elo1,
+                         double alpha, double beta) {
+            this.wins = wins;
+            this.draws = draws;
+            this.losses = losses;
+            this.sprt = sprt;
+            this.elo0 = elo0;
+            this.elo1 = elo1;
+            this.alpha = alpha;
+            this.beta = beta;
+        }
+
+        public int getWins() {
+            return wins;
+        }
+
+        public int getDraws() {
+            return draws;
+        }
+
+        public int getLosses() {
+            return losses;
+        }
+
+        public int getGames() {
+            return wins + draws + losses;
+        }
+
+        /**
+         * @return Az A motor átlagos pontja (0..1), vagy 0.5, ha még nem volt játszma.
+         */
+        public double getScore() {
+            int games = getGames();
+            return games == 0 ? 0.5 : (wins + draws * 0.5) / games;
+        }
+
+        /**
+         * @return Az A motor Elo-előnye (végtelen, ha minden játszmát megnyert vagy elveszített).
+         */
+        public double getElo() {
+            return elo(getScore());
+        }
+
+        /**
+         * @return A 95%-os hibahatár Elo-pontban (végtelen, ha a pontszám a 0 vagy 1 szélén van).
+         */
+        public double getEloMargin() {
+            int games = getGames();
+            double score = getScore();
+            if (games == 0 || score <= 0 || score >= 1) {
+                return Double.POSITIVE_INFINITY;
+            }
+            double deviation = Math.sqrt(variance(wins, draws, losses) / games);
+            return (elo(score + Z_95 * deviation) - elo(score - Z_95 * deviation)) / 2;
+        }
+
+        /**
+         * A log-likelihood arány. A győzelmek, döntetlenek és vereségek számához fél-fél képzeletbeli játszmát
+         * adunk, így a szórás akkor sem nulla, ha minden játszma egyformán végződött (pl. csupa győzelem).
+         *
+         * @return Az arány (NaN, ha az SPRT nincs bekapcsolva; 0, amíg nem volt játszma).
+         */
+        public double getLlr() {
+            if (!sprt) {
+                return Double.NaN;
+            }
+            if (getGames() == 0) {
+                return 0;
+            }
+            double w = wins + PRIOR;
+            double d = draws + PRIOR;
+            double l = losses + PRIOR;
+            double games = w + d + l;
+            double score = (w + d * 0.5) / games;
+            double s0 = expectedScore(elo0);
+            double s1 = expectedScore(elo1);
+            return games * (s1 - s0) * (2 * score - s0 - s1) / (2 * variance(w, d, l));
+        }
+
+        /**
+         * @return Az alsó döntési határ: ln(beta / (1 - alpha)).
+         */
+        public double getLowerBound() {
+            return Math.log(beta / (1 - alpha));
+        }
+
+        /**
+         * @return A felső döntési határ: ln((1 - beta) / alpha).
+         */
+        public double getUpperBound() {
+            return Math.log((1 - beta) / alpha);
+        }
+
+        public Decision getDecision() {
+            if (!sprt) {
+                return Decision.CONTINUE;
+            }
+            double llr = getLlr();
+            return llr >= getUpperBound() ? Decision.ACCEPT_H1
+                    : llr <= getLowerBound() ? Decision.ACCEPT_H0 : Decision.CONTINUE;
+        }
+
+        @Override
+        public String toString() {
+            String result = String.format(Locale.ROOT, "%d games: +%d =%d -%d, score %.1f%%, Elo %+.1f +/- %.1f",
+                    getGames(), wins, draws, losses, getScore() * 100, getElo(), getEloMargin());
+            if (sprt) {
+                result += String.format(Locale.ROOT, ", LLR %.2f [%.2f, %.2f] %s", getLlr(), getLowerBound(),
+                        getUpperBound(), getDecision());
+            }
+            return result;
+        }
+
+        /**
+         * Egy játszma pontjának szórásnégyzete a győzelmek, döntetlenek és vereségek arányából.
+         */
+        private static double variance(double wins, double draws, double losses) {
+            double games = wins + draws + losses;
+            double score = (wins + draws * 0.5) / games;
+            return (wins * (1 - score) * (1 - score) + draws * (0.5 - score) * (0.5 - score)
+                    + losses * score * score) / games;
+        }
+
+        private static double elo(double score) {
+            if (score <= 0) {
+                return Double.NEGATIVE_INFINITY;
+            }
+            if (score >= 1) {
+                return Double.POSITIVE_INFINITY;
+            }
+            return -400 * Math.log10(1 / score - 1) + 0.0; // Az 50%-os pont -0.0 helyett 0
+        }
+
+        private static double expectedScore(double elo) {
+            return 1 / (1 + Math.pow(10, -elo / 400));
+        }
+    }
+
+    private final int rows; // Sorok száma
+    private final int cols; // Oszlopok száma
+    private final int winCondition; // A győzelemhez szükséges szimbólumok száma
+    private long moveMillis = 20; // Lépésenkénti időkeret
+    private int openingPlies = 2; // A véletlen megnyitás lépéseinek száma
+    private long seed = 1; // A megnyitások kezdőértéke
+    private int threads = Runtime.getRuntime().availableProcessors(); // A játszó szálak száma
+    private boolean sprt; // Be van-e kapcsolva az SPRT
+    private double elo0 = 0; // Az SPRT nullhipotézise
+    private double elo1 = 10; // Az SPRT alternatív hipotézise
+    private double alpha = 0.05; // Elsőfajú hiba
+    private double beta = 0.05; // Másodfajú hiba
+
+    // Egy futás állapota (a run() idejére)
+    private int wins; // Az A motor győzelmei
+    private int draws; // Döntetlenek
+    private int losses; // Az A motor vereségei
+    private volatile boolean decided; // Döntött-e az SPRT
+
+    /**
+     * Konstruktor az aréna inicializálására.
+     *
+     * @param rows         A sorok száma.
+     * @param cols         Az oszlopok száma.
+     * @param winCondition A győzelemhez szükséges szimbólumok száma.
+     */
+    public Arena(int rows, int cols, int winCondition) {
+        if (rows < 1 || cols < 1 || winCondition < 1 || winCondition > Math.max(rows, cols)) {
+            throw new IllegalArgumentException("Unsupported rules: " + rows + "x" + cols + ", k=" + winCondition);
+        }
+        this.rows = rows;
+        this.cols = cols;
+        this.winCondition = winCondition;
+    }
+
+    /**
+     * @param moveMillis A lépésenkénti időkeret ezredmásodpercben (a motorok a létrehozáskor kapják meg).
+     */
+    public void setMoveMillis(long moveMillis) {
+        this.moveMillis = Math.max(1, moveMillis);
+    }
+
+    /**
+     * @param openingPlies A véletlen megnyitás lépéseinek száma (0: üres tábláról indul).
+     */
+    public void setOpeningPlies(int openingPlies) {
+        this.openingPlies = Math.max(0, openingPlies);
+    }
+
+    /**
+     * @param seed A megnyitások kezdőértéke (azonos értékkel ugyanazok a megnyitások).
+     */
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * @param threads A játszó szálak száma (legalább 1).
+     */
+    public void setThreads(int threads) {
+        this.threads = Math.max(1, threads);
+    }
+
+    /**
+     * Bekapcsolja az SPRT-t: ha a log-likelihood arány átlépi valamelyik határt, a futás leáll.
+     *
+     * @param elo0  A H0 Elo-különbsége (pl. 0).
+     * @param elo1  A H1 Elo-különbsége (pl. 10).
+     * @param alpha Az elsőfajú hiba valószínűsége (pl. 0.05).
+     * @param beta  A másodfajú hiba valószínűsége (pl. 0.05).
+     */
+    public void setSprt(double elo0, double elo1, double alpha, double beta) {
+        if (!(elo0 < elo1) || !(alpha > 0 && alpha < 1) || !(beta > 0 && beta < 1)) {
+            throw new IllegalArgumentException("Invalid SPRT parameters: " + elo0 + ", " + elo1 + ", "
+                    + alpha + ", " + beta);
+        }
+        this.sprt = true;
+        this.elo0 = elo0;
+        this.elo1 = elo1;
+        this.alpha = alpha;
+        this.beta = beta;
+    }
+
+    /**
+     * Lejátssza a játszmákat. A páros sorszámú játszmákban az A motor, a páratlanokban a B motor kezd.
+     *
+     * @param engineA  Az A motor gyára.
+     * @param engineB  A B motor gyára.
+     * @param games    A játszmák száma.
+     * @param listener Az eredmények figyelője, vagy null.
+     * @return A végső állás az A motor szemszögéből.
+     * @throws InterruptedException Ha a várakozást megszakították.
+     */
+    public Standings run(Engine engineA, Engine engineB, int games, Listener listener) throws InterruptedException {
+        synchronized (this) {
+            wins = 0;
+            draws = 0;
+            losses = 0;
+            decided = false;
+        }
+        ThreadLocal<Seat> seats = ThreadLocal.withInitial(() -> new Seat(engineA, engineB));
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            pool.submit(() -> IntStream.range(0, games).parallel().forEach(index -> {
+                if (!decided) {
+                    record(seats.get().play(index), listener);
+                }
+            })).get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException("Arena game failed", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+        return standings();
+    }
+
+    private synchronized void record(Game game, Listener listener) {
+        double score = game.getScore();
+        if (score == 1) {
+            wins++;
+        } else if (score == 0) {
+            losses++;
+        } else {
+            draws++;
+        }
+        Standings standings = standings();
+        decided = standings.getDecision() != Decision.CONTINUE;
+        if (listener != null) {
+            listener.gameFinished(game, standings);
+        }
+    }
+
+    private synchronized Standings standings() {
+        return new Standings(wins, draws, losses, sprt, elo0, elo1, alpha, beta);
+    }
+
+    /**
+     * Egy játszó szál állapota: a tábla és a motorok, színenként egy-egy példány.
+     */
+    private final class Seat {
+        private final Engine engineA;
+        private final Engine engineB;
+        private final char[][] board = new char[rows][cols];
+        private final AIParent[] engines = new AIParent[4]; // [A mint X, A mint O, B mint X, B mint O]
+
+        Seat(Engine engineA, Engine engineB) {
+            this.engineA = engineA;
+            this.engineB = engineB;
+        }
+
+        Game play(int index) {
+            long start = System.nanoTime();
+            boolean engineAIsX = index % 2 == 0;
+            for (char[] row : board) {
+                Arrays.fill(row, (char) 0);
+            }
+            int[] opening = playOpening(new SplittableRandom(seed + index / 2));
+            int plies = opening.length;
+            char toMove = plies % 2 == 0 ? 'X' : 'O';
+            while (plies < rows * cols) {
+                boolean engineAMoves = (toMove == 'X') == engineAIsX;
+                AIParent engine = engine(engineAMoves, toMove);
+                engine.resume();
+                int[] move = engine.getBestMove();
+                char opponent = toMove == 'X' ? 'O' : 'X';
+                if (move == null || move[0] < 0 || move[0] >= rows || move[1] < 0 || move[1] >= cols
+                        || board[move[0]][move[1]] != 0) {
+                    return new Game(index, opening, engineAIsX, opponent, plies, true, System.nanoTime() - start);
+                }
+                board[move[0]][move[1]] = toMove;
+                plies++;
+                if (wins(move[0], move[1], toMove)) {
+                    return new Game(index, opening, engineAIsX, toMove, plies, false, System.nanoTime() - start);
+                }
+                toMove = opponent;
+            }
+            return new Game(index, opening, engineAIsX, (char) 0, plies, false, System.nanoTime() - start);
+        }
+
+        /**
+         * Véletlen megnyitás: minden lépés egyenletesen választ azok közül az üres cellák közül,
+         * amelyek nem nyernek azonnal (a megnyitás nem döntheti el a játszmát).
+         */
+        private int[] playOpening(SplittableRandom random) {
+            int[] opening = new int[Math.min(openingPlies, rows * cols - 1)];
+            int[] candidates = new int[rows * cols];
+            for (int ply = 0; ply < opening.length; ply++) {
+                char player = ply % 2 == 0 ? 'X' : 'O';
+                int count = 0;
+                for (int cell = 0; cell < rows * cols; cell++) {
+                    int row = cell / cols;
+                    int col = cell % cols;
+                    if (board[row][col] == 0) {
+                        board[row][col] = player;
+                        if (!wins(row, col, player)) {
+                            candidates[count++] = cell;
+                        }
+                        board[row][col] = 0;
+                    }
+                }
+                if (count == 0) {
+                    return Arrays.copyOf(opening, ply);
+                }
+                int cell = candidates[random.nextInt(count)];
+                board[cell / cols][cell % cols] = player;
+                opening[ply] = cell;
+            }
+            return opening;
+        }
+
+        private AIParent engine(boolean engineAMoves, char player) {
+            int slot = (engineAMoves ? 0 : 2) + (player == 'X' ? 0 : 1);
+            if (engines[slot] == null) {
+                char opponent = player == 'X' ? 'O' : 'X';
+                engines[slot] = (engineAMoves ? engineA : engineB).create(board, player, opponent, winCondition,
+                        moveMillis);
+            }
+            return engines[slot];
+        }
+
+        /**
+         * Nyert-e a player a (row, col) cellára tett lépéssel: a négy irány valamelyikében elérte-e a sor a feltételt.
+         */
+        private boolean wins(int row, int col, char player) {
+            int[][] directions = {{0, 1}, {1, 0}, {1, 1}, {1, -1}};
+            for (int[] direction : directions) {
+                int count = 1;
+                for (int sign = -1; sign <= 1; sign += 2) {
+                    int r = row + sign * direction[0];
+                    int c = col + sign * direction[1];
+                    while (r >= 0 && r < rows && c >= 0 && c < cols && board[r][c] == player) {
+                        count++;
+                        r += sign * direction[0];
+                        c += sign * direction[1];
+                    }
+                }
+                if (count >= winCondition) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * A beépített motorok név szerint, opcionális beállításokkal: "perfect" (3x3 tökéletes kereső),
+     * "alphabeta[:depth=N,proof=N,mb=N]" (egyszálú alfa-béta, a végjátéktáblával, ha van) és
+     * "mcts[:playouts=N]" (egyszálú Monte Carlo fakeresés).
+     *
+     * @param spec A motor leírása.
+     * @return A motorgyár.
+     */
+    public static Engine engine(String spec) {
+        int colon = spec.indexOf(':');
+        String name = colon < 0 ? spec : spec.substring(0, colon);
+        long depth = 0;
+        long proof = -1;
+        long megabytes = 4;
+        long playouts = 0;
+        if (colon >= 0) {
+            for (String option : spec.substring(colon + 1).split(",")) {
+                int equals = option.indexOf('=');
+                if (equals < 0) {
+                    throw new IllegalArgumentException("Invalid engine option: " + option);
+                }
+                String key = option.substring(0, equals);
+                long value = Long.parseLong(option.substring(equals + 1));
+                switch (key) {
+                    case "depth": depth = value; break;
+                    case "proof": proof = value; break;
+                    case "mb": megabytes = value; break;
+                    case "playouts": playouts = value; break;
+                    default: throw new IllegalArgumentException("Unknown engine option: " + key);
+                }
+            }
+        }
+        long maxDepth = depth;
+        long proofNodes = proof;
+        int tableMegabytes = (int) megabytes;
+        int playoutLimit = (int) playouts;
+        switch (name) {
+            case "perfect":
+                return (board, player, opponent, k, millis) -> {
+                    if (board.length != 3 || board[0].length != 3 || k != 3) {
+                        throw new IllegalArgumentException("The perfect engine only plays 3x3, 3 in a row");
+                    }
+                    return new TicTacToeAI(board, player, opponent);
+                };
+            case "alphabeta":
+                return (board, player, opponent, k, millis) -> {
+                    TicTacToeAI5x5 ai = new TicTacToeAI5x5(board, player, opponent, k, millis, 1,
+                            new SharedTranspositionTable(tableMegabytes));
+                    if (maxDepth > 0) {
+                        ai.setMaxDepth((int) maxDepth);
+                    }
+                    if (proofNodes >= 0) {
+                        ai.setProofBudget(proofNodes);
+                    }
+                    ai.setTablebase(Tablebase.find(board.length, k));
+                    return ai;
+                };
+            case "mcts":
+                return (board, player, opponent, k, millis) -> {
+                    MonteCarloAI ai = new MonteCarloAI(board, player, opponent, k, millis);
+                    if (playoutLimit > 0) {
+                        ai.setPlayoutLimit(playoutLimit);
+                    }
+                    return ai;
+                };
+            default:
+                throw new IllegalArgumentException("Unknown engine: " + name);
+        }
+    }
+
+    /**
+     * Egy játszma CSV sora: sorszám, X és O motor, megnyitás, győztes, A pontja, lépések, feladás, idő.
+     */
+    static String csv(Game game, String nameA, String nameB) {
+        return String.format(Locale.ROOT, "%d,%s,%s,%s,%s,%s,%d,%b,%.1f", game.getIndex(),
+                game.isEngineAX() ? nameA : nameB, game.isEngineAX() ? nameB : nameA, opening(game, " "),
+                game.getWinner() == 0 ? "draw" : String.valueOf(game.getWinner()), score(game.getScore()),
+                game.getPlies(), game.isForfeit(), game.getElapsedNanos() / 1e6);
+    }
+
+    /**
+     * Egy játszma JSON objektuma (egy sorban), a játszma utáni állással.
+     */
+    static String json(Game game, String nameA, String nameB, Standings standings) {
+        return String.format(Locale.ROOT, "{\"game\":%d,\"x\":\"%s\",\"o\":\"%s\",\"opening\":[%s],\"winner\":%s,"
+                        + "\"score\":%s,\"plies\":%d,\"forfeit\":%b,\"millis\":%.1f,\"elo\":%s,\"llr\":%s}",
+                game.getIndex(), game.isEngineAX() ? nameA : nameB, game.isEngineAX() ? nameB : nameA,
+                opening(game, ","), game.getWinner() == 0 ? "null" : "\"" + game.getWinner() + "\"",
+                score(game.getScore()), game.getPlies(), game.isForfeit(), game.getElapsedNanos() / 1e6,
+                number(standings.getElo()), number(standings.getLlr()));
+    }
+
+    private static String opening(Game game, String separator) {
+        StringBuilder result = new StringBuilder();
+        for (int cell : game.getOpening()) {
+            result.append(result.length() == 0 ? "" : separator).append(cell);
+        }
+        return result.toString();
+    }
+
+    private static String score(double score) {
+        return score == 0.5 ? "0.5" : score == 1 ? "1" : "0";
+    }
+
+    private static String number(double value) {
+        return Double.isFinite(value) ? String.format(Locale.ROOT, "%.2f", value) : "null"; // A JSON nem ismeri a NaN-t
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length < 2) {
+            System.err.println("Usage: java AI.Arena <engineA> <engineB> [games] [--size N|RxC] [--k K] [--time ms]"
+                    + " [--openings plies] [--seed S] [--threads T] [--sprt elo0,elo1[,alpha,beta]]"
+                    + " [--format csv|json] [--out file]");
+            System.err.println("Engines: perfect, alphabeta[:depth=N,proof=N,mb=N], mcts[:playouts=N]");
+            System.exit(2);
+        }
+        String nameA = args[0];
+        String nameB = args[1];
+        int games = 1000;
+        int rows = 5;
+        int cols = 5;
+        int k = 4;
+        long time = 20;
+        int openings = 2;
+        long seed = 1;
+        int threads = Runtime.getRuntime().availableProcessors();
+        double[] sprt = null;
+        String format = "csv";
+        String out = null;
+        for (int i = 2; i < args.length; i++) {
+            String arg = args[i];
+            if (!arg.startsWith("--")) {
+                games = Integer.parseInt(arg);
+                continue;
+            }
+            String value = ++i < args.length ? args[i] : "";
+            switch (arg) {
+                case "--size":
+                    String[] size = value.split("x");
+                    rows = Integer.parseInt(size[0]);
+                    cols = Integer.parseInt(size[size.length - 1]);
+                    break;
+                case "--k": k = Integer.parseInt(value); break;
+                case "--time": time = Long.parseLong(value); break;
+                case "--openings": openings = Integer.parseInt(value); break;
+                case "--seed": seed = Long.parseLong(value); break;
+                case "--threads": threads = Integer.parseInt(value); break;
+                case "--format": format = value; break;
+                case "--out": out = value; break;
+                case "--sprt":
+                    String[] parts = value.split(",");
+                    sprt = new double[]{Double.parseDouble(parts[0]), Double.parseDouble(parts[1]),
+                            parts.length > 2 ? Double.parseDouble(parts[2]) : 0.05,
+                            parts.length > 3 ? Double.parseDouble(parts[3]) : 0.05};
+                    break;
+                default:
+                    System.err.println("Unknown option: " + arg);
+                    System.exit(2);
+            }
+        }
+        boolean json = format.equals("json");
+        if (!json && !format.equals("csv")) {
+            System.err.println("Unknown format: " + format);
+            System.exit(2);
+        }
+
+        Arena arena = new Arena(rows, cols, k);
+        arena.setMoveMillis(time);
+        arena.setOpeningPlies(openings);
+        arena.setSeed(seed);
+        arena.setThreads(threads);
+        if (sprt != null) {
+            arena.setSprt(sprt[0], sprt[1], sprt[2], sprt[3]);
+        }
+        int progress = Math.max(1, games / 20); // Nagyjából 20 köztes állás a konzolra
+        try (PrintStream output = out == null ? new PrintStream(System.out, false, "UTF-8")
+                : new PrintStream(Files.newOutputStream(Paths.get(out)), false, "UTF-8")) {
+            if (!json) {
+                output.println("game,x,o,opening,winner,score_a,plies,forfeit,millis");
+            }
+            long start = System.nanoTime();
+            Standings standings = arena.run(engine(nameA), engine(nameB), games, (game, current) -> {
+                output.println(json ? json(game, nameA, nameB, current) : csv(game, nameA, nameB));
+                if (current.getGames() % progress == 0) {
+                    System.err.println(current);
+                }
+            });
+            double seconds = (System.nanoTime() - start) / 1e9;
+            if (output.checkError()) {
+                throw new IOException("Failed to write results");
+            }
+            System.err.printf(Locale.ROOT, "%s vs %s: %s%n%.1f games/s (%d games in %.1f s, %d threads)%n",
+                    nameA, nameB, standings, standings.getGames() / seconds, standings.getGames(), seconds, threads);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package AI;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class ArenaTest {
+
+    @Test
+    void testPerfectPlayDrawsWithAlternatingColours() throws InterruptedException {
+        Arena arena = new Arena(3, 3, 3);
+        arena.setThreads(2);
+        arena.setOpeningPlies(0);
+        List<Arena.Game> games = new ArrayList<>();
+        Arena.Standings standings = arena.run(Arena.engine("perfect"), Arena.engine("perfect"), 12,
+                (game, current) -> games.add(game));
+        assertEquals(12, standings.getGames());
+        assertEquals(12, standings.getDraws()); // Tökéletes játékkal minden játszma döntetlen
+        assertEquals(0, standings.getElo(), 1e-9);
+        assertEquals(12, games.size());
+        for (Arena.Game game : games) {
+            assertEquals(game.getIndex() % 2 == 0, game.isEngineAX()); // A páros játszmákban A kezd
+            assertEquals(9, game.getPlies());
+        }
+    }
+
+    @Test
+    void testPairsShareSeededOpening() throws InterruptedException {
+        Arena arena = new Arena(5, 5, 4);
+        arena.setThreads(2);
+        arena.setOpeningPlies(3);
+        arena.setSeed(42);
+        int[][] first = openings(arena, 6);
+        int[][] second = openings(arena, 6);
+        for (int pair = 0; pair < 3; pair++) {
+            assertEquals(3, first[2 * pair].length);
+            assertArrayEquals(first[2 * pair], first[2 * pair + 1]); // Színcsere, azonos megnyitás
+        }
+        for (int game = 0; game < 6; game++) {
+            assertArrayEquals(first[game], second[game]); // Azonos kezdőértékkel ugyanazok a megnyitások
+        }
+    }
+
+    @Test
+    void testIllegalMoveForfeits() throws InterruptedException {
+        Arena arena = new Arena(3, 3, 3);
+        arena.setThreads(1);
+        arena.setOpeningPlies(0);
+        Arena.Standings standings = arena.run(CornerAI::new, Arena.engine("perfect"), 4, null);
+        assertEquals(4, standings.getLosses());
+        assertEquals(Double.NEGATIVE_INFINITY, standings.getElo());
+    }
+
+    @Test
+    void testEloAndSprt() {
+        Arena.Standings even = new Arena.Standings(30, 40, 30, true, 0, 10, 0.05, 0.05);
+        assertEquals(0, even.getElo(), 1e-9);
+        assertTrue(even.getEloMargin() > 0);
+        assertTrue(even.getLlr() < 0); // 0 Elo közelebb van H0-hoz
+
+        Arena.Standings strong = new Arena.Standings(600, 200, 200, true, 0, 10, 0.05, 0.05);
+        assertEquals(-400 * Math.log10(1 / 0.7 - 1), strong.getElo(), 1e-9);
+        assertEquals(Arena.Decision.ACCEPT_H1, strong.getDecision());
+        assertEquals(Math.log(0.95 / 0.05), strong.getUpperBound(), 1e-12);
+
+        Arena.Standings weak = new Arena.Standings(200, 200, 600, true, 0, 10, 0.05, 0.05);
+        assertEquals(Arena.Decision.ACCEPT_H0, weak.getDecision());
+        assertEquals(Arena.Decision.CONTINUE, new Arena.Standings(600, 200, 200, false, 0, 10, 0.05, 0.05)
+                .getDecision());
+    }
+
+    @Test
+    void testSprtStopsEarly() throws InterruptedException {
+        Arena arena = new Arena(3, 3, 3);
+        arena.setThreads(1);
+        arena.setOpeningPlies(0);
+        arena.setSprt(0, 50, 0.05, 0.05);
+        Arena.Standings standings = arena.run(Arena.engine("perfect"), CornerAI::new, 1000, null);
+        assertEquals(Arena.Decision.ACCEPT_H1, standings.getDecision());
+        assertTrue(standings.getGames() < 1000);
+    }
+
+    /**
+     * Mindig a bal felső sarokba lép, így a második lépése már szabálytalan.
+     */
+    private static final class CornerAI extends AIParent {
+        CornerAI(char[][] board, char player, char opponent, int winCondition, long moveMillis) {
+            super(board, player, opponent, winCondition);
+        }
+
+        @Override
+        protected int[] findBestMove() {
+            return new int[]{0, 0};
+        }
+
+        @Override
+        protected int[] findWinningMove(char player) {
+            return null;
+        }
+
+        @Override
+        protected boolean checkWin(char player) {
+            return false;
+        }
+
+        @Override
+        protected int[] pickRandomMove() {
+            return new int[]{0, 0};
+        }
+    }
+
+    private static int[][] openings(Arena arena, int games) throws InterruptedException {
+        int[][] openings = new int[games][];
+        arena.run(Arena.engine("mcts:playouts=50"), Arena.engine("mcts:playouts=50"), games,
+                (game, current) -> openings[game.getIndex()] = game.getOpening());
+        return openings;
+    }
+}
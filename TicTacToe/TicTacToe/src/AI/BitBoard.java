@@ -0,0 +1,262 @@
+package AI;
+
+/**
+ * A BitBoard osztály a tábla bitmaszkos ábrázolását valósítja meg az AI-k számára.
+ * Játékosonként egy long maszkot tart nyilván (a cella indexe: sor * méret + oszlop),
+ * és az adott (méret, győzelmi feltétel) párhoz tartozó összes nyerő vonalat
+ * előre kiszámolt maszkként tárolja. Legfeljebb 64 cellás (8x8-as) táblát kezel.
+ */
+public final class BitBoard {
+    /** A legnagyobb tábla, amely egy long maszkba belefér. */
+    public static final int MAX_CELLS = Long.SIZE;
+
+    private final int size; // A tábla mérete
+    private final int winCondition; // A győzelemhez szükségesek száma
+    private final long[] winMasks; // Az összes nyerő vonal maszkja
+    private final long[][] cellWinMasks; // Cellánként az adott cellán átmenő nyerő vonalak
+    private final long fullMask; // Minden cella bitje
+    private long xBits; // X bábui
+    private long oBits; // O bábui
+
+    /**
+     * Konstruktor egy üres bittábla létrehozására.
+     *
+     * @param size         A tábla mérete.
+     * @param winCondition A győzelem feltétele (pl. 3 egy sorban).
+     */
+    public BitBoard(int size, int winCondition) {
+        if (size * size > MAX_CELLS) {
+            throw new IllegalArgumentException("Board too large for BitBoard: " + size + "x" + size);
+        }
+        this.size = size;
+        this.winCondition = winCondition;
+        this.winMasks = buildWinMasks(size, winCondition);
+        this.cellWinMasks = buildCellWinMasks(size, winMasks);
+        this.fullMask = size * size == MAX_CELLS ? -1L : (1L << (size * size)) - 1;
+    }
+
+    /**
+     * Előállítja az összes nyerő vonal maszkját (sorok, oszlopok és mindkét átló irány).
+     */
+    static long[] buildWinMasks(int size, int winCondition) {
+        int[][] directions = {{0, 1}, {1, 0}, {1, 1}, {1, -1}};
+        long[] buffer = new long[4 * size * size];
+        int count = 0;
+        for (int[] dir : directions) {
+            for (int row = 0; row < size; row++) {
+                for (int col = 0; col < size; col++) {
+                    int endRow = row + (winCondition - 1) * dir[0];
+                    int endCol = col + (winCondition - 1) * dir[1];
+                    if (endRow < 0 || endRow >= size || endCol < 0 || endCol >= size) {
+                        continue; // A vonal kilógna a tábláról
+                    }
+                    long mask = 0L;
+                    for (int i = 0; i < winCondition; i++) {
+                        mask |= 1L << ((row + i * dir[0]) * size + col + i * dir[1]);
+                    }
+                    buffer[count++] = mask;
+                }
+            }
+        }
+        long[] masks = new long[count];
+        System.arraycopy(buffer, 0, masks, 0, count);
+        return masks;
+    }
+
+    /**
+     * Cellánként kigyűjti azokat a nyerő vonalakat, amelyek az adott cellát tartalmazzák.
+     */
+    static long[][] buildCellWinMasks(int size, long[] winMasks) {
+        long[][] result = new long[size * size][];
+        for (int cell = 0; cell < size * size; cell++) {
+            long bit = 1L << cell;
+            int count = 0;
+            for (long mask : winMasks) {
+                if ((mask & bit) != 0) count++;
+            }
+            result[cell] = new long[count];
+            int i = 0;
+            for (long mask : winMasks) {
+                if ((mask & bit) != 0) result[cell][i++] = mask;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Betölti a karaktertábla állapotát (híd a GamePanel char[][] táblája felől).
+     *
+     * @param board A játék tábla.
+     */
+    public void load(char[][] board) {
+        long x = 0L, o = 0L;
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                char c = board[row][col];
+                if (c == 'X') {
+                    x |= 1L << (row * size + col);
+                } else if (c == 'O') {
+                    o |= 1L << (row * size + col);
+                }
+            }
+        }
+        xBits = x;
+        oBits = o;
+    }
+
+    /**
+     * Átmásolja egy azonos méretű bittábla állapotát (pl. szálanként külön keresési táblához).
+     *
+     * @param other A másolandó bittábla.
+     */
+    public void copyFrom(BitBoard other) {
+        xBits = other.xBits;
+        oBits = other.oBits;
+    }
+
+    /**
+     * Visszaírja a bittábla állapotát egy karaktertáblába (híd a GamePanel felé).
+     *
+     * @param board A felülírandó játék tábla.
+     */
+    public void store(char[][] board) {
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                long bit = 1L << (row * size + col);
+                board[row][col] = (xBits & bit) != 0 ? 'X' : (oBits & bit) != 0 ? 'O' : 0;
+            }
+        }
+    }
+
+    /**
+     * Lerak egy bábut az adott cellára.
+     *
+     * @param cell   A cella indexe.
+     * @param player A játékos karaktere.
+     */
+    public void place(int cell, char player) {
+        if (player == 'X') {
+            xBits |= 1L << cell;
+        } else {
+            oBits |= 1L << cell;
+        }
+    }
+
+    /**
+     * Leveszi a bábut az adott celláról.
+     *
+     * @param cell A cella indexe.
+     */
+    public void clear(int cell) {
+        long keep = ~(1L << cell);
+        xBits &= keep;
+        oBits &= keep;
+    }
+
+    /**
+     * Ellenőrzi, hogy a megadott játékos nyert-e (az összes nyerő vonal vizsgálatával).
+     *
+     * @param player A játékos karaktere.
+     * @return Igaz, ha a játékos nyert; hamis, ha nem.
+     */
+    public boolean hasWon(char player) {
+        long bits = bits(player);
+        for (long mask : winMasks) {
+            if ((bits & mask) == mask) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Ellenőrzi, hogy az adott cellára lépő játékos nyert-e. Csak a cellán átmenő
+     * vonalakat vizsgálja, ezért a keresés minden csomópontjában ezt érdemes használni.
+     *
+     * @param player A játékos karaktere.
+     * @param cell   Az utoljára elfoglalt cella indexe.
+     * @return Igaz, ha a lépéssel nyert a játékos.
+     */
+    public boolean hasWonThrough(char player, int cell) {
+        long bits = bits(player);
+        for (long mask : cellWinMasks[cell]) {
+            if ((bits & mask) == mask) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Megkeresi azt az üres cellát, amellyel a játékos azonnal nyerne.
+     *
+     * @param player A játékos karaktere.
+     * @return A nyerő cella indexe, vagy -1, ha nincs ilyen.
+     */
+    public int findWinningCell(char player) {
+        long bits = bits(player);
+        long empty = emptyBits();
+        long winning = 0L;
+        for (long mask : winMasks) {
+            long missing = mask & ~bits;
+            // Pontosan egy cella hiányzik, és az üres
+            if ((missing & (missing - 1)) == 0) {
+                winning |= missing & empty;
+            }
+        }
+        // A legkisebb indexű (sorfolytonosan első) nyerő cellát adjuk vissza
+        return winning == 0 ? -1 : Long.numberOfTrailingZeros(winning);
+    }
+
+    /**
+     * @param player A játékos karaktere.
+     * @return A játékos bábuinak maszkja.
+     */
+    public long bits(char player) {
+        return player == 'X' ? xBits : oBits;
+    }
+
+    /**
+     * @return Az üres cellák maszkja.
+     */
+    public long emptyBits() {
+        return fullMask & ~(xBits | oBits);
+    }
+
+    /**
+     * @return Igaz, ha nincs több üres cella.
+     */
+    public boolean isFull() {
+        return (xBits | oBits) == fullMask;
+    }
+
+    /**
+     * @return Az elfoglalt cellák száma.
+     */
+    public int occupiedCount() {
+        return Long.bitCount(xBits | oBits);
+    }
+
+    /**
+     * @return Az összes nyerő vonal maszkja (csak olvasásra).
+     */
+    long[] winMasks() {
+        return winMasks;
+    }
+
+    /**
+     * @param cell A cella indexe.
+     * @return A cellán átmenő nyerő vonalak maszkjai (csak olvasásra).
+     */
+    long[] winMasksThrough(int cell) {
+        return cellWinMasks[cell];
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public int getWinCondition() {
+        return winCondition;
+    }
+}
@@ -0,0 +1,54 @@
+package AI;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+class BitBoardTest {
+
+    @Test
+    void testWinMaskCount() {
+        assertEquals(8, new BitBoard(3, 3).winMasks().length); // 3 sor, 3 oszlop, 2 átló
+        assertEquals(28, new BitBoard(5, 4).winMasks().length); // 10 sor, 10 oszlop, 8 átló
+    }
+
+    @Test
+    void testLoadAndStoreRoundTrip() {
+        char[][] board = {
+            {'X', 'O', 0},
+            {0, 'X', 0},
+            {'O', 0, 0}
+        };
+        BitBoard bits = new BitBoard(3, 3);
+        bits.load(board);
+        char[][] copy = new char[3][3];
+        bits.store(copy);
+        for (int row = 0; row < 3; row++) {
+            assertArrayEquals(board[row], copy[row]);
+        }
+        assertEquals(4, bits.occupiedCount());
+    }
+
+    @Test
+    void testHasWonThroughLastCell() {
+        BitBoard bits = new BitBoard(5, 4);
+        bits.place(6, 'X');
+        bits.place(12, 'X');
+        bits.place(18, 'X');
+        assertFalse(bits.hasWon('X'));
+        bits.place(24, 'X'); // (4, 4): átló kiegészítése
+        assertTrue(bits.hasWonThrough('X', 24));
+        assertTrue(bits.hasWon('X'));
+        assertFalse(bits.hasWon('O'));
+    }
+
+    @Test
+    void testFindWinningCellIgnoresOccupied() {
+        BitBoard bits = new BitBoard(3, 3);
+        bits.place(0, 'O');
+        bits.place(1, 'O');
+        bits.place(2, 'X'); // A sor blokkolva
+        assertEquals(-1, bits.findWinningCell('O'));
+        bits.place(3, 'O');
+        assertEquals(6, bits.findWinningCell('O')); // Oszlop kiegészítése (2, 0)
+    }
+}
@@ -0,0 +1,163 @@
+package AI;
+
+import java.util.Arrays;
+
+/**
+ * A CellMap osztály egy primitív, nyílt címzésű (lineáris próbálkozású) hasítótábla,
+ * amely becsomagolt (sor, oszlop) cellakulcsokhoz int értéket rendel. Nem csomagol be
+ * semmit (nincs Long/Integer), és törléskor visszatolja a lánc elemeit, így sírkövek sem gyűlnek.
+ * A 0 érték a "nincs bejegyzés"-t jelenti.
+ */
+final class CellMap {
+    private static final long FREE = Long.MIN_VALUE; // Üres rés (ilyen cellakulcs nem fordul elő)
+
+    private long[] keys;
+    private int[] values;
+    private int mask;
+    private int size;
+
+    CellMap() {
+        this(16);
+    }
+
+    CellMap(int capacity) {
+        int slots = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        keys = new long[slots];
+        values = new int[slots];
+        Arrays.fill(keys, FREE);
+        mask = slots - 1;
+    }
+
+    /**
+     * Másoló konstruktor.
+     */
+    CellMap(CellMap other) {
+        keys = other.keys.clone();
+        values = other.values.clone();
+        mask = other.mask;
+        size = other.size;
+    }
+
+    /**
+     * @return A kulcshoz tartozó érték, vagy 0, ha nincs ilyen kulcs.
+     */
+    int get(long key) {
+        for (int slot = slot(key); ; slot = (slot + 1) & mask) {
+            long stored = keys[slot];
+            if (stored == key) return values[slot];
+            if (stored == FREE) return 0;
+        }
+    }
+
+    /**
+     * Beállítja a kulcs értékét; a 0 érték törli a kulcsot.
+     */
+    void put(long key, int value) {
+        if (value == 0) {
+            remove(key);
+            return;
+        }
+        int slot = find(key);
+        if (keys[slot] == FREE) {
+            keys[slot] = key;
+            size++;
+        }
+        values[slot] = value;
+        if (size * 2 > keys.length) {
+            grow();
+        }
+    }
+
+    /**
+     * Hozzáadja a változást a kulcs értékéhez; ha az eredmény 0, a kulcsot töröljük.
+     *
+     * @return Az új érték.
+     */
+    int add(long key, int delta) {
+        int value = get(key) + delta;
+        put(key, value);
+        return value;
+    }
+
+    /**
+     * Törli a kulcsot, és a lánc további elemeit visszatolja a felszabadult résbe.
+     *
+     * @return Igaz, ha a kulcs benne volt.
+     */
+    boolean remove(long key) {
+        int hole = find(key);
+        if (keys[hole] == FREE) return false;
+        size--;
+        for (int next = (hole + 1) & mask; keys[next] != FREE; next = (next + 1) & mask) {
+            int home = slot(keys[next]);
+            // Az elem csak akkor tolható a lyukba, ha a saját helye nem a lyuk és az elem közé esik
+            boolean between = hole <= next ? hole < home && home <= next : hole < home || home <= next;
+            if (!between) {
+                keys[hole] = keys[next];
+                values[hole] = values[next];
+                hole = next;
+            }
+        }
+        keys[hole] = FREE;
+        values[hole] = 0;
+        return true;
+    }
+
+    /**
+     * Kiírja a kulcsokat a megadott tömbbe (sorrendjük nem meghatározott).
+     *
+     * @param buffer Legalább size() hosszú tömb.
+     * @return A kulcsok száma.
+     */
+    int keys(long[] buffer) {
+        int count = 0;
+        for (long key : keys) {
+            if (key != FREE) {
+                buffer[count++] = key;
+            }
+        }
+        return count;
+    }
+
+    int size() {
+        return size;
+    }
+
+    void clear() {
+        Arrays.fill(keys, FREE);
+        Arrays.fill(values, 0);
+        size = 0;
+    }
+
+    /**
+     * A kulcs rése, vagy az az üres rés, ahová kerülne.
+     */
+    private int find(long key) {
+        int slot = slot(key);
+        while (keys[slot] != key && keys[slot] != FREE) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private int slot(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L; // Fibonacci-hasítás, a szomszédos cellák így szétszóródnak
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new long[oldKeys.length * 2];
+        values = new int[oldKeys.length * 2];
+        Arrays.fill(keys, FREE);
+        mask = keys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != FREE) {
+                int slot = find(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+}
@@ -0,0 +1,263 @@
+package AI;
+
+import java.util.Arrays;
+
+/**
+ * Az EngineSession osztály egy játszma AI motorját fogja össze. A motor az első lépéskor jön létre,
+ * és a játszma végéig ugyanaz a példány keres minden lépésnél, így a lépések között megmarad,
+ * amit felépített: a transzpozíciós tábla és a bizonyítókeresés táblája, a Lazy SMP segédkeresései,
+ * Monte Carlo fakeresésnél pedig maga a fa, amely az ember válaszára gyökerezik át.
+ * <p>
+ * Előrekeresés (ponder): az AI lépése után, amíg az ember gondolkodik, a munkamenet megjósolja az ember
+ * válaszát (ugyanilyen motorral, felcserélt szerepekkel), és a motor már a válasz utáni állásban keres.
+ * Ha az ember a megjósolt lépést teszi, a bestMove() azonnal (vagy a hátralévő előrekeresés után) az
+ * eredményt adja; ha mást lép, a stopPonder() leállítja az előrekeresést, és rendes keresés következik.
+ * <p>
+ * A bestMove() és a ponder() ugyanazon a háttérszálon, egymás után fut; a motor ott a munkamenet saját
+ * táblamásolatán dolgozik. A stopPonder() és a reset() bármely szálról hívható. Új játék, betöltés vagy
+ * megszakított keresés után a reset() eldobja a motort, és a következő lépés újat hoz létre.
+ */
+public final class EngineSession {
+    private static final int PREDICTION_SHARE = 4; // A jóslás az időkeret ennyied részét kapja
+
+    private final int rows; // Sorok száma
+    private final int cols; // Oszlopok száma
+    private final int winCondition; // A győzelemhez szükséges szimbólumok száma
+    private final char aiPlayer; // Az AI karaktere
+    private final char humanPlayer; // Az ember karaktere
+    private final long timeBudgetMillis; // Gondolkodási idő lépésenként
+    private final int threads; // A keresőszálak száma
+    private SharedTranspositionTable table; // A motor és a jósló közös táblája (az első keresős motornál jön létre)
+    private char[][] position; // A motor táblája
+    private char[][] predictorPosition; // A jósló motor táblája
+    private AIParent engine; // A motor (null, ha még nem jött létre vagy eldobtuk)
+    private AIParent predictor; // Az ember válaszát jósló motor (felcserélt szerepekkel)
+    private char[][] ponderPosition; // A megjósolt állás, amelyben az előrekeresés fut (null, ha nincs)
+    private int[] ponderMove; // Az előrekeresés eredménye (null, ha még nincs kész)
+    private int[] predictedReply; // Az ember megjósolt válasza {sor, oszlop} (null, ha nincs)
+    private boolean ponderStopped; // Leállították-e a folyamatban lévő előrekeresést
+    private int ponderHits; // Hány lépést adott az előrekeresés
+    private int ponderMisses; // Hányszor jósoltunk rosszul
+
+    /**
+     * Konstruktor a munkamenet inicializálására.
+     *
+     * @param rows             A sorok száma.
+     * @param cols             Az oszlopok száma.
+     * @param winCondition     A győzelemhez szükséges szimbólumok száma.
+     * @param aiPlayer         Az AI karaktere.
+     * @param humanPlayer      Az ember karaktere.
+     * @param timeBudgetMillis A lépésenként felhasználható idő ezredmásodpercben.
+     * @param threads          A keresőszálak száma.
+     * @param table            A keresős motor közös táblája (azonos szabályokkal), vagy null: ekkor a munkamenet
+     *                         az első keresős motornál egyszer foglal sajátot.
+     */
+    public EngineSession(int rows, int cols, int winCondition, char aiPlayer, char humanPlayer,
+                         long timeBudgetMillis, int threads, SharedTranspositionTable table) {
+        this.rows = rows;
+        this.cols = cols;
+        this.winCondition = winCondition;
+        this.aiPlayer = aiPlayer;
+        this.humanPlayer = humanPlayer;
+        this.timeBudgetMillis = timeBudgetMillis;
+        this.threads = Math.max(1, threads);
+        this.table = table;
+        this.position = new char[rows][cols];
+        this.predictorPosition = new char[rows][cols];
+    }
+
+    /**
+     * Átmásolja az állást a motor táblájára, és visszaadja a motort (szükség esetén létrehozza).
+     * A motor a táblától függ: 3x3-on a tökéletes kereső, legfeljebb 64 cellás négyzetes táblán
+     * a Lazy SMP alfa-béta (a végjátéktáblával, ha van), minden más táblán a Monte Carlo fakeresés.
+     * A háttérszálon hívandó, mert a futó előrekeresés ugyanezt a táblát használja.
+     *
+     * @param board A játék aktuális táblája (nem módosul).
+     * @return A lépésre kész motor.
+     */
+    public synchronized AIParent prepare(char[][] board) {
+        copy(board, position);
+        if (engine == null) {
+            engine = createEngine(position, aiPlayer, humanPlayer, timeBudgetMillis);
+        }
+        engine.resume(); // Egy leállított előrekeresés után újra kereshet
+        ponderPosition = null;
+        ponderMove = null;
+        predictedReply = null;
+        return engine;
+    }
+
+    /**
+     * Az AI lépése az adott állásban. Ha az előrekeresés éppen ezt az állást jósolta meg, annak eredményét adja,
+     * különben a motor rendesen keres. A háttérszálon hívandó.
+     *
+     * @param board A játék aktuális táblája (nem módosul).
+     * @return A lépés koordinátái {sor, oszlop}.
+     */
+    public int[] bestMove(char[][] board) {
+        synchronized (this) {
+            ponderStopped = false; // A korábbi előrekeresés már befejeződött
+            if (ponderMove != null && Arrays.deepEquals(board, ponderPosition)) {
+                int[] move = ponderMove;
+                ponderPosition = null;
+                ponderMove = null;
+                predictedReply = null;
+                ponderHits++;
+                return move;
+            }
+        }
+        return prepare(board).getBestMove();
+    }
+
+    /**
+     * Előrekeresés az ember idejében: megjósolja az ember válaszát, és a válasz utáni állásban a rendes
+     * időkerettel keres. A háttérszálon hívandó, az AI lépése után; a stopPonder() bármikor leállíthatja.
+     * 3x3-on nem keres előre, ott a tökéletes lépés azonnal megvan.
+     *
+     * @param board A játék táblája az AI lépése után, az ember következik (nem módosul).
+     */
+    public void ponder(char[][] board) {
+        AIParent jobPredictor;
+        synchronized (this) {
+            if (ponderStopped || (rows == 3 && cols == 3 && winCondition == 3)) {
+                ponderStopped = false;
+                return; // Az ember már lépett, vagy nincs mit előre keresni
+            }
+            copy(board, predictorPosition);
+            if (predictor == null) {
+                predictor = createEngine(predictorPosition, humanPlayer, aiPlayer,
+                        Math.max(1, timeBudgetMillis / PREDICTION_SHARE));
+            }
+            predictor.resume();
+            jobPredictor = predictor;
+        }
+        int[] reply = jobPredictor.getBestMove();
+
+        AIParent jobEngine;
+        synchronized (this) {
+            if (ponderStopped || jobPredictor != predictor || reply[0] == -1) {
+                ponderStopped = false;
+                return; // Közben lépett az ember, vagy a munkamenetet eldobták
+            }
+            jobEngine = prepare(board);
+            position[reply[0]][reply[1]] = humanPlayer;
+            predictedReply = reply;
+            ponderPosition = new char[rows][];
+            for (int row = 0; row < rows; row++) {
+                ponderPosition[row] = position[row].clone();
+            }
+        }
+        int[] move = jobEngine.getBestMove();
+        synchronized (this) {
+            if (!ponderStopped && jobEngine == engine) {
+                ponderMove = move;
+            }
+            ponderStopped = false;
+        }
+    }
+
+    /**
+     * Az ember lépése után hívandó: ha az előrekeresés mást jósolt (vagy még a jóslásnál tart), leállítja,
+     * hogy a rendes keresés mielőbb indulhasson. Ha a jóslás talált, az előrekeresést hagyja befejeződni.
+     * Bármely szálról hívható.
+     *
+     * @param board A játék táblája az ember lépése után.
+     */
+    public synchronized void stopPonder(char[][] board) {
+        if (ponderPosition != null && Arrays.deepEquals(board, ponderPosition)) {
+            return; // Talált: a bestMove() az eredményt használja
+        }
+        if (ponderPosition != null) {
+            ponderMisses++;
+        }
+        ponderPosition = null;
+        ponderMove = null;
+        predictedReply = null;
+        ponderStopped = true;
+        if (predictor != null) {
+            predictor.cancel();
+        }
+        if (engine != null) {
+            engine.cancel();
+        }
+    }
+
+    /**
+     * Leállítja és eldobja a motorokat és a táblamásolatokat. A táblamásolatokat újra foglaljuk, mert egy
+     * leállított, de még futó keresés a régit olvashatja; a transzpozíciós tábla viszont megmarad (a szabályok
+     * nem változtak, és a zárolás nélküli tábla a még futó keresés írásait is elviseli). Bármely szálról hívható.
+     */
+    public synchronized void reset() {
+        if (predictor != null) {
+            predictor.cancel();
+        }
+        if (engine != null) {
+            engine.cancel();
+        }
+        engine = null;
+        predictor = null;
+        ponderPosition = null;
+        ponderMove = null;
+        predictedReply = null;
+        ponderStopped = false;
+        position = new char[rows][cols];
+        predictorPosition = new char[rows][cols];
+    }
+
+    /**
+     * @return Igaz, ha a munkamenet ezekkel a beállításokkal jött létre (különben újat kell nyitni).
+     */
+    public boolean matches(int rows, int cols, int winCondition, long timeBudgetMillis) {
+        return this.rows == rows && this.cols == cols && this.winCondition == winCondition
+                && this.timeBudgetMillis == timeBudgetMillis;
+    }
+
+    /**
+     * @return Az ember megjósolt válasza {sor, oszlop}, amíg az előrekeresés erre keres; különben null.
+     */
+    public synchronized int[] getPredictedReply() {
+        return predictedReply == null ? null : predictedReply.clone();
+    }
+
+    /**
+     * @return Hány AI lépést adott közvetlenül az előrekeresés.
+     */
+    public synchronized int getPonderHits() {
+        return ponderHits;
+    }
+
+    /**
+     * @return Hányszor lépett az ember mást, mint amit az előrekeresés jósolt.
+     */
+    public synchronized int getPonderMisses() {
+        return ponderMisses;
+    }
+
+    synchronized SharedTranspositionTable getTable() {
+        return table;
+    }
+
+    private AIParent createEngine(char[][] board, char player, char opponent, long budgetMillis) {
+        if (rows == 3 && cols == 3 && winCondition == 3) {
+            return new TicTacToeAI(board, player, opponent);
+        }
+        if (rows == cols && rows * cols <= BitBoard.MAX_CELLS) {
+            if (table == null) {
+                table = new SharedTranspositionTable(TicTacToeAI5x5.DEFAULT_SHARED_TABLE_MB);
+            }
+            TicTacToeAI5x5 search = new TicTacToeAI5x5(board, player, opponent, winCondition, budgetMillis, threads,
+                    table); // A motor és a jósló ugyanazt a táblát használja
+            search.setTablebase(Tablebase.find(rows, winCondition)); // Ha van legenerált végjátéktábla
+            return search;
+        }
+        MonteCarloAI monteCarlo = new MonteCarloAI(board, player, opponent, winCondition, budgetMillis);
+        monteCarlo.setThreads(threads);
+        return monteCarlo;
+    }
+
+    private void copy(char[][] from, char[][] to) {
+        for (int row = 0; row < rows; row++) {
+            System.arraycopy(from[row], 0, to[row], 0, cols);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package AI;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+class EngineSessionTest {
+
+    @Test
+    void testReusesEngineAcrossMoves() {
+        EngineSession session = new EngineSession(5, 5, 4, 'O', 'X', 50, 1, null);
+        char[][] board = new char[5][5];
+        board[2][2] = 'X';
+        AIParent first = session.prepare(board);
+        assertTrue(first instanceof TicTacToeAI5x5);
+        int[] move = first.getBestMove();
+        assertEquals(0, board[move[0]][move[1]]); // A motor a saját másolatán keresett
+        board[move[0]][move[1]] = 'O';
+        board[move[0] == 0 ? 4 : 0][0] = 'X';
+        assertSame(first, session.prepare(board));
+
+        SharedTranspositionTable table = session.getTable();
+        assertNotNull(table);
+        session.reset();
+        AIParent second = session.prepare(board);
+        assertFalse(first == second); // A reset után új motor jön létre
+        assertSame(table, session.getTable()); // ugyanazzal a táblával
+        int[] reply = second.getBestMove();
+        assertEquals(0, board[reply[0]][reply[1]]);
+    }
+
+    @Test
+    void testSelectsEngineForBoard() {
+        assertTrue(new EngineSession(3, 3, 3, 'O', 'X', 50, 1, null).prepare(new char[3][3]) instanceof TicTacToeAI);
+        assertTrue(new EngineSession(6, 7, 4, 'O', 'X', 50, 1, null).prepare(new char[6][7]) instanceof MonteCarloAI);
+        EngineSession session = new EngineSession(6, 7, 4, 'O', 'X', 50, 1, null);
+        assertTrue(session.matches(6, 7, 4, 50));
+        assertFalse(session.matches(6, 7, 4, 100));
+    }
+
+    @Test
+    void testPonderAnswersPredictedReply() {
+        EngineSession session = new EngineSession(5, 5, 4, 'O', 'X', 50, 1, null);
+        char[][] board = new char[5][5];
+        board[2][2] = 'X';
+        board[1][1] = 'O'; // Az AI lépett, az ember következik
+        session.ponder(board);
+        int[] reply = session.getPredictedReply();
+        assertNotNull(reply);
+        assertEquals(0, board[reply[0]][reply[1]]);
+
+        board[reply[0]][reply[1]] = 'X'; // Az ember a megjósolt lépést teszi
+        session.stopPonder(board);
+        int[] move = session.bestMove(board);
+        assertEquals(1, session.getPonderHits());
+        assertEquals(0, board[move[0]][move[1]]);
+        assertNull(session.getPredictedReply());
+    }
+
+    @Test
+    void testPonderMissSearchesNormally() {
+        EngineSession session = new EngineSession(5, 5, 4, 'O', 'X', 50, 1, null);
+        char[][] board = new char[5][5];
+        board[2][2] = 'X';
+        board[1][1] = 'O';
+        session.ponder(board);
+        int[] reply = session.getPredictedReply();
+        int cell = 0;
+        while (board[cell / 5][cell % 5] != 0 || (cell / 5 == reply[0] && cell % 5 == reply[1])) {
+            cell++;
+        }
+        board[cell / 5][cell % 5] = 'X'; // Az ember mást lép
+        session.stopPonder(board);
+        assertEquals(1, session.getPonderMisses());
+        int[] move = session.bestMove(board);
+        assertEquals(0, session.getPonderHits());
+        assertEquals(0, board[move[0]][move[1]]);
+    }
+}
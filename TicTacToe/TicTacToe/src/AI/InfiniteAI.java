@@ -0,0 +1,338 @@
+package AI;
+
+import java.util.SplittableRandom;
+
+/**
+ * Az InfiniteAI osztály a végtelen tábla AI-ja. A SparseBoard jelölt lépésein (a kövektől legfeljebb
+ * 2 távolságra lévő üres cellák) keres, így a lépésgenerálás a kövek számával arányos.
+ * <p>
+ * A lépéseket mintázatértékkel rendezi (a cellán átmenő vonalakban mennyi saját és ellenfél kő
+ * áll, és hány vége nyitott), és időkorlátos, iteratívan mélyülő negamax alfa-béta keresést futtat,
+ * amely csomópontonként csak a legjobb néhány jelöltet vizsgálja (nyalábkeresés).
+ * Ha az ellenfélnek nyerő lépése van, csak a védekező lépéseket nézi.
+ * Egy példány a játszma végéig használható: a megtett lépéseket a play() teszi fel a saját táblájára.
+ */
+public class InfiniteAI extends AIParent {
+    /** Az alapértelmezett gondolkodási idő lépésenként (ms). */
+    public static final long DEFAULT_TIME_BUDGET_MILLIS = 500;
+    private static final int BEAM_WIDTH = 8; // Csomópontonként ennyi jelöltet vizsgálunk
+    private static final int MAX_DEPTH = 10; // A mélyítés felső korlátja
+    private static final long WIN = Long.MAX_VALUE / 4; // A nyerő állás értéke (a ply-jal csökkentve)
+    private static final long LINE = Long.MAX_VALUE / 8; // A vonalat befejező cella mintázatértéke
+    private static final int CHECK_INTERVAL = 256; // Ennyi csomópontonként nézzük az órát
+    private static final int[][] DIRECTIONS = {{0, 1}, {1, 0}, {1, 1}, {1, -1}};
+
+    private final SparseBoard position; // Az AI saját másolata, ezen keres
+    private final long timeBudgetMillis; // Gondolkodási idő lépésenként
+    private final long[] runWeights; // A k-nál rövidebb sorozatok értéke hossz szerint
+    private final long[][] moveBuffers = new long[MAX_DEPTH + 1][]; // Plyonként a jelöltek
+    private final long[][] scoreBuffers = new long[MAX_DEPTH + 1][]; // Plyonként a jelöltek rendezési értéke
+    private final SplittableRandom random = new SplittableRandom();
+    private long deadline; // A keresés határideje (System.nanoTime)
+    private boolean stopped; // Lejárt-e az idő vagy leállították-e a keresést
+    private long nodes; // A vizsgált csomópontok száma
+    private int lastDepth; // Az utolsó keresésben befejezett legnagyobb mélység
+
+    /**
+     * Konstruktor az alapértelmezett gondolkodási idővel.
+     *
+     * @param board       A végtelen tábla (az AI saját másolatot készít róla).
+     * @param aiPlayer    Az AI karaktere.
+     * @param humanPlayer Az emberi játékos karaktere.
+     */
+    public InfiniteAI(SparseBoard board, char aiPlayer, char humanPlayer) {
+        this(board, aiPlayer, humanPlayer, DEFAULT_TIME_BUDGET_MILLIS);
+    }
+
+    /**
+     * Konstruktor megadott gondolkodási idővel.
+     *
+     * @param board            A végtelen tábla (az AI saját másolatot készít róla).
+     * @param aiPlayer         Az AI karaktere.
+     * @param humanPlayer      Az emberi játékos karaktere.
+     * @param timeBudgetMillis A lépésenként felhasználható idő ezredmásodpercben.
+     */
+    public InfiniteAI(SparseBoard board, char aiPlayer, char humanPlayer, long timeBudgetMillis) {
+        super(aiPlayer, humanPlayer, board.getWinCondition());
+        this.position = new SparseBoard(board);
+        this.timeBudgetMillis = timeBudgetMillis;
+        this.runWeights = new long[winCondition];
+        long weight = 1;
+        for (int length = 1; length < winCondition; length++) {
+            weight *= 16; // Minden további kő nagyságrendekkel többet ér
+            runWeights[length] = weight;
+        }
+    }
+
+    /**
+     * A játszmában megtett lépést (bármelyik játékosét) felteszi az AI saját táblájára, így a táblát nem kell
+     * lépésenként újra lemásolni. Keresés közben nem hívható.
+     *
+     * @param row    A lépés sora.
+     * @param col    A lépés oszlopa.
+     * @param player A lépő játékos karaktere.
+     * @return Igaz, ha a cella üres volt.
+     */
+    public boolean play(int row, int col, char player) {
+        return position.place(row, col, player);
+    }
+
+    /**
+     * Meghatározza az AI lépését: nyerő lépés, védekezés, különben időkorlátos keresés.
+     *
+     * @return A lépés koordinátái {sor, oszlop} (bármilyen előjelűek lehetnek).
+     */
+    @Override
+    protected int[] findBestMove() {
+        nodes = 0;
+        lastDepth = 0;
+        if (position.getMoveCount() == 0) {
+            return new int[]{0, 0}; // Üres táblán az origó
+        }
+        int[] forced = findWinningMove(aiPlayer);
+        if (forced == null) {
+            forced = findWinningMove(humanPlayer);
+        }
+        if (forced != null) {
+            return forced;
+        }
+
+        deadline = System.nanoTime() + timeBudgetMillis * 1_000_000L;
+        stopped = false;
+        long best = Long.MIN_VALUE;
+        for (int depth = 1; depth <= MAX_DEPTH; depth++) {
+            long[] result = searchRoot(depth, best);
+            if (stopped) {
+                break;
+            }
+            best = result[0];
+            lastDepth = depth;
+            if (Math.abs(result[1]) >= WIN - MAX_DEPTH) {
+                break; // Kikényszeríthető győzelem vagy elkerülhetetlen vereség: mélyebbre nem érdemes
+            }
+        }
+        if (best == Long.MIN_VALUE) {
+            return pickRandomMove(); // Az első mélység sem futott le (nagyon rövid időkeret)
+        }
+        return new int[]{SparseBoard.row(best), SparseBoard.col(best)};
+    }
+
+    /**
+     * A gyökér keresése: az előző mélység legjobb lépését vizsgálja először.
+     *
+     * @return {legjobb cella, érték}
+     */
+    private long[] searchRoot(int depth, long previousBest) {
+        int count = orderMoves(0, aiPlayer, humanPlayer);
+        long[] moves = moveBuffers[0];
+        for (int i = 1; i < count; i++) {
+            if (moves[i] == previousBest) {
+                moves[i] = moves[0];
+                moves[0] = previousBest;
+                break;
+            }
+        }
+        long bestCell = moves[0];
+        long alpha = -WIN - 1;
+        for (int i = 0; i < count; i++) {
+            int row = SparseBoard.row(moves[i]);
+            int col = SparseBoard.col(moves[i]);
+            position.place(row, col, aiPlayer);
+            long score = -negamax(depth - 1, 1, humanPlayer, -WIN - 1, -alpha);
+            position.undo();
+            if (stopped) {
+                break;
+            }
+            if (score > alpha) {
+                alpha = score;
+                bestCell = moves[i];
+            }
+        }
+        return new long[]{bestCell, alpha};
+    }
+
+    /**
+     * Negamax alfa-béta a lépő játékos szemszögéből; a levélben a mintázatértékek különbsége az érték.
+     */
+    private long negamax(int depth, int ply, char player, long alpha, long beta) {
+        if ((++nodes % CHECK_INTERVAL) == 0 && (cancelled || System.nanoTime() > deadline)) {
+            stopped = true;
+        }
+        if (stopped) {
+            return 0;
+        }
+        char opponent = player == aiPlayer ? humanPlayer : aiPlayer;
+        if (depth == 0) {
+            return evaluate(ply, player, opponent);
+        }
+        int count = orderMoves(ply, player, opponent);
+        long[] moves = moveBuffers[ply];
+        long[] scores = scoreBuffers[ply];
+        if (count > 0 && scores[0] == WIN) {
+            return WIN - ply; // A lépő játékos egy lépésből nyer
+        }
+        long best = -WIN - 1;
+        for (int i = 0; i < count; i++) {
+            position.place(SparseBoard.row(moves[i]), SparseBoard.col(moves[i]), player);
+            long score = -negamax(depth - 1, ply + 1, opponent, -beta, -alpha);
+            position.undo();
+            if (stopped) {
+                return 0;
+            }
+            if (score > best) {
+                best = score;
+            }
+            if (best > alpha) {
+                alpha = best;
+            }
+            if (alpha >= beta) {
+                break;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Levélérték: a lépő játékos legjobb cellája mínusz az ellenfél legjobb cellája.
+     */
+    private long evaluate(int ply, char player, char opponent) {
+        long[] moves = moveBuffer(ply);
+        int count = position.candidates(moves);
+        long mine = 0;
+        long theirs = 0;
+        for (int i = 0; i < count; i++) {
+            int row = SparseBoard.row(moves[i]);
+            int col = SparseBoard.col(moves[i]);
+            mine = Math.max(mine, pattern(row, col, player));
+            theirs = Math.max(theirs, pattern(row, col, opponent));
+        }
+        if (mine >= LINE) {
+            return WIN - ply;
+        }
+        return mine - theirs;
+    }
+
+    /**
+     * Előállítja és rendezi a ply jelöltjeit; a legjobb BEAM_WIDTH kerül előre.
+     * Ha az ellenfél egy lépésből nyerne, csak a védekező cellák maradnak.
+     *
+     * @return A vizsgálandó lépések száma.
+     */
+    private int orderMoves(int ply, char player, char opponent) {
+        long[] moves = moveBuffer(ply);
+        long[] scores = scoreBuffers[ply];
+        int count = position.candidates(moves);
+        int blocks = 0;
+        for (int i = 0; i < count; i++) {
+            int row = SparseBoard.row(moves[i]);
+            int col = SparseBoard.col(moves[i]);
+            long attack = pattern(row, col, player);
+            long defence = pattern(row, col, opponent);
+            scores[i] = attack >= LINE ? WIN : attack + defence; // A saját győzelem minden védekezést megelőz
+            if (defence >= LINE && attack < LINE) {
+                blocks++;
+            }
+        }
+        // Részleges kiválasztó rendezés: csak az első BEAM_WIDTH helyet töltjük ki
+        int limit = Math.min(count, BEAM_WIDTH);
+        for (int i = 0; i < limit; i++) {
+            int best = i;
+            for (int j = i + 1; j < count; j++) {
+                if (scores[j] > scores[best]) {
+                    best = j;
+                }
+            }
+            swap(moves, scores, i, best);
+        }
+        if (blocks > 0 && scores[0] != WIN) {
+            return Math.min(blocks, limit); // Kényszerített védekezés: a védő cellák a legjobbak között vannak
+        }
+        return limit;
+    }
+
+    /**
+     * A cella mintázatértéke a játékos számára: a cellán átmenő négy vonal sorozatainak értéke,
+     * a nyitott végek számával szorozva; LINE, ha a cella befejezi a vonalat.
+     */
+    private long pattern(int row, int col, char player) {
+        long value = 0;
+        for (int[] direction : DIRECTIONS) {
+            int forward = position.run(row, col, direction[0], direction[1], player);
+            int backward = position.run(row, col, -direction[0], -direction[1], player);
+            int length = 1 + forward + backward;
+            if (length >= winCondition) {
+                return LINE;
+            }
+            int open = 0;
+            if (position.get(row + (forward + 1) * direction[0], col + (forward + 1) * direction[1]) == 0) {
+                open++;
+            }
+            if (position.get(row - (backward + 1) * direction[0], col - (backward + 1) * direction[1]) == 0) {
+                open++;
+            }
+            value += runWeights[length] * open;
+        }
+        return value;
+    }
+
+    private long[] moveBuffer(int ply) {
+        int needed = position.candidateCount();
+        if (moveBuffers[ply] == null || moveBuffers[ply].length < needed) {
+            int capacity = Math.max(64, needed * 2); // Tartalékkal, hogy mélyebben se kelljen újra foglalni
+            moveBuffers[ply] = new long[capacity];
+            scoreBuffers[ply] = new long[capacity];
+        }
+        return moveBuffers[ply];
+    }
+
+    private static void swap(long[] moves, long[] scores, int i, int j) {
+        long move = moves[i];
+        moves[i] = moves[j];
+        moves[j] = move;
+        long score = scores[i];
+        scores[i] = scores[j];
+        scores[j] = score;
+    }
+
+    /**
+     * @return Az utolsó keresésben vizsgált csomópontok száma.
+     */
+    @Override
+    public long getLastNodes() {
+        return nodes;
+    }
+
+    /**
+     * @return Az utolsó keresésben befejezett legnagyobb mélység.
+     */
+    @Override
+    public int getLastDepth() {
+        return lastDepth;
+    }
+
+    @Override
+    protected int[] findWinningMove(char player) {
+        long cell = position.findWinningCell(player, moveBuffer(0));
+        return cell == Long.MIN_VALUE ? null : new int[]{SparseBoard.row(cell), SparseBoard.col(cell)};
+    }
+
+    @Override
+    protected boolean checkWin(char player) {
+        int moves = position.getMoveCount();
+        if (moves == 0) {
+            return false;
+        }
+        long last = position.getMove(moves - 1);
+        int row = SparseBoard.row(last);
+        int col = SparseBoard.col(last);
+        return position.get(row, col) == player && position.completesLine(row, col, player);
+    }
+
+    @Override
+    protected int[] pickRandomMove() {
+        long[] moves = moveBuffer(0);
+        int count = position.candidates(moves);
+        long cell = moves[random.nextInt(count)];
+        return new int[]{SparseBoard.row(cell), SparseBoard.col(cell)};
+    }
+}
@@ -0,0 +1,68 @@
+package AI;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+class InfiniteAITest {
+
+    @Test
+    void testBlocksOpenFour() {
+        SparseBoard board = new SparseBoard(5);
+        for (int col = -2; col <= 1; col++) {
+            board.place(-40, col, 'X');
+        }
+        board.place(3, 3, 'O');
+        board.place(4, 4, 'O');
+        int[] move = new InfiniteAI(board, 'O', 'X', 200).getBestMove();
+        assertEquals(-40, move[0]);
+        assertTrue(move[1] == -3 || move[1] == 2);
+    }
+
+    @Test
+    void testTakesWinBeforeBlocking() {
+        SparseBoard board = new SparseBoard(5);
+        for (int i = 0; i < 4; i++) {
+            board.place(i, 0, 'X');
+            board.place(i, 10, 'O');
+        }
+        int[] move = new InfiniteAI(board, 'O', 'X', 200).getBestMove();
+        assertEquals(10, move[1]); // A saját ötös, nem X négyesének blokkolása
+        assertTrue(move[0] == 4 || move[0] == -1);
+    }
+
+    @Test
+    void testStopsOpenThree() {
+        SparseBoard board = new SparseBoard(5);
+        board.place(0, 0, 'X');
+        board.place(5, 5, 'O');
+        board.place(0, 1, 'X');
+        board.place(-5, -5, 'O');
+        board.place(0, 2, 'X'); // Nyitott hármas: ha nem zárjuk le, nyitott négyes lesz belőle
+        InfiniteAI ai = new InfiniteAI(board, 'O', 'X', 300);
+        int[] move = ai.getBestMove();
+        assertEquals(0, move[0]);
+        assertTrue(move[1] == -1 || move[1] == 3 || move[1] == -2 || move[1] == 4);
+        assertTrue(ai.getLastDepth() >= 1);
+    }
+
+    @Test
+    void testPlayedMovesReachTheSearch() {
+        SparseBoard board = new SparseBoard(5);
+        board.place(0, 0, 'X');
+        InfiniteAI ai = new InfiniteAI(board, 'O', 'X', 200);
+        ai.play(5, 5, 'O');
+        for (int col = 1; col <= 3; col++) {
+            ai.play(0, col, 'X'); // Az AI saját táblája a konstruktor után is követi a játszmát
+            ai.play(-5 - col, -5, 'O');
+        }
+        int[] move = ai.getBestMove();
+        assertEquals(0, move[0]);
+        assertTrue(move[1] == -1 || move[1] == 4); // X négyesének blokkolása
+        assertFalse(ai.play(0, 2, 'O')); // Foglalt cella
+    }
+
+    @Test
+    void testOpensAtOrigin() {
+        assertArrayEquals(new int[]{0, 0}, new InfiniteAI(new SparseBoard(5), 'X', 'O').getBestMove());
+    }
+}
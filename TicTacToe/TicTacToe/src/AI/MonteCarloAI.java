@@ -0,0 +1,673 @@
+package AI;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * A MonteCarloAI osztály egy Monte Carlo fakeresést (UCT) megvalósító AI, bármekkora táblára.
+ * Minden iteráció a fában az UCT képlet szerint lefelé haladva kiválaszt egy levelet, kibontja,
+ * onnan véletlen lejátszást futtat a játék végéig, és az eredményt visszavezeti a gyökérig.
+ * <p>
+ * Gyökérpárhuzamosítást használ: minden szál saját fát épít saját SplittableRandom-mal, így a szálak
+ * semmit sem osztanak meg; a végén a gyökérlépések látogatásait összegezzük, és a legtöbbször
+ * látogatott lépést választjuk. A keresést időkorlát és/vagy lejátszásszám korlátozza.
+ * A lejátszások saját, bájttömbös táblán futnak: a győzelmet csak az utolsó lépésen át vizsgáljuk.
+ * <p>
+ * Ugyanazzal a példánnyal játszott lépések között a fák megmaradnak: ha azóta csak az AI választott
+ * lépése és az ember válasza került a táblára, minden fa a megfelelő unokájára gyökerezik át, így a
+ * korábbi lejátszások eredménye nem vész el.
+ */
+public class MonteCarloAI extends AIParent {
+    /** Az alapértelmezett gondolkodási idő lépésenként (ms). */
+    public static final long DEFAULT_TIME_BUDGET_MILLIS = 500;
+    private static final double EXPLORATION = Math.sqrt(2); // Az UCT felfedezési együtthatója
+    private static final int MAX_NODES = 1 << 22; // Szálanként ennyi csomópont után már nem bontunk ki
+    private static final int CHECK_INTERVAL = 64; // Ennyi iterációnként nézzük az órát
+    /** A gyökérpárhuzamos keresés démonszálai; a szálak a lépések között újrahasznosulnak. */
+    private static final ExecutorService WORKER_THREADS = Executors.newCachedThreadPool(task -> {
+        Thread thread = new Thread(task, "tictactoe-mcts");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.NORM_PRIORITY - 1);
+        return thread;
+    });
+
+    private final long timeBudgetMillis; // Gondolkodási idő lépésenként
+    private final Board root; // Az aktuális állás a lejátszások táblájaként
+    private int playoutLimit = Integer.MAX_VALUE; // A lejátszások legnagyobb száma (minden szálon összesen)
+    private int threads = 1; // A keresőszálak száma
+    private SplittableRandom random = new SplittableRandom(); // Ebből kap minden szál saját generátort
+    private long lastPlayouts; // Az utolsó keresés lejátszásainak száma
+    private int lastTreeSize; // Az utolsó keresés fáinak összmérete
+    private int lastDepth; // Az utolsó keresés legmélyebb kiválasztási útja
+    private double lastScore = Double.NaN; // Az utolsó keresés értéke (lásd getLastScore)
+    private int lastReusedNodes; // Az előző keresésből átvett csomópontok száma
+    private Tree[] trees; // Az előző keresés fái (null, ha nincs mit átvenni)
+    private byte[] treeRoot; // A fák gyökérállása
+
+    /**
+     * Konstruktor az alapértelmezett gondolkodási idővel.
+     *
+     * @param board        A játék tábla.
+     * @param aiPlayer     Az AI karaktere.
+     * @param humanPlayer  Az emberi játékos karaktere.
+     * @param winCondition A győzelemhez szükséges szimbólumok száma.
+     */
+    public MonteCarloAI(char[][] board, char aiPlayer, char humanPlayer, int winCondition) {
+        this(board, aiPlayer, humanPlayer, winCondition, DEFAULT_TIME_BUDGET_MILLIS);
+    }
+
+    /**
+     * Konstruktor megadott gondolkodási idővel.
+     *
+     * @param board            A játék tábla.
+     * @param aiPlayer         Az AI karaktere.
+     * @param humanPlayer      Az emberi játékos karaktere.
+     * @param winCondition     A győzelemhez szükséges szimbólumok száma.
+     * @param timeBudgetMillis A lépésenként felhasználható idő ezredmásodpercben.
+     */
+    public MonteCarloAI(char[][] board, char aiPlayer, char humanPlayer, int winCondition, long timeBudgetMillis) {
+        super(board, aiPlayer, humanPlayer, winCondition);
+        this.timeBudgetMillis = timeBudgetMillis;
+        this.root = new Board(board.length, board[0].length, winCondition);
+    }
+
+    /**
+     * A lejátszások számának korlátja (minden szálon összesen); az időkorlát továbbra is érvényes.
+     *
+     * @param playoutLimit A lejátszások legnagyobb száma.
+     */
+    public void setPlayoutLimit(int playoutLimit) {
+        this.playoutLimit = playoutLimit;
+    }
+
+    /**
+     * A keresőszálak száma (gyökérpárhuzamosítás).
+     *
+     * @param threads A szálak száma (legalább 1).
+     */
+    public void setThreads(int threads) {
+        this.threads = Math.max(1, threads);
+    }
+
+    /**
+     * Rögzített kezdőérték a véletlengenerátorhoz (reprodukálható kereséshez egy szálon).
+     *
+     * @param seed A kezdőérték.
+     */
+    public void setSeed(long seed) {
+        this.random = new SplittableRandom(seed);
+    }
+
+    @Override
+    protected int[] findBestMove() {
+        root.load(board);
+        lastPlayouts = 0;
+        lastTreeSize = 0;
+        lastDepth = 0;
+        lastScore = Double.NaN;
+        if (root.emptyCount == 0) {
+            return toMove(-1);
+        }
+
+        // Van e nyerő lépés az AI-nak, vagy blokkolni kell az embert
+        int winningCell = root.findWinningCell(stone(aiPlayer));
+        if (winningCell != -1) {
+            lastScore = 1;
+            return toMove(winningCell);
+        }
+        winningCell = root.findWinningCell(stone(humanPlayer));
+        if (winningCell != -1) {
+            return toMove(winningCell);
+        }
+        if (root.emptyCount == 1) {
+            return toMove(root.empties[0]);
+        }
+
+        long deadline = System.nanoTime() + timeBudgetMillis * 1_000_000L;
+        reuseTrees();
+        for (int i = 0; i < threads; i++) {
+            int share = playoutLimit / threads + (i < playoutLimit % threads ? 1 : 0);
+            trees[i].prepare(deadline, share);
+        }
+        Future<?>[] running = new Future<?>[threads - 1];
+        for (int i = 1; i < threads; i++) {
+            Tree tree = trees[i];
+            running[i - 1] = WORKER_THREADS.submit(() -> trackWorker(tree::run));
+        }
+        trees[0].run(); // Az első fát a hívó szál építi
+        for (Future<?> future : running) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (ExecutionException e) {
+                // A hibás szál fáját is összegezzük, amennyi elkészült belőle
+            }
+        }
+
+        // A gyökérlépések látogatásainak összegzése; a legtöbbször látogatott lépés nyer
+        long[] visitsByCell = new long[root.cells.length];
+        double[] winsByCell = new double[root.cells.length];
+        for (Tree tree : trees) {
+            tree.addRootStats(visitsByCell, winsByCell);
+            lastPlayouts += tree.playouts;
+            lastTreeSize += tree.size;
+            lastDepth = Math.max(lastDepth, tree.maxDepth);
+        }
+        int bestCell = -1;
+        for (int cell = 0; cell < visitsByCell.length; cell++) {
+            if (root.cells[cell] == 0 && (bestCell == -1 || visitsByCell[cell] > visitsByCell[bestCell])) {
+                bestCell = cell;
+            }
+        }
+        if (bestCell != -1 && visitsByCell[bestCell] > 0) {
+            lastScore = 2 * winsByCell[bestCell] / visitsByCell[bestCell] - 1; // Pontátlag 0..1 helyett -1..1
+        }
+        treeRoot = root.cells.clone();
+        return toMove(bestCell);
+    }
+
+    /**
+     * Az előző keresés fáit az új gyökérre igazítja. Ha azóta pontosan egy AI és egy emberi kő került
+     * a táblára (és semmi nem tűnt el), a fák az AI lépésének a gyerekére, majd az ember lépésének a
+     * gyerekére gyökereznek át; minden más esetben (új játék, betöltés, visszalépés) új fák épülnek.
+     */
+    private void reuseTrees() {
+        lastReusedNodes = 0;
+        int aiCell = -1;
+        int humanCell = -1;
+        boolean reusable = trees != null && trees.length == threads && treeRoot != null
+                && treeRoot.length == root.cells.length;
+        for (int cell = 0; reusable && cell < root.cells.length; cell++) {
+            if (treeRoot[cell] == root.cells[cell]) {
+                continue;
+            }
+            if (treeRoot[cell] != 0) {
+                reusable = false; // Eltűnt vagy kicserélődött egy kő
+            } else if (root.cells[cell] == stone(aiPlayer) && aiCell == -1) {
+                aiCell = cell;
+            } else if (root.cells[cell] == stone(humanPlayer) && humanCell == -1) {
+                humanCell = cell;
+            } else {
+                reusable = false; // Több lépés történt
+            }
+        }
+        reusable &= aiCell != -1 && humanCell != -1;
+        for (int i = 0; reusable && i < threads; i++) {
+            reusable = trees[i].reroot(aiCell, humanCell);
+        }
+        if (reusable) {
+            for (Tree tree : trees) {
+                lastReusedNodes += tree.size;
+            }
+            return;
+        }
+        trees = new Tree[threads];
+        for (int i = 0; i < threads; i++) {
+            trees[i] = new Tree(random.split());
+        }
+    }
+
+    /**
+     * @return Az előző keresésből átvett csomópontok száma az utolsó keresésben (0, ha új fák épültek).
+     */
+    public int getLastReusedNodes() {
+        return lastReusedNodes;
+    }
+
+    /**
+     * A Monte Carlo fakeresés csomópontjai a lejátszások (mindegyik egy út a fában és egy játék a végéig).
+     *
+     * @return Az utolsó keresés lejátszásainak száma.
+     */
+    @Override
+    public long getLastNodes() {
+        return lastPlayouts;
+    }
+
+    /**
+     * @return A választott lépés lejátszásainak átlagos eredménye -1 és 1 között (blokkoló lépésnél NaN).
+     */
+    @Override
+    public double getLastScore() {
+        return lastScore;
+    }
+
+    /**
+     * @return Az utolsó keresésben a fában bejárt leghosszabb út.
+     */
+    @Override
+    public int getLastDepth() {
+        return lastDepth;
+    }
+
+    /**
+     * @return Az utolsó keresés lejátszásainak száma (minden szálon összesen).
+     */
+    public long getLastPlayouts() {
+        return lastPlayouts;
+    }
+
+    /**
+     * @return Az utolsó keresés fáinak csomópontszáma (minden szálon összesen).
+     */
+    public int getLastTreeSize() {
+        return lastTreeSize;
+    }
+
+    @Override
+    protected int[] toMove(int cell) {
+        if (cell < 0) {
+            return new int[]{-1, -1};
+        }
+        return new int[]{cell / root.cols, cell % root.cols};
+    }
+
+    @Override
+    protected int[] findWinningMove(char player) {
+        root.load(board);
+        int cell = root.findWinningCell(stone(player));
+        return cell == -1 ? null : toMove(cell); // null, ha nincs győztes lépés
+    }
+
+    @Override
+    protected boolean checkWin(char player) {
+        root.load(board);
+        byte stone = stone(player);
+        for (int cell = 0; cell < root.cells.length; cell++) {
+            if (root.cells[cell] == stone && root.wonThrough(cell, stone)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    protected int[] pickRandomMove() {
+        root.load(board);
+        return root.emptyCount == 0 ? toMove(-1) : toMove(root.empties[random.nextInt(root.emptyCount)]);
+    }
+
+    private static byte stone(char player) {
+        return player == 'X' ? Board.X : Board.O;
+    }
+
+    /**
+     * Egy szál keresőfája. A csomópontok párhuzamos primitív tömbökben vannak; a 0. csomópont a gyökér.
+     * Egy csomópont gyerekei egymás után helyezkednek el, és egyszerre jönnek létre.
+     */
+    private final class Tree implements Runnable {
+        private static final byte UNKNOWN = 0; // Még nem vizsgáltuk, hogy végállapot-e
+        private static final byte OPEN = 1; // Nem végállapot
+        private static final byte WON = 2; // A csomópontba lépő játékos nyert
+        private static final byte DRAWN = 3; // Döntetlen
+
+        private final SplittableRandom random; // A szál saját generátora
+        private long deadline; // A keresés határideje (System.nanoTime)
+        private int playoutLimit; // Ennek a szálnak a lejátszáskorlátja
+        private final Board board; // A lejátszások táblája
+        private final int[] path; // Az aktuális iteráció csomópontjai a gyökértől
+        private int[] moves = new int[1024]; // A csomópontba vezető lépés cellája
+        private int[] firstChild = new int[1024]; // Az első gyerek indexe
+        private int[] childCount = new int[1024]; // A gyerekek száma (0: még nincs kibontva)
+        private int[] visits = new int[1024]; // Látogatások száma
+        private double[] wins = new double[1024]; // A csomópontba lépő játékos pontjai (győzelem 1, döntetlen 0.5)
+        private byte[] states = new byte[1024]; // Végállapot-e (UNKNOWN, OPEN, WON, DRAWN)
+        private int size = 1; // A csomópontok száma
+        private long playouts; // A lefuttatott lejátszások száma
+        private int maxDepth; // A keresésben bejárt leghosszabb út a fában
+
+        Tree(SplittableRandom random) {
+            this.random = random;
+            this.board = new Board(root.rows, root.cols, root.winCondition);
+            this.path = new int[root.cells.length + 2];
+            this.moves[0] = -1;
+            this.states[0] = OPEN;
+        }
+
+        /**
+         * Egy új keresés határideje és lejátszáskorlátja; a fa maga megmarad.
+         */
+        void prepare(long deadline, int playoutLimit) {
+            this.deadline = deadline;
+            this.playoutLimit = playoutLimit;
+            this.playouts = 0;
+            this.maxDepth = 0;
+        }
+
+        /**
+         * Átgyökerezés a gyökér aiCell gyerekének humanCell gyerekére. A megtartott részfát szélességi
+         * bejárással tömöríti a tömbök elejére, így a testvérek továbbra is egymás után állnak.
+         *
+         * @return Hamis, ha a két lépés nincs a fában (ilyenkor a fa változatlan).
+         */
+        boolean reroot(int aiCell, int humanCell) {
+            int node = child(0, aiCell);
+            node = node == -1 ? -1 : child(node, humanCell);
+            if (node == -1 || childCount[node] == 0) {
+                return false;
+            }
+            int[] origin = new int[size]; // Új index -> régi index
+            int[] newFirstChild = new int[moves.length];
+            origin[0] = node;
+            int next = 1;
+            for (int index = 0; index < next; index++) {
+                int old = origin[index];
+                newFirstChild[index] = childCount[old] == 0 ? 0 : next;
+                for (int i = 0; i < childCount[old]; i++) {
+                    origin[next++] = firstChild[old] + i;
+                }
+            }
+            int[] newMoves = new int[moves.length];
+            int[] newChildCount = new int[moves.length];
+            int[] newVisits = new int[moves.length];
+            double[] newWins = new double[moves.length];
+            byte[] newStates = new byte[moves.length];
+            for (int index = 0; index < next; index++) {
+                int old = origin[index];
+                newMoves[index] = moves[old];
+                newChildCount[index] = childCount[old];
+                newVisits[index] = visits[old];
+                newWins[index] = wins[old];
+                newStates[index] = states[old];
+            }
+            newMoves[0] = -1;
+            newStates[0] = OPEN;
+            moves = newMoves;
+            firstChild = newFirstChild;
+            childCount = newChildCount;
+            visits = newVisits;
+            wins = newWins;
+            states = newStates;
+            size = next;
+            return true;
+        }
+
+        private int child(int node, int cell) {
+            for (int child = firstChild[node]; child < firstChild[node] + childCount[node]; child++) {
+                if (moves[child] == cell) {
+                    return child;
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        public void run() {
+            byte aiStone = stone(aiPlayer);
+            while (playouts < playoutLimit) {
+                if (playouts % CHECK_INTERVAL == 0 && (cancelled || System.nanoTime() >= deadline)) {
+                    break;
+                }
+                iterate(aiStone);
+                playouts++;
+            }
+        }
+
+        /**
+         * Egy UCT iteráció: kiválasztás, kibontás, lejátszás és visszaterjesztés.
+         *
+         * @param aiStone Az AI köve (a gyökérben ő következik).
+         */
+        private void iterate(byte aiStone) {
+            board.copyFrom(root);
+            byte toMove = aiStone;
+            byte mover = opponent(aiStone); // A path[depth] csomópontba lépő játékos
+            int node = 0;
+            int depth = 0;
+            path[0] = 0;
+            byte winner; // A nyertes köve, vagy 0 döntetlennél
+            while (true) {
+                if (childCount[node] == 0) {
+                    // Levél: első látogatáskor csak lejátszunk, másodiktól kibontjuk
+                    if ((visits[node] == 0 && node != 0) || !expand(node)) {
+                        winner = board.playout(toMove, random);
+                        break;
+                    }
+                }
+                node = select(node);
+                board.place(moves[node], toMove);
+                path[++depth] = node;
+                mover = toMove;
+                if (states[node] == UNKNOWN) {
+                    states[node] = board.wonThrough(moves[node], toMove) ? WON
+                            : board.emptyCount == 0 ? DRAWN : OPEN;
+                }
+                if (states[node] != OPEN) {
+                    winner = states[node] == WON ? toMove : 0;
+                    break;
+                }
+                toMove = opponent(toMove);
+            }
+
+            if (depth > maxDepth) {
+                maxDepth = depth;
+            }
+
+            // Visszaterjesztés: minden csomópont a belé lépő játékos szemszögéből kap pontot
+            for (int i = depth; i >= 0; i--) {
+                int current = path[i];
+                visits[current]++;
+                wins[current] += winner == 0 ? 0.5 : winner == mover ? 1.0 : 0.0;
+                mover = opponent(mover);
+            }
+        }
+
+        /**
+         * Kibontja a csomópontot: minden olyan üres cellához létrehoz egy gyereket, amelytől legfeljebb
+         * két mezőre már van kő (nagy táblán a távoli lépések csak hígítanák a keresést).
+         *
+         * @return Hamis, ha a fa betelt (ilyenkor a levélből lejátszunk).
+         */
+        private boolean expand(int node) {
+            int count = board.emptyCount;
+            if (size + count > MAX_NODES) {
+                return false;
+            }
+            ensureCapacity(size + count);
+            boolean nearOnly = board.emptyCount < board.cells.length; // Üres táblán minden cella jelölt
+            int child = size;
+            for (int cell = 0; cell < board.cells.length; cell++) {
+                if (board.cells[cell] == 0 && (!nearOnly || board.hasNeighbour(cell))) {
+                    moves[child] = cell;
+                    firstChild[child] = 0;
+                    childCount[child] = 0;
+                    visits[child] = 0;
+                    wins[child] = 0;
+                    states[child] = UNKNOWN;
+                    child++;
+                }
+            }
+            firstChild[node] = size;
+            childCount[node] = child - size;
+            size = child;
+            return true;
+        }
+
+        /**
+         * UCT kiválasztás; a még nem látogatott gyerekek közül véletlenszerűen választ.
+         */
+        private int select(int node) {
+            int first = firstChild[node];
+            int count = childCount[node];
+            int start = random.nextInt(count); // A nem látogatott gyerekek véletlen sorrendben jönnek
+            for (int i = 0; i < count; i++) {
+                int child = first + (start + i) % count;
+                if (visits[child] == 0) {
+                    return child;
+                }
+            }
+            double logParent = Math.log(visits[node]);
+            int best = first;
+            double bestValue = Double.NEGATIVE_INFINITY;
+            for (int child = first; child < first + count; child++) {
+                double value = wins[child] / visits[child] + EXPLORATION * Math.sqrt(logParent / visits[child]);
+                if (value > bestValue) {
+                    bestValue = value;
+                    best = child;
+                }
+            }
+            return best;
+        }
+
+        /**
+         * Hozzáadja a gyökérgyerekek látogatásait és pontjait a cellánkénti összegekhez.
+         */
+        void addRootStats(long[] visitsByCell, double[] winsByCell) {
+            for (int child = firstChild[0]; child < firstChild[0] + childCount[0]; child++) {
+                visitsByCell[moves[child]] += visits[child];
+                winsByCell[moves[child]] += wins[child];
+            }
+        }
+
+        private void ensureCapacity(int capacity) {
+            if (capacity <= moves.length) {
+                return;
+            }
+            int length = Math.max(capacity, moves.length * 2);
+            moves = Arrays.copyOf(moves, length);
+            firstChild = Arrays.copyOf(firstChild, length);
+            childCount = Arrays.copyOf(childCount, length);
+            visits = Arrays.copyOf(visits, length);
+            wins = Arrays.copyOf(wins, length);
+            states = Arrays.copyOf(states, length);
+        }
+    }
+
+    private static byte opponent(byte stone) {
+        return stone == Board.X ? Board.O : Board.X;
+    }
+
+    /**
+     * A lejátszások táblája: cellánként egy bájt, és az üres cellák listája a gyors véletlen választáshoz.
+     * A győzelmet csak az utolsó lépésen átmenő négy irányban vizsgálja.
+     */
+    private static final class Board {
+        static final byte X = 1;
+        static final byte O = 2;
+        private static final int[][] DIRECTIONS = {{0, 1}, {1, 0}, {1, 1}, {1, -1}};
+
+        final int rows; // Sorok száma
+        final int cols; // Oszlopok száma
+        final int winCondition; // Győzelemhez szükséges kövek száma
+        final byte[] cells; // A cellák (0 = üres, X vagy O)
+        final int[] empties; // Az üres cellák listája
+        final int[] emptyIndex; // Cellánként a helye az üres cellák listájában
+        int emptyCount; // Az üres cellák száma
+
+        Board(int rows, int cols, int winCondition) {
+            this.rows = rows;
+            this.cols = cols;
+            this.winCondition = winCondition;
+            this.cells = new byte[rows * cols];
+            this.empties = new int[rows * cols];
+            this.emptyIndex = new int[rows * cols];
+        }
+
+        void load(char[][] board) {
+            emptyCount = 0;
+            for (int cell = 0; cell < cells.length; cell++) {
+                char c = board[cell / cols][cell % cols];
+                cells[cell] = c == 'X' ? X : c == 'O' ? O : 0;
+                if (c == 0) {
+                    emptyIndex[cell] = emptyCount;
+                    empties[emptyCount++] = cell;
+                }
+            }
+        }
+
+        void copyFrom(Board other) {
+            System.arraycopy(other.cells, 0, cells, 0, cells.length);
+            System.arraycopy(other.empties, 0, empties, 0, other.emptyCount);
+            System.arraycopy(other.emptyIndex, 0, emptyIndex, 0, cells.length);
+            emptyCount = other.emptyCount;
+        }
+
+        void place(int cell, byte stone) {
+            cells[cell] = stone;
+            // Az utolsó üres cella kerül a lefoglalt helyére
+            int index = emptyIndex[cell];
+            int last = empties[--emptyCount];
+            empties[index] = last;
+            emptyIndex[last] = index;
+        }
+
+        /**
+         * Véletlen lejátszás a játék végéig.
+         *
+         * @return A nyertes köve, vagy 0 döntetlennél.
+         */
+        byte playout(byte toMove, SplittableRandom random) {
+            while (emptyCount > 0) {
+                int cell = empties[random.nextInt(emptyCount)];
+                place(cell, toMove);
+                if (wonThrough(cell, toMove)) {
+                    return toMove;
+                }
+                toMove = opponent(toMove);
+            }
+            return 0;
+        }
+
+        boolean wonThrough(int cell, byte stone) {
+            int row = cell / cols;
+            int col = cell % cols;
+            for (int[] direction : DIRECTIONS) {
+                int count = 1 + run(row, col, direction[0], direction[1], stone)
+                        + run(row, col, -direction[0], -direction[1], stone);
+                if (count >= winCondition) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private int run(int row, int col, int deltaRow, int deltaCol, byte stone) {
+            int count = 0;
+            for (int r = row + deltaRow, c = col + deltaCol;
+                 r >= 0 && r < rows && c >= 0 && c < cols && cells[r * cols + c] == stone;
+                 r += deltaRow, c += deltaCol) {
+                count++;
+            }
+            return count;
+        }
+
+        /**
+         * @return Igaz, ha a cellától legfeljebb két mezőre (bármely irányban) van kő.
+         */
+        boolean hasNeighbour(int cell) {
+            int row = cell / cols;
+            int col = cell % cols;
+            for (int r = Math.max(0, row - 2); r <= Math.min(rows - 1, row + 2); r++) {
+                for (int c = Math.max(0, col - 2); c <= Math.min(cols - 1, col + 2); c++) {
+                    if (cells[r * cols + c] != 0) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        /**
+         * @return A legkisebb indexű cella, amellyel a kő azonnal nyer, vagy -1.
+         */
+        int findWinningCell(byte stone) {
+            for (int cell = 0; cell < cells.length; cell++) {
+                if (cells[cell] == 0) {
+                    cells[cell] = stone;
+                    boolean won = wonThrough(cell, stone);
+                    cells[cell] = 0;
+                    if (won) {
+                        return cell;
+                    }
+                }
+            }
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package AI;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+class MonteCarloAITest {
+
+    @Test
+    void testAvoidsLosingCorner() {
+        // Két szemközti sarok ellen csak az oldalsó mező ment, a sarok villát enged
+        char[][] board = {
+            {'X', 0, 0},
+            {0, 'O', 0},
+            {0, 0, 'X'}
+        };
+        MonteCarloAI ai = new MonteCarloAI(board, 'O', 'X', 3, 10_000);
+        ai.setPlayoutLimit(20_000);
+        ai.setSeed(1);
+        int[] move = ai.getBestMove();
+        assertEquals(1, (move[0] + move[1]) % 2);
+        assertEquals(20_000, ai.getLastPlayouts());
+        assertTrue(ai.getLastScore() >= -1 && ai.getLastScore() <= 1);
+    }
+
+    @Test
+    void testFindsDoubleThreatWithRootParallelism() {
+        char[][] board = new char[5][5];
+        board[0][0] = 'X';
+        board[4][4] = 'X';
+        board[2][1] = 'O';
+        board[2][2] = 'O';
+        MonteCarloAI ai = new MonteCarloAI(board, 'O', 'X', 4, 10_000);
+        ai.setPlayoutLimit(50_000);
+        ai.setThreads(4);
+        ai.setSeed(2);
+        assertArrayEquals(new int[]{2, 3}, ai.getBestMove()); // (2, 0) és (2, 4) egyszerre fenyeget
+    }
+
+    @Test
+    void testLargeBoardRespectsTimeBudget() {
+        char[][] board = new char[15][15]; // 64 cellánál nagyobb tábla: bittábla nélkül
+        board[7][7] = 'X';
+        MonteCarloAI ai = new MonteCarloAI(board, 'O', 'X', 5, 100);
+        long start = System.nanoTime();
+        int[] move = ai.getBestMove();
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        assertEquals(0, board[move[0]][move[1]]);
+        assertTrue(Math.abs(move[0] - 7) <= 2 && Math.abs(move[1] - 7) <= 2); // A kő közelében
+        assertTrue(elapsedMillis < 1000);
+        assertTrue(ai.getLastPlayouts() > 0);
+    }
+
+    @Test
+    void testBlocksImmediateWin() {
+        char[][] board = new char[15][15];
+        for (int col = 3; col < 7; col++) {
+            board[4][col] = 'X';
+        }
+        board[4][2] = 'O';
+        board[5][5] = 'O';
+        MonteCarloAI ai = new MonteCarloAI(board, 'O', 'X', 5, 100);
+        assertArrayEquals(new int[]{4, 7}, ai.getBestMove());
+    }
+
+    @Test
+    void testReusesTreeAfterReply() {
+        char[][] board = new char[7][7];
+        board[3][3] = 'X';
+        MonteCarloAI ai = new MonteCarloAI(board, 'O', 'X', 4, 10_000);
+        ai.setPlayoutLimit(20_000);
+        ai.setSeed(3);
+        int[] move = ai.getBestMove();
+        assertEquals(0, ai.getLastReusedNodes());
+        board[move[0]][move[1]] = 'O';
+        board[move[0] == 3 ? 4 : 3][3] = 'X'; // Az ember válasza a két kő mellé
+        ai.getBestMove();
+        int reused = ai.getLastReusedNodes();
+        assertTrue(reused > 0);
+        assertTrue(ai.getLastTreeSize() >= reused);
+
+        // Ha az állás nem az előző keresés folytatása (pl. új játék), a fa újraépül
+        for (char[] row : board) {
+            java.util.Arrays.fill(row, (char) 0);
+        }
+        board[0][0] = 'X';
+        ai.getBestMove();
+        assertEquals(0, ai.getLastReusedNodes());
+    }
+}
@@ -0,0 +1,283 @@
+package AI;
+
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+/**
+ * A PerfectPlayTable osztály a teljesen megoldott 3x3-as játék lépéstáblája.
+ * A pozíciókat hármas számrendszerbeli kóddal azonosítjuk (cellánként 0 = üres, 1 = X, 2 = O),
+ * és minden nem végállapotú pozícióhoz, mindkét soron következő játékosra, eltároljuk a tökéletes lépést
+ * és a játék elméleti eredményét (nyerés, döntetlen vagy vereség a lépő szemszögéből).
+ * A classpath erőforrás csak a 8 szimmetria szerinti kanonikus pozíciókat tartalmazza; betöltéskor
+ * ezeket az összes szimmetrikus változatra kiterjesztjük, így a lekérdezés egyetlen tömbolvasás.
+ * Ha az erőforrás hiányzik, az első használatkor a memóriában oldjuk meg a játékot.
+ */
+public final class PerfectPlayTable {
+    /** Az erőforrás neve az AI csomagon belül. */
+    public static final String RESOURCE = "tictactoe3x3.table";
+    private static final int MAGIC = 0x54335443; // "T3TC": lépés és eredmény
+    private static final int CELLS = 9;
+    private static final int POSITIONS = 19683; // 3^9
+    private static final int[] POW3 = {1, 3, 9, 27, 81, 243, 729, 2187, 6561};
+    private static final int[][] LINES = {
+        {0, 1, 2}, {3, 4, 5}, {6, 7, 8}, {0, 3, 6}, {1, 4, 7}, {2, 5, 8}, {0, 4, 8}, {2, 4, 6}
+    };
+    private static final Symmetry SYMMETRY = Symmetry.forSize(3); // A 8 szimmetria
+
+    private static volatile PerfectPlayTable instance;
+
+    private final byte[] xMoves; // X következik: kódonként a lépés cellája, vagy -1
+    private final byte[] oMoves; // O következik: kódonként a lépés cellája, vagy -1
+    private final byte[] xResults; // X következik: kódonként 1 nyerés, 0 döntetlen, -1 vereség X-nek
+    private final byte[] oResults; // O következik: kódonként ugyanez O szemszögéből
+
+    private PerfectPlayTable(byte[] xMoves, byte[] oMoves, byte[] xResults, byte[] oResults) {
+        this.xMoves = xMoves;
+        this.oMoves = oMoves;
+        this.xResults = xResults;
+        this.oResults = oResults;
+    }
+
+    /**
+     * Visszaadja a (szükség esetén betöltött vagy kiszámolt) táblát.
+     *
+     * @return A lépéstábla.
+     */
+    public static PerfectPlayTable get() {
+        PerfectPlayTable table = instance;
+        if (table == null) {
+            synchronized (PerfectPlayTable.class) {
+                table = instance;
+                if (table == null) {
+                    table = load();
+                    instance = table;
+                }
+            }
+        }
+        return table;
+    }
+
+    /**
+     * Megadja a tökéletes lépést. Nem foglal memóriát és nem keres.
+     *
+     * @param bits   A 3x3-as bittábla.
+     * @param toMove A soron következő játékos karaktere.
+     * @return A lépés cellája, vagy -1, ha a pozíció végállapot.
+     */
+    public int bestCell(BitBoard bits, char toMove) {
+        int code = encode(bits);
+        return (toMove == 'X' ? xMoves : oMoves)[code];
+    }
+
+    /**
+     * Megadja a pozíció elméleti eredményét tökéletes játékkal. Nem foglal memóriát és nem keres.
+     *
+     * @param bits   A 3x3-as bittábla.
+     * @param toMove A soron következő játékos karaktere.
+     * @return 1, ha a lépő nyer, 0 döntetlennél, -1, ha veszít (végállapotra nem értelmezett).
+     */
+    public int result(BitBoard bits, char toMove) {
+        int code = encode(bits);
+        return (toMove == 'X' ? xResults : oResults)[code];
+    }
+
+    /**
+     * A bittábla hármas számrendszerbeli kódja.
+     *
+     * @param bits A 3x3-as bittábla.
+     * @return A pozíció kódja.
+     */
+    static int encode(BitBoard bits) {
+        int code = 0;
+        for (long x = bits.bits('X'); x != 0; x &= x - 1) {
+            code += POW3[Long.numberOfTrailingZeros(x)];
+        }
+        for (long o = bits.bits('O'); o != 0; o &= o - 1) {
+            code += 2 * POW3[Long.numberOfTrailingZeros(o)];
+        }
+        return code;
+    }
+
+    /**
+     * Betölti a táblát az erőforrásból, vagy ha nincs ilyen, kiszámolja.
+     */
+    private static PerfectPlayTable load() {
+        try (InputStream in = PerfectPlayTable.class.getResourceAsStream(RESOURCE)) {
+            if (in != null) {
+                return read(new DataInputStream(in));
+            }
+        } catch (IOException e) {
+            // Sérült erőforrás esetén a játékot inkább újra megoldjuk
+        }
+        byte[][] solved = solve();
+        return new PerfectPlayTable(solved[0], solved[1], solved[2], solved[3]);
+    }
+
+    /**
+     * Beolvassa a kanonikus bejegyzéseket, és kiterjeszti őket mind a 8 szimmetriára.
+     */
+    private static PerfectPlayTable read(DataInputStream in) throws IOException {
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a 3x3 perfect-play table");
+        }
+        byte[] xMoves = new byte[POSITIONS];
+        byte[] oMoves = new byte[POSITIONS];
+        byte[] xResults = new byte[POSITIONS];
+        byte[] oResults = new byte[POSITIONS];
+        Arrays.fill(xMoves, (byte) -1);
+        Arrays.fill(oMoves, (byte) -1);
+        int[] cells = new int[CELLS];
+        int count = in.readInt();
+        for (int i = 0; i < count; i++) {
+            int code = in.readUnsignedShort();
+            // felső bit: O következik, 4-5. bit: az eredmény + 1, alsó 4 bit: a lépés
+            int packed = in.readUnsignedByte();
+            byte[] moves = (packed & 0x80) != 0 ? oMoves : xMoves;
+            byte[] results = (packed & 0x80) != 0 ? oResults : xResults;
+            int move = packed & 0x0F;
+            byte result = (byte) ((packed >>> 4 & 3) - 1);
+            decode(code, cells);
+            for (int t = 0; t < Symmetry.COUNT; t++) {
+                int image = transform(cells, t);
+                moves[image] = (byte) SYMMETRY.image(t, move);
+                results[image] = result; // A szimmetrikus képek eredménye azonos
+            }
+        }
+        return new PerfectPlayTable(xMoves, oMoves, xResults, oResults);
+    }
+
+    /**
+     * Megoldja a játékot minden lehetséges táblára (a szabálytalanokra is, hiszen a tesztek
+     * és a hívók tetszőleges állást adhatnak át) mindkét soron következő játékossal.
+     * A pontszám a gyorsabb nyerést és a lassabb vereséget részesíti előnyben.
+     *
+     * @return {X lépései, O lépései, X eredményei, O eredményei} kódonként; a lépés -1 a végállapotokra.
+     */
+    static byte[][] solve() {
+        byte[][] moves = new byte[2][POSITIONS];
+        byte[][] scores = new byte[2][POSITIONS];
+        boolean[][] known = new boolean[2][POSITIONS];
+        int[] cells = new int[CELLS];
+        for (int code = 0; code < POSITIONS; code++) {
+            for (int side = 0; side < 2; side++) {
+                decode(code, cells);
+                solve(cells, code, side, moves, scores, known);
+            }
+        }
+        byte[][] solved = {moves[0], moves[1], new byte[POSITIONS], new byte[POSITIONS]};
+        for (int side = 0; side < 2; side++) {
+            for (int code = 0; code < POSITIONS; code++) {
+                solved[2 + side][code] = (byte) Integer.signum(scores[side][code]);
+            }
+        }
+        return solved;
+    }
+
+    /**
+     * Negamax memoizálással; a pontszám a soron következő játékos szemszögéből értendő
+     * (10 - lépésszám nyerésre, negatív vereségre, 0 döntetlenre).
+     */
+    private static int solve(int[] cells, int code, int side, byte[][] moves, byte[][] scores, boolean[][] known) {
+        if (known[side][code]) {
+            return scores[side][code];
+        }
+        int best;
+        int bestMove = -1;
+        if (hasLine(cells, 1) || hasLine(cells, 2)) {
+            best = -10; // A másik játékos (vagy szabálytalan állásban bárki) már nyert
+        } else {
+            best = Integer.MIN_VALUE;
+            int stone = side == 0 ? 1 : 2;
+            for (int cell = 0; cell < CELLS; cell++) {
+                if (cells[cell] != 0) continue;
+                cells[cell] = stone;
+                int childCode = code + stone * POW3[cell];
+                int score = hasLine(cells, stone) ? 10
+                        : -solve(cells, childCode, 1 - side, moves, scores, known);
+                cells[cell] = 0;
+                score -= Integer.signum(score); // Minden lépés távolabb visz az eredménytől
+                if (score > best) {
+                    best = score;
+                    bestMove = cell;
+                }
+            }
+            if (bestMove == -1) {
+                best = 0; // Tele a tábla: döntetlen
+            }
+        }
+        known[side][code] = true;
+        scores[side][code] = (byte) best;
+        moves[side][code] = (byte) bestMove;
+        return best;
+    }
+
+    private static boolean hasLine(int[] cells, int stone) {
+        for (int[] line : LINES) {
+            if (cells[line[0]] == stone && cells[line[1]] == stone && cells[line[2]] == stone) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void decode(int code, int[] cells) {
+        for (int cell = 0; cell < CELLS; cell++) {
+            cells[cell] = code % 3;
+            code /= 3;
+        }
+    }
+
+    /**
+     * @return A cellák adott szimmetriával transzformált képének kódja.
+     */
+    private static int transform(int[] cells, int transform) {
+        int code = 0;
+        for (int cell = 0; cell < CELLS; cell++) {
+            code += cells[cell] * POW3[SYMMETRY.image(transform, cell)];
+        }
+        return code;
+    }
+
+    /**
+     * Megoldja a játékot, és kiírja a kanonikus bejegyzéseket az erőforrásfájlba.
+     * Használat: java AI.PerfectPlayTable src/AI/tictactoe3x3.table
+     *
+     * @param args Az első argumentum a kimeneti fájl.
+     * @throws IOException Ha a fájl nem írható.
+     */
+    public static void main(String[] args) throws IOException {
+        byte[][] solved = solve();
+        int[] cells = new int[CELLS];
+        int[] canonical = new int[POSITIONS * 2];
+        int count = 0;
+        for (int code = 0; code < POSITIONS; code++) {
+            decode(code, cells);
+            int min = code;
+            for (int t = 0; t < Symmetry.COUNT; t++) {
+                min = Math.min(min, transform(cells, t));
+            }
+            if (min != code) continue; // Csak a kanonikus (legkisebb kódú) alakot tároljuk
+            for (int side = 0; side < 2; side++) {
+                if (solved[side][code] != -1) {
+                    canonical[count++] = code << 1 | side;
+                }
+            }
+        }
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(args[0])))) {
+            out.writeInt(MAGIC);
+            out.writeInt(count);
+            for (int i = 0; i < count; i++) {
+                int code = canonical[i] >>> 1;
+                int side = canonical[i] & 1;
+                out.writeShort(code);
+                out.writeByte(side << 7 | (solved[2 + side][code] + 1) << 4 | solved[side][code]);
+            }
+        }
+        System.out.println(count + " canonical positions written to " + args[0]);
+    }
+}
@@ -0,0 +1,275 @@
+package AI;
+
+/**
+ * A ProofNumberSearch osztály mélységi bizonyítószám-keresést (df-pn) valósít meg a bittáblán.
+ * Azt dönti el, hogy a támadó ki tudja-e kényszeríteni a győzelmet (a döntetlen a védőnek számít),
+ * és ha igen, melyik lépéssel. A minimax-szal szemben nem mélységre keres: mindig azt a csomópontot
+ * bontja ki, amelyik a legkevesebb további bizonyítással dönti el a kérdést, így a kényszerített
+ * taktikai nyerések sokkal kevesebb csomópontból bizonyíthatók.
+ * <p>
+ * Ha a soron következő játékosnak van nyerő lépése, a csomópont eldőlt; ha az ellenfelének van,
+ * csak a blokkoló lépés jöhet szóba. A bizonyító- és cáfolószámokat transzpozíciós tábla tárolja
+ * a pozíció kanonikus kulcsával (lásd Symmetry), így a szimmetrikus pozíciókat csak egyszer kell bizonyítani;
+ * a keresés pedig a csomópontkeret vagy a határidő elfogyásakor eredmény nélkül áll le.
+ * Egy példány egyetlen szálon használható.
+ */
+final class ProofNumberSearch {
+    /** A végtelen bizonyító- vagy cáfolószám (eldőlt csomópont). */
+    static final int INFINITY = 1 << 30;
+    private static final int MAX_PLY = BitBoard.MAX_CELLS + 1;
+    private static final int TIME_CHECK_INTERVAL = 1024; // Ennyi csomópontonként nézzük az órát
+    // A támadót jelölő kulcsok; egyik sem 0, így az üres tábla kulcsa sem ütközik az üres bejegyzéssel
+    private static final long ATTACKER_X_KEY = 0x9E3779B97F4A7C15L;
+    private static final long ATTACKER_O_KEY = 0xC2B2AE3D27D4EB4FL;
+
+    /**
+     * A bizonyítás eredménye.
+     */
+    enum Result {
+        /** A támadó kikényszeríti a győzelmet. */
+        PROVEN,
+        /** A támadó nem tud nyerni (a védő legalább döntetlent tart). */
+        DISPROVEN,
+        /** A keret elfogyott, mielőtt a kérdés eldőlt volna. */
+        UNKNOWN
+    }
+
+    private final BitBoard bits; // A keresés saját táblája
+    private final Symmetry symmetry; // A tábla szimmetriái
+    private final long[] imageKeys = new long[Symmetry.COUNT]; // A pozíció 8 képének kulcsa
+    private final long[] keys; // A tábla kulcsai
+    private final int[] proofs; // Bizonyítószámok
+    private final int[] disproofs; // Cáfolószámok
+    private final int mask; // Indexmaszk (kapacitás - 1)
+    private final int[][] moveBuffers; // Mélységenként előre lefoglalt lépéslista
+    private final long[][] hashBuffers; // A lépések utáni pozíciók kanonikus kulcsai
+    private final int[][] proofBuffers; // A gyerekek bizonyítószámai
+    private final int[][] disproofBuffers; // A gyerekek cáfolószámai
+    private char attacker; // A győzelmet bizonyítani próbáló játékos
+    private long attackerKey; // A támadót jelölő kulcs
+    private long maxNodes; // A csomópontkeret
+    private long deadline; // A határidő (System.nanoTime)
+    private boolean aborted; // Elfogyott-e a keret
+    private volatile boolean stopped; // Másik szálról kért leállítás
+    private long nodes; // A kibontott csomópontok száma
+    private long tableProbes; // A tábla kérdezései (csak ha SearchStats.ENABLED)
+    private long tableHits; // A tábla találatai
+    private int bestCell; // A gyökér döntő lépése
+    private int lastProof; // Az utoljára befejezett csomópont bizonyítószáma
+    private int lastDisproof; // Az utoljára befejezett csomópont cáfolószáma
+
+    /**
+     * Konstruktor a keresés inicializálására.
+     *
+     * @param size         A tábla mérete.
+     * @param winCondition A győzelem feltétele.
+     * @param capacity     A transzpozíciós tábla bejegyzéseinek száma (a következő kettőhatványra kerekítve).
+     */
+    ProofNumberSearch(int size, int winCondition, int capacity) {
+        this.bits = new BitBoard(size, winCondition);
+        this.symmetry = Symmetry.forSize(size);
+        int tableSize = Integer.highestOneBit(Math.max(1, capacity - 1) << 1);
+        this.keys = new long[tableSize];
+        this.proofs = new int[tableSize];
+        this.disproofs = new int[tableSize];
+        this.mask = tableSize - 1;
+        this.moveBuffers = new int[MAX_PLY][size * size];
+        this.hashBuffers = new long[MAX_PLY][size * size];
+        this.proofBuffers = new int[MAX_PLY][size * size];
+        this.disproofBuffers = new int[MAX_PLY][size * size];
+    }
+
+    /**
+     * Bizonyítja vagy cáfolja, hogy a támadó kikényszeríti-e a győzelmet a pozícióból.
+     * A tábla bejegyzései a hívások között megmaradnak, így a következő lépés keresése újrahasznosítja őket.
+     *
+     * @param position      A kiinduló pozíció (nem módosul).
+     * @param attacker      A támadó karaktere.
+     * @param toMove        A soron következő játékos karaktere.
+     * @param maxNodes      A legfeljebb kibontható csomópontok száma.
+     * @param deadlineNanos A határidő System.nanoTime() szerint.
+     * @return Az eredmény; a döntő lépést a getBestCell() adja.
+     */
+    Result prove(BitBoard position, char attacker, char toMove, long maxNodes, long deadlineNanos) {
+        bits.copyFrom(position);
+        this.attacker = attacker;
+        this.maxNodes = maxNodes;
+        this.deadline = deadlineNanos;
+        aborted = false;
+        nodes = 0;
+        tableProbes = 0;
+        tableHits = 0;
+        bestCell = -1;
+
+        symmetry.hashes(bits, imageKeys);
+        attackerKey = attacker == 'O' ? ATTACKER_O_KEY : ATTACKER_X_KEY;
+        long hash = symmetry.canonicalHash(imageKeys, toMove) ^ attackerKey;
+        search(toMove, hash, INFINITY, INFINITY, 0);
+        if (aborted) {
+            return Result.UNKNOWN;
+        }
+        return lastProof == 0 ? Result.PROVEN : lastDisproof == 0 ? Result.DISPROVEN : Result.UNKNOWN;
+    }
+
+    /**
+     * Leállítja a futó keresést (UNKNOWN eredménnyel). Bármely szálról hívható.
+     */
+    void stop() {
+        stopped = true;
+    }
+
+    /**
+     * Visszavonja a korábbi leállítást, hogy a példány újra kereshessen.
+     */
+    void resume() {
+        stopped = false;
+    }
+
+    /**
+     * A gyökér döntő lépése: bizonyításnál (támadó lép) a nyerő lépés, cáfolásnál (védő lép)
+     * egy olyan védekezés, amely után a támadó már nem tud nyerni.
+     *
+     * @return A cella indexe, vagy -1, ha nincs ilyen (pl. a gyökér már eldőlt, vagy az eredmény UNKNOWN).
+     */
+    int getBestCell() {
+        return bestCell;
+    }
+
+    long getNodes() {
+        return nodes;
+    }
+
+    long getTableProbes() {
+        return tableProbes;
+    }
+
+    long getTableHits() {
+        return tableHits;
+    }
+
+    /**
+     * A df-pn MID eljárása: addig bontja ki a legígéretesebb gyereket, amíg a csomópont bizonyító- vagy
+     * cáfolószáma el nem éri a küszöbét, majd az eredményt a táblába írja.
+     */
+    private void search(char toMove, long hash, int proofThreshold, int disproofThreshold, int ply) {
+        if (++nodes >= maxNodes || ((nodes & (TIME_CHECK_INTERVAL - 1)) == 0
+                && (stopped || System.nanoTime() >= deadline))) {
+            aborted = true;
+            return;
+        }
+        char opponent = opponent(toMove);
+        boolean or = toMove == attacker; // VAGY-csomópont: a támadó választ
+
+        // A soron következő nyer: a csomópont eldőlt
+        if (bits.findWinningCell(toMove) != -1) {
+            store(hash, or ? 0 : INFINITY, or ? INFINITY : 0);
+            return;
+        }
+        // Ha az ellenfél nyerni tud, csak a blokkolás jöhet szóba
+        int[] moves = moveBuffers[ply];
+        long[] hashes = hashBuffers[ply];
+        int[] childProofs = proofBuffers[ply];
+        int[] childDisproofs = disproofBuffers[ply];
+        int count = 0;
+        int forced = bits.findWinningCell(opponent);
+        long candidates = forced != -1 ? 1L << forced : bits.emptyBits();
+        for (; candidates != 0; candidates &= candidates - 1) {
+            int cell = Long.numberOfTrailingZeros(candidates);
+            long childHash = symmetry.canonicalHashAfter(imageKeys, cell, toMove, opponent) ^ attackerKey;
+            boolean duplicate = false; // A szimmetrikusan egyenértékű lépések közül elég egyet vizsgálni
+            for (int i = 0; i < count && !duplicate; i++) {
+                duplicate = hashes[i] == childHash;
+            }
+            if (!duplicate) {
+                int slot = (int) childHash & mask;
+                boolean known = keys[slot] == childHash;
+                if (SearchStats.ENABLED) {
+                    tableProbes++;
+                    tableHits += known ? 1 : 0;
+                }
+                moves[count] = cell;
+                hashes[count] = childHash;
+                childProofs[count] = known ? proofs[slot] : 1;
+                childDisproofs[count++] = known ? disproofs[slot] : 1;
+            }
+        }
+        if (count == 0) {
+            store(hash, INFINITY, 0); // Döntetlen: a támadó nem nyert
+            return;
+        }
+
+        int proof;
+        int disproof;
+        while (true) {
+            // A gyerekek számaiból a csomópont számai, a legjobb és a második legjobb gyerek. A gyerekek
+            // számait helyben tartjuk: ha a táblában egy ütközés felülírná őket, a keresés nem ragad le
+            int min = INFINITY;
+            int second = INFINITY;
+            int sum = 0;
+            int best = 0;
+            int bestProof = 0;
+            int bestDisproof = 0;
+            for (int i = 0; i < count; i++) {
+                int childProof = childProofs[i];
+                int childDisproof = childDisproofs[i];
+                int selected = or ? childProof : childDisproof; // VAGY: min bizonyító, ÉS: min cáfoló
+                sum = (int) Math.min(INFINITY, (long) sum + (or ? childDisproof : childProof)); // Telítő összeadás
+                if (selected < min) {
+                    second = min;
+                    min = selected;
+                    best = i;
+                    bestProof = childProof;
+                    bestDisproof = childDisproof;
+                } else if (selected < second) {
+                    second = selected;
+                }
+            }
+            proof = or ? min : sum;
+            disproof = or ? sum : min;
+            if (ply == 0) {
+                bestCell = min == 0 ? moves[best] : -1;
+            }
+            if (proof >= proofThreshold || disproof >= disproofThreshold) {
+                break;
+            }
+
+            int childProofThreshold;
+            int childDisproofThreshold;
+            if (or) {
+                childProofThreshold = Math.min(proofThreshold, second + 1);
+                childDisproofThreshold = disproofThreshold - disproof + bestDisproof;
+            } else {
+                childProofThreshold = proofThreshold - proof + bestProof;
+                childDisproofThreshold = Math.min(disproofThreshold, second + 1);
+            }
+            int cell = moves[best];
+            bits.place(cell, toMove);
+            symmetry.update(imageKeys, cell, toMove);
+            search(opponent, hashes[best], childProofThreshold, childDisproofThreshold, ply + 1);
+            symmetry.update(imageKeys, cell, toMove);
+            bits.clear(cell);
+            if (aborted) {
+                return; // A félbehagyott csomópont számait nem írjuk a táblába
+            }
+            childProofs[best] = lastProof;
+            childDisproofs[best] = lastDisproof;
+        }
+        store(hash, proof, disproof);
+    }
+
+    /**
+     * Beírja a csomópont számait; az új bejegyzés mindig felülírja a régit. A számokat a szülő is megkapja.
+     */
+    private void store(long hash, int proof, int disproof) {
+        lastProof = proof;
+        lastDisproof = disproof;
+        int slot = (int) hash & mask;
+        keys[slot] = hash;
+        proofs[slot] = proof;
+        disproofs[slot] = disproof;
+    }
+
+    private static char opponent(char player) {
+        return player == 'X' ? 'O' : 'X';
+    }
+}
@@ -0,0 +1,48 @@
+package AI;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+class ProofNumberSearchTest {
+
+    @Test
+    void testEmpty3x3IsNotAWin() {
+        ProofNumberSearch search = new ProofNumberSearch(3, 3, 1 << 16);
+        assertEquals(ProofNumberSearch.Result.DISPROVEN,
+                search.prove(new BitBoard(3, 3), 'X', 'X', 1_000_000, Long.MAX_VALUE));
+    }
+
+    @Test
+    void testProvesFirstPlayerWinOn4x4() {
+        ProofNumberSearch search = new ProofNumberSearch(4, 3, 1 << 16);
+        BitBoard bits = new BitBoard(4, 3);
+        assertEquals(ProofNumberSearch.Result.PROVEN, search.prove(bits, 'X', 'X', 1_000_000, Long.MAX_VALUE));
+
+        // A nyerő lépés után O bármit lép, X nyer
+        int cell = search.getBestCell();
+        assertTrue(cell >= 0 && cell < 16);
+        bits.place(cell, 'X');
+        assertEquals(ProofNumberSearch.Result.PROVEN, search.prove(bits, 'X', 'O', 1_000_000, Long.MAX_VALUE));
+    }
+
+    @Test
+    void testOpenThreeWins() {
+        ProofNumberSearch search = new ProofNumberSearch(5, 4, 1 << 16);
+        BitBoard bits = new BitBoard(5, 4);
+        bits.place(2 * 5 + 1, 'X');
+        bits.place(2 * 5 + 2, 'X');
+        bits.place(0, 'O');
+        bits.place(4, 'O');
+        assertEquals(ProofNumberSearch.Result.PROVEN, search.prove(bits, 'X', 'X', 1_000_000, Long.MAX_VALUE));
+        bits.place(search.getBestCell(), 'X');
+        assertEquals(ProofNumberSearch.Result.PROVEN, search.prove(bits, 'X', 'O', 1_000_000, Long.MAX_VALUE));
+    }
+
+    @Test
+    void testBudgetLeavesResultUnknown() {
+        ProofNumberSearch search = new ProofNumberSearch(5, 4, 1 << 16);
+        assertEquals(ProofNumberSearch.Result.UNKNOWN,
+                search.prove(new BitBoard(5, 4), 'X', 'X', 1_000, Long.MAX_VALUE));
+        assertEquals(-1, search.getBestCell());
+    }
+}
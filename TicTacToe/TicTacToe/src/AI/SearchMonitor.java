@@ -0,0 +1,152 @@
+package AI;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * A SearchMonitor osztály gyűjti az AI motorok kereséseinek mérőszámait (lásd SearchStats), és JMX MBean-ként
+ * közzéteszi őket a platform MBean szerveren. Minden AIParent motor minden keresés után ide jelent, így a
+ * felület (pl. a főablak debug rétege) és a külső monitorozó eszközök ugyanazt látják.
+ * <p>
+ * Egyetlen példány van; a rögzítés zárolás nélküli, bármely szálról hívható.
+ */
+public final class SearchMonitor implements SearchMonitorMBean {
+    /** A JMX név. */
+    public static final String OBJECT_NAME = "TicTacToe:type=SearchMonitor";
+    private static final SearchMonitor INSTANCE = new SearchMonitor();
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    private final LongAdder searches = new LongAdder(); // A keresések száma
+    private final LongAdder nodes = new LongAdder(); // A csomópontok összesen
+    private final LongAdder elapsedNanos = new LongAdder(); // Az idő összesen
+    private volatile SearchStats last; // Az utolsó keresés (null, ha még nem volt)
+
+    private SearchMonitor() {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, new ObjectName(OBJECT_NAME));
+        } catch (JMException | SecurityException e) {
+            // JMX nélkül is gyűjtünk, csak kívülről nem látszik
+        }
+    }
+
+    /**
+     * @return A közös példány (első híváskor regisztrálja az MBean-t).
+     */
+    public static SearchMonitor get() {
+        return INSTANCE;
+    }
+
+    /**
+     * Rögzíti egy keresés mérőszámait.
+     *
+     * @param stats A keresés mérőszámai.
+     */
+    public void record(SearchStats stats) {
+        searches.increment();
+        nodes.add(stats.getNodes());
+        elapsedNanos.add(stats.getElapsedNanos());
+        last = stats;
+    }
+
+    /**
+     * @return Az utolsó keresés mérőszámai, vagy null, ha még nem volt keresés.
+     */
+    public SearchStats getLastStats() {
+        return last;
+    }
+
+    /**
+     * A hívó szálon eddig lefoglalt memória (a HotSpot kiterjesztésével).
+     *
+     * @return A bájtok száma, vagy -1, ha a JVM nem méri.
+     */
+    static long allocatedBytes() {
+        if (THREADS instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) THREADS;
+            if (threads.isThreadAllocatedMemoryEnabled()) {
+                return threads.getCurrentThreadAllocatedBytes();
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public long getSearchCount() {
+        return searches.sum();
+    }
+
+    @Override
+    public long getTotalNodes() {
+        return nodes.sum();
+    }
+
+    @Override
+    public long getTotalElapsedMillis() {
+        return elapsedNanos.sum() / 1_000_000;
+    }
+
+    @Override
+    public long getAverageNodesPerSecond() {
+        long nanos = elapsedNanos.sum();
+        return nanos == 0 ? 0 : (long) (nodes.sum() * 1e9 / nanos);
+    }
+
+    @Override
+    public String getLastEngine() {
+        SearchStats stats = last;
+        return stats == null ? "" : stats.getEngine();
+    }
+
+    @Override
+    public long getLastNodes() {
+        SearchStats stats = last;
+        return stats == null ? 0 : stats.getNodes();
+    }
+
+    @Override
+    public long getLastNodesPerSecond() {
+        SearchStats stats = last;
+        return stats == null ? 0 : stats.getNodesPerSecond();
+    }
+
+    @Override
+    public int getLastDepth() {
+        SearchStats stats = last;
+        return stats == null ? 0 : stats.getDepth();
+    }
+
+    @Override
+    public double getLastElapsedMillis() {
+        SearchStats stats = last;
+        return stats == null ? 0 : stats.getElapsedNanos() / 1e6;
+    }
+
+    @Override
+    public double getLastTableHitRate() {
+        SearchStats stats = last;
+        return stats == null ? 0 : stats.getTableHitRate();
+    }
+
+    @Override
+    public double getLastBranchingFactor() {
+        SearchStats stats = last;
+        return stats == null ? 0 : stats.getBranchingFactor();
+    }
+
+    @Override
+    public long getLastAllocatedBytes() {
+        SearchStats stats = last;
+        return stats == null ? 0 : stats.getAllocatedBytes();
+    }
+
+    @Override
+    public void reset() {
+        searches.reset();
+        nodes.reset();
+        elapsedNanos.reset();
+        last = null;
+    }
+}
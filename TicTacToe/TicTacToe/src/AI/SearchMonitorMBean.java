@@ -0,0 +1,36 @@
+package AI;
+
+/**
+ * A SearchMonitor JMX felülete (pl. JConsole-ban a TicTacToe:type=SearchMonitor név alatt).
+ * A "Last" kezdetű értékek az utolsó keresésre, a többi az indulás (vagy a reset) óta összesen értendő.
+ */
+public interface SearchMonitorMBean {
+    long getSearchCount();
+
+    long getTotalNodes();
+
+    long getTotalElapsedMillis();
+
+    long getAverageNodesPerSecond();
+
+    String getLastEngine();
+
+    long getLastNodes();
+
+    long getLastNodesPerSecond();
+
+    int getLastDepth();
+
+    double getLastElapsedMillis();
+
+    double getLastTableHitRate();
+
+    double getLastBranchingFactor();
+
+    long getLastAllocatedBytes();
+
+    /**
+     * Nullázza az összesített értékeket.
+     */
+    void reset();
+}
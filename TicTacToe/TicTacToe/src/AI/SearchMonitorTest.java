@@ -0,0 +1,78 @@
+package AI;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import javax.management.ObjectName;
+
+class SearchMonitorTest {
+
+    @Test
+    void testSearchPublishesStats() {
+        char[][] board = new char[5][5];
+        board[2][2] = 'X';
+        board[1][1] = 'O';
+        board[2][3] = 'X';
+        TicTacToeAI5x5 ai = new TicTacToeAI5x5(board, 'O', 'X', 100);
+        ai.setProofBudget(0); // Csak az alfa-béta keresést mérjük
+        long searches = SearchMonitor.get().getSearchCount();
+        ai.getBestMove();
+
+        SearchStats stats = ai.getLastStats();
+        assertNotNull(stats);
+        assertEquals("TicTacToeAI5x5", stats.getEngine());
+        assertEquals(ai.getLastNodes(), stats.getNodes());
+        assertEquals(ai.getLastDepth(), stats.getDepth());
+        assertTrue(stats.getNodes() > 0 && stats.getDepth() >= 1);
+        assertTrue(stats.getTableProbes() > 0);
+        assertTrue(stats.getTableHitRate() >= 0 && stats.getTableHitRate() <= 1);
+        assertTrue(stats.getBranchingFactor() > 1);
+        assertTrue(stats.getNodesPerSecond() > 0);
+        assertTrue(SearchMonitor.get().getSearchCount() > searches);
+    }
+
+    @Test
+    void testMonteCarloCountsPlayouts() {
+        char[][] board = new char[7][7];
+        board[3][3] = 'X';
+        MonteCarloAI ai = new MonteCarloAI(board, 'O', 'X', 4, 10_000);
+        ai.setPlayoutLimit(5_000);
+        ai.getBestMove();
+        assertEquals(5_000, ai.getLastStats().getNodes());
+        assertTrue(ai.getLastStats().getDepth() >= 1);
+        assertEquals(0, ai.getLastStats().getTableProbes()); // Nincs transzpozíciós tábla
+    }
+
+    @Test
+    void testWorkerAllocationsAreCounted() {
+        AIParent ai = new TicTacToeAI(new char[3][3], 'O', 'X') {
+            @Override
+            protected int[] findBestMove() {
+                Thread worker = new Thread(() -> trackWorker(() -> {
+                    byte[] block = new byte[1 << 20]; // A munkaszál foglal, nem a hívó
+                    block[0] = 1;
+                }));
+                worker.start();
+                try {
+                    worker.join();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return new int[]{0, 0};
+            }
+        };
+        ai.getBestMove();
+        long allocated = ai.getLastStats().getAllocatedBytes();
+        assertTrue(allocated == -1 || allocated >= 1 << 20, "allocated: " + allocated);
+    }
+
+    @Test
+    void testMonitorIsRegisteredWithJmx() throws Exception {
+        TicTacToeAI ai = new TicTacToeAI(new char[3][3], 'O', 'X');
+        ai.getBestMove();
+        Object engine = ManagementFactory.getPlatformMBeanServer()
+                .getAttribute(new ObjectName(SearchMonitor.OBJECT_NAME), "LastEngine");
+        assertEquals(SearchMonitor.get().getLastEngine(), engine);
+    }
+}
@@ -0,0 +1,104 @@
+package AI;
+
+/**
+ * A SearchStats osztály egyetlen keresés (egy getBestMove hívás) mérőszámait tárolja: a vizsgált csomópontok
+ * számát, a befejezett mélységet, az eltelt időt, a transzpozíciós tábla kérdezéseit és találatait, valamint
+ * a keresés szálain (a hívó szálon és a motor munkaszálain) lefoglalt memóriát. A származtatott értékek (csomópont/másodperc, találati arány,
+ * effektív elágazási tényező) ezekből számolódnak.
+ * <p>
+ * A számlálók a tictactoe.stats=false rendszerváltozóval kikapcsolhatók. Az ENABLED konstans, így kikapcsolva
+ * a JIT a számlálást végző ágakat teljesen elhagyja a keresés forró ciklusaiból.
+ */
+public final class SearchStats {
+    /** Mérjük-e a kereséseket (alapértelmezetten igen). */
+    public static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("tictactoe.stats", "true"));
+
+    private final String engine; // A motor neve
+    private final long nodes; // A vizsgált csomópontok (Monte Carlo fakeresésnél a lejátszások) száma
+    private final int depth; // A befejezett mélység
+    private final long elapsedNanos; // Az eltelt idő
+    private final long tableProbes; // A transzpozíciós tábla kérdezései
+    private final long tableHits; // A transzpozíciós tábla találatai
+    private final long allocatedBytes; // A keresés szálain lefoglalt memória (-1, ha nem mérhető)
+
+    /**
+     * Konstruktor a mérőszámok rögzítésére.
+     *
+     * @param engine         A motor neve.
+     * @param nodes          A vizsgált csomópontok száma.
+     * @param depth          A befejezett mélység.
+     * @param elapsedNanos   Az eltelt idő nanoszekundumban.
+     * @param tableProbes    A transzpozíciós tábla kérdezései.
+     * @param tableHits      A transzpozíciós tábla találatai.
+     * @param allocatedBytes A keresés szálain (hívó és munkaszálak) lefoglalt memória bájtban, vagy -1.
+     */
+    public SearchStats(String engine, long nodes, int depth, long elapsedNanos, long tableProbes, long tableHits,
+                       long allocatedBytes) {
+        this.engine = engine;
+        this.nodes = nodes;
+        this.depth = depth;
+        this.elapsedNanos = elapsedNanos;
+        this.tableProbes = tableProbes;
+        this.tableHits = tableHits;
+        this.allocatedBytes = allocatedBytes;
+    }
+
+    public String getEngine() {
+        return engine;
+    }
+
+    public long getNodes() {
+        return nodes;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public long getTableProbes() {
+        return tableProbes;
+    }
+
+    public long getTableHits() {
+        return tableHits;
+    }
+
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    /**
+     * @return A csomópontok száma másodpercenként (0, ha az idő nem mérhető).
+     */
+    public long getNodesPerSecond() {
+        return elapsedNanos == 0 ? 0 : (long) (nodes * 1e9 / elapsedNanos);
+    }
+
+    /**
+     * @return A transzpozíciós tábla találati aránya (0..1), vagy 0, ha a motor nem használ táblát.
+     */
+    public double getTableHitRate() {
+        return tableProbes == 0 ? 0 : (double) tableHits / tableProbes;
+    }
+
+    /**
+     * Az effektív elágazási tényező: az a b, amelyre b^mélység = csomópontok.
+     *
+     * @return A tényező, vagy 0, ha nem volt mélységi keresés.
+     */
+    public double getBranchingFactor() {
+        return depth == 0 || nodes <= 1 ? 0 : Math.pow(nodes, 1.0 / depth);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %,d nodes, %,d nodes/s, depth %d, %.1f ms, TT hits %.0f%%, branching %.2f, %s",
+                engine, nodes, getNodesPerSecond(), depth, elapsedNanos / 1e6, getTableHitRate() * 100,
+                getBranchingFactor(), allocatedBytes < 0 ? "allocations n/a" : String.format("%,d KB allocated",
+                        allocatedBytes / 1024));
+    }
+}
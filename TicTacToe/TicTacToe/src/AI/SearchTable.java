@@ -0,0 +1,49 @@
+package AI;
+
+/**
+ * A SearchTable interfész a negamax keresés transzpozíciós tábláját írja le.
+ * A bejegyzést egyetlen long-ba csomagolva adja vissza (pontszám, mélység, korlát), így a lekérdezés
+ * egy lépésben történik, és a tábla több szál között is megosztható zárolás nélkül.
+ */
+interface SearchTable {
+    /** Nincs bejegyzés a kulcshoz. */
+    long NO_ENTRY = 0L;
+
+    /**
+     * Megkeresi a pozíció bejegyzését.
+     *
+     * @param key A pozíció Zobrist-kulcsa.
+     * @return A csomagolt bejegyzés, vagy NO_ENTRY.
+     */
+    long lookup(long key);
+
+    /**
+     * Eltárolja egy pozíció keresési eredményét.
+     *
+     * @param key   A pozíció Zobrist-kulcsa.
+     * @param score A pontszám.
+     * @param depth A keresés hátralévő mélysége (0..255).
+     * @param bound A korlát típusa (TranspositionTable.EXACT, LOWER vagy UPPER).
+     */
+    void store(long key, int score, int depth, byte bound);
+
+    /**
+     * Bejegyzés csomagolása: felső 32 bit a pontszám, utána 8 bit mélység, 2 bit korlát és egy
+     * "érvényes" bit, hogy a csomagolt érték soha ne legyen NO_ENTRY.
+     */
+    static long pack(int score, int depth, byte bound) {
+        return (long) score << 32 | (depth & 0xFF) << 8 | (bound & 3) << 1 | 1;
+    }
+
+    static int score(long entry) {
+        return (int) (entry >> 32);
+    }
+
+    static int depth(long entry) {
+        return (int) (entry >>> 8) & 0xFF;
+    }
+
+    static byte bound(long entry) {
+        return (byte) ((entry >>> 1) & 3);
+    }
+}
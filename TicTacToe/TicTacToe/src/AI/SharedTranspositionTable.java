@@ -0,0 +1,73 @@
+package AI;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+
+/**
+ * A SharedTranspositionTable osztály egy zárolás nélkül, több szálról egyszerre használható transzpozíciós tábla
+ * (a Lazy SMP keresés közös táblája). Bejegyzésenként két long-ot tárol: a csomagolt adatot és
+ * a kulcs és az adat XOR-ját. Ha két szál egyszerre ír ugyanarra a helyre, és az olvasó az egyik adatát
+ * a másik kulcsával látja, az XOR nem egyezik, így a sérült bejegyzés egyszerű hiánynak számít.
+ * A méretét megabájtban kell megadni (legfeljebb 8 GB); a tömb egyszer, a konstruktorban foglalódik le.
+ */
+public final class SharedTranspositionTable implements SearchTable {
+    private static final VarHandle SLOTS = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final int ENTRY_BYTES = 16; // Két long bejegyzésenként
+    /** A tábla legnagyobb mérete (MB): 1 << 29 bejegyzés, vagyis 1 << 30 long, ennél nagyobb Java-tömb nincs. */
+    public static final int MAX_MEGABYTES = (1 << 29) / (1 << 20) * ENTRY_BYTES;
+
+    private final long[] slots; // [2i] = kulcs ^ adat, [2i + 1] = adat
+    private final int mask; // Indexmaszk (bejegyzések száma - 1)
+
+    /**
+     * Konstruktor a tábla létrehozására.
+     *
+     * @param megabytes A tábla mérete megabájtban (a bejegyzések száma kettőhatványra lefelé kerekítve).
+     * @throws IllegalArgumentException Ha a méret kisebb 1 MB-nál vagy nagyobb MAX_MEGABYTES-nál.
+     */
+    public SharedTranspositionTable(int megabytes) {
+        if (megabytes < 1 || megabytes > MAX_MEGABYTES) {
+            throw new IllegalArgumentException("Table size must be between 1 and " + MAX_MEGABYTES + " MB: "
+                    + megabytes);
+        }
+        int entries = Integer.highestOneBit(megabytes * ((1 << 20) / ENTRY_BYTES));
+        this.slots = new long[entries * 2];
+        this.mask = entries - 1;
+    }
+
+    @Override
+    public long lookup(long key) {
+        int index = ((int) key & mask) << 1;
+        long data = (long) SLOTS.getOpaque(slots, index + 1);
+        long check = (long) SLOTS.getOpaque(slots, index);
+        return data != NO_ENTRY && (check ^ data) == key ? data : NO_ENTRY;
+    }
+
+    @Override
+    public void store(long key, int score, int depth, byte bound) {
+        int index = ((int) key & mask) << 1;
+        long oldData = (long) SLOTS.getOpaque(slots, index + 1);
+        long oldCheck = (long) SLOTS.getOpaque(slots, index);
+        if (oldData != NO_ENTRY && (oldCheck ^ oldData) != key && SearchTable.depth(oldData) > depth) {
+            return; // Más pozíció mélyebb bejegyzését megtartjuk
+        }
+        long data = SearchTable.pack(score, depth, bound);
+        SLOTS.setOpaque(slots, index, key ^ data);
+        SLOTS.setOpaque(slots, index + 1, data);
+    }
+
+    /**
+     * @return A bejegyzések száma.
+     */
+    public int capacity() {
+        return mask + 1;
+    }
+
+    /**
+     * Minden bejegyzés törlése; csak akkor hívható, ha egyetlen keresés sem fut.
+     */
+    public void clear() {
+        Arrays.fill(slots, 0L);
+    }
+}
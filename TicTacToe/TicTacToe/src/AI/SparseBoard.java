@@ -0,0 +1,228 @@
+package AI;
+
+import java.util.Arrays;
+
+/**
+ * A SparseBoard osztály a végtelen tábla ritka ábrázolása: csak a lerakott köveket tárolja,
+ * egy nyílt címzésű hasítótáblában, becsomagolt (sor, oszlop) kulccsal.
+ * <p>
+ * A jelölt lépések (a kövektől legfeljebb 2 távolságra lévő üres cellák) halmazát lépésenként,
+ * növekményesen tartja karban: minden jelölthöz azt tárolja, hány kő van a 5x5-ös környezetében.
+ * Így a memória és a lépésgenerálás költsége a lerakott kövek számával nő, nem a tábla területével,
+ * és a hosszú játszmák sem lassulnak. A koordináták bármilyen előjelűek lehetnek.
+ */
+public final class SparseBoard {
+    /** A koordináták abszolút értékének felső korlátja (a kulcsok és a szomszédok így biztosan elférnek). */
+    public static final int MAX_COORDINATE = 1 << 29;
+    /** A jelölt lépések legnagyobb távolsága a kövektől. */
+    public static final int CANDIDATE_DISTANCE = 2;
+    private static final int[][] DIRECTIONS = {{0, 1}, {1, 0}, {1, 1}, {1, -1}}; // Vízszintes, függőleges, két átló
+
+    private final int winCondition; // A győzelemhez szükségesek száma
+    private final CellMap stones; // Cella -> kő ('X' vagy 'O')
+    private final CellMap candidates; // Üres cella -> a környezetében lévő kövek száma
+    private long[] history; // A lerakott kövek cellái sorrendben
+    private int moveCount;
+
+    /**
+     * Konstruktor egy üres végtelen táblához.
+     *
+     * @param winCondition A győzelemhez szükséges szimbólumok száma.
+     */
+    public SparseBoard(int winCondition) {
+        if (winCondition < 1) {
+            throw new IllegalArgumentException("Invalid win condition: " + winCondition);
+        }
+        this.winCondition = winCondition;
+        this.stones = new CellMap();
+        this.candidates = new CellMap();
+        this.history = new long[64];
+    }
+
+    /**
+     * Másoló konstruktor (pl. az AI saját példányához); a másolat költsége a kövek számával arányos.
+     *
+     * @param other A másolandó tábla.
+     */
+    public SparseBoard(SparseBoard other) {
+        this.winCondition = other.winCondition;
+        this.stones = new CellMap(other.stones);
+        this.candidates = new CellMap(other.candidates);
+        this.history = other.history.clone();
+        this.moveCount = other.moveCount;
+    }
+
+    /**
+     * Egy cella kulcsa.
+     */
+    public static long cell(int row, int col) {
+        return ((long) row << 32) | (col & 0xFFFFFFFFL);
+    }
+
+    public static int row(long cell) {
+        return (int) (cell >> 32);
+    }
+
+    public static int col(long cell) {
+        return (int) cell;
+    }
+
+    /**
+     * @return A cella tartalma ('X', 'O' vagy 0, ha üres).
+     */
+    public char get(int row, int col) {
+        return (char) stones.get(cell(row, col));
+    }
+
+    /**
+     * Lerak egy követ, és frissíti a jelöltek halmazát.
+     *
+     * @return Hamis, ha a cella foglalt vagy a koordináta a korláton kívül esik.
+     */
+    public boolean place(int row, int col, char player) {
+        if (Math.abs(row) >= MAX_COORDINATE || Math.abs(col) >= MAX_COORDINATE) {
+            return false;
+        }
+        long cell = cell(row, col);
+        if (stones.get(cell) != 0) {
+            return false;
+        }
+        stones.put(cell, player);
+        candidates.remove(cell);
+        for (int r = row - CANDIDATE_DISTANCE; r <= row + CANDIDATE_DISTANCE; r++) {
+            for (int c = col - CANDIDATE_DISTANCE; c <= col + CANDIDATE_DISTANCE; c++) {
+                long neighbour = cell(r, c);
+                if (stones.get(neighbour) == 0) {
+                    candidates.add(neighbour, 1);
+                }
+            }
+        }
+        if (moveCount == history.length) {
+            history = Arrays.copyOf(history, moveCount * 2);
+        }
+        history[moveCount++] = cell;
+        return true;
+    }
+
+    /**
+     * Visszavonja az utolsó lerakott követ.
+     *
+     * @return Igaz, ha volt visszavonható kő.
+     */
+    public boolean undo() {
+        if (moveCount == 0) {
+            return false;
+        }
+        long cell = history[--moveCount];
+        int row = row(cell);
+        int col = col(cell);
+        stones.remove(cell);
+        int around = 0; // A felszabadult cella környezetében maradt kövek
+        for (int r = row - CANDIDATE_DISTANCE; r <= row + CANDIDATE_DISTANCE; r++) {
+            for (int c = col - CANDIDATE_DISTANCE; c <= col + CANDIDATE_DISTANCE; c++) {
+                long neighbour = cell(r, c);
+                if (neighbour == cell) {
+                    continue;
+                }
+                if (stones.get(neighbour) == 0) {
+                    candidates.add(neighbour, -1);
+                } else {
+                    around++;
+                }
+            }
+        }
+        candidates.put(cell, around); // A cella maga is üres lett: ismét jelölt, ha van kő a közelében
+        return true;
+    }
+
+    /**
+     * Kiüríti a táblát.
+     */
+    public void clear() {
+        stones.clear();
+        candidates.clear();
+        moveCount = 0;
+    }
+
+    /**
+     * Ellenőrzi, hogy a cellán átmenő négy vonal valamelyikén legalább k kő lenne-e a játékostól,
+     * a cellát is beleszámolva. Foglalt cellánál a győzelmet, üres cellánál a nyerő lépést jelzi.
+     */
+    public boolean completesLine(int row, int col, char player) {
+        for (int[] direction : DIRECTIONS) {
+            if (1 + run(row, col, direction[0], direction[1], player)
+                    + run(row, col, -direction[0], -direction[1], player) >= winCondition) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * A cellától az adott irányba egymást követő kövek száma (a cellát nem számolva, legfeljebb k).
+     */
+    public int run(int row, int col, int deltaRow, int deltaCol, char player) {
+        int count = 0;
+        for (int r = row + deltaRow, c = col + deltaCol; count < winCondition && get(r, c) == player;
+             r += deltaRow, c += deltaCol) {
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Megkeresi a játékos nyerő lépését a jelöltek között.
+     *
+     * @param buffer Legalább candidateCount() hosszú munkatömb.
+     * @return A nyerő cella kulcsa, vagy Long.MIN_VALUE, ha nincs ilyen.
+     */
+    public long findWinningCell(char player, long[] buffer) {
+        int count = candidates(buffer);
+        for (int i = 0; i < count; i++) {
+            if (completesLine(row(buffer[i]), col(buffer[i]), player)) {
+                return buffer[i];
+            }
+        }
+        return Long.MIN_VALUE;
+    }
+
+    /**
+     * Kiírja a jelölt lépéseket (a kövektől legfeljebb 2 távolságra lévő üres cellákat).
+     * Üres táblán az egyetlen jelölt az origó.
+     *
+     * @param buffer Legalább candidateCount() hosszú tömb.
+     * @return A jelöltek száma.
+     */
+    public int candidates(long[] buffer) {
+        if (moveCount == 0) {
+            buffer[0] = cell(0, 0);
+            return 1;
+        }
+        return candidates.keys(buffer);
+    }
+
+    /**
+     * @return A jelöltek száma (üres táblán 1).
+     */
+    public int candidateCount() {
+        return moveCount == 0 ? 1 : candidates.size();
+    }
+
+    /**
+     * @return A lerakott kövek száma.
+     */
+    public int getMoveCount() {
+        return moveCount;
+    }
+
+    /**
+     * @return Az n. lerakott kő cellája (0-tól).
+     */
+    public long getMove(int n) {
+        return history[n];
+    }
+
+    public int getWinCondition() {
+        return winCondition;
+    }
+}
@@ -0,0 +1,75 @@
+package AI;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+class SparseBoardTest {
+
+    @Test
+    void testCandidatesFollowStones() {
+        SparseBoard board = new SparseBoard(5);
+        assertEquals(1, board.candidateCount()); // Üres táblán csak az origó
+        board.place(0, 0, 'X');
+        assertEquals(24, board.candidateCount()); // 5x5-ös környezet, a kő nélkül
+        board.place(-1_000_000, 1_000_000, 'O'); // Távoli kő: saját környezet, a tábla "mérete" nem számít
+        assertEquals(48, board.candidateCount());
+        board.place(0, 1, 'O'); // Átfedő környezet: csak az új cellák jönnek hozzá
+        assertEquals(47 + 5, board.candidateCount());
+        assertTrue(candidates(board).contains(SparseBoard.cell(-2, 3)));
+        assertFalse(candidates(board).contains(SparseBoard.cell(0, 1)));
+    }
+
+    @Test
+    void testUndoRestoresCandidates() {
+        SparseBoard board = new SparseBoard(5);
+        board.place(0, 0, 'X');
+        Set<Long> before = candidates(board);
+        board.place(1, 2, 'O');
+        board.place(-3, -3, 'X');
+        assertTrue(board.undo());
+        assertTrue(board.undo());
+        assertEquals(before, candidates(board));
+        assertEquals(0, board.get(1, 2));
+        assertTrue(board.undo());
+        assertEquals(1, board.candidateCount());
+        assertFalse(board.undo());
+    }
+
+    @Test
+    void testLongGameKeepsWorkingSetSmall() {
+        SparseBoard board = new SparseBoard(5);
+        for (int i = 0; i < 20_000; i++) {
+            assertTrue(board.place(i * 7, -i * 3, i % 2 == 0 ? 'X' : 'O')); // Szétszórt kövek
+        }
+        assertEquals(20_000 * 24, board.candidateCount());
+        assertFalse(board.completesLine(0, 0, 'X'));
+        for (int i = 0; i < 20_000; i++) {
+            board.undo();
+        }
+        assertEquals(1, board.candidateCount());
+    }
+
+    @Test
+    void testCompletesLineAcrossNegativeCoordinates() {
+        SparseBoard board = new SparseBoard(5);
+        for (int i = -3; i <= 0; i++) {
+            board.place(i, -i, 'X'); // Átló a negatív és pozitív koordináták határán
+        }
+        long[] buffer = new long[board.candidateCount()];
+        long win = board.findWinningCell('X', buffer);
+        assertTrue(win == SparseBoard.cell(1, -1) || win == SparseBoard.cell(-4, 4));
+        assertEquals(Long.MIN_VALUE, board.findWinningCell('O', buffer));
+    }
+
+    private static Set<Long> candidates(SparseBoard board) {
+        long[] buffer = new long[board.candidateCount()];
+        Set<Long> result = new HashSet<>();
+        for (int i = board.candidates(buffer) - 1; i >= 0; i--) {
+            result.add(buffer[i]);
+        }
+        return result;
+    }
+}
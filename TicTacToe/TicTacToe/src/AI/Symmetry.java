@@ -0,0 +1,262 @@
+package AI;
+
+/**
+ * A Symmetry osztály a négyzetes tábla 8 szimmetriáját (4 forgatás, tükrözéssel és anélkül) kezeli,
+ * és a pozíciókat kanonikus alakra hozza. A szimmetrikus pozíciók értéke azonos, így a keresések
+ * táblái, a megnyitási és végjátéktáblák, valamint a gyökérlépések listája a kanonikus alakkal
+ * akár nyolcadára zsugorodhat.
+ * <p>
+ * A transzformációk sorszáma 0..7; a 0. az identitás. A Zobrist-kulcsok (Zobrist.forCells) lépésenként,
+ * inkrementálisan is kanonizálhatók: a hívó transzformációnként egy kulcsot tart karban (update), és ezek
+ * minimuma a kanonikus kulcs (canonicalHash).
+ */
+public final class Symmetry {
+    /** A szimmetriák száma. */
+    public static final int COUNT = 8;
+    private static final Symmetry[] CACHE = new Symmetry[9]; // Méretenként (legfeljebb 8x8)
+
+    private final int size;
+    private final int cells;
+    private final int[][] images; // images[t][cella] = a cella képe a t. transzformációnál
+    private final int[] inverses; // A transzformációk inverzei
+    private final Zobrist zobrist; // A tábla Zobrist-kulcsai
+    private final long[] xImageKeys; // [cella * 8 + t]: X bábu kulcsa a cella t. képén
+    private final long[] oImageKeys; // [cella * 8 + t]: O bábu kulcsa a cella t. képén
+
+    private Symmetry(int size) {
+        this.size = size;
+        this.cells = size * size;
+        this.images = new int[COUNT][cells];
+        for (int t = 0; t < COUNT; t++) {
+            for (int cell = 0; cell < cells; cell++) {
+                int row = cell / size;
+                int col = cell % size;
+                if (t >= 4) {
+                    col = size - 1 - col; // Tükrözés
+                }
+                for (int r = 0; r < t % 4; r++) {
+                    int tmp = row; // Forgatás 90 fokkal
+                    row = col;
+                    col = size - 1 - tmp;
+                }
+                images[t][cell] = row * size + col;
+            }
+        }
+        this.inverses = new int[COUNT];
+        for (int t = 0; t < COUNT; t++) {
+            for (int u = COUNT - 1; u >= 0; u--) { // 1x1-es táblán mind identitás: a legkisebb marad
+                boolean inverse = true;
+                for (int cell = 0; cell < cells && inverse; cell++) {
+                    inverse = images[u][images[t][cell]] == cell;
+                }
+                if (inverse) {
+                    inverses[t] = u;
+                }
+            }
+        }
+        this.zobrist = Zobrist.forCells(cells);
+        this.xImageKeys = new long[cells * COUNT];
+        this.oImageKeys = new long[cells * COUNT];
+        for (int cell = 0; cell < cells; cell++) {
+            for (int t = 0; t < COUNT; t++) {
+                xImageKeys[cell * COUNT + t] = zobrist.key(images[t][cell], 'X');
+                oImageKeys[cell * COUNT + t] = zobrist.key(images[t][cell], 'O');
+            }
+        }
+    }
+
+    /**
+     * Visszaadja az adott méretű tábla szimmetriáit. Az értékek determinisztikusak, ezért egy esetleges
+     * párhuzamos első hívás sem okoz eltérést.
+     *
+     * @param size A tábla mérete (1..8, hogy a cellák elférjenek egy long-ban).
+     * @return A szimmetriák.
+     */
+    public static Symmetry forSize(int size) {
+        if (size < 1 || size * size > BitBoard.MAX_CELLS) {
+            throw new IllegalArgumentException("Unsupported board size: " + size);
+        }
+        Symmetry symmetry = CACHE[size];
+        if (symmetry == null) {
+            symmetry = new Symmetry(size);
+            CACHE[size] = symmetry;
+        }
+        return symmetry;
+    }
+
+    /**
+     * @return A cella képe a t. transzformációnál.
+     */
+    public int image(int transform, int cell) {
+        return images[transform][cell];
+    }
+
+    /**
+     * @return A t. transzformáció inverze (ezzel a kanonikus alakban talált lépés visszavihető).
+     */
+    public int inverse(int transform) {
+        return inverses[transform];
+    }
+
+    /**
+     * @return A cellahalmaz képe a t. transzformációnál.
+     */
+    public long permute(long mask, int transform) {
+        int[] image = images[transform];
+        long result = 0;
+        for (long bits = mask; bits != 0; bits &= bits - 1) {
+            result |= 1L << image[Long.numberOfTrailingZeros(bits)];
+        }
+        return result;
+    }
+
+    /**
+     * Az a transzformáció, amely a pozíciót kanonikus alakra hozza: a képek közül a legkisebb
+     * (előbb az O, majd az X bábuk szerint, előjel nélkül összehasonlítva).
+     *
+     * @param x Az X bábuk.
+     * @param o Az O bábuk.
+     * @return A transzformáció sorszáma.
+     */
+    public int canonicalTransform(long x, long o) {
+        int best = 0;
+        long bestX = x;
+        long bestO = o;
+        for (int t = 1; t < COUNT; t++) {
+            long imageO = permute(o, t);
+            int compare = Long.compareUnsigned(imageO, bestO);
+            if (compare > 0) {
+                continue;
+            }
+            long imageX = permute(x, t);
+            if (compare < 0 || Long.compareUnsigned(imageX, bestX) < 0) {
+                best = t;
+                bestX = imageX;
+                bestO = imageO;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * A pozíció kanonikus kulcsa egyetlen long-ban (X | O &lt;&lt; cellák), legfeljebb 32 cellás táblán.
+     * A 8 változat közül a legkisebb kulcs.
+     *
+     * @param x Az X bábuk.
+     * @param o Az O bábuk.
+     * @return A kanonikus kulcs.
+     */
+    public long canonicalKey(long x, long o) {
+        long best = Long.MAX_VALUE;
+        for (int t = 0; t < COUNT; t++) {
+            long key = permute(x, t) | permute(o, t) << cells;
+            if (key < best) {
+                best = key;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * A pozíciót helyben hagyó transzformációk.
+     *
+     * @param x Az X bábuk.
+     * @param o Az O bábuk.
+     * @return A transzformációk bitmaszkja (a 0. bit, az identitás, mindig be van állítva).
+     */
+    public int stabilizer(long x, long o) {
+        int result = 1;
+        for (int t = 1; t < COUNT; t++) {
+            if (permute(x, t) == x && permute(o, t) == o) {
+                result |= 1 << t;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * A lépések közül szimmetria-osztályonként csak egyet hagy meg: a pozíciót helyben hagyó
+     * transzformációk egymásba viszik az egyenértékű lépéseket, ezekből a legkisebb indexű marad.
+     *
+     * @param moves      A lehetséges lépések (pl. az üres cellák).
+     * @param stabilizer A pozíció stabilizer() szerinti transzformációi.
+     * @return A megmaradó lépések.
+     */
+    public long uniqueMoves(long moves, int stabilizer) {
+        if (stabilizer == 1) {
+            return moves; // Aszimmetrikus pozíció: nincs mit összevonni
+        }
+        long result = 0;
+        for (long rest = moves; rest != 0; rest &= rest - 1) {
+            int cell = Long.numberOfTrailingZeros(rest);
+            boolean smallest = true;
+            for (int t = 1; t < COUNT && smallest; t++) {
+                if ((stabilizer & 1 << t) != 0 && images[t][cell] < cell) {
+                    smallest = false;
+                }
+            }
+            if (smallest) {
+                result |= 1L << cell;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Kiszámolja a pozíció mind a 8 képének bábukulcsát (a soron következőt jelölő kulcs nélkül).
+     *
+     * @param bits A bittábla.
+     * @param keys Legalább 8 hosszú tömb, ide kerülnek a kulcsok.
+     */
+    public void hashes(BitBoard bits, long[] keys) {
+        for (int t = 0; t < COUNT; t++) {
+            keys[t] = 0L;
+        }
+        for (long x = bits.bits('X'); x != 0; x &= x - 1) {
+            update(keys, Long.numberOfTrailingZeros(x), 'X');
+        }
+        for (long o = bits.bits('O'); o != 0; o &= o - 1) {
+            update(keys, Long.numberOfTrailingZeros(o), 'O');
+        }
+    }
+
+    /**
+     * Egy bábu lerakása vagy levétele (XOR, tehát mindkettő ugyanez) mind a 8 képkulcsban.
+     */
+    public void update(long[] keys, int cell, char player) {
+        long[] imageKeys = player == 'X' ? xImageKeys : oImageKeys;
+        int base = cell * COUNT;
+        for (int t = 0; t < COUNT; t++) {
+            keys[t] ^= imageKeys[base + t];
+        }
+    }
+
+    /**
+     * A kanonikus Zobrist-kulcs: a képkulcsok minimuma, O következésekor a soron következőt jelölő kulccsal.
+     */
+    public long canonicalHash(long[] keys, char toMove) {
+        long min = keys[0];
+        for (int t = 1; t < COUNT; t++) {
+            min = Math.min(min, keys[t]);
+        }
+        return toMove == 'O' ? min ^ zobrist.sideKey() : min;
+    }
+
+    /**
+     * A kanonikus Zobrist-kulcs egy bábu lerakása után, a képkulcsok módosítása nélkül
+     * (pl. a gyerekpozíciók táblabeli kereséséhez).
+     */
+    public long canonicalHashAfter(long[] keys, int cell, char player, char toMove) {
+        long[] imageKeys = player == 'X' ? xImageKeys : oImageKeys;
+        int base = cell * COUNT;
+        long min = keys[0] ^ imageKeys[base];
+        for (int t = 1; t < COUNT; t++) {
+            min = Math.min(min, keys[t] ^ imageKeys[base + t]);
+        }
+        return toMove == 'O' ? min ^ zobrist.sideKey() : min;
+    }
+
+    public int getSize() {
+        return size;
+    }
+}
@@ -0,0 +1,102 @@
+package AI;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+class SymmetryTest {
+
+    @Test
+    void testInverseUndoesTransform() {
+        for (int size = 2; size <= 8; size++) {
+            Symmetry symmetry = Symmetry.forSize(size);
+            for (int t = 0; t < Symmetry.COUNT; t++) {
+                for (int cell = 0; cell < size * size; cell++) {
+                    assertEquals(cell, symmetry.image(symmetry.inverse(t), symmetry.image(t, cell)));
+                }
+            }
+        }
+    }
+
+    @Test
+    void testSymmetricPositionsShareCanonicalForm() {
+        Symmetry symmetry = Symmetry.forSize(5);
+        SplittableRandom random = new SplittableRandom(5);
+        long[] keys = new long[Symmetry.COUNT];
+        long[] imageKeys = new long[Symmetry.COUNT];
+        for (int round = 0; round < 100; round++) {
+            BitBoard bits = randomPosition(random);
+            long x = bits.bits('X');
+            long o = bits.bits('O');
+            int canonical = symmetry.canonicalTransform(x, o);
+            symmetry.hashes(bits, keys);
+            for (int t = 0; t < Symmetry.COUNT; t++) {
+                long imageX = symmetry.permute(x, t);
+                long imageO = symmetry.permute(o, t);
+                assertEquals(symmetry.canonicalKey(x, o), symmetry.canonicalKey(imageX, imageO));
+                int imageCanonical = symmetry.canonicalTransform(imageX, imageO);
+                assertEquals(symmetry.permute(x, canonical), symmetry.permute(imageX, imageCanonical));
+                assertEquals(symmetry.permute(o, canonical), symmetry.permute(imageO, imageCanonical));
+
+                BitBoard image = new BitBoard(5, 4);
+                for (long rest = imageX; rest != 0; rest &= rest - 1) image.place(Long.numberOfTrailingZeros(rest), 'X');
+                for (long rest = imageO; rest != 0; rest &= rest - 1) image.place(Long.numberOfTrailingZeros(rest), 'O');
+                symmetry.hashes(image, imageKeys);
+                assertEquals(symmetry.canonicalHash(keys, 'X'), symmetry.canonicalHash(imageKeys, 'X'));
+                assertNotEquals(symmetry.canonicalHash(keys, 'X'), symmetry.canonicalHash(keys, 'O'));
+            }
+        }
+    }
+
+    @Test
+    void testIncrementalHashMatchesRecomputed() {
+        Symmetry symmetry = Symmetry.forSize(5);
+        BitBoard bits = new BitBoard(5, 4);
+        long[] keys = new long[Symmetry.COUNT];
+        long[] fresh = new long[Symmetry.COUNT];
+        symmetry.hashes(bits, keys);
+        int[] cells = {12, 6, 18, 0, 24};
+        char player = 'X';
+        for (int cell : cells) {
+            long after = symmetry.canonicalHashAfter(keys, cell, player, player == 'X' ? 'O' : 'X');
+            bits.place(cell, player);
+            symmetry.update(keys, cell, player);
+            symmetry.hashes(bits, fresh);
+            assertArrayEquals(fresh, keys);
+            assertEquals(symmetry.canonicalHash(fresh, player == 'X' ? 'O' : 'X'), after);
+            player = player == 'X' ? 'O' : 'X';
+        }
+    }
+
+    @Test
+    void testUniqueMovesOnSymmetricBoards() {
+        Symmetry three = Symmetry.forSize(3);
+        assertEquals(0xFF, three.stabilizer(0, 0));
+        assertEquals(3, Long.bitCount(three.uniqueMoves(0x1FF, 0xFF))); // Sarok, él, közép
+
+        Symmetry five = Symmetry.forSize(5);
+        long empty = (1L << 25) - 1;
+        assertEquals(6, Long.bitCount(five.uniqueMoves(empty, five.stabilizer(0, 0))));
+        long center = 1L << 12;
+        assertEquals(5, Long.bitCount(five.uniqueMoves(empty & ~center, five.stabilizer(center, 0))));
+        long corner = 1L; // Csak az átlós tükrözés hagyja helyben
+        assertEquals(2, Integer.bitCount(five.stabilizer(corner, 0)));
+        assertEquals(14, Long.bitCount(five.uniqueMoves(empty & ~corner, five.stabilizer(corner, 0))));
+    }
+
+    private static BitBoard randomPosition(SplittableRandom random) {
+        BitBoard bits = new BitBoard(5, 4);
+        int stones = random.nextInt(12);
+        char player = 'X';
+        for (int i = 0; i < stones; i++) {
+            int cell;
+            do {
+                cell = random.nextInt(25);
+            } while ((bits.emptyBits() & 1L << cell) == 0);
+            bits.place(cell, player);
+            player = player == 'X' ? 'O' : 'X';
+        }
+        return bits;
+    }
+}
@@ -0,0 +1,539 @@
+package AI;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+/**
+ * A Tablebase osztály egy legfeljebb 5x5-ös tábla tökéletes játékának fájlba írt végjátéktáblája.
+ * <p>
+ * Az offline megoldó (main) retrográd elemzéssel dolgozik: a nem végállapotú pozíciókat kőszám szerinti
+ * szintenként állítja elő, a teli táblától visszafelé haladva, és minden pozíció értékét a következő
+ * szint már kiszámolt értékeiből kapja. Egy szinten belül a pozíciók függetlenek, ezért párhuzamosan
+ * számolhatók. Minden pozíció csak egyszer, a 8 szimmetria szerinti kanonikus alakjában szerepel.
+ * <p>
+ * Fájl: "TTTB" azonosító, verzió, méret, győzelmi feltétel, a legkisebb tárolt kőszám (1 bájt
+ * mindegyik), majd kőszámonként a szint helye (long) és mérete (int); a szintek rendezett kulcsai
+ * (long: X bitjei, felette O bitjei) és az értékek (1 bájt: felső 2 bit az eredmény a soron
+ * következő játékos szemszögéből, alsó 6 bit a hátralévő lépések száma).
+ * Futás közben a fájlt leképezzük a memóriába, és bináris kereséssel kérdezzük le, így a tábla nem
+ * foglal helyet a heapen. Ha a legkisebb kőszám 0, a tábla a teljes játékot lefedi.
+ */
+public final class Tablebase {
+    /** Eredmény: a soron következő játékos nyer. */
+    public static final int WIN = 1;
+    /** Eredmény: döntetlen. */
+    public static final int DRAW = 2;
+    /** Eredmény: a soron következő játékos veszít. */
+    public static final int LOSS = 3;
+    /** A táblák alapértelmezett könyvtára (a tictactoe.tablebases rendszerváltozóval felülírható). */
+    public static final String DEFAULT_DIRECTORY = "tablebases";
+    private static final int MAGIC = 0x54545442; // "TTTB"
+    private static final byte VERSION = 1;
+    private static final int MAX_SIZE = 5; // A kulcs két bitmaszkja így fér el egy long-ban
+    private static final Map<Path, Tablebase> OPENED = new ConcurrentHashMap<>();
+
+    private final MappedByteBuffer map; // A leképezett fájl
+    private final int size;
+    private final int winCondition;
+    private final int cells;
+    private final int minStones; // Ennél kevesebb kővel rendelkező pozíciókat a tábla nem tartalmaz
+    private final long[] levelOffsets; // Kőszámonként a szint kulcsainak helye a fájlban
+    private final int[] levelCounts; // Kőszámonként a szint bejegyzéseinek száma
+    private final long[] winMasks;
+    private final long[][] cellWinMasks;
+    private final Symmetry symmetry;
+
+    private Tablebase(MappedByteBuffer map, int size, int winCondition, int minStones,
+                      long[] levelOffsets, int[] levelCounts) {
+        this.map = map;
+        this.size = size;
+        this.winCondition = winCondition;
+        this.cells = size * size;
+        this.minStones = minStones;
+        this.levelOffsets = levelOffsets;
+        this.levelCounts = levelCounts;
+        this.winMasks = BitBoard.buildWinMasks(size, winCondition);
+        this.cellWinMasks = BitBoard.buildCellWinMasks(size, winMasks);
+        this.symmetry = Symmetry.forSize(size);
+    }
+
+    /**
+     * Megnyitja (leképezi) a táblafájlt.
+     *
+     * @param path A fájl helye.
+     * @return A tábla.
+     * @throws IOException Ha a fájl nem olvasható vagy nem tábla.
+     */
+    public static Tablebase open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long length = channel.size();
+            if (length > Integer.MAX_VALUE) {
+                throw new IOException("Tablebase too large to map: " + length + " bytes");
+            }
+            MappedByteBuffer map = channel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+            if (length < 8 || map.getInt(0) != MAGIC) {
+                throw new IOException("Not a Tic-Tac-Toe tablebase");
+            }
+            if (map.get(4) != VERSION) {
+                throw new IOException("Unsupported tablebase version: " + map.get(4));
+            }
+            int size = map.get(5);
+            int winCondition = map.get(6);
+            int minStones = map.get(7);
+            if (size < 1 || size > MAX_SIZE || winCondition < 1 || winCondition > size
+                    || length < headerSize(size * size)) {
+                throw new IOException("Corrupted tablebase");
+            }
+            long[] offsets = new long[size * size];
+            int[] counts = new int[size * size];
+            for (int stones = 0; stones < size * size; stones++) {
+                offsets[stones] = map.getLong(8 + stones * 12);
+                counts[stones] = map.getInt(8 + stones * 12 + 8);
+                if (counts[stones] < 0 || offsets[stones] + counts[stones] * 9L > length) {
+                    throw new IOException("Corrupted tablebase");
+                }
+            }
+            return new Tablebase(map, size, winCondition, minStones, offsets, counts);
+        }
+    }
+
+    /**
+     * Megkeresi a szabályokhoz tartozó táblát a táblák könyvtárában; a megnyitott táblákat megőrzi.
+     *
+     * @param size         A tábla mérete.
+     * @param winCondition A győzelmi feltétel.
+     * @return A tábla, vagy null, ha nincs ilyen (vagy nem olvasható).
+     */
+    public static Tablebase find(int size, int winCondition) {
+        if (size > MAX_SIZE) {
+            return null;
+        }
+        Path path = Paths.get(System.getProperty("tictactoe.tablebases", DEFAULT_DIRECTORY), fileName(size, winCondition));
+        return OPENED.computeIfAbsent(path.toAbsolutePath(), p -> {
+            if (!Files.isRegularFile(p)) return null;
+            try {
+                return open(p);
+            } catch (IOException e) {
+                return null; // Sérült tábla: keresünk helyette
+            }
+        });
+    }
+
+    /**
+     * @return A szabályokhoz tartozó táblafájl neve, pl. "tablebase_4x4_k3.ttb".
+     */
+    public static String fileName(int size, int winCondition) {
+        return "tablebase_" + size + "x" + size + "_k" + winCondition + ".ttb";
+    }
+
+    /**
+     * A pozíció értéke a soron következő játékos szemszögéből (X kezd, a kövek számából adódik).
+     *
+     * @param bits A bittábla.
+     * @return Az érték bájt (lásd result és distance), vagy 0, ha a tábla nem tartalmazza.
+     */
+    public int probe(BitBoard bits) {
+        return probe(bits.bits('X'), bits.bits('O'));
+    }
+
+    /**
+     * A tökéletes lépés: a leggyorsabb nyerés, különben döntetlen, különben a leghosszabb vereség.
+     *
+     * @param bits   A bittábla.
+     * @param toMove A soron következő játékos.
+     * @return A lépés cellája, vagy -1, ha a tábla a pozíciót nem fedi le.
+     */
+    public int bestCell(BitBoard bits, char toMove) {
+        long x = bits.bits('X');
+        long o = bits.bits('O');
+        int stones = Long.bitCount(x | o);
+        if (bits.getSize() != size || bits.getWinCondition() != winCondition || stones < minStones || stones >= cells
+                || (stones % 2 == 0) != (toMove == 'X') || hasLine(x) || hasLine(o)) {
+            return -1;
+        }
+        int bestCell = -1;
+        int bestRank = -1;
+        for (long empty = ~(x | o) & cellMask(); empty != 0; empty &= empty - 1) {
+            int cell = Long.numberOfTrailingZeros(empty);
+            long childX = toMove == 'X' ? x | 1L << cell : x;
+            long childO = toMove == 'O' ? o | 1L << cell : o;
+            int value = childValue(childX, childO, cell, stones + 1);
+            if (value == 0) {
+                return -1; // Hiányzó bejegyzés: nem teljes a tábla
+            }
+            int rank = rank(value);
+            if (rank > bestRank) {
+                bestRank = rank;
+                bestCell = cell;
+            }
+        }
+        return bestCell;
+    }
+
+    /**
+     * @return Az érték eredménye (WIN, DRAW vagy LOSS).
+     */
+    public static int result(int value) {
+        return (value >> 6) & 3;
+    }
+
+    /**
+     * @return A hátralévő lépések száma tökéletes játékkal.
+     */
+    public static int distance(int value) {
+        return value & 0x3F;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public int getWinCondition() {
+        return winCondition;
+    }
+
+    public int getMinStones() {
+        return minStones;
+    }
+
+    /**
+     * @return A tárolt pozíciók száma.
+     */
+    public long entryCount() {
+        long total = 0;
+        for (int count : levelCounts) {
+            total += count;
+        }
+        return total;
+    }
+
+    private int probe(long x, long o) {
+        int stones = Long.bitCount(x | o);
+        if (stones < minStones || stones >= cells) {
+            return 0;
+        }
+        long key = symmetry.canonicalKey(x, o);
+        long offset = levelOffsets[stones];
+        int low = 0;
+        int high = levelCounts[stones] - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long probe = map.getLong((int) (offset + mid * 8L));
+            if (probe < key) {
+                low = mid + 1;
+            } else if (probe > key) {
+                high = mid - 1;
+            } else {
+                return map.get((int) (offset + levelCounts[stones] * 8L + mid)) & 0xFF;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * A lépés értéke a lépő szemszögéből: azonnali nyerés, teli tábla, vagy a gyermek értékének ellentéte.
+     */
+    private int childValue(long childX, long childO, int cell, int childStones) {
+        long mover = (childStones % 2 == 1) ? childX : childO;
+        if (wonThrough(mover, cell)) {
+            return value(WIN, 1);
+        }
+        if (childStones == cells) {
+            return value(DRAW, 1);
+        }
+        int child = probe(childX, childO);
+        return child == 0 ? 0 : flip(child);
+    }
+
+    private boolean wonThrough(long stones, int cell) {
+        for (long mask : cellWinMasks[cell]) {
+            if ((stones & mask) == mask) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean hasLine(long stones) {
+        for (long mask : winMasks) {
+            if ((stones & mask) == mask) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private long cellMask() {
+        return (1L << cells) - 1;
+    }
+
+    static int value(int result, int distance) {
+        return result << 6 | distance;
+    }
+
+    /**
+     * A gyermek értéke a szülő szemszögéből, egy lépéssel hosszabb távolsággal.
+     */
+    private static int flip(int child) {
+        int result = result(child);
+        int flipped = result == WIN ? LOSS : result == LOSS ? WIN : DRAW;
+        return value(flipped, distance(child) + 1);
+    }
+
+    /**
+     * Rendezési érték: a gyors nyerés a legjobb, a gyors vereség a legrosszabb.
+     */
+    private static int rank(int value) {
+        int result = result(value);
+        return result == WIN ? 200 - distance(value) : result == DRAW ? 100 : distance(value);
+    }
+
+    private static int headerSize(int cells) {
+        return 8 + cells * 12;
+    }
+
+    /**
+     * Retrográd megoldás: a szinteket a teli táblától visszafelé számolja, és a fájlba írja.
+     *
+     * @param size         A tábla mérete (legfeljebb 5).
+     * @param winCondition A győzelmi feltétel.
+     * @param minStones    A legkisebb tárolt kőszám (0 = a teljes játék).
+     * @param threads      A megoldó szálainak száma.
+     * @param out          A kimeneti fájl.
+     * @throws IOException Ha a fájl nem írható.
+     */
+    public static void solve(int size, int winCondition, int minStones, int threads, Path out) throws IOException {
+        if (size < 1 || size > MAX_SIZE || winCondition < 1 || winCondition > size) {
+            throw new IllegalArgumentException("Unsupported rules: " + size + "x" + size + ", k=" + winCondition);
+        }
+        Solver solver = new Solver(size, winCondition);
+        int cells = size * size;
+        long[] offsets = new long[cells];
+        int[] counts = new int[cells];
+        Path temp = out.resolveSibling(out.getFileName() + ".tmp");
+        ForkJoinPool pool = new ForkJoinPool(Math.max(1, threads));
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            long position = headerSize(cells);
+            long[] nextKeys = new long[0];
+            byte[] nextValues = new byte[0];
+            for (int stones = cells - 1; stones >= Math.max(0, minStones); stones--) {
+                int level = stones;
+                long[] childKeys = nextKeys;
+                byte[] childValues = nextValues;
+                long[] keys = pool.submit(() -> solver.enumerate(level)).get();
+                byte[] values = new byte[keys.length];
+                pool.submit(() -> IntStream.range(0, keys.length).parallel()
+                        .forEach(i -> values[i] = (byte) solver.solve(keys[i], level, childKeys, childValues))).get();
+                offsets[stones] = position;
+                counts[stones] = keys.length;
+                position = writeLevel(channel, position, keys, values);
+                nextKeys = keys;
+                nextValues = values;
+            }
+            ByteBuffer header = ByteBuffer.allocate(headerSize(cells));
+            header.putInt(MAGIC).put(VERSION).put((byte) size).put((byte) winCondition).put((byte) Math.max(0, minStones));
+            for (int stones = 0; stones < cells; stones++) {
+                header.putLong(offsets[stones]).putInt(counts[stones]);
+            }
+            header.flip();
+            while (header.hasRemaining()) {
+                channel.write(header, header.position());
+            }
+            channel.force(true);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Tablebase generation interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Tablebase generation failed", e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+        Files.move(temp, out, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static long writeLevel(FileChannel channel, long position, long[] keys, byte[] values) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(1 << 16);
+        for (long key : keys) {
+            if (buffer.remaining() < 8) {
+                position = flush(channel, buffer, position);
+            }
+            buffer.putLong(key);
+        }
+        position = flush(channel, buffer, position);
+        for (int i = 0; i < values.length; i += buffer.capacity()) {
+            buffer.put(values, i, Math.min(buffer.capacity(), values.length - i));
+            position = flush(channel, buffer, position);
+        }
+        return position;
+    }
+
+    private static long flush(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+        buffer.clear();
+        return position;
+    }
+
+    /**
+     * A megoldó: egy szint pozícióinak előállítása és értékelése (szálbiztos, csak olvas).
+     */
+    private static final class Solver {
+        private final int cells;
+        private final long[] winMasks;
+        private final long[][] cellWinMasks;
+        private final Symmetry symmetry;
+
+        Solver(int size, int winCondition) {
+            this.cells = size * size;
+            this.winMasks = BitBoard.buildWinMasks(size, winCondition);
+            this.cellWinMasks = BitBoard.buildCellWinMasks(size, winMasks);
+            this.symmetry = Symmetry.forSize(size);
+        }
+
+        /**
+         * A szint összes nem végállapotú pozíciójának rendezett kanonikus kulcsai.
+         * Vonal nélküli, szabályos kőszámú állás mindig elérhető, ezért nem kell előre játszani.
+         */
+        long[] enumerate(int stones) {
+            int xCount = (stones + 1) / 2;
+            int oCount = stones / 2;
+            long[] xMasks = combinations(cells, xCount).filter(x -> !hasLine(x)).toArray();
+            long[] keys = Arrays.stream(xMasks).parallel().flatMap(x -> {
+                int[] free = new int[cells - xCount];
+                int n = 0;
+                for (int cell = 0; cell < cells; cell++) {
+                    if ((x & 1L << cell) == 0) free[n++] = cell;
+                }
+                return combinations(free.length, oCount).map(m -> deposit(m, free))
+                        .filter(o -> !hasLine(o))
+                        .map(o -> x | o << cells)
+                        .filter(key -> symmetry.canonicalKey(key & ((1L << cells) - 1), key >>> cells) == key);
+            }).toArray();
+            Arrays.parallelSort(keys);
+            return keys;
+        }
+
+        /**
+         * Egy pozíció értéke a következő szint értékeiből.
+         */
+        int solve(long key, int stones, long[] childKeys, byte[] childValues) {
+            long x = key & ((1L << cells) - 1);
+            long o = key >>> cells;
+            boolean xToMove = stones % 2 == 0;
+            int best = -1;
+            int bestRank = -1;
+            for (long empty = ~(x | o) & ((1L << cells) - 1); empty != 0; empty &= empty - 1) {
+                int cell = Long.numberOfTrailingZeros(empty);
+                long childX = xToMove ? x | 1L << cell : x;
+                long childO = xToMove ? o : o | 1L << cell;
+                int value;
+                if (wonThrough(xToMove ? childX : childO, cell)) {
+                    return value(WIN, 1); // Ennél jobb nincs
+                } else if (stones + 1 == cells) {
+                    value = value(DRAW, 1);
+                } else {
+                    int index = Arrays.binarySearch(childKeys, symmetry.canonicalKey(childX, childO));
+                    value = flip(childValues[index] & 0xFF);
+                }
+                int rank = rank(value);
+                if (rank > bestRank) {
+                    bestRank = rank;
+                    best = value;
+                }
+            }
+            return best;
+        }
+
+        private boolean hasLine(long stones) {
+            for (long mask : winMasks) {
+                if ((stones & mask) == mask) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private boolean wonThrough(long stones, int cell) {
+            for (long mask : cellWinMasks[cell]) {
+                if ((stones & mask) == mask) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Az n bitből k-t kiválasztó maszkok (Gosper-módszerrel).
+         */
+        private static LongStream combinations(int n, int k) {
+            if (k == 0) {
+                return LongStream.of(0L);
+            }
+            if (k > n) {
+                return LongStream.empty();
+            }
+            long first = (1L << k) - 1;
+            long limit = 1L << n;
+            return LongStream.iterate(first, m -> m < limit, m -> {
+                long lowest = m & -m;
+                long ripple = m + lowest;
+                return (((ripple ^ m) >>> 2) / lowest) | ripple;
+            });
+        }
+
+        /**
+         * A tömör maszk bitjeit a megadott cellákra helyezi.
+         */
+        private static long deposit(long compact, int[] positions) {
+            long result = 0;
+            for (long bits = compact; bits != 0; bits &= bits - 1) {
+                result |= 1L << positions[Long.numberOfTrailingZeros(bits)];
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Legenerál egy táblát.
+     * Használat: java AI.Tablebase méret győzelmi_feltétel [legkisebb_kőszám] [szálak] [könyvtár]
+     * (pl. "java AI.Tablebase 4 3" a tablebases/tablebase_4x4_k3.ttb fájlt írja).
+     *
+     * @param args A parancssori argumentumok.
+     * @throws IOException Ha a fájl nem írható.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: java AI.Tablebase <size> <winCondition> [minStones] [threads] [directory]");
+            System.exit(2);
+        }
+        int size = Integer.parseInt(args[0]);
+        int winCondition = Integer.parseInt(args[1]);
+        int minStones = args.length > 2 ? Integer.parseInt(args[2]) : 0;
+        int threads = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+        Path directory = Paths.get(args.length > 4 ? args[4] : DEFAULT_DIRECTORY);
+        Files.createDirectories(directory);
+        Path out = directory.resolve(fileName(size, winCondition));
+        long start = System.nanoTime();
+        solve(size, winCondition, minStones, threads, out);
+        Tablebase table = open(out);
+        System.out.printf("%d positions, %d bytes written to %s in %.1f s%n", table.entryCount(),
+                Files.size(out), out, (System.nanoTime() - start) / 1e9);
+    }
+}
@@ -0,0 +1,130 @@
+package AI;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+
+class TablebaseTest {
+    private Path dir;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        dir = Files.createTempDirectory("tictactoe-tablebase");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        try (var files = Files.list(dir)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(dir);
+    }
+
+    @Test
+    void test3x3MatchesExhaustiveSearch() throws IOException {
+        Tablebase table = solve(3, 3, 0);
+        assertEquals(Tablebase.DRAW, Tablebase.result(table.probe(new BitBoard(3, 3))));
+        assertEquals(9, Tablebase.distance(table.probe(new BitBoard(3, 3)))); // Döntetlen csak teli táblán
+        checkAll(table, new BitBoard(3, 3), 'X');
+    }
+
+    @Test
+    void testEndgameTableMatchesSearchOn4x4() throws IOException {
+        Tablebase table = solve(4, 3, 9);
+        assertEquals(-1, table.bestCell(new BitBoard(4, 3), 'X')); // Üres tábla: nincs lefedve
+        SplittableRandom random = new SplittableRandom(7);
+        int checked = 0;
+        while (checked < 200) {
+            BitBoard bits = new BitBoard(4, 3);
+            char player = 'X';
+            boolean over = false;
+            for (int stones = 0; stones < 9 + random.nextInt(6) && !over; stones++) {
+                int cell;
+                do {
+                    cell = random.nextInt(16);
+                } while ((bits.emptyBits() & 1L << cell) == 0);
+                bits.place(cell, player);
+                over = bits.hasWonThrough(player, cell) || bits.isFull();
+                player = player == 'X' ? 'O' : 'X';
+            }
+            if (over || bits.occupiedCount() < 9) continue;
+            int value = table.probe(bits);
+            int expected = negamax(bits, player);
+            assertEquals(Integer.signum(expected), score(value), "Rossz érték");
+            int cell = table.bestCell(bits, player);
+            bits.place(cell, player);
+            int after = bits.hasWonThrough(player, cell) ? 1 : bits.isFull() ? 0 : -negamax(bits, player == 'X' ? 'O' : 'X');
+            assertEquals(Integer.signum(expected), Integer.signum(after), "A tábla lépése nem tökéletes");
+            checked++;
+        }
+    }
+
+    @Test
+    void testSearchUsesTablebase() throws IOException {
+        Tablebase table = solve(4, 4, 12);
+        char[][] board = {
+            {'X', 'O', 'X', 'O'},
+            {'O', 'X', 'O', 'X'},
+            {'O', 'X', 0, 0},
+            {'X', 'O', 'X', 0}
+        };
+        TicTacToeAI5x5 ai = new TicTacToeAI5x5(board, 'O', 'X', 4, 1000, 1, new SharedTranspositionTable(1));
+        ai.setTablebase(table);
+        BitBoard bits = new BitBoard(4, 4);
+        bits.load(board);
+        int[] move = ai.getBestMove();
+        assertEquals(table.bestCell(bits, 'O'), move[0] * 4 + move[1]);
+        assertEquals(0, ai.getLastNodes()); // Nem keresett
+    }
+
+    private Tablebase solve(int size, int winCondition, int minStones) throws IOException {
+        Path file = dir.resolve(Tablebase.fileName(size, winCondition));
+        Tablebase.solve(size, winCondition, minStones, 2, file);
+        return Tablebase.open(file);
+    }
+
+    /**
+     * Bejárja az összes elérhető állást, és összeveti a tábla értékét a kimerítő kereséssel.
+     */
+    private void checkAll(Tablebase table, BitBoard bits, char player) {
+        int value = table.probe(bits);
+        assertEquals(Integer.signum(negamax(bits, player)), score(value));
+        for (long empty = bits.emptyBits(); empty != 0; empty &= empty - 1) {
+            int cell = Long.numberOfTrailingZeros(empty);
+            bits.place(cell, player);
+            if (!bits.hasWonThrough(player, cell) && !bits.isFull()) {
+                checkAll(table, bits, player == 'X' ? 'O' : 'X');
+            }
+            bits.clear(cell);
+        }
+    }
+
+    private static int score(int value) {
+        int result = Tablebase.result(value);
+        return result == Tablebase.WIN ? 1 : result == Tablebase.LOSS ? -1 : 0;
+    }
+
+    /**
+     * Egyszerű negamax a lépő szemszögéből (1 nyer, 0 döntetlen, -1 veszít).
+     */
+    private static int negamax(BitBoard bits, char player) {
+        int best = -1;
+        for (long empty = bits.emptyBits(); empty != 0 && best < 1; empty &= empty - 1) {
+            int cell = Long.numberOfTrailingZeros(empty);
+            bits.place(cell, player);
+            int score = bits.hasWonThrough(player, cell) ? 1
+                    : bits.isFull() ? 0 : -negamax(bits, player == 'X' ? 'O' : 'X');
+            bits.clear(cell);
+            best = Math.max(best, score);
+        }
+        return best;
+    }
+}
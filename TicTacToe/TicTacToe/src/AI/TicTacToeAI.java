@@ -1,12 +1,23 @@
 package AI;
 
-import java.util.ArrayList;
-import java.util.List;
-
 /**
- * A TicTacToeAI osztály 3x3-as Tic-Tac-Toe játék AI-ját valósítja meg generikus listák használatával.
+ * A TicTacToeAI osztály 3x3-as Tic-Tac-Toe játék AI-ját valósítja meg.
+ * A keresés a bittáblán fut, a lépések az üres cellák maszkjából származnak.
+ * A lépést a teljesen megoldott játék táblájából (PerfectPlayTable) olvassa ki; az alfa-béta
+ * minimax csak tartalékként fut, a már kiértékelt pozíciókat Zobrist-kulccsal a transzpozíciós táblában keresi.
+ * A keresés nem foglal memóriát: a lépéseket az üres cellák maszkjának bitjeiként járja be,
+ * a döntetlent a foglalt cellák maszkjából O(1) időben ismeri fel.
  */
 public class TicTacToeAI extends AIParent {
+    /** Az alapértelmezett tábla mérete: a 3x3-as tábla mind az 5478 pozíciója elfér benne. */
+    public static final int DEFAULT_TABLE_SIZE = 1 << 14;
+
+    private final TranspositionTable table; // A kiértékelt pozíciók táblája
+    private final Zobrist zobrist; // A pozíciók kulcsai
+    private long lastTableHits; // Az utolsó keresés találatai
+    private long lastTableMisses; // Az utolsó keresés hiányai
+    private int lastDepth; // Az utolsó keresés mélysége (a hátralévő lépések száma; táblás lépésnél 0)
+    private double lastScore = Double.NaN; // Az utolsó lépés értéke (táblás lépésnél a tábla eredménye)
 
     /**
      * Konstruktor a 3x3-as játék AI inicializálására.
@@ -16,66 +27,146 @@ public class TicTacToeAI extends AIParent {
      * @param humanPlayer Az emberi játékos karaktere.
      */
     public TicTacToeAI(char[][] board, char aiPlayer, char humanPlayer) {
+        this(board, aiPlayer, humanPlayer,
+                new TranspositionTable(DEFAULT_TABLE_SIZE, TranspositionTable.ReplacementPolicy.DEPTH_PREFERRED));
+    }
+
+    /**
+     * Konstruktor egy kívülről adott (pl. több lépésen át megtartott) transzpozíciós táblával.
+     * A tábla pontszámai az AI szemszögéből értendők, ezért csak azonos aiPlayer-rel osztható meg.
+     *
+     * @param board       A játék tábla.
+     * @param aiPlayer    Az AI karaktere.
+     * @param humanPlayer Az emberi játékos karaktere.
+     * @param table       A használandó transzpozíciós tábla.
+     */
+    public TicTacToeAI(char[][] board, char aiPlayer, char humanPlayer, TranspositionTable table) {
         super(board, aiPlayer, humanPlayer, 3); // 3 a győzelem feltétele 3x3 táblán
+        this.table = table;
+        this.zobrist = Zobrist.forCells(board.length * board.length);
     }
 
     @Override
-    public int[] getBestMove() {
+    protected int[] findBestMove() {
+        syncFromBoard();
+        lastTableHits = 0;
+        lastTableMisses = 0;
+        lastDepth = 0;
+        lastScore = Double.NaN;
+
         // Van e nyerő lépés az AI-nak
-        int[] winningMove = findWinningMove(aiPlayer);
-        if (winningMove != null) {
-            return winningMove; // Ha van, térjen vissza ezzel
+        int winningCell = bits.findWinningCell(aiPlayer);
+        if (winningCell != -1) {
+            lastScore = 1;
+            return toMove(winningCell); // Ha van, térjen vissza ezzel
         }
 
         // Ellenőrzi blokkolható-e az ember
-        int[] blockingMove = findWinningMove(humanPlayer);
-        if (blockingMove != null) {
-            return blockingMove; // Ha van, térjen vissza ezzel
+        int blockingCell = bits.findWinningCell(humanPlayer);
+        if (blockingCell != -1) {
+            if (board.length == 3) {
+                lastScore = PerfectPlayTable.get().result(bits, aiPlayer); // A kényszerlépés sem változtat rajta
+            }
+            return toMove(blockingCell); // Ha van, térjen vissza ezzel
         }
 
-        // Minimax folytatása
+        // Tökéletes lépés és a játék elméleti eredménye a megoldott játék táblájából, keresés nélkül
+        if (board.length == 3) {
+            PerfectPlayTable perfect = PerfectPlayTable.get();
+            int tableCell = perfect.bestCell(bits, aiPlayer);
+            if (tableCell != -1) {
+                lastScore = perfect.result(bits, aiPlayer);
+                return toMove(tableCell);
+            }
+        }
+        return searchBestMove();
+    }
+
+    /**
+     * A legjobb lépés alfa-béta minimax kereséssel (a tábla megkerülésével).
+     *
+     * @return A legjobb lépés koordinátái {sor, oszlop}, vagy {-1, -1}, ha nincs üres mező.
+     */
+    int[] searchBestMove() {
+        syncFromBoard();
+        lastDepth = Long.bitCount(bits.emptyBits()); // A keresés a játék végéig tart
+        table.resetStats();
         int bestScore = Integer.MIN_VALUE;
-        int[] bestMove = new int[]{-1, -1};// mindent 0-ra initel vagy érvénytelenre 
+        int bestCell = -1; // érvénytelen, ha nincs üres mező
+        long hash = zobrist.hash(bits, humanPlayer); // A lépés után az ember következik
 
-        for (int[] move : getAvailableMoves()) { // Generikus lista használata az üres mezőkön
-            int row = move[0], col = move[1];
-            board[row][col] = aiPlayer;
-            int score = minimax(board, false);
-            board[row][col] = 0;
+        for (long empty = bits.emptyBits(); empty != 0; empty &= empty - 1) { // Üres mezők a maszkból
+            int cell = Long.numberOfTrailingZeros(empty);
+            bits.place(cell, aiPlayer);
+            // Az alfa a legjobb eddigi pontszám: ami nem jobb nála, azt nem kell pontosan ismerni
+            int score = minimax(false, cell, hash ^ zobrist.key(cell, aiPlayer), bestScore, Integer.MAX_VALUE);
+            bits.clear(cell);
 
             if (score > bestScore) {
                 bestScore = score;
-                bestMove = move;
+                bestCell = cell;
             }
         }
+        lastTableHits = table.getHits();
+        lastTableMisses = table.getMisses();
+        lastScore = bestCell == -1 ? Double.NaN : Integer.signum(bestScore); // A pontszám ±10 vagy 0
+
+        return toMove(bestCell); // Legjobb lépés visszaadása
+    }
+
+    /**
+     * @return Az utolsó keresés belső csomópontjai; mindegyik egyszer kérdezi a transzpozíciós táblát.
+     */
+    @Override
+    public long getLastNodes() {
+        return lastTableHits + lastTableMisses;
+    }
+
+    @Override
+    public int getLastDepth() {
+        return lastDepth;
+    }
 
-        return bestMove; // Legjobb lépés visszaadása
+    @Override
+    public double getLastScore() {
+        return lastScore;
+    }
+
+    @Override
+    protected long getLastTableProbes() {
+        return lastTableHits + lastTableMisses;
+    }
+
+    @Override
+    protected long getLastTableHits() {
+        return lastTableHits;
+    }
+
+    /**
+     * @return Az utolsó keresés transzpozíciós-tábla találatainak száma (táblás lépésnél 0).
+     */
+    public long getTableHits() {
+        return lastTableHits;
+    }
+
+    /**
+     * @return Az utolsó keresés transzpozíciós-tábla hiányainak száma (táblás lépésnél 0).
+     */
+    public long getTableMisses() {
+        return lastTableMisses;
     }
 
     @Override
     protected int[] findWinningMove(char player) {
-        for (int[] move : getAvailableMoves()) { // Generikus lista használata az üres mezőkön
-            int row = move[0], col = move[1];
-            board[row][col] = player;
-            if (checkWin(player)) {
-                board[row][col] = 0; // Állítsuk vissza az állapotot
-                return new int[]{row, col}; // Visszatérünk a győztes lépéssel
-            }
-            board[row][col] = 0; // Állapot visszaállítása, ha nem nyerő lépés
-        }
-        return null; // Nincs győztes lépés
+        syncFromBoard();
+        int cell = bits.findWinningCell(player);
+        return cell == -1 ? null : toMove(cell); // null, ha nincs győztes lépés
     }
 
     @Override
     protected boolean checkWin(char player) {
-        // Sorok és oszlopok ellenőrzése
-        for (int i = 0; i < 3; i++) {
-            if (checkLine(player, i, 0, 0, 1) || checkLine(player, 0, i, 1, 0)) {
-                return true;
-            }
-        }
-        // Átlók ellenőrzése
-        return checkLine(player, 0, 0, 1, 1) || checkLine(player, 0, 2, 1, -1);
+        syncFromBoard();
+        return bits.hasWon(player);
     }
 
     /**
@@ -86,49 +177,83 @@ public class TicTacToeAI extends AIParent {
      * @return A tábla állapotának pontszáma.
      */
     int minimax(char[][] board, boolean isMaximizing) {
-        if (checkWin(aiPlayer)) return 10; // AI nyerése
-        if (checkWin(humanPlayer)) return -10; // Ember nyerése
-        if (checkDraw()) return 0; // Döntetlen
-
-        int bestScore = isMaximizing ? Integer.MIN_VALUE : Integer.MAX_VALUE;
-        for (int[] move : getAvailableMoves()) { // Generikus lista használata az üres mezőkön
-            int row = move[0], col = move[1];
-            board[row][col] = isMaximizing ? aiPlayer : humanPlayer;
-            int score = minimax(board, !isMaximizing); // Rekurzió
-            board[row][col] = 0; // Visszaállítjuk az állapotot
+        bits.load(board);
+        if (bits.hasWon(aiPlayer)) return 10; // AI nyerése
+        if (bits.hasWon(humanPlayer)) return -10; // Ember nyerése
+        if (bits.isFull()) return 0; // Döntetlen
+        long hash = zobrist.hash(bits, isMaximizing ? aiPlayer : humanPlayer);
+        return search(isMaximizing, hash, Integer.MIN_VALUE, Integer.MAX_VALUE);
+    }
 
-            bestScore = isMaximizing ? Math.max(score, bestScore) : Math.min(score, bestScore);
+    /**
+     * Alfa-béta minimax a bittáblán, ahol az utolsó lépés után csak az azon átmenő vonalakat kell vizsgálni.
+     *
+     * @param isMaximizing Az AI következik-e.
+     * @param lastCell     Az előző lépés cellája.
+     * @param hash         A pozíció inkrementálisan frissített Zobrist-kulcsa.
+     * @param alpha        Az AI számára már biztosított pontszám.
+     * @param beta         Az ember számára már biztosított pontszám.
+     * @return A tábla állapotának pontszáma (a [alpha, beta] ablakon kívül csak korlát).
+     */
+    private int minimax(boolean isMaximizing, int lastCell, long hash, int alpha, int beta) {
+        // Az előző lépést az ellenfél tette, csak ő nyerhetett vele
+        if (bits.hasWonThrough(isMaximizing ? humanPlayer : aiPlayer, lastCell)) {
+            return isMaximizing ? -10 : 10;
         }
-        return bestScore;
+        if (bits.isFull()) return 0; // Döntetlen
+        return search(isMaximizing, hash, alpha, beta);
     }
 
     /**
-     * Üres mezők lekérdezése.
-     *
-     * @return Egy generikus lista, amely tartalmazza az összes elérhető mező sor- és oszlopindexeit.
+     * A gyerek csomópontok kiértékelése egy nem végállapotú pozícióból, a transzpozíciós tábla használatával.
      */
-    private List<int[]> getAvailableMoves() {
-        List<int[]> availableMoves = new ArrayList<>();
-        for (int row = 0; row < 3; row++) {
-            for (int col = 0; col < 3; col++) {
-                if (board[row][col] == 0) {
-                    availableMoves.add(new int[]{row, col});
-                }
+    private int search(boolean isMaximizing, long hash, int alpha, int beta) {
+        int originalAlpha = alpha;
+        int originalBeta = beta;
+        int slot = table.probe(hash);
+        if (slot != -1) {
+            int stored = table.score(slot);
+            byte bound = table.bound(slot);
+            if (bound == TranspositionTable.EXACT) return stored;
+            if (bound == TranspositionTable.LOWER) alpha = Math.max(alpha, stored);
+            else beta = Math.min(beta, stored);
+            if (alpha >= beta) return stored; // A tárolt korlát már vágást ad
+        }
+
+        char player = isMaximizing ? aiPlayer : humanPlayer;
+        long nextHash = hash ^ zobrist.sideKey(); // A lépés után a másik játékos következik
+        int bestScore = isMaximizing ? Integer.MIN_VALUE : Integer.MAX_VALUE;
+        for (long empty = bits.emptyBits(); empty != 0; empty &= empty - 1) {
+            int cell = Long.numberOfTrailingZeros(empty);
+            bits.place(cell, player);
+            int score = minimax(!isMaximizing, cell, nextHash ^ zobrist.key(cell, player), alpha, beta); // Rekurzió
+            bits.clear(cell); // Visszaállítjuk az állapotot
+
+            if (isMaximizing) {
+                bestScore = Math.max(score, bestScore);
+                alpha = Math.max(alpha, bestScore);
+            } else {
+                bestScore = Math.min(score, bestScore);
+                beta = Math.min(beta, bestScore);
             }
+            if (alpha >= beta) break; // Vágás
         }
-        return availableMoves;
+
+        byte bound = bestScore <= originalAlpha ? TranspositionTable.UPPER
+                : bestScore >= originalBeta ? TranspositionTable.LOWER
+                : TranspositionTable.EXACT;
+        table.store(hash, bestScore, bits.getSize() * bits.getSize() - bits.occupiedCount(), bound);
+        return bestScore;
     }
 
     @Override
     protected int[] pickRandomMove() {
-        List<int[]> moves = getAvailableMoves(); // Generikus lista használata
-        if (moves.isEmpty()) {
-            return new int[]{-1, -1};
-        }
-        return moves.get((int) (Math.random() * moves.size())); // Véletlenszerű lépés
+        syncFromBoard();
+        return toMove(randomEmptyCell()); // {-1, -1}, ha nincs üres mező
     }
 
     protected boolean checkDraw() {
-        return getAvailableMoves().isEmpty(); // Döntetlen, ha nincs több üres mező
+        syncFromBoard();
+        return bits.isFull(); // Döntetlen, ha nincs több üres mező
     }
 }
@@ -1,13 +1,61 @@
 package AI;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.Future;
+import java.util.concurrent.RecursiveAction;
 
 /**
  * A TicTacToeAI5x5 osztály 5x5-ös Tic-Tac-Toe játék AI-ját valósítja meg.
- * A győzelem feltétele 4 egy sorban.
+ * A győzelem feltétele alapértelmezetten 4 egy sorban; a Lazy SMP konstruktorral bármely
+ * legfeljebb 64 cellás négyzetes táblán és győzelmi feltétellel használható. A lépést időkorlátos, iteratívan mélyülő
+ * negamax alfa-béta kereséssel választja (lásd AlphaBetaSearch).
+ * Lazy SMP módban a fő keresés mellett segédszálak is keresnek, eltolt kezdőmélységgel;
+ * egymással csak a közös, zárolás nélküli transzpozíciós táblán keresztül osztják meg az eredményeiket.
+ * Gyökérfelosztásos módban (setParallel, alapból kikapcsolva) minden mélységben a gyökérlépéseket egy
+ * ForkJoinPool feladatai értékelik; az eredmény ugyanaz a lépés, mint az egyszálú keresésé ugyanabban a mélységben.
+ * A keresés előtt bizonyítószám-kereséssel (lásd ProofNumberSearch) a kikényszeríthető nyerést
+ * és a szükséges védekezést is megkeresi, jóval az egylépéses nyerő-lépés vizsgálat horizontján túl.
  */
 public class TicTacToeAI5x5 extends AIParent {
+    /** Az alapértelmezett gondolkodási idő lépésenként (ms). */
+    public static final long DEFAULT_TIME_BUDGET_MILLIS = 500;
+    /** A Lazy SMP közös táblájának alapértelmezett mérete (MB). */
+    public static final int DEFAULT_SHARED_TABLE_MB = 64;
+    /** A bizonyítószám-keresés alapértelmezett csomópontkerete egy bizonyításra. */
+    public static final long DEFAULT_PROOF_NODES = 200_000;
+    private static final int TABLE_MILLIS_PER_MB = 32; // A táblából ennyi ms gondolkodási időre jut 1 MB
+    private static final int MAX_TABLE_MB = 16; // A tábla legnagyobb mérete
+    private static final int PROOF_TABLE_SIZE = 1 << 18;
+    /** A segédkeresések közös démonszálai; a szálak a lépések között újrahasznosulnak. */
+    private static final ExecutorService HELPER_THREADS = Executors.newCachedThreadPool(task -> {
+        Thread thread = new Thread(task, "tictactoe-smp");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.NORM_PRIORITY - 1);
+        return thread;
+    });
+
+    private final long timeBudgetMillis; // Gondolkodási idő lépésenként
+    private final int tableMegabytes; // A saját tábla mérete (0, ha a tábla kívülről jön)
+    private volatile AlphaBetaSearch search; // A keresőmotor (saját táblával az első keresésig null)
+    private final AlphaBetaSearch[] helpers; // A Lazy SMP segédkeresései (üres, ha egy szálon keresünk)
+    private final ProofNumberSearch proofSearch; // A kényszerített nyerések bizonyítója
+    private final List<AlphaBetaSearch> splitSearches = new CopyOnWriteArrayList<>(); // A gyökérfelosztás keresői
+    private ForkJoinPool pool; // A gyökérfelosztás szálkészlete (null: nincs gyökérfelosztás)
+    private ThreadLocal<AlphaBetaSearch> splitSearch; // Munkaszálanként saját kereső (saját bittáblával)
+    private long proofNodes = DEFAULT_PROOF_NODES; // Csomópontkeret bizonyításonként (0: kikapcsolva)
+    private long lastTableProbes; // Az utolsó keresés táblakérdezései
+    private long lastTableHits; // Az utolsó keresés táblatalálatai
+    private double lastScore = Double.NaN; // Az utolsó keresés értéke (lásd getLastScore)
+    private int maxDepth = Integer.MAX_VALUE; // A keresés mélységkorlátja
+    private int lastDepth; // Az utolsó keresésben befejezett legnagyobb mélység
+    private long lastNodes; // Az utolsó keresés csomópontjai (bizonyítás és alfa-béta, minden szálon)
+    private Tablebase tablebase; // A szabályokhoz tartozó végjátéktábla (null, ha nincs)
 
     /**
      * Konstruktor az 5x5-ös játék AI inicializálására.
@@ -17,138 +65,477 @@ public class TicTacToeAI5x5 extends AIParent {
      * @param humanPlayer Az emberi játékos karaktere.
      */
     public TicTacToeAI5x5(char[][] board, char aiPlayer, char humanPlayer) {
+        this(board, aiPlayer, humanPlayer, DEFAULT_TIME_BUDGET_MILLIS);
+    }
+
+    /**
+     * Konstruktor megadott gondolkodási idővel. A transzpozíciós tábla az első keresésnél foglalódik le,
+     * a gondolkodási időhöz mért méretben (32 ms-onként 1 MB, legfeljebb 16 MB), így a soha nem kereső
+     * motor nem foglal memóriát.
+     *
+     * @param board            A játék tábla.
+     * @param aiPlayer         Az AI karaktere.
+     * @param humanPlayer      Az emberi játékos karaktere.
+     * @param timeBudgetMillis A lépésenként felhasználható idő ezredmásodpercben.
+     */
+    public TicTacToeAI5x5(char[][] board, char aiPlayer, char humanPlayer, long timeBudgetMillis) {
         super(board, aiPlayer, humanPlayer, 4); // Győzelem feltétele 4 a sorban
+        this.timeBudgetMillis = timeBudgetMillis;
+        this.tableMegabytes = (int) Math.max(1, Math.min(MAX_TABLE_MB, timeBudgetMillis / TABLE_MILLIS_PER_MB));
+        this.helpers = new AlphaBetaSearch[0];
+        this.proofSearch = new ProofNumberSearch(board.length, winCondition, PROOF_TABLE_SIZE);
+    }
+
+    /**
+     * Konstruktor Lazy SMP kereséshez: a fő keresés és threads - 1 segédkeresés közös táblát használ.
+     * A tábla lépések és játszmák között megtartható, ha a tábla mérete és a győzelmi feltétel nem változik.
+     *
+     * @param board            A játék tábla.
+     * @param aiPlayer         Az AI karaktere.
+     * @param humanPlayer      Az emberi játékos karaktere.
+     * @param timeBudgetMillis A lépésenként felhasználható idő ezredmásodpercben.
+     * @param threads          A keresőszálak száma (legalább 1).
+     * @param table            A közös transzpozíciós tábla.
+     */
+    public TicTacToeAI5x5(char[][] board, char aiPlayer, char humanPlayer, long timeBudgetMillis,
+                          int threads, SharedTranspositionTable table) {
+        this(board, aiPlayer, humanPlayer, 4, timeBudgetMillis, threads, table); // Győzelem feltétele 4 a sorban
+    }
+
+    /**
+     * Lazy SMP konstruktor tetszőleges győzelmi feltétellel (pl. 6x6, 4 egy sorban).
+     * A közös tábla csak azonos méretű táblán és győzelmi feltétellel használható újra.
+     *
+     * @param board            A játék tábla (négyzetes, legfeljebb 64 cella).
+     * @param aiPlayer         Az AI karaktere.
+     * @param humanPlayer      Az emberi játékos karaktere.
+     * @param winCondition     A győzelemhez szükséges szimbólumok száma.
+     * @param timeBudgetMillis A lépésenként felhasználható idő ezredmásodpercben.
+     * @param threads          A keresőszálak száma (legalább 1).
+     * @param table            A közös transzpozíciós tábla.
+     */
+    public TicTacToeAI5x5(char[][] board, char aiPlayer, char humanPlayer, int winCondition, long timeBudgetMillis,
+                          int threads, SharedTranspositionTable table) {
+        super(board, aiPlayer, humanPlayer, winCondition);
+        this.timeBudgetMillis = timeBudgetMillis;
+        this.tableMegabytes = 0;
+        this.search = new AlphaBetaSearch(board.length, winCondition, table);
+        this.helpers = new AlphaBetaSearch[Math.max(0, threads - 1)];
+        for (int i = 0; i < helpers.length; i++) {
+            helpers[i] = new AlphaBetaSearch(board.length, winCondition, table);
+        }
+        this.proofSearch = new ProofNumberSearch(board.length, winCondition, PROOF_TABLE_SIZE);
     }
 
     
     /**
      * Meghatározza az AI által választandó legjobb lépést.
      * Ha van győztes lépés az AI számára, azt választja. Ha nincs, akkor blokkolja az ember nyerő lépését.
-     * Ha egyik sem, akkor a középső mezőt, vagy egy véletlenszerű lépést választ.
+     * Üres táblán a középső mezőt választja. Ezután a bizonyított nyerést vagy a szükséges védekezést
+     * választja, ha van ilyen, egyébként az időkeretig keres.
      *
      * @return Az AI által választott lépés (sor és oszlop indexek).
      */
     @Override
-    public int[] getBestMove() {
+    protected int[] findBestMove() {
+        syncFromBoard();
+        lastDepth = 0; // A keresés nélküli válaszoknál 0 marad
+        lastNodes = 0;
+        lastTableProbes = 0;
+        lastTableHits = 0;
+        lastScore = Double.NaN;
+
+        // Ha a végjátéktábla lefedi az állást, a tökéletes lépés egy kereséssel sem jobb
+        if (tablebase != null) {
+            int tableCell = tablebase.bestCell(bits, aiPlayer);
+            if (tableCell != -1) {
+                int result = Tablebase.result(tablebase.probe(bits));
+                lastScore = result == Tablebase.WIN ? 1 : result == Tablebase.LOSS ? -1 : result == Tablebase.DRAW ? 0
+                        : Double.NaN;
+                return toMove(tableCell);
+            }
+        }
+
         // Megkeressük az AI győztes lépését
-        int[] winningMove = findWinningMove(aiPlayer);
-        if (winningMove != null) {
-            return winningMove;
+        int winningCell = bits.findWinningCell(aiPlayer);
+        if (winningCell != -1) {
+            lastScore = 1;
+            return toMove(winningCell);
         }
 
         // Megkeressük az emberi játékost blokkoló lépését, vagyis az ember nyerő lépését
-        int[] blockingMove = findWinningMove(humanPlayer);
-        if (blockingMove != null) {
-            return blockingMove;
+        int blockingCell = bits.findWinningCell(humanPlayer);
+        if (blockingCell != -1) {
+            return toMove(blockingCell);
         }
 
-        // Ha a középső mező üres, akkor azt választjuk
-        if (board[2][2] == 0) {
-            return new int[]{2, 2};
+        // Üres táblán a középső mezőt választjuk, erre nem érdemes időt szánni
+        if (bits.occupiedCount() == 0) {
+            int center = board.length / 2;
+            return new int[]{center, center};
         }
 
-        // Véletlenszerű lépés választása, ha nincs jobb
-        return pickRandomMove();
+        // Kikényszeríthető nyerés vagy szükséges védekezés, az időkeret legfeljebb negyedéig
+        long start = System.nanoTime();
+        int provenCell = proveCell(start + timeBudgetMillis * 250_000L);
+        if (provenCell != -1) {
+            return toMove(provenCell);
+        }
+
+        // Iteratívan mélyülő alfa-béta keresés az időkeretig
+        long deadline = start + timeBudgetMillis * 1_000_000L;
+        if (pool != null) {
+            return toMove(searchSplit(deadline));
+        }
+        if (helpers.length == 0) {
+            AlphaBetaSearch search = search();
+            int cell = search.search(bits, aiPlayer, deadline, maxDepth);
+            lastDepth = search.getCompletedDepth();
+            lastScore = search.getBestValue();
+            count(search);
+            return toMove(cell); // {-1, -1}, ha tele a tábla
+        }
+        return toMove(searchParallel(deadline));
     }
 
-    
     /**
-     * Megkeresi az adott játékos számára elérhető győztes lépést.
-     *
-     * @param player A játékos karaktere, akinek a győztes lépését keressük.
-     * @return A győztes lépés koordinátái (sor és oszlop), vagy null, ha nincs ilyen lépés.
+     * A keresőmotor; saját táblával az első keresésnél jön létre.
      */
-    @Override
-    protected int[] findWinningMove(char player) {
-        // Iterálunk minden mezőn a győztes lépés kereséséhez
-        for (int row = 0; row < 5; row++) {
-            for (int col = 0; col < 5; col++) {
-                if (board[row][col] == 0) {
-                    board[row][col] = player;
-                    if (checkWin(player)) {
-                        board[row][col] = 0; // Visszaállítjuk az állapotot
-                        return new int[]{row, col}; // Győztes lépés
-                    }
-                    board[row][col] = 0;
-                }
+    private AlphaBetaSearch search() {
+        AlphaBetaSearch current = search;
+        if (current == null) {
+            current = new AlphaBetaSearch(board.length, winCondition, new SharedTranspositionTable(tableMegabytes));
+            search = current;
+            if (cancelled) {
+                current.stop(); // A létrehozás közben kért leállítás is érvényes
             }
         }
-        return null; // Nincs győztes lépés
+        return current;
     }
 
-    
-    
     /**
-     * Ellenőrzi, hogy az adott játékos elérte-e a győzelmi feltételt.
+     * Bizonyítószám-keresés: ha az AI kikényszerítheti a győzelmet, a nyerő lépést adja. Ha az ember passz
+     * esetén kikényszerítené a győzelmet (fenyeget), és van olyan lépés, amely után ez már nem sikerül neki,
+     * azt a védekezést adja. Ha egyik sem bizonyítható a kereten belül, a döntést az alfa-béta keresésre hagyja.
      *
-     * @param player A játékos karaktere, akinek győzelmét ellenőrizzük.
-     * @return Igaz, ha a játékos győzött, különben hamis.
+     * @param deadline A bizonyítások közös határideje (System.nanoTime).
+     * @return A bizonyított lépés cellája, vagy -1.
      */
-    
-    @Override
-    protected boolean checkWin(char player) {
-        int size = board.length;
+    private int proveCell(long deadline) {
+        if (proofNodes == 0) {
+            return -1;
+        }
+        ProofNumberSearch.Result attack = prove(aiPlayer, aiPlayer, deadline);
+        if (attack == ProofNumberSearch.Result.PROVEN) {
+            lastScore = 1;
+            return proofSearch.getBestCell();
+        }
+        if (prove(humanPlayer, humanPlayer, deadline) == ProofNumberSearch.Result.PROVEN
+                && prove(humanPlayer, aiPlayer, deadline) == ProofNumberSearch.Result.DISPROVEN) {
+            if (attack == ProofNumberSearch.Result.DISPROVEN) {
+                lastScore = 0; // Egyik fél sem nyerhet: döntetlen
+            }
+            return proofSearch.getBestCell();
+        }
+        return -1; // Nincs fenyegetés, vagy a védekezés sem segít: a keresés a lehető legtovább húzza
+    }
+
+    /**
+     * Egy bizonyítás a kereten belül; a csomópontjai a keresés mérőszámaiba is beleszámítanak.
+     */
+    private ProofNumberSearch.Result prove(char attacker, char toMove, long deadline) {
+        ProofNumberSearch.Result result = proofSearch.prove(bits, attacker, toMove, proofNodes, deadline);
+        lastNodes += proofSearch.getNodes();
+        lastTableProbes += proofSearch.getTableProbes();
+        lastTableHits += proofSearch.getTableHits();
+        return result;
+    }
+
+    /**
+     * Hozzáadja egy alfa-béta keresés számlálóit az utolsó keresés mérőszámaihoz.
+     */
+    private void count(AlphaBetaSearch finished) {
+        lastNodes += finished.getNodes();
+        lastTableProbes += finished.getTableProbes();
+        lastTableHits += finished.getTableHits();
+    }
 
-        // Sorok és oszlopok ellenőrzése
-        for (int i = 0; i < size; i++) {
-            if (checkLine(player, i, 0, 0, 1) || checkLine(player, 0, i, 1, 0)) {
-                return true;
+    /**
+     * Lazy SMP: a segédkeresések minden második szálon egy mélységgel előrébb indulnak, a fő keresés
+     * befejezésekor leállnak. A legmélyebb befejezett keresés lépése nyer (egyenlőségnél a fő keresésé).
+     */
+    private int searchParallel(long deadline) {
+        AlphaBetaSearch search = search();
+        Future<?>[] running = new Future<?>[helpers.length];
+        int[] helperCells = new int[helpers.length]; // A segédkeresések lépései (a get() után olvasható)
+        for (int i = 0; i < helpers.length; i++) {
+            AlphaBetaSearch helper = helpers[i];
+            int index = i;
+            int firstDepth = 1 + (i + 1) % 2;
+            helper.resume();
+            if (cancelled) {
+                helper.stop();
+            }
+            running[i] = HELPER_THREADS.submit(() -> trackWorker(
+                    () -> helperCells[index] = helper.search(bits, aiPlayer, deadline, maxDepth, firstDepth)));
+        }
+        int bestCell = search.search(bits, aiPlayer, deadline, maxDepth);
+        int bestDepth = search.getCompletedDepth();
+        double bestValue = search.getBestValue();
+        count(search);
+        for (AlphaBetaSearch helper : helpers) {
+            helper.stop();
+        }
+        for (int i = 0; i < helpers.length; i++) {
+            try {
+                running[i].get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (ExecutionException e) {
+                continue; // A hibás segédkeresés eredményét nem használjuk
+            }
+            count(helpers[i]);
+            if (helpers[i].getCompletedDepth() > bestDepth) {
+                bestDepth = helpers[i].getCompletedDepth();
+                bestValue = helpers[i].getBestValue();
+                bestCell = helperCells[i];
             }
         }
+        lastDepth = bestDepth;
+        lastScore = bestValue;
+        return bestCell;
+    }
 
-        // Átlók ellenőrzése (balról-jobbra és jobbról-balra)
-        for (int start = 0; start <= size - winCondition; start++) {
-            if (checkLine(player, start, 0, 1, 1) || checkLine(player, 0, start, 1, 1)) { // Balról-jobbra átló lefele
-                return true;
+    /**
+     * Gyökérfelosztás: minden mélységben a gyökérlépések egy-egy feladat, amelyet egy munkaszál saját
+     * keresője teljes ablakkal, pontosan értékel; a keresők a fő keresés tábláján osztoznak. A lépések
+     * sorrendje az előző mélység szerinti, így egyenlő pontszámnál ugyanaz a lépés nyer, mint az egyszálú
+     * keresésben, amely a legjobbnál nem jobb lépésekre csak korlátot számol.
+     */
+    private int searchSplit(long deadline) {
+        AlphaBetaSearch main = search();
+        int[] moves = new int[bits.getSize() * bits.getSize()];
+        int count = main.rootMoves(bits, moves);
+        if (count == 0) {
+            return -1;
+        }
+        int fullDepth = Long.bitCount(bits.emptyBits());
+        int bestCell = moves[0]; // Ha egy mélység sem fejeződik be, legalább érvényes lépést adunk
+        MoveTask[] tasks = new MoveTask[count];
+        for (int depth = 1; depth <= Math.min(maxDepth, fullDepth); depth++) {
+            for (int i = 0; i < count; i++) {
+                tasks[i] = new MoveTask(moves[i], depth, deadline);
+            }
+            pool.invoke(new RootTask(tasks));
+            int best = -1;
+            boolean aborted = false;
+            for (int i = 0; i < count; i++) {
+                lastNodes += tasks[i].nodes;
+                lastTableProbes += tasks[i].tableProbes;
+                lastTableHits += tasks[i].tableHits;
+                aborted |= tasks[i].aborted;
+                if (best == -1 || tasks[i].score > tasks[best].score) {
+                    best = i;
+                }
+            }
+            if (aborted) {
+                break; // A félbehagyott mélység eredményét eldobjuk
             }
-            if (checkLine(player, start, size - 1, 1, -1) || checkLine(player, 0, size - 1 - start, 1, -1)) { // Jobbról-balra átló lefele
-                return true;
+            // A legjobb lépés kerül előre, így a következő mélység ezzel kezd
+            int score = tasks[best].score;
+            bestCell = moves[best];
+            System.arraycopy(moves, 0, moves, 1, best);
+            moves[0] = bestCell;
+            lastDepth = depth;
+            lastScore = main.value(score, depth, fullDepth);
+            if (AlphaBetaSearch.isDecided(score)) {
+                break; // Kikényszerített eredmény: a mélyebb keresés nem változtat rajta
             }
         }
+        return bestCell;
+    }
+
+    /**
+     * Egy mélység gyökérlépéseinek feladatai, egyszerre elindítva.
+     */
+    private static final class RootTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final MoveTask[] tasks;
+
+        RootTask(MoveTask[] tasks) {
+            this.tasks = tasks;
+        }
 
-        return false; // Ha nincs győzelem
+        @Override
+        protected void compute() {
+            ForkJoinTask.invokeAll(tasks);
+        }
     }
-    
-    
-    
+
     /**
-     * Ellenőrzi, hogy egy adott sorozatban azonos karakterek vannak-e a győzelemhez szükséges számban.
-     *
-     * @param player    A játékos karaktere, akit ellenőrzünk.
-     * @param startRow  A kezdő sor indexe.
-     * @param startCol  A kezdő oszlop indexe.
-     * @param rowDelta  Az irány sor irányú változása.
-     * @param colDelta  Az irány oszlop irányú változása.
-     * @return Igaz, ha a játékos teljesítette a győzelmi feltételt az adott irányban, különben hamis.
+     * Egy gyökérlépés értéke egy mélységben, a munkaszál keresőjével.
      */
-    @Override
-	protected boolean checkLine(char player, int startRow, int startCol, int rowDelta, int colDelta) {
-        int count = 0;
+    private final class MoveTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final int cell; // A gyökérlépés
+        private final int depth; // A keresés mélysége
+        private final long deadline; // A határidő (System.nanoTime)
+        private int score; // A lépés pontszáma az AI szemszögéből
+        private boolean aborted; // Félbeszakadt-e a keresés
+        private long nodes; // A keresés csomópontjai
+        private long tableProbes; // A keresés táblakérdezései
+        private long tableHits; // A keresés táblatalálatai
 
-        // Végigmegyünk az adott irányon
-        for (int i = 0; i < board.length; i++) {
-            int row = startRow + i * rowDelta;
-            int col = startCol + i * colDelta;
+        MoveTask(int cell, int depth, long deadline) {
+            this.cell = cell;
+            this.depth = depth;
+            this.deadline = deadline;
+        }
 
-            // Ha kívül esik a táblán, megszakítjuk a ciklust
-            if (row < 0 || row >= board.length || col < 0 || col >= board[0].length) {
-                break;
-            }
+        @Override
+        protected void compute() {
+            trackWorker(() -> {
+                // A kereső a feladat végéig nem ad át vezérlést, így más feladat nem használhatja közben
+                AlphaBetaSearch search = splitSearch.get();
+                score = search.searchMove(bits, aiPlayer, cell, depth, deadline);
+                aborted = search.isAborted();
+                nodes = search.getNodes();
+                tableProbes = search.getTableProbes();
+                tableHits = search.getTableHits();
+            });
+        }
+    }
 
-            // Ha a játékos karakterét találjuk, növeljük a számlálót
-            if (board[row][col] == player) {
-                count++;
-                if (count == winCondition) { // Győzelem, ha elérjük a `winCondition`-t
-                    return true;
-                }
-            } else {
-                count = 0; // Ha nem egyezik, nullázzuk a számlálót
+    /**
+     * Bekapcsolja a gyökérfelosztásos keresést (a Lazy SMP segédkeresések helyett). A munkaszálak saját
+     * keresőt és bittáblát kapnak, a közös char[][] táblát egyik sem olvassa vagy módosítja.
+     *
+     * @param pool A keresés szálkészlete, vagy null az egyszálú (vagy Lazy SMP) kereséshez.
+     */
+    public void setParallel(ForkJoinPool pool) {
+        this.pool = pool;
+        this.splitSearch = pool == null ? null : ThreadLocal.withInitial(() -> {
+            AlphaBetaSearch search = new AlphaBetaSearch(board.length, winCondition, search().getTable());
+            splitSearches.add(search);
+            if (cancelled) {
+                search.stop(); // A létrehozás közben kért leállítás is érvényes
             }
+            return search;
+        });
+    }
+
+    /**
+     * Rögzített mélységkorlát a kereséshez (pl. reprodukálható mérésekhez); az időkorlát továbbra is érvényes.
+     *
+     * @param maxDepth A legnagyobb keresési mélység.
+     */
+    public void setMaxDepth(int maxDepth) {
+        this.maxDepth = maxDepth;
+    }
+
+    /**
+     * A bizonyítószám-keresés csomópontkerete bizonyításonként; 0 kikapcsolja a bizonyítást.
+     *
+     * @param proofNodes A keret (alapértelmezetten DEFAULT_PROOF_NODES).
+     */
+    public void setProofBudget(long proofNodes) {
+        this.proofNodes = proofNodes;
+    }
+
+    /**
+     * Végjátéktábla a tökéletes játékhoz, ahol az állást lefedi (lásd Tablebase).
+     *
+     * @param tablebase A tábla, vagy null.
+     */
+    public void setTablebase(Tablebase tablebase) {
+        this.tablebase = tablebase;
+    }
+
+    @Override
+    public void cancel() {
+        super.cancel();
+        AlphaBetaSearch current = search;
+        if (current != null) {
+            current.stop();
+        }
+        proofSearch.stop();
+        for (AlphaBetaSearch helper : helpers) {
+            helper.stop();
+        }
+        for (AlphaBetaSearch search : splitSearches) {
+            search.stop();
+        }
+    }
+
+    @Override
+    public void resume() {
+        super.resume();
+        search.resume();
+        proofSearch.resume();
+        for (AlphaBetaSearch helper : helpers) {
+            helper.resume();
         }
-        return false;
+    }
+
+    /**
+     * @return Az utolsó keresésben teljesen befejezett mélység (Lazy SMP-nél a legmélyebb keresésé).
+     */
+    @Override
+    public int getLastDepth() {
+        return lastDepth;
+    }
+
+    /**
+     * @return Az utolsó keresésben meglátogatott csomópontok száma (a bizonyításokkal, minden szálon összesen).
+     */
+    @Override
+    public long getLastNodes() {
+        return lastNodes;
+    }
+
+    @Override
+    public double getLastScore() {
+        return lastScore;
+    }
+
+    @Override
+    protected long getLastTableProbes() {
+        return lastTableProbes;
+    }
+
+    @Override
+    protected long getLastTableHits() {
+        return lastTableHits;
+    }
+
+    
+    /**
+     * Megkeresi az adott játékos számára elérhető győztes lépést.
+     *
+     * @param player A játékos karaktere, akinek a győztes lépését keressük.
+     * @return A győztes lépés koordinátái (sor és oszlop), vagy null, ha nincs ilyen lépés.
+     */
+    @Override
+    protected int[] findWinningMove(char player) {
+        syncFromBoard();
+        int cell = bits.findWinningCell(player); // Sorfolytonosan az első nyerő mező
+        return cell == -1 ? null : toMove(cell); // null, ha nincs győztes lépés
     }
 
     
+    /**
+     * Ellenőrzi, hogy az adott játékos elérte-e a győzelmi feltételt.
+     *
+     * @param player A játékos karaktere, akinek győzelmét ellenőrizzük.
+     * @return Igaz, ha a játékos győzött, különben hamis.
+     */
+    @Override
+    protected boolean checkWin(char player) {
+        syncFromBoard();
+        return bits.hasWon(player); // Az előre kiszámolt nyerő vonalak vizsgálata
+    }
+
     
     /**
      * Kiválaszt egy véletlenszerű lépést az elérhető üres mezők közül.
@@ -157,23 +544,7 @@ public class TicTacToeAI5x5 extends AIParent {
      */
     @Override
     protected int[] pickRandomMove() {
-        List<int[]> availableMoves = new ArrayList<>();
-
-        // Üres mezők keresése
-        for (int row = 0; row < 5; row++) {
-            for (int col = 0; col < 5; col++) {
-                if (board[row][col] == 0) {
-                    availableMoves.add(new int[]{row, col});
-                }
-            }
-        }
-
-        // Ha nincs elérhető lépés, akkor hibás érték (-1, -1) visszaadása
-        if (availableMoves.isEmpty()) {
-            return new int[]{-1, -1};
-        }
-
-        // Véletlenszerűen választunk egy üres mezőt
-        return availableMoves.get((int) (Math.random() * availableMoves.size()));
+        syncFromBoard();
+        return toMove(randomEmptyCell());
     }
 }
@@ -4,6 +4,8 @@ import static org.junit.jupiter.api.Assertions.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.concurrent.ForkJoinPool;
+
 class TicTacToeAI5x5Test {
     private TicTacToeAI5x5 ai5x5;
 
@@ -76,6 +78,125 @@ class TicTacToeAI5x5Test {
         int[] move = ai5x5.findWinningMove('O');
         assertArrayEquals(new int[]{3, 3}, move); // Győztes lépés (3, 3)
     }
-    
-   
+
+    @Test
+    void testSearchFindsDoubleThreat() {
+        ai5x5.board[0][0] = 'X';
+        ai5x5.board[4][4] = 'X';
+        ai5x5.board[2][1] = 'O';
+        ai5x5.board[2][2] = 'O';
+        ai5x5.setProofBudget(0); // Az alfa-béta keresést vizsgáljuk
+        int[] move = ai5x5.getBestMove();
+        assertArrayEquals(new int[]{2, 3}, move); // (2, 0) és (2, 4) egyszerre fenyeget
+        assertTrue(ai5x5.getLastDepth() >= 3);
+    }
+
+    @Test
+    void testSearchRespectsTimeBudget() {
+        ai5x5 = new TicTacToeAI5x5(new char[5][5], 'O', 'X', 50);
+        ai5x5.board[2][2] = 'X';
+        int[] move = ai5x5.getBestMove();
+        assertEquals(0, ai5x5.board[move[0]][move[1]]); // Érvényes, üres mező
+        assertTrue(ai5x5.getLastDepth() >= 1);
+        assertTrue(ai5x5.getLastDepth() < 24); // A határidő állította le, nem a játék vége (24 üres mező)
+    }
+
+    @Test
+    void testRootSplitMatchesSequential() {
+        String[][] positions = {
+            {".....", ".....", "..X..", ".....", "....."},
+            {".....", ".O...", "..XX.", ".....", "....."},
+            {"X....", ".....", ".OO..", ".....", "....X"}, // O kettős fenyegetést építhet
+            {".X...", ".OX..", "..XO.", ".....", "....."}
+        };
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (String[] rows : positions) {
+                char[][] board = new char[5][5];
+                for (int row = 0; row < 5; row++) {
+                    for (int col = 0; col < 5; col++) {
+                        char cell = rows[row].charAt(col);
+                        board[row][col] = cell == '.' ? 0 : cell;
+                    }
+                }
+                TicTacToeAI5x5 sequential = new TicTacToeAI5x5(board, 'O', 'X', 60_000);
+                sequential.setMaxDepth(4);
+                sequential.setProofBudget(0); // Az alfa-béta keresést vizsgáljuk
+                int[] expected = sequential.getBestMove();
+
+                TicTacToeAI5x5 parallel = new TicTacToeAI5x5(board, 'O', 'X', 60_000);
+                parallel.setMaxDepth(4);
+                parallel.setProofBudget(0);
+                parallel.setParallel(pool);
+                assertArrayEquals(expected, parallel.getBestMove());
+                assertEquals(sequential.getLastDepth(), parallel.getLastDepth());
+                assertEquals(sequential.getLastScore(), parallel.getLastScore(), 1e-9);
+                assertArrayEquals(expected, parallel.getBestMove()); // A munkaszálak keresői újrahasználhatók
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testLazySmpFindsDoubleThreat() {
+        char[][] board = new char[5][5];
+        board[0][0] = 'X';
+        board[4][4] = 'X';
+        board[2][1] = 'O';
+        board[2][2] = 'O';
+        ai5x5 = new TicTacToeAI5x5(board, 'O', 'X', 300, 4, new SharedTranspositionTable(4));
+        ai5x5.setProofBudget(0); // Az alfa-béta keresést vizsgáljuk
+        assertArrayEquals(new int[]{2, 3}, ai5x5.getBestMove());
+        assertTrue(ai5x5.getLastDepth() >= 3);
+        assertTrue(ai5x5.getLastNodes() > 0);
+    }
+
+    @Test
+    void testProofSearchFindsForcedWin() {
+        ai5x5.board[0][0] = 'X';
+        ai5x5.board[4][4] = 'X';
+        ai5x5.board[2][1] = 'O';
+        ai5x5.board[2][2] = 'O';
+        assertArrayEquals(new int[]{2, 3}, ai5x5.getBestMove());
+        assertEquals(0, ai5x5.getLastDepth()); // Bizonyítva, alfa-béta keresés nélkül
+        assertEquals(1.0, ai5x5.getLastScore());
+    }
+
+    @Test
+    void testLastScore() {
+        char[][] board = new char[3][3];
+        board[1][1] = 'X';
+        ai5x5 = new TicTacToeAI5x5(board, 'O', 'X', 3, 1000, 1, new SharedTranspositionTable(1));
+        ai5x5.setProofBudget(0);
+        ai5x5.getBestMove();
+        assertEquals(0.0, ai5x5.getLastScore()); // A játék végéig keresett: döntetlen
+
+        ai5x5 = new TicTacToeAI5x5(new char[5][5], 'O', 'X', 4, 50, 1, new SharedTranspositionTable(1));
+        ai5x5.board[2][2] = 'X';
+        ai5x5.setProofBudget(0);
+        ai5x5.getBestMove();
+        assertTrue(ai5x5.getLastScore() > -1 && ai5x5.getLastScore() < 1); // Heurisztikus becslés
+    }
+
+    @Test
+    void testProofSearchDefends() {
+        String[] rows = {".....", ".O.X.", "X..X.", "O....", "XX.OO"}; // X fenyeget, O lép
+        char[][] board = new char[5][5];
+        for (int row = 0; row < 5; row++) {
+            for (int col = 0; col < 5; col++) {
+                char cell = rows[row].charAt(col);
+                board[row][col] = cell == '.' ? 0 : cell;
+            }
+        }
+        ai5x5 = new TicTacToeAI5x5(board, 'O', 'X', 4, 500, 1, new SharedTranspositionTable(1));
+        int[] move = ai5x5.getBestMove();
+        assertEquals(0, ai5x5.getLastDepth()); // Bizonyított védekezés
+
+        BitBoard bits = new BitBoard(5, 4);
+        bits.load(board);
+        bits.place(move[0] * 5 + move[1], 'O');
+        assertEquals(ProofNumberSearch.Result.DISPROVEN,
+                new ProofNumberSearch(5, 4, 1 << 16).prove(bits, 'X', 'X', 1_000_000, Long.MAX_VALUE));
+    }
 }
@@ -4,6 +4,8 @@ import static org.junit.jupiter.api.Assertions.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.lang.management.ManagementFactory;
+
 class TicTacToeAITest {
     private TicTacToeAI ai;
 
@@ -59,4 +61,115 @@ class TicTacToeAITest {
         assertArrayEquals(new int[]{1, 2}, move); // Várjuk, hogy az ai nyer (1, 2)
     }
 
+    @Test
+    void testTranspositionTableHits() {
+        ai = new TicTacToeAI(new char[3][3], 'O', 'X');
+        ai.searchBestMove();
+        assertTrue(ai.getTableHits() > 0); // Az átrendezett lépéssorrendek ugyanoda vezetnek
+        assertTrue(ai.getTableMisses() <= 5478); // Legfeljebb annyi hiány, ahány pozíció létezik
+    }
+
+    @Test
+    void testLastScore() {
+        ai.board[1][0] = 'O';
+        ai.board[1][1] = 'O';
+        ai.getBestMove();
+        assertEquals(1.0, ai.getLastScore()); // Azonnali nyerés
+
+        ai = new TicTacToeAI(new char[3][3], 'O', 'X');
+        ai.searchBestMove();
+        assertEquals(0.0, ai.getLastScore()); // Tökéletes játékkal döntetlen
+
+        // A táblás (és a blokkoló) lépés értéke a tábla eredménye, ugyanaz, mint a teljes kereséssel
+        char[][][] boards = {
+            new char[3][3],
+            {{'X', 'O', 0}, {0, 'X', 0}, {0, 0, 0}}, // Blokkolni kell, de X villát kap: vereség
+            {{'X', 0, 0}, {0, 'O', 0}, {0, 0, 'X'}},
+            {{0, 'X', 0}, {0, 'O', 0}, {0, 0, 0}},
+            {{'X', 0, 0}, {'X', 'O', 0}, {0, 0, 'O'}}
+        };
+        for (char[][] board : boards) {
+            ai = new TicTacToeAI(board, 'O', 'X');
+            ai.getBestMove();
+            double tableScore = ai.getLastScore();
+            ai.searchBestMove();
+            assertEquals(ai.getLastScore(), tableScore);
+        }
+        ai = new TicTacToeAI(boards[1], 'O', 'X');
+        ai.getBestMove();
+        assertEquals(-1.0, ai.getLastScore());
+    }
+
+    @Test
+    void testMinimaxEmptyBoardIsDraw() {
+        ai = new TicTacToeAI(new char[3][3], 'O', 'X');
+        assertEquals(0, ai.minimax(ai.board, true)); // Tökéletes játékkal döntetlen
+    }
+
+    @Test
+    void testPerfectPlayTableMatchesSearch() {
+        // Minden táblás lépés ugyanazt a minimax értéket éri el, mint a legjobb keresett lépés
+        char[][] board = {
+            {'X', 0, 0},
+            {0, 'O', 0},
+            {0, 0, 'X'}
+        };
+        ai = new TicTacToeAI(board, 'O', 'X');
+        int[] tableMove = ai.getBestMove();
+        int[] searchMove = ai.searchBestMove();
+        board[tableMove[0]][tableMove[1]] = 'O';
+        int tableScore = ai.minimax(board, false);
+        board[tableMove[0]][tableMove[1]] = 0;
+        board[searchMove[0]][searchMove[1]] = 'O';
+        int searchScore = ai.minimax(board, false);
+        assertEquals(searchScore, tableScore);
+        assertEquals(0, tableScore); // Két szemközti sarok ellen csak az oldalsó mező ment
+        assertEquals(1, (tableMove[0] + tableMove[1]) % 2);
+    }
+
+    @Test
+    void testPerfectPlayTableResults() {
+        // Az erőforrásból betöltött eredmények megegyeznek a memóriában megoldott játékéval
+        byte[][] solved = PerfectPlayTable.solve();
+        PerfectPlayTable perfect = PerfectPlayTable.get();
+        BitBoard bits = new BitBoard(3, 3);
+        for (int position = 0; position < 19683; position++) {
+            for (int cell = 0, rest = position; cell < 9; cell++, rest /= 3) {
+                bits.clear(cell); // Hármas számrendszerbeli kód: 0 üres, 1 X, 2 O
+                if (rest % 3 != 0) {
+                    bits.place(cell, rest % 3 == 1 ? 'X' : 'O');
+                }
+            }
+            if (solved[0][position] != -1) {
+                assertEquals(solved[2][position], perfect.result(bits, 'X'));
+            }
+            if (solved[1][position] != -1) {
+                assertEquals(solved[3][position], perfect.result(bits, 'O'));
+            }
+        }
+        assertEquals(0, perfect.result(new BitBoard(3, 3), 'X')); // Az üres tábla döntetlen
+    }
+
+    @Test
+    void testSearchIsAllocationFree() {
+        // A teljes keresés az üres tábláról csak az eredmény tömbjét foglalja, csomópontonként semmit
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        TranspositionTable table = new TranspositionTable(TicTacToeAI.DEFAULT_TABLE_SIZE,
+                TranspositionTable.ReplacementPolicy.DEPTH_PREFERRED);
+        ai = new TicTacToeAI(new char[3][3], 'O', 'X', table);
+        ai.searchBestMove(); // Az osztályok betöltése ne számítson bele
+        long threadId = Thread.currentThread().getId();
+        long allocated = Long.MAX_VALUE;
+        // A mérés alatt fordító JIT (deoptimalizáláskor) maga is foglalhat; a csomópontonkénti foglalás
+        // viszont minden futásban látszana, ezért a legkisebb mért értéket vizsgáljuk
+        for (int run = 0; run < 5; run++) {
+            table.clear();
+            long before = threads.getThreadAllocatedBytes(threadId);
+            ai.searchBestMove();
+            allocated = Math.min(allocated, threads.getThreadAllocatedBytes(threadId) - before);
+            assertTrue(ai.getTableMisses() > 1000); // Valódi keresés futott
+        }
+        assertTrue(allocated <= 64, "Allocated " + allocated + " bytes");
+    }
 }
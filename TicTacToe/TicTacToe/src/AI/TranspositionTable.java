@@ -0,0 +1,144 @@
+package AI;
+
+import java.util.Arrays;
+
+/**
+ * A TranspositionTable osztály egy rögzített méretű transzpozíciós táblát valósít meg.
+ * Bejegyzésenként a pozíció Zobrist-kulcsát, a pontszámot, a keresési mélységet és
+ * a korlát típusát tárolja párhuzamos primitív tömbökben, így használat közben nem foglal memóriát.
+ */
+public class TranspositionTable implements SearchTable {
+    /** A pontszám pontos érték. */
+    public static final byte EXACT = 0;
+    /** A pontszám alsó korlát (béta-vágás történt). */
+    public static final byte LOWER = 1;
+    /** A pontszám felső korlát (egyik lépés sem javított az alfán). */
+    public static final byte UPPER = 2;
+
+    /**
+     * A csere szabálya, ha az új bejegyzés foglalt helyre esik.
+     */
+    public enum ReplacementPolicy {
+        /** Az új bejegyzés mindig felülírja a régit. */
+        ALWAYS,
+        /** Csak akkor ír felül, ha az új keresés legalább olyan mély volt. */
+        DEPTH_PREFERRED
+    }
+
+    private final long[] keys; // A pozíciók kulcsai
+    private final int[] scores; // A tárolt pontszámok
+    private final byte[] depths; // A keresés hátralévő mélysége
+    private final byte[] bounds; // A korlát típusa
+    private final boolean[] used; // Foglalt-e a hely
+    private final int mask; // Indexmaszk (kapacitás - 1)
+    private final ReplacementPolicy policy; // Csere szabálya
+    private long hits; // Találatok száma
+    private long misses; // Hiányok száma
+
+    /**
+     * Konstruktor a tábla létrehozására.
+     *
+     * @param capacity A bejegyzések maximális száma (a következő kettőhatványra kerekítve).
+     * @param policy   A csere szabálya.
+     */
+    public TranspositionTable(int capacity, ReplacementPolicy policy) {
+        int size = Integer.highestOneBit(Math.max(1, capacity - 1) << 1);
+        this.keys = new long[size];
+        this.scores = new int[size];
+        this.depths = new byte[size];
+        this.bounds = new byte[size];
+        this.used = new boolean[size];
+        this.mask = size - 1;
+        this.policy = policy;
+    }
+
+    /**
+     * Megkeresi a pozíció bejegyzését.
+     *
+     * @param key A pozíció Zobrist-kulcsa.
+     * @return A bejegyzés helye, vagy -1, ha nincs ilyen bejegyzés.
+     */
+    public int probe(long key) {
+        int slot = (int) key & mask;
+        if (used[slot] && keys[slot] == key) {
+            hits++;
+            return slot;
+        }
+        misses++;
+        return -1;
+    }
+
+    /**
+     * Eltárolja egy pozíció keresési eredményét.
+     *
+     * @param key   A pozíció Zobrist-kulcsa.
+     * @param score A pontszám.
+     * @param depth A keresés hátralévő mélysége.
+     * @param bound A korlát típusa (EXACT, LOWER vagy UPPER).
+     */
+    @Override
+    public void store(long key, int score, int depth, byte bound) {
+        int slot = (int) key & mask;
+        if (used[slot] && keys[slot] != key
+                && policy == ReplacementPolicy.DEPTH_PREFERRED && depths[slot] > depth) {
+            return; // A mélyebb bejegyzést megtartjuk
+        }
+        keys[slot] = key;
+        scores[slot] = score;
+        depths[slot] = (byte) depth;
+        bounds[slot] = bound;
+        used[slot] = true;
+    }
+
+    /**
+     * A bejegyzés csomagolva (a statisztikát a probe-hoz hasonlóan frissíti).
+     *
+     * @param key A pozíció Zobrist-kulcsa.
+     * @return A csomagolt bejegyzés, vagy NO_ENTRY.
+     */
+    @Override
+    public long lookup(long key) {
+        int slot = probe(key);
+        return slot == -1 ? NO_ENTRY : SearchTable.pack(scores[slot], depths[slot], bounds[slot]);
+    }
+
+    public int score(int slot) {
+        return scores[slot];
+    }
+
+    public int depth(int slot) {
+        return depths[slot];
+    }
+
+    public byte bound(int slot) {
+        return bounds[slot];
+    }
+
+    public int capacity() {
+        return keys.length;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    /**
+     * A találati statisztika nullázása (a bejegyzések megmaradnak).
+     */
+    public void resetStats() {
+        hits = 0;
+        misses = 0;
+    }
+
+    /**
+     * Minden bejegyzés törlése.
+     */
+    public void clear() {
+        Arrays.fill(used, false);
+        resetStats();
+    }
+}
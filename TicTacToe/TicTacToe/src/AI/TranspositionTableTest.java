@@ -0,0 +1,90 @@
+package AI;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+class TranspositionTableTest {
+
+    @Test
+    void testStoreAndProbe() {
+        TranspositionTable table = new TranspositionTable(16, TranspositionTable.ReplacementPolicy.ALWAYS);
+        assertEquals(-1, table.probe(42L));
+        table.store(42L, 10, 3, TranspositionTable.LOWER);
+        int slot = table.probe(42L);
+        assertTrue(slot >= 0);
+        assertEquals(10, table.score(slot));
+        assertEquals(3, table.depth(slot));
+        assertEquals(TranspositionTable.LOWER, table.bound(slot));
+        assertEquals(1, table.getHits());
+        assertEquals(1, table.getMisses());
+    }
+
+    @Test
+    void testDepthPreferredKeepsDeeperEntry() {
+        TranspositionTable table = new TranspositionTable(16, TranspositionTable.ReplacementPolicy.DEPTH_PREFERRED);
+        table.store(1L, 5, 6, TranspositionTable.EXACT);
+        table.store(17L, -5, 2, TranspositionTable.EXACT); // Ugyanarra a helyre esik
+        assertTrue(table.probe(1L) >= 0);
+        assertEquals(-1, table.probe(17L));
+    }
+
+    @Test
+    void testAlwaysReplaces() {
+        TranspositionTable table = new TranspositionTable(16, TranspositionTable.ReplacementPolicy.ALWAYS);
+        table.store(1L, 5, 6, TranspositionTable.EXACT);
+        table.store(17L, -5, 2, TranspositionTable.EXACT);
+        assertEquals(-1, table.probe(1L));
+        assertTrue(table.probe(17L) >= 0);
+    }
+
+    @Test
+    void testSharedTableStoreAndLookup() {
+        SharedTranspositionTable table = new SharedTranspositionTable(1);
+        assertEquals(1 << 16, table.capacity()); // 1 MB, 16 bájt bejegyzésenként
+        assertEquals(SearchTable.NO_ENTRY, table.lookup(42L));
+        table.store(42L, -999_990, 7, TranspositionTable.UPPER);
+        long entry = table.lookup(42L);
+        assertEquals(-999_990, SearchTable.score(entry));
+        assertEquals(7, SearchTable.depth(entry));
+        assertEquals(TranspositionTable.UPPER, SearchTable.bound(entry));
+        assertEquals(SearchTable.NO_ENTRY, table.lookup(42L + table.capacity())); // Más kulcs ugyanazon a helyen
+    }
+
+    @Test
+    void testSharedTableRejectsOversizedRequest() {
+        // A legnagyobb tábla 1 << 30 long-ja még egy tömb; a kétszerese túlcsordulna
+        assertEquals(8192, SharedTranspositionTable.MAX_MEGABYTES);
+        assertThrows(IllegalArgumentException.class,
+                () -> new SharedTranspositionTable(SharedTranspositionTable.MAX_MEGABYTES + 1));
+        assertThrows(IllegalArgumentException.class, () -> new SharedTranspositionTable(Integer.MAX_VALUE));
+        assertThrows(IllegalArgumentException.class, () -> new SharedTranspositionTable(0));
+    }
+
+    @Test
+    void testSharedTableConcurrentWritesStayConsistent() throws InterruptedException {
+        // Minden kulcshoz a kulcsból számolt pontszám tartozik; egy elfogadott bejegyzés sem keveredhet
+        SharedTranspositionTable table = new SharedTranspositionTable(1);
+        int[] corrupted = new int[1];
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            long seed = t;
+            threads[t] = new Thread(() -> {
+                for (long i = 0; i < 200_000; i++) {
+                    long key = (i * 4 + seed) * 0x9E3779B97F4A7C15L % 1024; // Sok ütközés kevés helyen
+                    table.store(key, (int) key * 3, (int) (key & 63), TranspositionTable.EXACT);
+                    long other = table.lookup(key ^ 1);
+                    if (other != SearchTable.NO_ENTRY && SearchTable.score(other) != (int) (key ^ 1) * 3) {
+                        synchronized (corrupted) {
+                            corrupted[0]++;
+                        }
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(0, corrupted[0]);
+    }
+}
@@ -0,0 +1,78 @@
+package AI;
+
+import java.util.SplittableRandom;
+
+/**
+ * A Zobrist osztály a pozíciók Zobrist-hasítókulcsait állítja elő.
+ * Minden (cella, játékos) párhoz egy véletlen 64 bites kulcs tartozik, a pozíció
+ * kulcsa ezek XOR-ja, így egy lépés lerakása és visszavonása egyetlen XOR művelet.
+ */
+public final class Zobrist {
+    private static final long SEED = 0x5DEECE66DL; // Rögzített mag: a kulcsok futásról futásra azonosak
+    private static final Zobrist[] CACHE = new Zobrist[BitBoard.MAX_CELLS + 1];
+
+    private final long[] xKeys; // X kulcsai cellánként
+    private final long[] oKeys; // O kulcsai cellánként
+    private final long sideKey; // Akkor kerül a kulcsba, ha O következik
+
+    private Zobrist(int cells) {
+        SplittableRandom random = new SplittableRandom(SEED + cells);
+        xKeys = new long[cells];
+        oKeys = new long[cells];
+        for (int cell = 0; cell < cells; cell++) {
+            xKeys[cell] = random.nextLong();
+            oKeys[cell] = random.nextLong();
+        }
+        sideKey = random.nextLong();
+    }
+
+    /**
+     * Visszaadja az adott cellaszámhoz tartozó kulcskészletet.
+     * A kulcsok determinisztikusak, ezért egy esetleges párhuzamos első hívás sem okoz eltérést.
+     *
+     * @param cells A tábla celláinak száma.
+     * @return A kulcskészlet.
+     */
+    public static Zobrist forCells(int cells) {
+        Zobrist zobrist = CACHE[cells];
+        if (zobrist == null) {
+            zobrist = new Zobrist(cells);
+            CACHE[cells] = zobrist;
+        }
+        return zobrist;
+    }
+
+    /**
+     * @param cell   A cella indexe.
+     * @param player A játékos karaktere.
+     * @return A bábu kulcsa az adott cellán.
+     */
+    public long key(int cell, char player) {
+        return player == 'X' ? xKeys[cell] : oKeys[cell];
+    }
+
+    /**
+     * @return A soron következő játékost (O) jelölő kulcs.
+     */
+    public long sideKey() {
+        return sideKey;
+    }
+
+    /**
+     * Teljes újraszámolás a bittábla alapján; a keresés közben a kulcsot inkrementálisan frissítjük.
+     *
+     * @param bits     A bittábla.
+     * @param toMove   A soron következő játékos karaktere.
+     * @return A pozíció kulcsa.
+     */
+    public long hash(BitBoard bits, char toMove) {
+        long hash = toMove == 'O' ? sideKey : 0L;
+        for (long x = bits.bits('X'); x != 0; x &= x - 1) {
+            hash ^= xKeys[Long.numberOfTrailingZeros(x)];
+        }
+        for (long o = bits.bits('O'); o != 0; o &= o - 1) {
+            hash ^= oKeys[Long.numberOfTrailingZeros(o)];
+        }
+        return hash;
+    }
+}
@@ -2,59 +2,169 @@ package Logic;
 import javax.swing.*;
 
 import AI.AIParent;
-import AI.TicTacToeAI;
+import AI.EngineSession;
+import AI.InfiniteAI;
+import AI.SharedTranspositionTable;
 import AI.TicTacToeAI5x5;
 import Window.MainWindow;
 
 import java.awt.*;
 import java.awt.event.*;
 import java.io.*;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 /**
- * A GamePanel osztály a játék fő logikáját és a grafikus felületét valósítja meg.
- * Kezeli a játék állapotát, a felhasználói interakciókat és az AI-t.
+ * A GamePanel osztály a játék grafikus felületét valósítja meg.
+ * A szabályokat a felülettől független GameState kezeli, a panel csak megjeleníti az állapotot,
+ * továbbítja a felhasználói interakciókat, és elindítja az AI-t.
  */
 public class GamePanel extends JPanel implements Serializable {
     private static final long serialVersionUID = 1L;
-    private JButton[][] buttons; // A tábla gombjai
-    char[][] board; // A játék tábla állapota
-    char currentPlayer; // Az aktuális játékos (X vagy O)
-    boolean gameEnded; // Jelzi, hogy vége van-e a játéknak
+    private static final Path SAVE_PATH = Paths.get("tictactoe_save.dat"); // A mentés helye
+    /** A táblaméret leírása: "sorok x oszlopok", opcionálisan a győzelmi feltétellel, pl. "15x15 (5 in a row)". */
+    private static final Pattern BOARD_SPEC = Pattern.compile("\\s*(\\d+)\\s*x\\s*(\\d+)(?:\\D+(\\d+))?.*");
+    private static final int MAX_BOARD_SIZE = 50; // A gombos felület eddig használható
+    /** A végtelen tábla leírása a menüben. */
+    public static final String INFINITE_BOARD = "Infinite (5 in a row)";
+    /**
+     * A mentésfájl mezői: a korábbi mentésekkel azonos alak, hogy a régi fájlok is betölthetők maradjanak.
+     */
+    private static final ObjectStreamField[] serialPersistentFields = {
+        new ObjectStreamField("board", char[][].class),
+        new ObjectStreamField("currentPlayer", char.class),
+        new ObjectStreamField("gameEnded", boolean.class),
+        new ObjectStreamField("gameMode", String.class),
+        new ObjectStreamField("xWins", int.class),
+        new ObjectStreamField("oWins", int.class),
+        new ObjectStreamField("boardSize", int.class),
+        new ObjectStreamField("winCondition", int.class)
+    };
+    private transient JButton[][] buttons; // A tábla gombjai
+    transient GameState state; // A játék állapota és szabályai (null, ha végtelen táblán játszunk)
+    transient InfiniteGameState infinite; // A végtelen tábla játéka (null, ha a tábla véges)
+    private transient InfiniteBoardView infiniteView; // A végtelen tábla nézete
+    private transient InfiniteAI infiniteAI; // A végtelen játszma AI-ja (az első AI lépésnél jön létre)
     private String gameMode; // Játékmód (PvP vagy PvAI)
     private int xWins; // X győzelmeinek száma
     private int oWins; // O győzelmeinek száma
-    int boardSize; // Tábla mérete (3 vagy 5)
-    private int winCondition; // Győzelemhez szükséges szimbólumok száma
+    private long aiTimeBudgetMillis = TicTacToeAI5x5.DEFAULT_TIME_BUDGET_MILLIS; // Az AI gondolkodási ideje lépésenként
+    private transient ExecutorService aiExecutor; // Háttérszál az AI kereséséhez
+    private transient Future<?> aiTurn; // A folyamatban lévő AI lépés
+    private transient AIParent activeAI; // A most kereső AI (leállításhoz)
+    private transient int aiGeneration; // Az AI lépések sorszáma: az elavult eredményeket eldobjuk
+    transient boolean aiThinking; // Gondolkodik-e éppen az AI
+    private transient SharedTranspositionTable aiTable; // A keresős AI közös táblája, egyszer foglaljuk le
+    private transient int aiTableRules; // A közös tábla szabályai (méret és feltétel), 0 ha még üres
+    private transient EngineSession aiSession; // A játszma AI motorja, a lépések között megmarad
+    private transient boolean pondering; // Keressen-e előre az AI, amíg az ember gondolkodik
+    private transient MoveJournal journal; // A lépésnapló (null, ha nincs naplózás)
 
     
     /**
      * Konstruktor a GamePanel inicializálásához.
      *
      * @param gameMode  A kiválasztott játékmód (Player vs Player vagy Player vs AI).
-     * @param boardSize A kiválasztott tábla mérete (3x3 vagy 5x5).
+     * @param boardSize A kiválasztott tábla mérete, pl. "3x3", "6x7", "15x15 (5 in a row)" vagy INFINITE_BOARD.
      */
     public GamePanel(String gameMode, String boardSize) {
+        this(gameMode, parseBoardSpec(boardSize));
+    }
+
+    /**
+     * Konstruktor tetszőleges m x n-es táblához.
+     *
+     * @param gameMode     A kiválasztott játékmód.
+     * @param rows         A sorok száma.
+     * @param cols         Az oszlopok száma.
+     * @param winCondition A győzelemhez szükséges szimbólumok száma.
+     */
+    public GamePanel(String gameMode, int rows, int cols, int winCondition) {
+        this(gameMode, new int[]{rows, cols, winCondition});
+    }
+
+    private GamePanel(String gameMode, int[] spec) {
         this.gameMode = gameMode;
-        this.boardSize = boardSize.equals("5x5") ? 5 : 3; // Set board size based on selection
-        this.winCondition = boardSize.equals("5x5") ? 4 : 3; // Set win condition based on board size
-        setPreferredSize(new Dimension(300, 300));
-        setLayout(new GridLayout(this.boardSize, this.boardSize));
-        // Tábla inicializálása
-        board = new char[this.boardSize][this.boardSize];
-        buttons = new JButton[this.boardSize][this.boardSize];
-        currentPlayer = 'X';
-        gameEnded = false;
+        if (spec[0] == 0) {
+            infinite = new InfiniteGameState(spec[2]);
+        } else {
+            state = new GameState(spec[0], spec[1], spec[2]);
+        }
         xWins = 0;
         oWins = 0;
 
-     // Gombok létrehozása és hozzáadása
-        for (int row = 0; row < this.boardSize; row++) {
-            for (int col = 0; col < this.boardSize; col++) {
+        buildButtons();
+
+        setBackground(Color.CYAN);
+        setBorder(BorderFactory.createLineBorder(Color.BLUE, 4));
+    }
+
+    /**
+     * A táblaméret leírásából (pl. "5x5", "6x7", "15x15 (5 in a row)") kiszámolja a sorokat,
+     * az oszlopokat és a győzelmi feltételt. Ha a feltétel nincs megadva, a méretből adódik:
+     * 3 a 3x3-as, 4 a legfeljebb 7 széles, 5 (gomoku) a nagyobb táblákon.
+     *
+     * @param boardSize A táblaméret leírása.
+     * @return {sorok, oszlopok, győzelmi feltétel}; végtelen táblánál {0, 0, győzelmi feltétel}.
+     */
+    static int[] parseBoardSpec(String boardSize) {
+        if (boardSize.equals(INFINITE_BOARD)) {
+            return new int[]{0, 0, InfiniteGameState.DEFAULT_WIN_CONDITION};
+        }
+        Matcher matcher = BOARD_SPEC.matcher(boardSize);
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException("Invalid board size: " + boardSize);
+        }
+        int rows = Integer.parseInt(matcher.group(1));
+        int cols = Integer.parseInt(matcher.group(2));
+        if (rows < 1 || cols < 1 || rows > MAX_BOARD_SIZE || cols > MAX_BOARD_SIZE) {
+            throw new IllegalArgumentException("Invalid board size: " + boardSize);
+        }
+        int smaller = Math.min(rows, cols);
+        int winCondition = matcher.group(3) != null ? Integer.parseInt(matcher.group(3))
+                : smaller <= 3 ? smaller : smaller <= 7 ? 4 : 5;
+        return new int[]{rows, cols, winCondition};
+    }
+
+    /**
+     * A tábla gombjainak létrehozása az állapot alapján.
+     * A gombok és a betűk a tábla méretével arányosan kisebbek, hogy egy nagy tábla is elférjen.
+     * Végtelen táblánál gombok helyett a görgethető, nagyítható nézet kerül a panelre.
+     */
+    private void buildButtons() {
+        if (infinite != null) {
+            removeAll();
+            setLayout(new BorderLayout());
+            infiniteView = new InfiniteBoardView(infinite, this::handleButtonClick);
+            add(infiniteView, BorderLayout.CENTER);
+            setPreferredSize(infiniteView.getPreferredSize());
+            return;
+        }
+        int rows = state.getRows();
+        int cols = state.getCols();
+        int longer = Math.max(rows, cols);
+        int cellSize = longer <= 5 ? 300 / longer : Math.max(24, 600 / longer); // Cellaméret pixelben
+        int fontSize = longer <= 5 ? 60 : cellSize * 2 / 3;
+        setPreferredSize(new Dimension(cols * cellSize, rows * cellSize));
+        buttons = new JButton[rows][cols];
+        removeAll(); // Gombok tisztítása
+        setLayout(new GridLayout(rows, cols)); // Méret beállítás
+
+        // Gombok létrehozása és hozzáadása
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < cols; col++) {
                 buttons[row][col] = new JButton("");
-                buttons[row][col].setFont(new Font("Arial", Font.BOLD, 60));
+                buttons[row][col].setFont(new Font("Arial", Font.BOLD, fontSize));
+                buttons[row][col].setMargin(new Insets(0, 0, 0, 0));
                 buttons[row][col].setBackground(Color.LIGHT_GRAY);
                 buttons[row][col].setFocusPainted(false);
-                buttons[row][col].setBorder(BorderFactory.createLineBorder(Color.DARK_GRAY, 2));
+                buttons[row][col].setBorder(BorderFactory.createLineBorder(Color.DARK_GRAY, longer <= 5 ? 2 : 1));
 
                 int finalRow = row;
                 int finalCol = col;
@@ -63,51 +173,88 @@ public class GamePanel extends JPanel implements Serializable {
                 add(buttons[row][col]);
             }
         }
+        refreshButtons();
+    }
 
-        setBackground(Color.CYAN);
-        setBorder(BorderFactory.createLineBorder(Color.BLUE, 4));
+    /**
+     * A gombok feliratának és színének frissítése az állapotból.
+     */
+    private void refreshButtons() {
+        if (infinite != null) {
+            infiniteView.repaint();
+            return;
+        }
+        for (int row = 0; row < state.getRows(); row++) {
+            for (int col = 0; col < state.getCols(); col++) {
+                char cell = state.getCell(row, col);
+                buttons[row][col].setText(cell == 0 ? "" : String.valueOf(cell));
+                buttons[row][col].setForeground(cell == 'O' ? Color.RED : Color.BLACK);
+            }
+        }
     }
 
     
     /**
      * Egy gomb megnyomását kezeli.
      *
-     * @param row A gomb sorindexe.
-     * @param col A gomb oszlopindexe.
+     * @param row A gomb sorindexe (végtelen táblán bármilyen előjelű).
+     * @param col A gomb oszlopindexe (végtelen táblán bármilyen előjelű).
      */
     void handleButtonClick(int row, int col) {
-    	// Ha a játék véget ért vagy a mező foglalt, nem csinálunk semmit
-        if (gameEnded || board[row][col] != 0) return;
-
-     // Az aktuális játékos karakterének hozzáadása a táblához és a gombhoz
-        board[row][col] = currentPlayer;
-        buttons[row][col].setText(String.valueOf(currentPlayer));
-        buttons[row][col].setForeground(currentPlayer == 'X' ? Color.BLACK : Color.RED); // Szín beállítás
-
-        
-     // Ellenőrizzük, hogy az aktuális játékos nyert-e
-        if (checkWin()) {
-            gameEnded = true;
-            JOptionPane.showMessageDialog(this, "Player " + currentPlayer + " wins!");
-            if (currentPlayer == 'X') {
+        // Ha az AI gondolkodik, nem csinálunk semmit
+        if (aiThinking) return;
+
+        // Az aktuális játékos lépése; ha a játék véget ért vagy a mező foglalt, nem csinálunk semmit
+        MoveAppliedEvent event = new MoveAppliedEvent(); // JFR esemény a lépés feldolgozásáról
+        event.begin();
+        GameState.Result result;
+        char player;
+        int moveNumber;
+        if (infinite != null) {
+            player = infinite.getCurrentPlayer();
+            if (!infinite.applyMove(row, col)) return;
+            if (infiniteAI != null) {
+                infiniteAI.play(row, col, player); // Az AI a saját tábláját lépésenként követi
+            }
+            infiniteView.repaint();
+            result = infinite.getResult();
+            moveNumber = infinite.getMoveCount();
+        } else {
+            player = state.getCurrentPlayer();
+            if (!state.applyMove(row, col)) return;
+            journal(() -> journal.appendMove(row * state.getCols() + col));
+            buttons[row][col].setText(String.valueOf(player));
+            buttons[row][col].setForeground(player == 'X' ? Color.BLACK : Color.RED); // Szín beállítás
+            result = state.getResult();
+            moveNumber = state.getMoveCount();
+        }
+        event.end(); // A játékvégi párbeszédablak már nem számít bele
+        if (event.shouldCommit()) {
+            event.player = player;
+            event.row = row;
+            event.col = col;
+            event.moveNumber = moveNumber;
+            event.commit();
+        }
+
+        // Ellenőrizzük, hogy a lépő játékos nyert-e
+        if (result == GameState.Result.X_WINS || result == GameState.Result.O_WINS) {
+            JOptionPane.showMessageDialog(this, "Player " + player + " wins!");
+            if (player == 'X') {
                 xWins++;
             } else {
                 oWins++;
             }
             // WinCounter frissítés Mainwindown keresztül
             ((MainWindow) SwingUtilities.getWindowAncestor(this)).updateWinCounter(xWins, oWins);
-        } else if (checkDraw()) {
-        	//ha döntetlen lenne, vagyis nem nyert senki, de vége vagyis betelt a tábla
-            gameEnded = true;
+        } else if (result == GameState.Result.DRAW) {
+            // ha döntetlen lenne, vagyis nem nyert senki, de vége vagyis betelt a tábla
             JOptionPane.showMessageDialog(this, "It's a draw!");
-        } else {
-        	// Váltunk a következő játékosra
-            currentPlayer = (currentPlayer == 'X') ? 'O' : 'X';
-
+        } else if (gameMode.equals("Player vs AI") && player == 'X') { // mindig az AI van az 'o'-val
             // Ha AI ellen játszunk, az AI lép
-            if (gameMode.equals("Player vs AI") && currentPlayer == 'O') {//mindig az AI van az 'o'-val
-                performAIMove();
-            }
+            performAIMove();
+        } else if (gameMode.equals("Player vs AI") && pondering && infinite == null) {
+            startPonder(); // Az AI lépett: amíg az ember gondolkodik, előre keres
         }
     }
 
@@ -117,45 +264,10 @@ public class GamePanel extends JPanel implements Serializable {
      * @return Igaz, ha nyert a játékos, különben hamis.
      */
     boolean checkWin() {
-    	// Sorok és oszlopok ellenőrzése
-        for (int i = 0; i < boardSize; i++) {
-            for (int j = 0; j < boardSize - winCondition + 1; j++) {
-                if (checkLine(i, j, 0, 1) || checkLine(j, i, 1, 0)) {
-                    return true; //ha talált win-t
-                }
-            }
+        if (infinite != null) {
+            return infinite.hasWon(infinite.getCurrentPlayer() == 'X' ? 'O' : 'X'); // Csak az utolsó lépő nyerhetett
         }
-     // Átlók ellenőrzése
-        for (int i = 0; i < boardSize - winCondition + 1; i++) {
-            for (int j = 0; j < boardSize - winCondition + 1; j++) {
-                if (checkLine(i, j, 1, 1) || checkLine(i, boardSize - j - 1, 1, -1)) {
-                    return true; 
-                }
-            }
-        }
-        return false;
-    }
-
-
-    /**
-     * Egy sor, oszlop vagy átló  ellenőrzése.
-     *
-     * @param startRow  Kezdősor.
-     * @param startCol  Kezdőoszlop.
-     * @param deltaRow  Sor irányának változása.
-     * @param deltaCol  Oszlop irányának változása.
-     * @return Igaz, ha győzelem van az adott vonalon.
-     */
-    private boolean checkLine(int startRow, int startCol, int deltaRow, int deltaCol) {
-        int count = 0;
-        for (int k = 0; k < winCondition; k++) {
-            if (board[startRow + k * deltaRow][startCol + k * deltaCol] == currentPlayer) {
-                count++;
-            } else {
-                break;
-            }
-        }
-        return count == winCondition;
+        return state.hasWon(state.getCurrentPlayer());
     }
 
     /**
@@ -164,39 +276,34 @@ public class GamePanel extends JPanel implements Serializable {
      * @return Igaz, ha döntetlen van, különben hamis.
      */
     boolean checkDraw() {
-        for (int i = 0; i < boardSize; i++) {
-            for (int j = 0; j < boardSize; j++) {
-                if (board[i][j] == 0) {
-                    return false; // Van üres cella
-                }
-            }
-        }
-        return true; //Nincs üres cella
+        return infinite == null && state.isFull(); // A végtelen táblán nincs döntetlen
     }
 
     /**
      * Új játék indítása.
      */
     public void startNewGame() {
-        board = new char[boardSize][boardSize]; // Tábla törlése
-        currentPlayer = 'X'; //Váltás vissza X-re
-        gameEnded = false; //Státusz újraállítása
-
-        // Minden gomb üresbe
-        for (int row = 0; row < boardSize; row++) {
-            for (int col = 0; col < boardSize; col++) {
-                buttons[row][col].setText(""); //Gpmb tisztítása
-                buttons[row][col].setForeground(Color.BLACK); //Szín reset
-            }
+        cancelAIMove(); // Az előző játék AI lépése már nem érvényes; az új játszma új motorral indul
+        if (infinite != null) {
+            infinite.reset();
+            infiniteView.recenter();
+            return; // A végtelen táblás játékot nem naplózzuk
         }
+        state.reset(); // Tábla törlése, X kezd
+        refreshButtons(); // Minden gomb üresbe
+        journal(() -> journal.beginGame(state, gameMode, xWins, oWins));
     }
 
     /**
-     * Játék mentése fájlba.
+     * Játék mentése fájlba a tömör bináris formátumban.
      */
     public void saveGame() {
-        try (ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream("tictactoe_save.dat"))) {
-            oos.writeObject(this);
+        if (infinite != null) {
+            JOptionPane.showMessageDialog(this, "Saving is not available on the infinite board.");
+            return;
+        }
+        try {
+            SaveFile.write(SAVE_PATH, state, gameMode, xWins, oWins);
             JOptionPane.showMessageDialog(this, "Game saved successfully!");
         } catch (IOException e) {
             JOptionPane.showMessageDialog(this, "Error saving game: " + e.getMessage());
@@ -204,68 +311,360 @@ public class GamePanel extends JPanel implements Serializable {
     }
 
     /**
-     * Játék betöltése fájlból.
+     * Játék betöltése fájlból (a régi formátumú mentést az olvasó átalakítja).
      */
     public void loadGame() {
-        try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream("tictactoe_save.dat"))) {
-            GamePanel loadedPanel = (GamePanel) ois.readObject();
-            this.board = loadedPanel.board;
-            this.currentPlayer = loadedPanel.currentPlayer;
-            this.gameEnded = loadedPanel.gameEnded;
-            this.xWins = loadedPanel.xWins;
-            this.oWins = loadedPanel.oWins;
-            this.gameMode = loadedPanel.gameMode;
-            this.boardSize = loadedPanel.boardSize;
-            this.winCondition = loadedPanel.winCondition;
-    
-            // Tábla méretezése
-            this.buttons = new JButton[boardSize][boardSize];
-            removeAll(); // Gombok tisztítása
-            setLayout(new GridLayout(boardSize, boardSize)); // Méret beállítás
-    
-            // UI elemek frissítése
-            for (int row = 0; row < boardSize; row++) {
-                for (int col = 0; col < boardSize; col++) {
-                    buttons[row][col] = new JButton(board[row][col] == 0 ? "" : String.valueOf(board[row][col]));
-                    buttons[row][col].setFont(new Font("Arial", Font.BOLD, 60));
-                    buttons[row][col].setBackground(Color.LIGHT_GRAY);
-                    buttons[row][col].setFocusPainted(false);
-                    buttons[row][col].setBorder(BorderFactory.createLineBorder(Color.DARK_GRAY, 2));
-                    buttons[row][col].setForeground(board[row][col] == 'X' ? Color.BLACK : Color.RED);
-    
-                    int finalRow = row;
-                    int finalCol = col;
-                    buttons[row][col].addActionListener(e -> handleButtonClick(finalRow, finalCol));
-    
-                    add(buttons[row][col]); // Gomb panelhez adása
-                }
-            }
-    
+        cancelAIMove(); // A betöltött állás felülírja a folyamatban lévő AI lépést
+        try {
+            SaveFile.Snapshot snapshot = SaveFile.read(SAVE_PATH);
+            this.state = snapshot.getState();
+            this.infinite = null; // A mentés mindig véges táblás
+            this.infiniteView = null;
+            this.xWins = snapshot.getXWins();
+            this.oWins = snapshot.getOWins();
+            this.gameMode = snapshot.getGameMode();
+            journal(() -> journal.beginGame(state, gameMode, xWins, oWins));
+
+            // Tábla méretezése és a UI elemek frissítése
+            buildButtons();
             repaint();
             revalidate(); // Frissítés
             ((MainWindow) SwingUtilities.getWindowAncestor(this)).updateWinCounter(xWins, oWins);
+            ((MainWindow) SwingUtilities.getWindowAncestor(this)).fitToBoard(); // Más méretű tábla is betölthető
             JOptionPane.showMessageDialog(this, "Game loaded successfully!");
-        } catch (IOException | ClassNotFoundException e) {
+        } catch (IOException e) {
             JOptionPane.showMessageDialog(this, "Error loading game: " + e.getMessage());
         }
     }
 
+    /**
+     * Bekapcsolja a lépésnaplót. Ha a napló utolsó játéka befejezetlen, és a beállításai egyeznek
+     * a választottakkal, azt folytatjuk (összeomlás utáni visszaállítás); különben új játékot naplózunk.
+     *
+     * @param journal A megnyitott lépésnapló.
+     */
+    public void attachJournal(MoveJournal journal) {
+        this.journal = journal;
+        MoveJournal.Game last = journal.lastRecoveredGame();
+        if (last != null && infinite == null && last.getGameMode().equals(gameMode) && last.getRows() == state.getRows()
+                && last.getCols() == state.getCols()
+                && last.getWinCondition() == state.getWinCondition()) {
+            GameState recovered = last.toState();
+            if (!recovered.isGameOver() && recovered.getMoveCount() > 0) {
+                state = recovered;
+                xWins = last.getXWins();
+                oWins = last.getOWins();
+                refreshButtons();
+                if (SwingUtilities.getWindowAncestor(this) instanceof MainWindow) {
+                    ((MainWindow) SwingUtilities.getWindowAncestor(this)).updateWinCounter(xWins, oWins);
+                }
+                if (gameMode.equals("Player vs AI") && state.getCurrentPlayer() == 'O') {
+                    performAIMove(); // Az AI lépése közben állt le a program
+                }
+                return;
+            }
+        }
+        journal(() -> journal.beginGame(state, gameMode, xWins, oWins));
+    }
+
+    /**
+     * Egy naplóművelet végrehajtása; írási hiba esetén a naplózást kikapcsoljuk, a játék folytatódik.
+     */
+    private void journal(JournalAction action) {
+        if (journal == null || infinite != null) return; // A végtelen táblás játékot nem naplózzuk
+        try {
+            action.run();
+        } catch (IOException e) {
+            closeJournal();
+            JOptionPane.showMessageDialog(this, "Move journal disabled: " + e.getMessage());
+        }
+    }
+
+    private void closeJournal() {
+        if (journal != null) {
+            try {
+                journal.close();
+            } catch (IOException e) {
+                // Lezáráskor már nincs mit tenni
+            }
+            journal = null;
+        }
+    }
+
+    /**
+     * Egy IOException-t dobó naplóművelet.
+     */
+    private interface JournalAction {
+        void run() throws IOException;
+    }
+
+    String getGameMode() {
+        return gameMode;
+    }
+
+    int getXWins() {
+        return xWins;
+    }
+
+    int getOWins() {
+        return oWins;
+    }
+
+    /**
+     * Java szerializációnál a korábbi mezőket írja ki az állapotból, a Swing gombokat nem.
+     * A mentés már a SaveFile formátumot használja; ez csak a régi alak olvashatóságát őrzi.
+     */
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        if (infinite != null) {
+            throw new NotSerializableException("Infinite board games cannot be serialized");
+        }
+        ObjectOutputStream.PutField fields = out.putFields();
+        fields.put("board", state.board());
+        fields.put("currentPlayer", state.getCurrentPlayer());
+        fields.put("gameEnded", state.isGameOver());
+        fields.put("gameMode", gameMode);
+        fields.put("xWins", xWins);
+        fields.put("oWins", oWins);
+        fields.put("boardSize", state.getSize());
+        fields.put("winCondition", state.getWinCondition());
+        out.writeFields();
+    }
+
+    /**
+     * A régi mentések mezőiből felépíti az állapotot (a SaveFile átalakítója használja).
+     */
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        ObjectInputStream.GetField fields = in.readFields();
+        int size = fields.get("boardSize", 3);
+        state = new GameState(size, fields.get("winCondition", size == 5 ? 4 : 3));
+        char[][] savedBoard = (char[][]) fields.get("board", null);
+        if (savedBoard != null) {
+            state.load(savedBoard, fields.get("currentPlayer", 'X'));
+        }
+        gameMode = (String) fields.get("gameMode", "Player vs Player");
+        xWins = fields.get("xWins", 0);
+        oWins = fields.get("oWins", 0);
+        aiTimeBudgetMillis = TicTacToeAI5x5.DEFAULT_TIME_BUDGET_MILLIS;
+    }
+
     
     /**
-     * Az AI által végrehajtott lépést kezeli.
+     * Az AI lépését egy háttérszálon indítja, hogy a keresés ne blokkolja az eseménykezelő szálat (EDT).
+     * Az AI a játszma munkamenetének saját táblamásolatán dolgozik; az eredményt az EDT-n alkalmazzuk.
+     * A motort a munkamenet választja ki a táblához, és a játszma végéig újrahasznosítja (lásd EngineSession).
      */
     private void performAIMove() {
-        AIParent ai;
-        if (boardSize == 5) {
-            ai = new TicTacToeAI5x5(board, 'O', 'X'); 
-        } else {
-            ai = new TicTacToeAI(board, 'O', 'X'); 
+        if (infinite != null) {
+            if (infiniteAI == null) {
+                // A táblát csak egyszer másoljuk le, utána a lépéseket a play() adja át
+                infiniteAI = new InfiniteAI(infinite.board(), 'O', 'X', aiTimeBudgetMillis);
+            }
+            startAI(infiniteAI, infiniteAI::getBestMove);
+            return;
+        }
+        EngineSession session = engineSession();
+        char[][] snapshot = snapshot();
+        if (pondering) {
+            session.stopPonder(snapshot); // Rossz jóslásnál a rendes keresés azonnal indulhat
+        }
+        startAI(null, () -> session.bestMove(snapshot));
+    }
+
+    /**
+     * Előrekeresés indítása az AI lépése után. Ugyanazon a háttérszálon fut, mint az AI lépései, így az ember
+     * következő lépésének keresése csak utána indul (rossz jóslásnál a performAIMove leállítja).
+     */
+    private void startPonder() {
+        EngineSession session = engineSession();
+        char[][] snapshot = snapshot();
+        aiExecutor().submit(() -> session.ponder(snapshot));
+    }
+
+    /**
+     * @return A tábla másolata a háttérszál számára.
+     */
+    private char[][] snapshot() {
+        char[][] snapshot = new char[state.getRows()][];
+        for (int row = 0; row < snapshot.length; row++) {
+            snapshot[row] = state.board()[row].clone();
+        }
+        return snapshot;
+    }
+
+    /**
+     * Visszaadja a játszma munkamenetét; ha még nincs, vagy más szabályokkal jött létre, újat nyit.
+     * A keresős motor közös tábláját egyszer foglaljuk le, és csak szabályváltáskor ürítjük.
+     */
+    private EngineSession engineSession() {
+        int rows = state.getRows();
+        int cols = state.getCols();
+        int winCondition = state.getWinCondition();
+        if (aiSession != null && aiSession.matches(rows, cols, winCondition, aiTimeBudgetMillis)) {
+            return aiSession;
+        }
+        SharedTranspositionTable table = null;
+        if (rows == cols && rows * cols <= 64 && !(rows == 3 && winCondition == 3)) {
+            int rules = rows << 8 | winCondition;
+            if (aiTable == null) {
+                aiTable = new SharedTranspositionTable(TicTacToeAI5x5.DEFAULT_SHARED_TABLE_MB);
+            } else if (aiTableRules != rules) {
+                aiTable.clear(); // Más szabályok mellett a tárolt értékek nem érvényesek
+            }
+            aiTableRules = rules;
+            table = aiTable;
+        }
+        // Lazy SMP, illetve gyökérpárhuzamos Monte Carlo minden magon
+        aiSession = new EngineSession(rows, cols, winCondition, 'O', 'X', aiTimeBudgetMillis,
+                Runtime.getRuntime().availableProcessors(), table);
+        return aiSession;
+    }
+
+    /**
+     * Elindítja az AI keresését a háttérszálon.
+     *
+     * @param ai     A leállítandó motor, vagy null, ha a munkamenet motorja keres (azt a munkamenet állítja le).
+     * @param search A keresés.
+     */
+    private void startAI(AIParent ai, Supplier<int[]> search) {
+        int generation = ++aiGeneration;
+        activeAI = ai;
+        setThinking(true);
+        aiTurn = aiExecutor().submit(() -> {
+            try {
+                int[] bestMove = search.get();
+                SwingUtilities.invokeLater(() -> applyAIMove(generation, bestMove));
+            } catch (RuntimeException e) {
+                // Hibás keresés esetén se ragadjon be a "gondolkodik" állapot, és a hiba se vesszen el
+                SwingUtilities.invokeLater(() -> reportAIError(generation, e));
+            }
+        });
+    }
+
+    /**
+     * Az AI eredményének alkalmazása az EDT-n, ha közben nem indult új játék vagy betöltés.
+     *
+     * @param generation Az AI lépés sorszáma.
+     * @param bestMove   Az AI által választott lépés.
+     */
+    private void applyAIMove(int generation, int[] bestMove) {
+        if (generation != aiGeneration) {
+            return; // Elavult eredmény
         }
-        int[] bestMove = ai.getBestMove(); 
+        activeAI = null;
+        aiTurn = null;
+        setThinking(false);
         if (bestMove[0] != -1 && bestMove[1] != -1) {
             handleButtonClick(bestMove[0], bestMove[1]);
         }
     }
-    
 
+    /**
+     * Az AI keresésének hibája az EDT-n: a játék a felhasználónál marad, és üzenetben jelezzük a hibát.
+     *
+     * @param generation Az AI lépés sorszáma.
+     * @param error      A keresés közben dobott kivétel.
+     */
+    private void reportAIError(int generation, RuntimeException error) {
+        if (generation != aiGeneration) {
+            return; // Elavult eredmény
+        }
+        activeAI = null;
+        aiTurn = null;
+        setThinking(false);
+        JOptionPane.showMessageDialog(this, "Error in AI move: " + error);
+    }
+
+    /**
+     * Leállítja a folyamatban lévő AI lépést (új játék, betöltés vagy ablakbezárás esetén).
+     */
+    public void cancelAIMove() {
+        aiGeneration++; // A még beérkező eredményt eldobjuk
+        if (activeAI != null) {
+            activeAI.cancel();
+        }
+        resetEngineSession(); // A munkamenet leállítja a keresést és az előrekeresést is
+        if (aiTurn != null) {
+            aiTurn.cancel(false);
+        }
+        activeAI = null;
+        aiTurn = null;
+        setThinking(false);
+    }
+
+    /**
+     * Eldobja a játszma motorját (a végtelen tábláét is); a következő AI lépés újat hoz létre.
+     */
+    private void resetEngineSession() {
+        if (aiSession != null) {
+            aiSession.reset();
+        }
+        infiniteAI = null;
+    }
+
+    /**
+     * Leállítja az AI-t és a háttérszálát, és lezárja a naplót; az ablak bezárásakor hívandó.
+     */
+    public void shutdown() {
+        cancelAIMove();
+        if (aiExecutor != null) {
+            aiExecutor.shutdownNow();
+            aiExecutor = null;
+        }
+        closeJournal();
+    }
+
+    /**
+     * Beállítja az AI gondolkodási idejét lépésenként.
+     *
+     * @param millis Az idő ezredmásodpercben.
+     */
+    public void setAITimeBudget(long millis) {
+        this.aiTimeBudgetMillis = millis;
+        this.infiniteAI = null; // A következő lépésnél az új idővel jön létre
+    }
+
+    /**
+     * Be- vagy kikapcsolja az előrekeresést: az AI lépése után a megjósolt emberi válaszra keres,
+     * így találat esetén a következő lépése szinte azonnal megvan. 3x3-on és végtelen táblán nincs hatása.
+     *
+     * @param pondering Igaz, ha az AI keressen előre.
+     */
+    public void setPondering(boolean pondering) {
+        this.pondering = pondering; // Egy már futó előrekeresés a saját időkeretéig fut
+    }
+
+    /**
+     * @return Az előrekeresés be van-e kapcsolva.
+     */
+    public boolean isPondering() {
+        return pondering;
+    }
+
+    /**
+     * Az AI háttérszála; alacsonyabb prioritású démonszál, hogy a felület mindig elsőbbséget kapjon.
+     */
+    private ExecutorService aiExecutor() {
+        if (aiExecutor == null) {
+            aiExecutor = Executors.newSingleThreadExecutor(task -> {
+                Thread thread = new Thread(task, "tictactoe-ai");
+                thread.setDaemon(true);
+                thread.setPriority(Thread.NORM_PRIORITY - 1);
+                return thread;
+            });
+        }
+        return aiExecutor;
+    }
+
+    /**
+     * A "gondolkodik" állapot megjelenítése: várakozó kurzor és állapotszöveg a főablakban.
+     *
+     * @param thinking Gondolkodik-e az AI.
+     */
+    private void setThinking(boolean thinking) {
+        aiThinking = thinking;
+        setCursor(thinking ? Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR) : null);
+        if (SwingUtilities.getWindowAncestor(this) instanceof MainWindow) {
+            ((MainWindow) SwingUtilities.getWindowAncestor(this)).setThinking(thinking);
+        }
+    }
 }
@@ -4,6 +4,8 @@ import static org.junit.jupiter.api.Assertions.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import javax.swing.SwingUtilities;
+
 class GamePanelTest {
     private GamePanel gamePanel3x3;
     private GamePanel gamePanel5x5;
@@ -18,37 +20,39 @@ class GamePanelTest {
     void testHandleButtonClick() {
         gamePanel3x3.startNewGame();
         gamePanel3x3.handleButtonClick(0, 0);
-        assertEquals('X', gamePanel3x3.board[0][0]); 
+        assertEquals('X', gamePanel3x3.state.getCell(0, 0)); 
     }
 
     @Test
     void testCheckWin() {
         gamePanel3x3.startNewGame();
-        gamePanel3x3.board[0][0] = 'X';
-        gamePanel3x3.board[0][1] = 'X';
-        gamePanel3x3.board[0][2] = 'X';
+        char[][] board = new char[3][3];
+        board[0][0] = 'X';
+        board[0][1] = 'X';
+        board[0][2] = 'X';
+        gamePanel3x3.state.load(board, 'X');
         assertTrue(gamePanel3x3.checkWin());
     }
 
     @Test
     void testCheckDraw() {
         gamePanel3x3.startNewGame();
-        gamePanel3x3.board = new char[][]{
+        gamePanel3x3.state.load(new char[][]{
             {'X', 'O', 'X'},
             {'X', 'X', 'O'},
             {'O', 'X', 'O'}
-        };
+        }, 'X');
         assertTrue(gamePanel3x3.checkDraw());
     }
 
     @Test
     void testStartNewGame() {
         gamePanel5x5.startNewGame();
-        assertFalse(gamePanel5x5.gameEnded);
-        assertEquals('X', gamePanel5x5.currentPlayer);
-        for (int row = 0; row < gamePanel5x5.boardSize; row++) {
-            for (int col = 0; col < gamePanel5x5.boardSize; col++) {
-                assertEquals(0, gamePanel5x5.board[row][col]);
+        assertFalse(gamePanel5x5.state.isGameOver());
+        assertEquals('X', gamePanel5x5.state.getCurrentPlayer());
+        for (int row = 0; row < gamePanel5x5.state.getSize(); row++) {
+            for (int col = 0; col < gamePanel5x5.state.getSize(); col++) {
+                assertEquals(0, gamePanel5x5.state.getCell(row, col));
             }
         }
     }
@@ -58,20 +62,24 @@ class GamePanelTest {
     @Test
     void testWinningRowCondition() {
         gamePanel5x5.startNewGame();
-        gamePanel5x5.board[0][0] = 'X';
-        gamePanel5x5.board[0][1] = 'X';
-        gamePanel5x5.board[0][2] = 'X';
-        gamePanel5x5.board[0][3] = 'X'; 
+        char[][] board = new char[5][5];
+        board[0][0] = 'X';
+        board[0][1] = 'X';
+        board[0][2] = 'X';
+        board[0][3] = 'X'; 
+        gamePanel5x5.state.load(board, 'X');
         assertTrue(gamePanel5x5.checkWin());
     }
 
     @Test
     void testWinningDiagCondition() {
         gamePanel5x5.startNewGame();
-        gamePanel5x5.board[0][0] = 'X';
-        gamePanel5x5.board[1][1] = 'X';
-        gamePanel5x5.board[2][2] = 'X';
-        gamePanel5x5.board[3][3] = 'X'; 
+        char[][] board = new char[5][5];
+        board[0][0] = 'X';
+        board[1][1] = 'X';
+        board[2][2] = 'X';
+        board[3][3] = 'X'; 
+        gamePanel5x5.state.load(board, 'X');
         assertTrue(gamePanel5x5.checkWin());
     }
     
@@ -80,24 +88,123 @@ class GamePanelTest {
         gamePanel3x3.startNewGame();
         gamePanel3x3.handleButtonClick(0, 0); 
         gamePanel3x3.handleButtonClick(0, 0); 
-        assertEquals('X', gamePanel3x3.board[0][0]); 
-        assertEquals('O', gamePanel3x3.currentPlayer); 
+        assertEquals('X', gamePanel3x3.state.getCell(0, 0)); 
+        assertEquals('O', gamePanel3x3.state.getCurrentPlayer()); 
     }
     
     @Test
     void testResetGameState() {
-        gamePanel3x3.board[0][0] = 'X';
-        gamePanel3x3.board[0][1] = 'O';
-        gamePanel3x3.gameEnded = true;
+        gamePanel3x3.state.load(new char[][]{
+            {'X', 'X', 'X'},
+            {'O', 'O', 0},
+            {0, 0, 0}
+        }, 'O');
+        assertTrue(gamePanel3x3.state.isGameOver());
         gamePanel3x3.startNewGame();
 
        
-        assertFalse(gamePanel3x3.gameEnded);
-        for (int row = 0; row < gamePanel3x3.boardSize; row++) {
-            for (int col = 0; col < gamePanel3x3.boardSize; col++) {
-                assertEquals(0, gamePanel3x3.board[row][col]);
+        assertFalse(gamePanel3x3.state.isGameOver());
+        for (int row = 0; row < gamePanel3x3.state.getSize(); row++) {
+            for (int col = 0; col < gamePanel3x3.state.getSize(); col++) {
+                assertEquals(0, gamePanel3x3.state.getCell(row, col));
+            }
+        }
+        assertEquals('X', gamePanel3x3.state.getCurrentPlayer());
+    }
+
+    @Test
+    void testAIMoveRunsInBackground() throws Exception {
+        GamePanel panel = new GamePanel("Player vs AI", "3x3");
+        SwingUtilities.invokeAndWait(() -> panel.handleButtonClick(1, 1));
+        waitForAI(panel);
+        int oCount = 0;
+        for (char[] row : panel.state.board()) {
+            for (char cell : row) {
+                if (cell == 'O') oCount++;
+            }
+        }
+        assertEquals(1, oCount); // Az AI pontosan egyszer lépett
+        assertEquals('X', panel.state.getCurrentPlayer());
+        panel.shutdown();
+    }
+
+    @Test
+    void testStartNewGameCancelsAIMove() throws Exception {
+        GamePanel panel = new GamePanel("Player vs AI", "5x5");
+        panel.setAITimeBudget(5000);
+        SwingUtilities.invokeAndWait(() -> {
+            panel.handleButtonClick(4, 4);
+            assertTrue(panel.aiThinking);
+            panel.startNewGame();
+            assertFalse(panel.aiThinking);
+        });
+        Thread.sleep(100);
+        SwingUtilities.invokeAndWait(() -> { }); // A késve érkező eredményt is feldolgozzuk
+        for (char[] row : panel.state.board()) {
+            for (char cell : row) {
+                assertEquals(0, cell); // Az elavult AI lépés nem került a táblára
+            }
+        }
+        panel.shutdown();
+    }
+
+    @Test
+    void testPonderingKeepsOneAIMovePerTurn() throws Exception {
+        GamePanel panel = new GamePanel("Player vs AI", "5x5");
+        panel.setAITimeBudget(100);
+        panel.setPondering(true);
+        SwingUtilities.invokeAndWait(() -> panel.handleButtonClick(2, 2));
+        waitForAI(panel);
+        Thread.sleep(50); // Az ember gondolkodik, az AI közben előre keres
+        int[] free = {-1, -1};
+        SwingUtilities.invokeAndWait(() -> {
+            for (int cell = 0; cell < 25 && free[0] == -1; cell++) {
+                if (panel.state.getCell(cell / 5, cell % 5) == 0) {
+                    free[0] = cell / 5;
+                    free[1] = cell % 5;
+                }
+            }
+            panel.handleButtonClick(free[0], free[1]);
+        });
+        waitForAI(panel);
+        int oCount = 0;
+        for (char[] row : panel.state.board()) {
+            for (char cell : row) {
+                if (cell == 'O') oCount++;
             }
         }
-        assertEquals('X', gamePanel3x3.currentPlayer);
+        assertEquals(2, oCount); // Az előrekeresés nem lépett helyette
+        assertEquals('X', panel.state.getCurrentPlayer());
+        panel.shutdown();
+    }
+
+    @Test
+    void testInfiniteBoardAIRepliesNearStone() throws Exception {
+        GamePanel panel = new GamePanel("Player vs AI", GamePanel.INFINITE_BOARD);
+        panel.setAITimeBudget(100);
+        SwingUtilities.invokeAndWait(() -> panel.handleButtonClick(-500, 1200)); // Bármilyen koordináta
+        waitForAI(panel);
+        assertNull(panel.state);
+        assertEquals('X', panel.infinite.getCell(-500, 1200));
+        assertEquals(2, panel.infinite.getMoveCount());
+        assertEquals('X', panel.infinite.getCurrentPlayer());
+        long reply = panel.infinite.board().getMove(1);
+        assertTrue(Math.abs(AI.SparseBoard.row(reply) + 500) <= 2 && Math.abs(AI.SparseBoard.col(reply) - 1200) <= 2);
+
+        // A második lépésnél ugyanaz az AI keres, a lépéseket követve: üres cellát választ
+        SwingUtilities.invokeAndWait(() -> panel.handleButtonClick(-505, 1200)); // Az AI válaszától biztosan távol
+        waitForAI(panel);
+        assertEquals(4, panel.infinite.getMoveCount());
+        assertEquals('X', panel.infinite.getCurrentPlayer());
+        panel.shutdown();
+    }
+
+    private static void waitForAI(GamePanel panel) throws Exception {
+        boolean[] thinking = {true};
+        for (int i = 0; i < 200 && thinking[0]; i++) {
+            Thread.sleep(10);
+            SwingUtilities.invokeAndWait(() -> thinking[0] = panel.aiThinking);
+        }
+        assertFalse(thinking[0]);
     }
 }
@@ -0,0 +1,324 @@
+package Logic;
+
+import java.util.Arrays;
+
+/**
+ * A GameState osztály a játék szabályait valósítja meg Swing nélkül: a táblát, a lépések sorrendjét,
+ * a győzelem és a döntetlen felismerését, valamint a lépések visszavonását.
+ * Minden tömbjét a konstruktorban foglalja le, lépésenként nem foglal memóriát, így szerveren,
+ * felület nélkül is tetszőleges számú játszma szimulálható vele. A GamePanel csak megjeleníti.
+ * A tábla tetszőleges m x n méretű lehet, k egy sorban nyer (pl. 15x15, k = 5: gomoku). Lépéskor csak
+ * a lerakott kövön átmenő négy vonalat vizsgálja, így a győzelem felismerése O(k) lépésenként.
+ */
+public final class GameState {
+
+    /**
+     * A játék állapota.
+     */
+    public enum Result {
+        /** A játék folyamatban van. */
+        IN_PROGRESS,
+        /** X nyert. */
+        X_WINS,
+        /** O nyert. */
+        O_WINS,
+        /** Döntetlen: betelt a tábla. */
+        DRAW
+    }
+
+    private static final int[][] DIRECTIONS = {{0, 1}, {1, 0}, {1, 1}, {1, -1}}; // Vízszintes, függőleges, két átló
+
+    private final int rows; // Sorok száma
+    private final int cols; // Oszlopok száma
+    private final int winCondition; // Győzelemhez szükséges szimbólumok száma
+    private final char[][] board; // A tábla (0 = üres, 'X' vagy 'O')
+    private final int[] history; // A megtett lépések cellaindexei (sor * oszlopszám + oszlop)
+    private int moveCount; // A visszavonható lépések száma
+    private int occupied; // A foglalt cellák száma
+    private char currentPlayer; // A soron következő játékos
+    private Result result; // A játék állapota
+
+    /**
+     * Konstruktor egy üres, négyzetes játék létrehozására; X kezd.
+     *
+     * @param size         A tábla mérete.
+     * @param winCondition A győzelemhez szükséges szimbólumok száma.
+     */
+    public GameState(int size, int winCondition) {
+        this(size, size, winCondition);
+    }
+
+    /**
+     * Konstruktor egy üres m x n-es játék létrehozására; X kezd.
+     *
+     * @param rows         A sorok száma.
+     * @param cols         Az oszlopok száma.
+     * @param winCondition A győzelemhez szükséges szimbólumok száma.
+     */
+    public GameState(int rows, int cols, int winCondition) {
+        if (rows < 1 || cols < 1 || winCondition < 1 || winCondition > Math.max(rows, cols)) {
+            throw new IllegalArgumentException("Invalid board: " + rows + "x" + cols + ", k=" + winCondition);
+        }
+        this.rows = rows;
+        this.cols = cols;
+        this.winCondition = winCondition;
+        this.board = new char[rows][cols];
+        this.history = new int[rows * cols];
+        reset();
+    }
+
+    /**
+     * Új játék: a tábla törlése a meglévő tömbökben.
+     */
+    public void reset() {
+        for (char[] row : board) {
+            Arrays.fill(row, (char) 0);
+        }
+        moveCount = 0;
+        occupied = 0;
+        currentPlayer = 'X';
+        result = Result.IN_PROGRESS;
+    }
+
+    /**
+     * Betölt egy tetszőleges állást (pl. mentésből). A korábbi lépések nem vonhatók vissza.
+     *
+     * @param cells         A betöltendő tábla (a tartalmát átmásoljuk).
+     * @param currentPlayer A soron következő játékos.
+     */
+    public void load(char[][] cells, char currentPlayer) {
+        occupied = 0;
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < cols; col++) {
+                board[row][col] = cells[row][col];
+                if (cells[row][col] != 0) occupied++;
+            }
+        }
+        moveCount = 0;
+        this.currentPlayer = currentPlayer;
+        if (hasWon('X')) {
+            result = Result.X_WINS;
+        } else if (hasWon('O')) {
+            result = Result.O_WINS;
+        } else {
+            result = occupied == rows * cols ? Result.DRAW : Result.IN_PROGRESS;
+        }
+    }
+
+    /**
+     * Ellenőrzi, hogy a soron következő játékos léphet-e az adott mezőre.
+     *
+     * @param row A sor indexe.
+     * @param col Az oszlop indexe.
+     * @return Igaz, ha a játék folyamatban van és a mező üres.
+     */
+    public boolean isLegal(int row, int col) {
+        return result == Result.IN_PROGRESS && board[row][col] == 0;
+    }
+
+    /**
+     * Végrehajtja a soron következő játékos lépését, frissíti az eredményt, és átadja a lépést.
+     *
+     * @param row A sor indexe.
+     * @param col Az oszlop indexe.
+     * @return Igaz, ha a lépés szabályos volt és megtörtént; hamis, ha nem (ilyenkor semmi sem változik).
+     */
+    public boolean applyMove(int row, int col) {
+        if (!isLegal(row, col)) {
+            return false;
+        }
+        char mover = currentPlayer;
+        board[row][col] = mover;
+        history[moveCount++] = row * cols + col;
+        occupied++;
+        if (wonThrough(row, col, mover)) { // Csak az új kő nyerhetett
+            result = mover == 'X' ? Result.X_WINS : Result.O_WINS;
+        } else if (occupied == rows * cols) {
+            result = Result.DRAW;
+        }
+        currentPlayer = opponent(mover);
+        return true;
+    }
+
+    /**
+     * Visszavonja az utolsó lépést.
+     *
+     * @return Igaz, ha volt visszavonható lépés.
+     */
+    public boolean undo() {
+        if (moveCount == 0) {
+            return false;
+        }
+        int cell = history[--moveCount];
+        board[cell / cols][cell % cols] = 0;
+        occupied--;
+        currentPlayer = opponent(currentPlayer);
+        result = Result.IN_PROGRESS; // A visszavont lépés előtt a játék még folyamatban volt
+        return true;
+    }
+
+    /**
+     * Kiírja a szabályos lépéseket a megadott tömbbe cellaindexként (sor * oszlopszám + oszlop).
+     *
+     * @param buffer Legalább sorok * oszlopok hosszú tömb.
+     * @return A szabályos lépések száma (0, ha a játék véget ért).
+     */
+    public int legalMoves(int[] buffer) {
+        if (result != Result.IN_PROGRESS) {
+            return 0;
+        }
+        int count = 0;
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < cols; col++) {
+                if (board[row][col] == 0) {
+                    buffer[count++] = row * cols + col;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Ellenőrzi, hogy a megadott játékos nyert-e (a teljes tábla átnézésével, pl. betöltött állásnál).
+     *
+     * @param player A játékos karaktere.
+     * @return Igaz, ha nyert a játékos, különben hamis.
+     */
+    public boolean hasWon(char player) {
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < cols; col++) {
+                if (board[row][col] == player && wonThrough(row, col, player)) {
+                    return true; // ha talált win-t
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Ellenőrzi, hogy a mezőn átmenő négy vonal (sor, oszlop, két átló) valamelyikén
+     * van-e legalább k egymást követő kő a játékostól.
+     *
+     * @param row    A mező sora.
+     * @param col    A mező oszlopa.
+     * @param player A játékos karaktere.
+     * @return Igaz, ha a mezőn át győzelem van.
+     */
+    public boolean wonThrough(int row, int col, char player) {
+        for (int[] direction : DIRECTIONS) {
+            int count = 1 + run(row, col, direction[0], direction[1], player)
+                    + run(row, col, -direction[0], -direction[1], player);
+            if (count >= winCondition) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * A mezőtől az adott irányba egymást követő kövek száma (a mezőt nem számolva).
+     */
+    private int run(int row, int col, int deltaRow, int deltaCol, char player) {
+        int count = 0;
+        for (int r = row + deltaRow, c = col + deltaCol;
+             r >= 0 && r < rows && c >= 0 && c < cols && board[r][c] == player && count < winCondition;
+             r += deltaRow, c += deltaCol) {
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * @return Igaz, ha nincs több üres cella.
+     */
+    public boolean isFull() {
+        return occupied == rows * cols;
+    }
+
+    /**
+     * @return Igaz, ha a játék véget ért (győzelem vagy döntetlen).
+     */
+    public boolean isGameOver() {
+        return result != Result.IN_PROGRESS;
+    }
+
+    /**
+     * A tábla élő tömbje, csak olvasásra (pl. az AI másolatához vagy mentéshez).
+     *
+     * @return A tábla.
+     */
+    public char[][] board() {
+        return board;
+    }
+
+    public char getCell(int row, int col) {
+        return board[row][col];
+    }
+
+    public char getCurrentPlayer() {
+        return currentPlayer;
+    }
+
+    public Result getResult() {
+        return result;
+    }
+
+    /**
+     * @return A sorok száma (négyzetes táblánál a tábla mérete).
+     */
+    public int getSize() {
+        return rows;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    public int getWinCondition() {
+        return winCondition;
+    }
+
+    public int getMoveCount() {
+        return moveCount;
+    }
+
+    /**
+     * Beolvas egy táblát a szöveges jelölésből: a sorokat '/' választja el, az üres mező '.', pl. "X.O/.X./...".
+     *
+     * @param position A tábla jelölése.
+     * @return A tábla (0 = üres, 'X' vagy 'O').
+     * @throws IllegalArgumentException Ha a jelölés hibás.
+     */
+    public static char[][] parseBoard(String position) {
+        String[] lines = position.split("/");
+        if (lines.length == 0) {
+            throw new IllegalArgumentException("Empty position: " + position); // pl. "/"
+        }
+        char[][] board = new char[lines.length][];
+        for (int row = 0; row < lines.length; row++) {
+            if (lines[row].isEmpty()) {
+                throw new IllegalArgumentException("Empty row in position: " + position);
+            }
+            board[row] = new char[lines[row].length()];
+            for (int col = 0; col < lines[row].length(); col++) {
+                char c = Character.toUpperCase(lines[row].charAt(col));
+                if (c != 'X' && c != 'O' && c != '.') {
+                    throw new IllegalArgumentException("Invalid cell '" + c + "' in position: " + position);
+                }
+                board[row][col] = c == '.' ? 0 : c;
+            }
+            if (board[row].length != board[0].length) {
+                throw new IllegalArgumentException("Rows of different length in position: " + position);
+            }
+        }
+        return board;
+    }
+
+    private static char opponent(char player) {
+        return player == 'X' ? 'O' : 'X';
+    }
+}
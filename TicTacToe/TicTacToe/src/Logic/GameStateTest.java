@@ -0,0 +1,96 @@
+package Logic;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class GameStateTest {
+    private GameState state;
+
+    @BeforeEach
+    void setUp() {
+        state = new GameState(3, 3);
+    }
+
+    @Test
+    void testApplyMoveAlternatesPlayers() {
+        assertTrue(state.applyMove(0, 0));
+        assertEquals('X', state.getCell(0, 0));
+        assertEquals('O', state.getCurrentPlayer());
+        assertFalse(state.applyMove(0, 0)); // Foglalt mező
+        assertEquals('O', state.getCurrentPlayer());
+    }
+
+    @Test
+    void testWinEndsGame() {
+        state.applyMove(0, 0); // X
+        state.applyMove(1, 0); // O
+        state.applyMove(0, 1); // X
+        state.applyMove(1, 1); // O
+        state.applyMove(0, 2); // X nyer
+        assertEquals(GameState.Result.X_WINS, state.getResult());
+        assertFalse(state.applyMove(2, 2)); // Vége a játéknak
+        assertEquals(0, state.legalMoves(new int[9]));
+    }
+
+    @Test
+    void testDraw() {
+        int[][] moves = {{0, 0}, {0, 1}, {0, 2}, {1, 1}, {1, 0}, {1, 2}, {2, 1}, {2, 0}, {2, 2}};
+        for (int[] move : moves) {
+            assertTrue(state.applyMove(move[0], move[1]));
+        }
+        assertEquals(GameState.Result.DRAW, state.getResult());
+    }
+
+    @Test
+    void testUndoRestoresState() {
+        state.applyMove(0, 0);
+        state.applyMove(1, 0);
+        state.applyMove(0, 1);
+        state.applyMove(1, 1);
+        state.applyMove(0, 2);
+        assertTrue(state.undo());
+        assertEquals(GameState.Result.IN_PROGRESS, state.getResult());
+        assertEquals('X', state.getCurrentPlayer());
+        assertEquals(0, state.getCell(0, 2));
+        assertEquals(5, state.legalMoves(new int[9]));
+    }
+
+    @Test
+    void testLegalMovesAreCellIndices() {
+        state.applyMove(1, 1);
+        int[] buffer = new int[9];
+        int count = state.legalMoves(buffer);
+        assertEquals(8, count);
+        for (int i = 0; i < count; i++) {
+            assertNotEquals(4, buffer[i]); // A középső mező foglalt
+        }
+    }
+
+    @Test
+    void testRectangularBoardCellIndices() {
+        GameState connectFour = new GameState(6, 7, 4);
+        assertEquals(6, connectFour.getRows());
+        assertEquals(7, connectFour.getCols());
+        connectFour.applyMove(5, 6); // X
+        int[] buffer = new int[42];
+        assertEquals(41, connectFour.legalMoves(buffer));
+        assertEquals(40, buffer[40]); // Az utolsó sor utolsó előtti cellája: 5 * 7 + 5
+        assertTrue(connectFour.undo());
+        assertEquals(0, connectFour.getCell(5, 6));
+    }
+
+    @Test
+    void testGomokuWinThroughLastStone() {
+        GameState gomoku = new GameState(15, 15, 5);
+        int[][] moves = {{7, 7}, {0, 0}, {8, 6}, {0, 1}, {9, 5}, {0, 2}, {10, 4}, {0, 3}};
+        for (int[] move : moves) {
+            assertTrue(gomoku.applyMove(move[0], move[1]));
+        }
+        assertEquals(GameState.Result.IN_PROGRESS, gomoku.getResult()); // 4 X az átlón, 4 O a sorban
+        gomoku.applyMove(6, 8); // X az átló másik végére: 5 egy sorban
+        assertEquals(GameState.Result.X_WINS, gomoku.getResult());
+        assertTrue(gomoku.hasWon('X'));
+        assertFalse(gomoku.hasWon('O'));
+    }
+}
@@ -0,0 +1,190 @@
+package Logic;
+
+import javax.swing.*;
+
+import AI.SparseBoard;
+
+import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseWheelEvent;
+
+/**
+ * Az InfiniteBoardView a végtelen tábla görgethető, nagyítható nézete.
+ * Egérhúzással a tábla mozgatható, görgővel nagyítható (a kurzor alatti pont helyben marad),
+ * kattintásra a kiválasztott cellát a GamePanel kapja meg. Csak a látható cellákat rajzolja,
+ * így a rajzolás költsége a nézet méretétől függ, nem a játszma hosszától.
+ */
+class InfiniteBoardView extends JComponent {
+    private static final long serialVersionUID = 1L;
+    private static final double MIN_CELL = 8; // A legkisebb cellaméret pixelben
+    private static final double MAX_CELL = 96; // A legnagyobb cellaméret pixelben
+    private static final double DEFAULT_CELL = 32;
+    private static final int DRAG_THRESHOLD = 4; // Ennél kisebb elmozdulás még kattintásnak számít
+
+    /**
+     * A kiválasztott cellát fogadó művelet.
+     */
+    interface CellListener {
+        void cellClicked(int row, int col);
+    }
+
+    private final transient InfiniteGameState state; // A megjelenített játék
+    private final transient CellListener listener; // A kattintások címzettje
+    private double cellSize = DEFAULT_CELL; // A cella mérete pixelben (nagyítás)
+    private double originX; // Az origó cella bal felső sarka a komponens közepéhez képest
+    private double originY;
+    private Point pressed; // A lenyomás helye (húzás és kattintás megkülönböztetéséhez)
+    private Point last; // A húzás előző pontja
+    private boolean dragging;
+
+    /**
+     * Konstruktor a nézet létrehozására.
+     *
+     * @param state    A megjelenítendő játék.
+     * @param listener A cellára kattintás kezelője.
+     */
+    InfiniteBoardView(InfiniteGameState state, CellListener listener) {
+        this.state = state;
+        this.listener = listener;
+        setPreferredSize(new Dimension(600, 600));
+        setToolTipText("Drag to pan, scroll to zoom");
+        recenter();
+
+        MouseAdapter mouse = new MouseAdapter() {
+            @Override
+            public void mousePressed(MouseEvent e) {
+                pressed = e.getPoint();
+                last = e.getPoint();
+                dragging = false;
+            }
+
+            @Override
+            public void mouseDragged(MouseEvent e) {
+                if (pressed == null) return;
+                if (!dragging && pressed.distance(e.getPoint()) >= DRAG_THRESHOLD) {
+                    dragging = true;
+                    setCursor(Cursor.getPredefinedCursor(Cursor.MOVE_CURSOR));
+                }
+                if (dragging) {
+                    pan(e.getX() - last.x, e.getY() - last.y);
+                    last = e.getPoint();
+                }
+            }
+
+            @Override
+            public void mouseReleased(MouseEvent e) {
+                if (pressed != null && !dragging && SwingUtilities.isLeftMouseButton(e)) {
+                    listener.cellClicked(rowAt(e.getY()), colAt(e.getX()));
+                }
+                pressed = null;
+                dragging = false;
+                setCursor(null);
+            }
+
+            @Override
+            public void mouseWheelMoved(MouseWheelEvent e) {
+                zoom(Math.pow(1.15, -e.getPreciseWheelRotation()), e.getX(), e.getY());
+            }
+        };
+        addMouseListener(mouse);
+        addMouseMotionListener(mouse);
+        addMouseWheelListener(mouse);
+    }
+
+    /**
+     * Az origót (az első lépés helyét) a nézet közepére teszi, alapnagyítással.
+     */
+    void recenter() {
+        cellSize = DEFAULT_CELL;
+        originX = -cellSize / 2;
+        originY = -cellSize / 2;
+        repaint();
+    }
+
+    /**
+     * A tábla elmozdítása pixelben.
+     */
+    void pan(double dx, double dy) {
+        originX += dx;
+        originY += dy;
+        repaint();
+    }
+
+    /**
+     * Nagyítás a megadott pont körül: a pont alatti táblapozíció helyben marad.
+     */
+    void zoom(double factor, int x, int y) {
+        double newSize = Math.max(MIN_CELL, Math.min(MAX_CELL, cellSize * factor));
+        double scale = newSize / cellSize;
+        double anchorX = x - getWidth() / 2.0;
+        double anchorY = y - getHeight() / 2.0;
+        originX = anchorX - (anchorX - originX) * scale;
+        originY = anchorY - (anchorY - originY) * scale;
+        cellSize = newSize;
+        repaint();
+    }
+
+    /**
+     * @return A képernyő x koordinátája alatti oszlop.
+     */
+    int colAt(int x) {
+        return (int) Math.floor((x - getWidth() / 2.0 - originX) / cellSize);
+    }
+
+    /**
+     * @return A képernyő y koordinátája alatti sor.
+     */
+    int rowAt(int y) {
+        return (int) Math.floor((y - getHeight() / 2.0 - originY) / cellSize);
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        Graphics2D g2 = (Graphics2D) g.create();
+        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g2.setColor(Color.LIGHT_GRAY);
+        g2.fillRect(0, 0, getWidth(), getHeight());
+
+        // Csak a látható cellák
+        int firstCol = colAt(0);
+        int lastCol = colAt(getWidth());
+        int firstRow = rowAt(0);
+        int lastRow = rowAt(getHeight());
+        double centerX = getWidth() / 2.0 + originX;
+        double centerY = getHeight() / 2.0 + originY;
+
+        g2.setColor(Color.DARK_GRAY);
+        for (int col = firstCol; col <= lastCol + 1; col++) {
+            int x = (int) Math.round(centerX + col * cellSize);
+            g2.drawLine(x, 0, x, getHeight());
+        }
+        for (int row = firstRow; row <= lastRow + 1; row++) {
+            int y = (int) Math.round(centerY + row * cellSize);
+            g2.drawLine(0, y, getWidth(), y);
+        }
+
+        int moves = state.getMoveCount();
+        long lastMove = moves > 0 ? state.board().getMove(moves - 1) : Long.MIN_VALUE;
+        Font font = new Font("Arial", Font.BOLD, Math.max(6, (int) (cellSize * 0.7)));
+        g2.setFont(font);
+        FontMetrics metrics = g2.getFontMetrics();
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int col = firstCol; col <= lastCol; col++) {
+                char cell = state.getCell(row, col);
+                if (cell == 0) continue;
+                int x = (int) Math.round(centerX + col * cellSize);
+                int y = (int) Math.round(centerY + row * cellSize);
+                if (SparseBoard.cell(row, col) == lastMove) {
+                    g2.setColor(Color.CYAN); // Az utolsó lépés kiemelése
+                    g2.fillRect(x + 1, y + 1, (int) cellSize - 1, (int) cellSize - 1);
+                }
+                String text = String.valueOf(cell);
+                g2.setColor(cell == 'O' ? Color.RED : Color.BLACK);
+                g2.drawString(text, x + (int) (cellSize - metrics.stringWidth(text)) / 2,
+                        y + (int) (cellSize - metrics.getHeight()) / 2 + metrics.getAscent());
+            }
+        }
+        g2.dispose();
+    }
+}
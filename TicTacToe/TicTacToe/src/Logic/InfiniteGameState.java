@@ -0,0 +1,110 @@
+package Logic;
+
+import AI.SparseBoard;
+
+/**
+ * Az InfiniteGameState osztály a végtelen táblás játék szabályait valósítja meg Swing nélkül:
+ * a lépések sorrendjét, a győzelem felismerését és a visszavonást. A köveket egy SparseBoard tárolja,
+ * így a játék költsége a lerakott kövek számától függ, nem a (korlátlan) tábla méretétől.
+ * A végtelen táblán nincs döntetlen.
+ */
+public final class InfiniteGameState {
+    /** A győzelmi feltétel alapértéke (gomoku). */
+    public static final int DEFAULT_WIN_CONDITION = 5;
+
+    private final SparseBoard board; // A lerakott kövek és a jelölt lépések
+    private char currentPlayer; // A soron következő játékos
+    private GameState.Result result; // A játék állapota
+
+    /**
+     * Konstruktor egy üres játék létrehozására; X kezd.
+     *
+     * @param winCondition A győzelemhez szükséges szimbólumok száma.
+     */
+    public InfiniteGameState(int winCondition) {
+        this.board = new SparseBoard(winCondition);
+        reset();
+    }
+
+    /**
+     * Új játék: üres tábla, X kezd.
+     */
+    public void reset() {
+        board.clear();
+        currentPlayer = 'X';
+        result = GameState.Result.IN_PROGRESS;
+    }
+
+    /**
+     * Végrehajtja a soron következő játékos lépését, és ellenőrzi a győzelmet az új kövön át.
+     *
+     * @param row A mező sora (bármilyen előjelű).
+     * @param col A mező oszlopa (bármilyen előjelű).
+     * @return Igaz, ha a lépés szabályos volt.
+     */
+    public boolean applyMove(int row, int col) {
+        if (result != GameState.Result.IN_PROGRESS || !board.place(row, col, currentPlayer)) {
+            return false;
+        }
+        if (board.completesLine(row, col, currentPlayer)) {
+            result = currentPlayer == 'X' ? GameState.Result.X_WINS : GameState.Result.O_WINS;
+        }
+        currentPlayer = currentPlayer == 'X' ? 'O' : 'X';
+        return true;
+    }
+
+    /**
+     * Visszavonja az utolsó lépést.
+     *
+     * @return Igaz, ha volt visszavonható lépés.
+     */
+    public boolean undo() {
+        if (!board.undo()) {
+            return false;
+        }
+        currentPlayer = currentPlayer == 'X' ? 'O' : 'X';
+        result = GameState.Result.IN_PROGRESS;
+        return true;
+    }
+
+    /**
+     * Ellenőrzi, hogy a megadott játékos nyert-e (az utolsó lépésen át).
+     *
+     * @param player A játékos karaktere.
+     * @return Igaz, ha nyert a játékos.
+     */
+    public boolean hasWon(char player) {
+        return player == 'X' ? result == GameState.Result.X_WINS : result == GameState.Result.O_WINS;
+    }
+
+    public boolean isGameOver() {
+        return result != GameState.Result.IN_PROGRESS;
+    }
+
+    /**
+     * A kövek ritka táblája (csak olvasásra; az AI saját másolatot készít belőle).
+     */
+    public SparseBoard board() {
+        return board;
+    }
+
+    public char getCell(int row, int col) {
+        return board.get(row, col);
+    }
+
+    public char getCurrentPlayer() {
+        return currentPlayer;
+    }
+
+    public GameState.Result getResult() {
+        return result;
+    }
+
+    public int getWinCondition() {
+        return board.getWinCondition();
+    }
+
+    public int getMoveCount() {
+        return board.getMoveCount();
+    }
+}
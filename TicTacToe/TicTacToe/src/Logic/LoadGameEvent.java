@@ -0,0 +1,33 @@
+package Logic;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Java Flight Recorder esemény egy betöltésről (SaveFile.read): a beolvasott bájtok, az idő, és hogy
+ * régi formátumú mentést kellett-e átalakítani.
+ */
+@Name("tictactoe.LoadGame")
+@Label("Load Game")
+@Category({"TicTacToe", "Game"})
+@Description("Reading the save file")
+@StackTrace(false)
+final class LoadGameEvent extends Event {
+    @Label("Path")
+    String path;
+
+    @Label("Bytes")
+    @DataAmount
+    long bytes;
+
+    @Label("Legacy Format")
+    boolean legacy;
+
+    @Label("Error")
+    String error;
+}
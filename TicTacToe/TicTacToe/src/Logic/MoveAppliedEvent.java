@@ -0,0 +1,32 @@
+package Logic;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Java Flight Recorder esemény egy elfogadott lépésről: a lépés feldolgozása az EDT-n (szabályok, napló,
+ * gomb frissítése), a játékvégi párbeszédablak nélkül. Az EDT-akadások így egy felvételen vethetők össze
+ * a GC szünetekkel és az AI keresésekkel.
+ */
+@Name("tictactoe.MoveApplied")
+@Label("Move Applied")
+@Category({"TicTacToe", "Game"})
+@Description("A move accepted and applied on the event dispatch thread")
+@StackTrace(false)
+final class MoveAppliedEvent extends Event {
+    @Label("Player")
+    char player;
+
+    @Label("Row")
+    int row;
+
+    @Label("Column")
+    int col;
+
+    @Label("Move Number")
+    int moveNumber;
+}
@@ -0,0 +1,578 @@
+package Logic;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A MoveJournal osztály egy csak hozzáfűzhető lépésnapló: minden új játék és minden elfogadott lépés
+ * azonnal bekerül a fájlba, így összeomlás után a játék a naplóból visszaállítható.
+ * <p>
+ * Felépítés: "TTTJ" azonosító és verzió (1 bájt), utána rekordok. Minden rekord egy típusbájttal kezdődik,
+ * és egy ellenőrző bájttal végződik (a rekord bájtjainak XOR-ja), így a félig kiírt utolsó rekord felismerhető.
+ * <ul>
+ * <li>Új játék ('B'): sorok és oszlopok száma, győzelmi feltétel, jelzők
+ * (bit 0: PvAI, bit 1: kezdőállás következik), soron következő játékos, X és O győzelmei (int),
+ * opcionálisan a kezdőállás cellánként 2 biten.</li>
+ * <li>Lépés ('M'): a cella indexe (2 bájt). Egy lépés 4 bájt.</li>
+ * </ul>
+ * A rekordok a hívó szálán, közvetlenül a fájlba kerülnek (a program összeomlását így túlélik);
+ * a lemezre kényszerítés (fsync) gyakoriságát a SyncPolicy szabályozza.
+ * Az írás egyetlen szálról (az EDT-ről) történik, a kötegelt fsync saját háttérszálon fut.
+ * <p>
+ * A visszajátszás (replay) memóriába leképezve olvassa a fájlt. A megnyitás pozicionált olvasással
+ * ellenőrzi végig, és az utolsó játékot a memóriába másolja: a hozzáfűzésre nyitott fájlt semmi
+ * nem tartja leképezve, így csonkolható (Windows alatt a leképezett fájl nem csonkolható).
+ */
+public final class MoveJournal implements Closeable {
+    private static final int MAGIC = 0x5454544A; // "TTTJ"
+    private static final byte VERSION = 1;
+    private static final int FILE_HEADER_SIZE = 5;
+    private static final byte BEGIN = 'B';
+    private static final byte MOVE = 'M';
+    private static final int BEGIN_HEADER_SIZE = 1 + 5 + 4 + 4; // típus, 5 bájt beállítás, győzelmek
+    private static final int MAX_RECORD_SIZE = BEGIN_HEADER_SIZE + SaveFile.boardBytes(255, 255) + 1; // 255x255 kezdőállással
+    private static final int MOVE_SIZE = 4;
+    private static final int FLAG_AI = 1;
+    private static final int FLAG_SETUP = 2;
+    private static final byte CHECK_SEED = (byte) 0xA5;
+    private static final long MAP_WINDOW = 1L << 30; // Visszajátszáskor ekkora ablakokban képezzük le a fájlt
+    private static final int READ_WINDOW = 1 << 16; // Megnyitáskor ekkora darabokban olvassuk (> MAX_RECORD_SIZE)
+
+    /**
+     * Mikor kényszerítjük a rekordokat a lemezre.
+     */
+    public enum SyncPolicy {
+        /** Minden rekord után (leglassabb, semmi sem vész el). */
+        EVERY_RECORD,
+        /** Háttérszálon, a megadott időközönként, ha volt új rekord. */
+        BATCHED,
+        /** Soha (az operációs rendszerre bízzuk); a program összeomlását így is túléli a napló. */
+        OS
+    }
+
+    private final FileChannel channel;
+    private final SyncPolicy policy;
+    private final ByteBuffer moveBuffer = ByteBuffer.allocate(MOVE_SIZE);
+    private final AtomicBoolean dirty = new AtomicBoolean(); // Van-e még lemezre nem kényszerített rekord
+    private final ScheduledExecutorService syncer; // A kötegelt fsync szála (csak BATCHED esetén)
+    private final Replay recovered; // A megnyitáskor talált utolsó játék, a memóriába másolva
+    private ByteBuffer beginBuffer; // Az új játék rekordjának puffere (méretenként újrafoglalva)
+
+    private MoveJournal(FileChannel channel, SyncPolicy policy, long batchMillis, Replay recovered) {
+        this.channel = channel;
+        this.policy = policy;
+        this.recovered = recovered;
+        if (policy == SyncPolicy.BATCHED) {
+            syncer = Executors.newSingleThreadScheduledExecutor(task -> {
+                Thread thread = new Thread(task, "tictactoe-journal");
+                thread.setDaemon(true);
+                return thread;
+            });
+            syncer.scheduleWithFixedDelay(this::syncIfDirty, batchMillis, batchMillis, TimeUnit.MILLISECONDS);
+        } else {
+            syncer = null;
+        }
+    }
+
+    /**
+     * Megnyitja (szükség esetén létrehozza) a naplót. A félig kiírt utolsó rekordot levágja.
+     * A fájlt pozicionált olvasással ellenőrzi, leképezés nélkül.
+     *
+     * @param path        A napló helye.
+     * @param policy      Az fsync szabálya.
+     * @param batchMillis A kötegelt fsync időköze (csak BATCHED esetén).
+     * @return A hozzáfűzésre kész napló.
+     * @throws IOException Ha a fájl nem nyitható meg, vagy nem lépésnapló.
+     */
+    public static MoveJournal open(Path path, SyncPolicy policy, long batchMillis) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            Replay replay;
+            if (channel.size() == 0) {
+                ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_SIZE);
+                header.putInt(MAGIC).put(VERSION).flip();
+                writeFully(channel, header);
+                channel.force(true);
+                replay = Replay.copy(channel, FILE_HEADER_SIZE, FILE_HEADER_SIZE);
+            } else {
+                Replay scanned = scan(Replay.read(channel, channel.size()));
+                if (scanned.validLength < channel.size()) {
+                    channel.truncate(scanned.validLength); // A félbemaradt rekord eldobása
+                    channel.force(true);
+                }
+                long lastGame = scanned.gameCount == 0 ? scanned.validLength
+                        : scanned.gameOffsets[scanned.gameCount - 1];
+                replay = Replay.copy(channel, lastGame, scanned.validLength);
+            }
+            channel.position(replay.validLength);
+            return new MoveJournal(channel, policy, batchMillis, replay);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Beolvassa a naplót memóriába leképezve, írás nélkül (pl. egy korábbi játék visszajátszásához).
+     *
+     * @param path A napló helye.
+     * @return A napló játékai.
+     * @throws IOException Ha a fájl nem olvasható, vagy nem lépésnapló.
+     */
+    public static Replay replay(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return scan(Replay.map(channel));
+        }
+    }
+
+    /**
+     * Új játékot nyit a naplóban az állapot jelenlegi állásából.
+     *
+     * @param state    A játék állapota (üres vagy betöltött tábla).
+     * @param gameMode A játékmód.
+     * @param xWins    X győzelmeinek száma.
+     * @param oWins    O győzelmeinek száma.
+     * @throws IOException Ha az írás nem sikerült.
+     */
+    public void beginGame(GameState state, String gameMode, int xWins, int oWins) throws IOException {
+        boolean setup = !isEmpty(state);
+        int length = BEGIN_HEADER_SIZE + (setup ? SaveFile.boardBytes(state.getRows(), state.getCols()) : 0) + 1;
+        if (beginBuffer == null || beginBuffer.capacity() < length) {
+            beginBuffer = ByteBuffer.allocate(length);
+        }
+        ByteBuffer buffer = beginBuffer;
+        buffer.clear();
+        buffer.put(BEGIN);
+        buffer.put((byte) state.getRows());
+        buffer.put((byte) state.getCols());
+        buffer.put((byte) state.getWinCondition());
+        buffer.put((byte) ((SaveFile.PLAYER_VS_AI.equals(gameMode) ? FLAG_AI : 0) | (setup ? FLAG_SETUP : 0)));
+        buffer.put((byte) state.getCurrentPlayer());
+        buffer.putInt(xWins);
+        buffer.putInt(oWins);
+        if (setup) {
+            SaveFile.putBoard(buffer, state);
+        }
+        buffer.put(check(buffer, 0, buffer.position()));
+        buffer.flip();
+        append(buffer);
+    }
+
+    /**
+     * Hozzáfűz egy elfogadott lépést. Nem foglal memóriát.
+     *
+     * @param cell A lépés cellaindexe (sor * oszlopszám + oszlop).
+     * @throws IOException Ha az írás nem sikerült.
+     */
+    public void appendMove(int cell) throws IOException {
+        ByteBuffer buffer = moveBuffer;
+        buffer.clear();
+        buffer.put(MOVE);
+        buffer.putShort((short) cell);
+        buffer.put(check(buffer, 0, 3));
+        buffer.flip();
+        append(buffer);
+    }
+
+    /**
+     * A megnyitáskor a naplóban talált utolsó játék (összeomlás utáni visszaállításhoz).
+     *
+     * @return Az utolsó játék, vagy null, ha a napló üres volt.
+     */
+    public Game lastRecoveredGame() {
+        int count = recovered.gameCount();
+        return count == 0 ? null : recovered.game(count - 1);
+    }
+
+    /**
+     * A függőben lévő rekordok lemezre kényszerítése.
+     *
+     * @throws IOException Ha az fsync nem sikerült.
+     */
+    public void sync() throws IOException {
+        dirty.set(false);
+        channel.force(false);
+    }
+
+    /**
+     * Lezárja a naplót; előtte minden rekordot lemezre kényszerít.
+     */
+    @Override
+    public void close() throws IOException {
+        if (syncer != null) {
+            syncer.shutdownNow();
+        }
+        if (channel.isOpen()) {
+            try {
+                channel.force(false);
+            } finally {
+                channel.close();
+            }
+        }
+    }
+
+    private void append(ByteBuffer buffer) throws IOException {
+        writeFully(channel, buffer);
+        if (policy == SyncPolicy.EVERY_RECORD) {
+            channel.force(false);
+        } else {
+            dirty.set(true);
+        }
+    }
+
+    private void syncIfDirty() {
+        if (dirty.getAndSet(false)) {
+            try {
+                channel.force(false);
+            } catch (IOException e) {
+                dirty.set(true); // A következő körben újra próbáljuk
+            }
+        }
+    }
+
+    private static boolean isEmpty(GameState state) {
+        for (char[] row : state.board()) {
+            for (char cell : row) {
+                if (cell != 0) return false;
+            }
+        }
+        return true;
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                break; // A fájl vége
+            }
+        }
+    }
+
+    private static byte check(ByteBuffer buffer, int from, int to) {
+        byte check = CHECK_SEED;
+        for (int i = from; i < to; i++) {
+            check ^= buffer.get(i);
+        }
+        return check;
+    }
+
+    /**
+     * Végigolvassa a naplót, és feljegyzi a játékok kezdetét.
+     * Az első hibás vagy csonka rekordnál megáll; az addigi rész az érvényes hossz.
+     */
+    private static Replay scan(Replay replay) throws IOException {
+        try {
+            if (replay.dataEnd < FILE_HEADER_SIZE || replay.getInt(0) != MAGIC) {
+                throw new IOException("Not a Tic-Tac-Toe move journal");
+            }
+            if (replay.get(4) != VERSION) {
+                throw new IOException("Unsupported move journal version: " + replay.get(4));
+            }
+            long position = FILE_HEADER_SIZE;
+            while (true) {
+                int length = replay.recordLength(position, replay.gameCount > 0);
+                if (length <= 0) break;
+                if (replay.get(position) == BEGIN) {
+                    replay.addGame(position);
+                }
+                position += length;
+            }
+            replay.validLength = position;
+            return replay;
+        } catch (UncheckedIOException e) {
+            throw e.getCause(); // A pozicionált olvasás hibája
+        }
+    }
+
+    /**
+     * A fájl egy ablaka: leképezett, vagy a memóriába olvasott bájtok.
+     */
+    private static final class Segment {
+        final long base;
+        final ByteBuffer buffer;
+
+        Segment(long base, ByteBuffer buffer) {
+            this.base = base;
+            this.buffer = buffer;
+        }
+    }
+
+    /**
+     * A napló játékainak indexe; bármelyik játék közvetlenül visszajátszható.
+     * A bájtok a memóriába leképezett fájlból, a memóriába másolt részéből, vagy (a megnyitáskori
+     * ellenőrzésnél) egy újratöltött olvasási ablakból származnak.
+     */
+    public static final class Replay {
+        private final Segment[] segments;
+        private final long windowSize; // Az ablakok kezdőpontjainak távolsága
+        private final FileChannel channel; // Pozicionált olvasásnál a fájl, különben null
+        private final long dataEnd; // Az olvasható bájtok vége
+        private long validLength; // Az érvényes rekordok vége
+        private long[] gameOffsets = new long[16]; // A játékok 'B' rekordjainak helye
+        private int gameCount;
+
+        private Replay(Segment[] segments, long windowSize, FileChannel channel, long dataEnd) {
+            this.segments = segments;
+            this.windowSize = windowSize;
+            this.channel = channel;
+            this.dataEnd = dataEnd;
+            this.validLength = dataEnd;
+        }
+
+        /**
+         * A teljes fájl leképezve. Az ablakok átfednek, hogy a határon átnyúló rekord is egyben olvasható legyen.
+         */
+        static Replay map(FileChannel channel) throws IOException {
+            long size = channel.size();
+            int segmentCount = (int) ((size + MAP_WINDOW - 1) / MAP_WINDOW);
+            Segment[] segments = new Segment[segmentCount];
+            for (int i = 0; i < segmentCount; i++) {
+                long base = i * MAP_WINDOW;
+                long length = Math.min(size - base, MAP_WINDOW + MAX_RECORD_SIZE);
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, base, length);
+                segments[i] = new Segment(base, buffer);
+            }
+            return new Replay(segments, MAP_WINDOW, null, size);
+        }
+
+        /**
+         * Pozicionált olvasás egyetlen, szükség szerint újratöltött ablakba (leképezés nélkül).
+         */
+        static Replay read(FileChannel channel, long size) {
+            ByteBuffer window = ByteBuffer.allocate(READ_WINDOW);
+            window.limit(0);
+            return new Replay(new Segment[]{new Segment(0, window)}, READ_WINDOW, channel, size);
+        }
+
+        /**
+         * A fájl [from, to) része a memóriába másolva; ha ez egy játék eleje, az lesz az egyetlen játék.
+         */
+        static Replay copy(FileChannel channel, long from, long to) throws IOException {
+            ByteBuffer bytes = ByteBuffer.allocate((int) (to - from));
+            readFully(channel, bytes, from);
+            Replay replay = new Replay(new Segment[]{new Segment(from, bytes)}, Math.max(1, to - from), null, to);
+            if (to > from) {
+                replay.addGame(from);
+            }
+            return replay;
+        }
+
+        /**
+         * @return A naplóban lévő játékok száma.
+         */
+        public int gameCount() {
+            return gameCount;
+        }
+
+        /**
+         * Az N-edik játék (0-tól számozva).
+         *
+         * @param index A játék sorszáma.
+         * @return A játék.
+         */
+        public Game game(int index) {
+            if (index < 0 || index >= gameCount) {
+                throw new IndexOutOfBoundsException("Game " + index + " of " + gameCount);
+            }
+            long start = gameOffsets[index];
+            long end = index + 1 < gameCount ? gameOffsets[index + 1] : validLength;
+            return new Game(this, start, end);
+        }
+
+        /**
+         * @return Az érvényes rekordok vége (a fájl ennél hosszabb lehet, ha csonka rekord van a végén).
+         */
+        public long validLength() {
+            return validLength;
+        }
+
+        private void addGame(long offset) {
+            if (gameCount == gameOffsets.length) {
+                gameOffsets = Arrays.copyOf(gameOffsets, gameCount * 2);
+            }
+            gameOffsets[gameCount++] = offset;
+        }
+
+        /**
+         * Az adott helyen kezdődő rekord hossza, vagy 0, ha a rekord hibás vagy csonka.
+         */
+        private int recordLength(long position, boolean inGame) {
+            long available = dataEnd - position;
+            if (available < 1) return 0;
+            int length;
+            byte type = get(position);
+            if (type == MOVE && inGame) {
+                length = MOVE_SIZE;
+            } else if (type == BEGIN && available >= BEGIN_HEADER_SIZE) {
+                int rows = get(position + 1) & 0xFF;
+                int cols = get(position + 2) & 0xFF;
+                int winCondition = get(position + 3) & 0xFF;
+                if (rows < 1 || cols < 1 || winCondition < 1 || winCondition > Math.max(rows, cols)) return 0;
+                boolean setup = (get(position + 4) & FLAG_SETUP) != 0;
+                length = BEGIN_HEADER_SIZE + (setup ? SaveFile.boardBytes(rows, cols) : 0) + 1;
+            } else {
+                return 0;
+            }
+            if (available < length) return 0;
+            byte check = CHECK_SEED;
+            for (int i = 0; i < length - 1; i++) {
+                check ^= get(position + i);
+            }
+            return check == get(position + length - 1) ? length : 0;
+        }
+
+        private Segment segment(long position, int length) {
+            Segment segment;
+            if (channel != null) {
+                segment = contains(segments[0], position, length) ? segments[0] : refill(position);
+            } else {
+                segment = segments[(int) ((position - segments[0].base) / windowSize)];
+            }
+            if (!contains(segment, position, length)) {
+                throw new IndexOutOfBoundsException("Position " + position + " beyond the journal");
+            }
+            return segment;
+        }
+
+        private static boolean contains(Segment segment, long position, int length) {
+            return position >= segment.base && position + length <= segment.base + segment.buffer.limit();
+        }
+
+        /**
+         * Az olvasási ablak újratöltése a megadott helytől (csak pozicionált olvasásnál).
+         */
+        private Segment refill(long position) {
+            ByteBuffer window = segments[0].buffer;
+            window.clear();
+            try {
+                readFully(channel, window, position);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            window.flip();
+            segments[0] = new Segment(position, window);
+            return segments[0];
+        }
+
+        byte get(long position) {
+            Segment segment = segment(position, 1);
+            return segment.buffer.get((int) (position - segment.base));
+        }
+
+        int getInt(long position) {
+            Segment segment = segment(position, 4);
+            return segment.buffer.getInt((int) (position - segment.base));
+        }
+
+        /**
+         * A megadott helytől kezdődő bájtok egy (osztott) nézete.
+         */
+        ByteBuffer slice(long position, int length) {
+            Segment segment = segment(position, length);
+            ByteBuffer view = segment.buffer.duplicate();
+            view.position((int) (position - segment.base));
+            view.limit((int) (position - segment.base) + length);
+            return view.slice();
+        }
+    }
+
+    /**
+     * Egy naplózott játék: a kezdőállás és a lépések.
+     */
+    public static final class Game {
+        private final Replay replay;
+        private final long start;
+        private final long end;
+        private final int rows;
+        private final int cols;
+        private final int winCondition;
+        private final String gameMode;
+        private final char firstPlayer;
+        private final int xWins;
+        private final int oWins;
+        private final long movesStart;
+
+        private Game(Replay replay, long start, long end) {
+            this.replay = replay;
+            this.start = start;
+            this.end = end;
+            this.rows = replay.get(start + 1) & 0xFF;
+            this.cols = replay.get(start + 2) & 0xFF;
+            this.winCondition = replay.get(start + 3) & 0xFF;
+            int flags = replay.get(start + 4);
+            this.gameMode = (flags & FLAG_AI) != 0 ? SaveFile.PLAYER_VS_AI : SaveFile.PLAYER_VS_PLAYER;
+            this.firstPlayer = (char) replay.get(start + 5);
+            this.xWins = replay.getInt(start + 6);
+            this.oWins = replay.getInt(start + 10);
+            this.movesStart = start + BEGIN_HEADER_SIZE + ((flags & FLAG_SETUP) != 0 ? SaveFile.boardBytes(rows, cols) : 0) + 1;
+        }
+
+        /**
+         * Visszajátssza a játékot egy új állapotba.
+         *
+         * @return A játék jelenlegi (utolsó naplózott) állása.
+         */
+        public GameState toState() {
+            GameState state = new GameState(rows, cols, winCondition);
+            if ((replay.get(start + 4) & FLAG_SETUP) != 0) {
+                ByteBuffer board = replay.slice(start + BEGIN_HEADER_SIZE, SaveFile.boardBytes(rows, cols));
+                state.load(SaveFile.getBoard(board, rows, cols), firstPlayer);
+            } else if (firstPlayer == 'O') {
+                state.load(new char[rows][cols], firstPlayer);
+            }
+            for (long position = movesStart; position < end; position += MOVE_SIZE) {
+                int cell = ((replay.get(position + 1) & 0xFF) << 8) | (replay.get(position + 2) & 0xFF);
+                state.applyMove(cell / cols, cell % cols);
+            }
+            return state;
+        }
+
+        /**
+         * @return A játékban naplózott lépések száma.
+         */
+        public int getMoveCount() {
+            return (int) ((end - movesStart) / MOVE_SIZE);
+        }
+
+        public int getRows() {
+            return rows;
+        }
+
+        public int getCols() {
+            return cols;
+        }
+
+        public int getWinCondition() {
+            return winCondition;
+        }
+
+        public String getGameMode() {
+            return gameMode;
+        }
+
+        public int getXWins() {
+            return xWins;
+        }
+
+        public int getOWins() {
+            return oWins;
+        }
+    }
+}
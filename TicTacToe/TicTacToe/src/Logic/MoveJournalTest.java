@@ -0,0 +1,131 @@
+package Logic;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+class MoveJournalTest {
+    private Path dir;
+    private Path file;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        dir = Files.createTempDirectory("tictactoe-journal");
+        file = dir.resolve("tictactoe_journal.dat");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+        Files.deleteIfExists(dir);
+    }
+
+    @Test
+    void testReplayRebuildsGames() throws IOException {
+        try (MoveJournal journal = MoveJournal.open(file, MoveJournal.SyncPolicy.EVERY_RECORD, 0)) {
+            GameState state = new GameState(3, 3);
+            journal.beginGame(state, "Player vs AI", 0, 0);
+            journal.appendMove(4);
+            journal.appendMove(0);
+            GameState second = new GameState(5, 4);
+            journal.beginGame(second, "Player vs Player", 1, 0);
+            journal.appendMove(12);
+        }
+
+        MoveJournal.Replay replay = MoveJournal.replay(file);
+        assertEquals(2, replay.gameCount());
+        MoveJournal.Game first = replay.game(0);
+        assertEquals("Player vs AI", first.getGameMode());
+        assertEquals(2, first.getMoveCount());
+        GameState state = first.toState();
+        assertEquals('X', state.getCell(1, 1));
+        assertEquals('O', state.getCell(0, 0));
+        assertEquals('X', state.getCurrentPlayer());
+
+        MoveJournal.Game second = replay.game(1);
+        assertEquals(5, second.getRows());
+        assertEquals(5, second.getCols());
+        assertEquals(1, second.getXWins());
+        assertEquals('X', second.toState().getCell(2, 2));
+    }
+
+    @Test
+    void testNonSquareGameReplays() throws IOException {
+        GameState loaded = new GameState(4, 6, 4);
+        char[][] board = new char[4][6];
+        board[0][5] = 'X';
+        board[3][0] = 'O';
+        loaded.load(board, 'X');
+        try (MoveJournal journal = MoveJournal.open(file, MoveJournal.SyncPolicy.EVERY_RECORD, 0)) {
+            journal.beginGame(loaded, "Player vs Player", 0, 0);
+            journal.appendMove(2 * 6 + 4); // (2, 4)
+        }
+        MoveJournal.Game game = MoveJournal.replay(file).game(0);
+        assertEquals(4, game.getRows());
+        assertEquals(6, game.getCols());
+        GameState state = game.toState();
+        assertEquals('X', state.getCell(0, 5));
+        assertEquals('O', state.getCell(3, 0));
+        assertEquals('X', state.getCell(2, 4));
+        assertEquals('O', state.getCurrentPlayer());
+    }
+
+    @Test
+    void testLoadedPositionIsJournaled() throws IOException {
+        GameState loaded = new GameState(3, 3);
+        loaded.load(new char[][]{{'X', 0, 0}, {0, 'O', 0}, {0, 0, 0}}, 'X');
+        try (MoveJournal journal = MoveJournal.open(file, MoveJournal.SyncPolicy.BATCHED, 10)) {
+            journal.beginGame(loaded, "Player vs Player", 0, 0);
+            journal.appendMove(8);
+        }
+        GameState state = MoveJournal.replay(file).game(0).toState();
+        assertEquals('X', state.getCell(0, 0));
+        assertEquals('O', state.getCell(1, 1));
+        assertEquals('X', state.getCell(2, 2));
+        assertEquals('O', state.getCurrentPlayer());
+    }
+
+    @Test
+    void testRecoveryScansTheWholeJournal() throws IOException {
+        // Több olvasási ablaknyi napló: a megnyitás a fájl végéig ellenőriz, az utolsó játékot adja vissza
+        try (MoveJournal journal = MoveJournal.open(file, MoveJournal.SyncPolicy.OS, 0)) {
+            for (int game = 0; game < 6000; game++) {
+                journal.beginGame(new GameState(3, 3), "Player vs Player", game, 0);
+                journal.appendMove(4);
+                journal.appendMove(game % 4 == 0 ? 0 : 2);
+            }
+        }
+        assertTrue(Files.size(file) > 2 * (1 << 16));
+        try (MoveJournal journal = MoveJournal.open(file, MoveJournal.SyncPolicy.OS, 0)) {
+            MoveJournal.Game last = journal.lastRecoveredGame();
+            assertEquals(5999, last.getXWins());
+            assertEquals('O', last.toState().getCell(0, 2));
+        }
+        assertEquals(6000, MoveJournal.replay(file).gameCount());
+    }
+
+    @Test
+    void testTornRecordIsTruncated() throws IOException {
+        try (MoveJournal journal = MoveJournal.open(file, MoveJournal.SyncPolicy.OS, 0)) {
+            journal.beginGame(new GameState(3, 3), "Player vs Player", 0, 0);
+            journal.appendMove(4);
+        }
+        long valid = Files.size(file);
+        Files.write(file, new byte[]{'M', 0}, StandardOpenOption.APPEND); // Félig kiírt lépés
+
+        try (MoveJournal journal = MoveJournal.open(file, MoveJournal.SyncPolicy.OS, 0)) {
+            assertEquals(valid, Files.size(file));
+            assertEquals(1, journal.lastRecoveredGame().getMoveCount());
+            journal.appendMove(0);
+        }
+        GameState state = MoveJournal.replay(file).game(0).toState();
+        assertEquals('X', state.getCell(1, 1));
+        assertEquals('O', state.getCell(0, 0));
+    }
+}
@@ -0,0 +1,477 @@
+package Logic;
+
+import AI.BitBoard;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * A Perft osztály egy állásból adott mélységig bejárja a teljes játékfát, és mélységenként megszámolja
+ * a csomópontokat, valamint az ott véget érő játszmákat (X nyer, O nyer, döntetlen). A bejárás a
+ * játék saját szabálymotorjaival lép és ismeri fel a győzelmet: a GameState-tel (ezt használja a GamePanel),
+ * vagy az AI motorok bittáblájával (BitBoard). A kettő számainak egyezniük kell, a 3x3-as tábla teljes fája
+ * pedig ismert (255 168 játszma), így a Perft a szabályok helyességének mércéje, és tiszta csomópont/másodperc
+ * számot ad mindkét motorra.
+ * <p>
+ * A fa felső szintjeit fork/join feladatokra bontja (minden feladat a saját táblamásolatán dolgozik),
+ * az alsóbb szinteket a feladatok szekvenciálisan, lépésenként memóriafoglalás nélkül járják be.
+ */
+public final class Perft {
+    private static final int TASKS_PER_THREAD = 16; // Ennyi feladat jusson legalább szálanként a kiegyensúlyozáshoz
+    private static final int CONTINUE = 0; // A lépés után a játék folytatódik
+    private static final int X_WINS = 1;
+    private static final int O_WINS = 2;
+    private static final int DRAW = 3;
+
+    /**
+     * A szabálymotor, amellyel a bejárás lép.
+     */
+    public enum Backend {
+        /** A Logic.GameState (a GamePanel szabályai), utolsó lépésen átmenő vonalak vizsgálatával. */
+        STATE,
+        /** Az AI.BitBoard (az AI motorok szabályai), legfeljebb 64 cellás négyzetes táblán. */
+        BITBOARD
+    }
+
+    /**
+     * A bejárás eredménye mélységenként (1 = a kiinduló állás utáni első lépés).
+     */
+    public static final class Counts {
+        private final long[] nodes;
+        private final long[] xWins;
+        private final long[] oWins;
+        private final long[] draws;
+
+        Counts(int depth) {
+            nodes = new long[depth + 1];
+            xWins = new long[depth + 1];
+            oWins = new long[depth + 1];
+            draws = new long[depth + 1];
+        }
+
+        /**
+         * @return A bejárt mélység.
+         */
+        public int getDepth() {
+            return nodes.length - 1;
+        }
+
+        /**
+         * @return Az adott mélységben elért állások száma.
+         */
+        public long getNodes(int depth) {
+            return nodes[depth];
+        }
+
+        public long getXWins(int depth) {
+            return xWins[depth];
+        }
+
+        public long getOWins(int depth) {
+            return oWins[depth];
+        }
+
+        public long getDraws(int depth) {
+            return draws[depth];
+        }
+
+        /**
+         * @return Az összes elért állás száma.
+         */
+        public long getNodes() {
+            return sum(nodes);
+        }
+
+        /**
+         * @return A véget ért játszmák száma (a mélységkorláton félbehagyottak nélkül).
+         */
+        public long getGames() {
+            return sum(xWins) + sum(oWins) + sum(draws);
+        }
+
+        public long getXWins() {
+            return sum(xWins);
+        }
+
+        public long getOWins() {
+            return sum(oWins);
+        }
+
+        public long getDraws() {
+            return sum(draws);
+        }
+
+        private void record(int depth, int result) {
+            nodes[depth]++;
+            if (result == X_WINS) {
+                xWins[depth]++;
+            } else if (result == O_WINS) {
+                oWins[depth]++;
+            } else if (result == DRAW) {
+                draws[depth]++;
+            }
+        }
+
+        private void add(Counts other) {
+            for (int depth = 0; depth < nodes.length; depth++) {
+                nodes[depth] += other.nodes[depth];
+                xWins[depth] += other.xWins[depth];
+                oWins[depth] += other.oWins[depth];
+                draws[depth] += other.draws[depth];
+            }
+        }
+
+        private static long sum(long[] values) {
+            long total = 0;
+            for (long value : values) {
+                total += value;
+            }
+            return total;
+        }
+    }
+
+    private final int rows; // Sorok száma
+    private final int cols; // Oszlopok száma
+    private final int winCondition; // A győzelemhez szükséges szimbólumok száma
+    private final Backend backend; // A szabálymotor
+    private int threads = Runtime.getRuntime().availableProcessors(); // A szálak száma
+
+    /**
+     * Konstruktor a bejárás inicializálására.
+     *
+     * @param rows         A sorok száma.
+     * @param cols         Az oszlopok száma.
+     * @param winCondition A győzelemhez szükséges szimbólumok száma.
+     * @param backend      A szabálymotor.
+     */
+    public Perft(int rows, int cols, int winCondition, Backend backend) {
+        if (rows < 1 || cols < 1 || winCondition < 1 || winCondition > Math.max(rows, cols)) {
+            throw new IllegalArgumentException("Invalid board: " + rows + "x" + cols + ", k=" + winCondition);
+        }
+        if (backend == Backend.BITBOARD && (rows != cols || rows * cols > BitBoard.MAX_CELLS)) {
+            throw new IllegalArgumentException("The bitboard backend needs a square board with at most "
+                    + BitBoard.MAX_CELLS + " cells: " + rows + "x" + cols);
+        }
+        this.rows = rows;
+        this.cols = cols;
+        this.winCondition = winCondition;
+        this.backend = backend;
+    }
+
+    /**
+     * @param threads A szálak száma (legalább 1).
+     */
+    public void setThreads(int threads) {
+        this.threads = Math.max(1, threads);
+    }
+
+    /**
+     * Bejárja a játékfát.
+     *
+     * @param board  A kiinduló állás (nem módosul).
+     * @param toMove A soron következő játékos.
+     * @param depth  A bejárás mélysége lépésekben.
+     * @return A mélységenkénti számok (üresek, ha a kiinduló állásban a játék már véget ért).
+     */
+    public Counts run(char[][] board, char toMove, int depth) {
+        if (board.length != rows || board[0].length != cols) {
+            throw new IllegalArgumentException("Position is not " + rows + "x" + cols);
+        }
+        GameState root = new GameState(rows, cols, winCondition);
+        root.load(board, toMove);
+        if (root.isGameOver() || depth < 1) {
+            return new Counts(Math.max(0, depth));
+        }
+        int empty = rows * cols - countStones(board);
+        int splitDepth = 0; // Eddig a mélységig bontunk feladatokra
+        long tasks = 1;
+        while (splitDepth < Math.min(depth, empty) - 1 && tasks < (long) threads * TASKS_PER_THREAD) {
+            tasks *= empty - splitDepth;
+            splitDepth++;
+        }
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            return pool.invoke(new Task(copy(board), toMove, 0, depth, splitDepth));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Egy részfa bejárása: a felosztási mélységig lépésenként új feladatot indít, alatta szekvenciálisan számol.
+     */
+    private final class Task extends RecursiveTask<Counts> {
+        private static final long serialVersionUID = 1L;
+        private final char[][] board;
+        private final char toMove;
+        private final int ply;
+        private final int depth;
+        private final int splitDepth;
+
+        Task(char[][] board, char toMove, int ply, int depth, int splitDepth) {
+            this.board = board;
+            this.toMove = toMove;
+            this.ply = ply;
+            this.depth = depth;
+            this.splitDepth = splitDepth;
+        }
+
+        @Override
+        protected Counts compute() {
+            Walker walker = backend == Backend.STATE ? new StateWalker(depth) : new BitWalker();
+            walker.load(board, toMove);
+            Counts counts = new Counts(depth);
+            if (ply >= splitDepth) {
+                walker.count(ply, depth, counts);
+                return counts;
+            }
+            int[] moves = new int[rows * cols];
+            int count = walker.moves(moves);
+            List<Task> children = new ArrayList<>(count);
+            char next = toMove == 'X' ? 'O' : 'X';
+            for (int i = 0; i < count; i++) {
+                int result = walker.play(moves[i]);
+                counts.record(ply + 1, result);
+                if (result == CONTINUE && ply + 1 < depth) {
+                    children.add(new Task(walker.snapshot(), next, ply + 1, depth, splitDepth));
+                }
+                walker.undo(moves[i]);
+            }
+            for (Task child : invokeAll(children)) {
+                counts.add(child.join());
+            }
+            return counts;
+        }
+    }
+
+    /**
+     * Egy szabálymotoron lépkedő bejáró. A count() a szekvenciális bejárás; a többi művelet a feladatokra bontáshoz kell.
+     */
+    private abstract class Walker {
+        abstract void load(char[][] board, char toMove);
+
+        /**
+         * A szabályos lépések cellaindexei (sor * oszlopszám + oszlop).
+         */
+        abstract int moves(int[] buffer);
+
+        /**
+         * Megteszi a lépést, és visszaadja a játék állapotát utána (CONTINUE, X_WINS, O_WINS vagy DRAW).
+         */
+        abstract int play(int cell);
+
+        abstract void undo(int cell);
+
+        abstract char[][] snapshot();
+
+        /**
+         * Bejárja a részfát a ply mélységű aktuális állásból, és a számokat a counts-ba gyűjti.
+         */
+        abstract void count(int ply, int depth, Counts counts);
+    }
+
+    /**
+     * Bejárás a GameState-tel: applyMove, a győzelem az utolsó kövön átmenő vonalakon, undo.
+     */
+    private final class StateWalker extends Walker {
+        private final GameState state = new GameState(rows, cols, winCondition);
+        private final int[][] buffers; // Mélységenként előre lefoglalt lépéslista
+
+        StateWalker(int depth) {
+            buffers = new int[depth + 1][rows * cols];
+        }
+
+        @Override
+        void load(char[][] board, char toMove) {
+            state.load(board, toMove);
+        }
+
+        @Override
+        int moves(int[] buffer) {
+            return state.legalMoves(buffer);
+        }
+
+        @Override
+        int play(int cell) {
+            state.applyMove(cell / cols, cell % cols);
+            return result(state.getResult());
+        }
+
+        @Override
+        void undo(int cell) {
+            state.undo();
+        }
+
+        @Override
+        char[][] snapshot() {
+            return copy(state.board());
+        }
+
+        @Override
+        void count(int ply, int depth, Counts counts) {
+            int[] moves = buffers[ply];
+            int count = state.legalMoves(moves);
+            for (int i = 0; i < count; i++) {
+                state.applyMove(moves[i] / cols, moves[i] % cols);
+                int result = result(state.getResult());
+                counts.record(ply + 1, result);
+                if (result == CONTINUE && ply + 1 < depth) {
+                    count(ply + 1, depth, counts);
+                }
+                state.undo();
+            }
+        }
+
+        private int result(GameState.Result result) {
+            switch (result) {
+                case X_WINS: return X_WINS;
+                case O_WINS: return O_WINS;
+                case DRAW: return DRAW;
+                default: return CONTINUE;
+            }
+        }
+    }
+
+    /**
+     * Bejárás az AI motorok bittábláján: place, hasWonThrough az utolsó cellára, clear.
+     */
+    private final class BitWalker extends Walker {
+        private final BitBoard bits = new BitBoard(rows, winCondition);
+        private char toMove; // A soron következő játékos
+
+        @Override
+        void load(char[][] board, char toMove) {
+            bits.load(board);
+            this.toMove = toMove;
+        }
+
+        @Override
+        int moves(int[] buffer) {
+            int count = 0;
+            for (long empty = bits.emptyBits(); empty != 0; empty &= empty - 1) {
+                buffer[count++] = Long.numberOfTrailingZeros(empty);
+            }
+            return count;
+        }
+
+        @Override
+        int play(int cell) {
+            char mover = toMove;
+            bits.place(cell, mover);
+            toMove = mover == 'X' ? 'O' : 'X';
+            return bits.hasWonThrough(mover, cell) ? (mover == 'X' ? X_WINS : O_WINS)
+                    : bits.isFull() ? DRAW : CONTINUE;
+        }
+
+        @Override
+        void undo(int cell) {
+            bits.clear(cell);
+            toMove = toMove == 'X' ? 'O' : 'X';
+        }
+
+        @Override
+        char[][] snapshot() {
+            char[][] board = new char[rows][cols];
+            bits.store(board);
+            return board;
+        }
+
+        @Override
+        void count(int ply, int depth, Counts counts) {
+            char mover = toMove;
+            char next = mover == 'X' ? 'O' : 'X';
+            int win = mover == 'X' ? X_WINS : O_WINS;
+            for (long empty = bits.emptyBits(); empty != 0; empty &= empty - 1) {
+                int cell = Long.numberOfTrailingZeros(empty);
+                bits.place(cell, mover);
+                int result = bits.hasWonThrough(mover, cell) ? win : bits.isFull() ? DRAW : CONTINUE;
+                counts.record(ply + 1, result);
+                if (result == CONTINUE && ply + 1 < depth) {
+                    toMove = next;
+                    count(ply + 1, depth, counts);
+                    toMove = mover;
+                }
+                bits.clear(cell);
+            }
+        }
+    }
+
+    private static int countStones(char[][] board) {
+        int stones = 0;
+        for (char[] row : board) {
+            for (char cell : row) {
+                stones += cell != 0 ? 1 : 0;
+            }
+        }
+        return stones;
+    }
+
+    private static char[][] copy(char[][] board) {
+        char[][] copy = new char[board.length][];
+        for (int row = 0; row < board.length; row++) {
+            copy[row] = board[row].clone();
+        }
+        return copy;
+    }
+
+    public static void main(String[] args) {
+        int rows = 3;
+        int cols = 3;
+        int k = 3;
+        int depth = -1;
+        String position = null;
+        char toMove = 0;
+        Backend backend = Backend.STATE;
+        int threads = Runtime.getRuntime().availableProcessors();
+        for (int i = 0; i < args.length; i++) {
+            String value = i + 1 < args.length ? args[i + 1] : "";
+            switch (args[i]) {
+                case "--size":
+                    String[] size = value.split("x");
+                    rows = Integer.parseInt(size[0]);
+                    cols = Integer.parseInt(size[size.length - 1]);
+                    break;
+                case "--k": k = Integer.parseInt(value); break;
+                case "--depth": depth = Integer.parseInt(value); break;
+                case "--position": position = value; break;
+                case "--turn": toMove = Character.toUpperCase(value.charAt(0)); break;
+                case "--backend": backend = Backend.valueOf(value.toUpperCase(Locale.ROOT)); break;
+                case "--threads": threads = Integer.parseInt(value); break;
+                default:
+                    System.err.println("Usage: java Logic.Perft [--size N|RxC] [--k K] [--depth N]"
+                            + " [--position X.O/.X./...] [--turn X|O] [--backend state|bitboard] [--threads T]");
+                    System.exit(2);
+            }
+            i++;
+        }
+        char[][] board = position == null ? new char[rows][cols] : GameState.parseBoard(position);
+        rows = board.length;
+        cols = board[0].length;
+        int stones = countStones(board);
+        if (toMove == 0) {
+            toMove = stones % 2 == 0 ? 'X' : 'O'; // X kezd
+        }
+        if (depth < 0) {
+            depth = rows * cols - stones; // A játszmák végéig
+        }
+
+        Perft perft = new Perft(rows, cols, k, backend);
+        perft.setThreads(threads);
+        long start = System.nanoTime();
+        Counts counts = perft.run(board, toMove, depth);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%5s %15s %15s %15s %15s%n", "depth", "nodes", "X wins", "O wins", "draws");
+        for (int d = 1; d <= counts.getDepth(); d++) {
+            System.out.printf("%5d %15d %15d %15d %15d%n", d, counts.getNodes(d), counts.getXWins(d),
+                    counts.getOWins(d), counts.getDraws(d));
+        }
+        System.out.printf("%5s %15d %15d %15d %15d%n", "total", counts.getNodes(), counts.getXWins(),
+                counts.getOWins(), counts.getDraws());
+        System.out.printf(Locale.ROOT, "%d games, %d nodes in %.3f s: %,.0f nodes/s (%s, %d threads)%n",
+                counts.getGames(), counts.getNodes(), seconds, counts.getNodes() / Math.max(seconds, 1e-9),
+                backend.name().toLowerCase(Locale.ROOT), threads);
+    }
+}
@@ -0,0 +1,60 @@
+package Logic;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+class PerftTest {
+    // A 3x3-as tábla teljes fája mélységenként: állások, X győzelmek, O győzelmek, döntetlenek
+    private static final long[][] TIC_TAC_TOE = {
+        {9, 0, 0, 0},
+        {72, 0, 0, 0},
+        {504, 0, 0, 0},
+        {3024, 0, 0, 0},
+        {15120, 1440, 0, 0},
+        {54720, 0, 5328, 0},
+        {148176, 47952, 0, 0},
+        {200448, 0, 72576, 0},
+        {127872, 81792, 0, 46080}
+    };
+
+    @Test
+    void testFullTicTacToeTree() {
+        for (Perft.Backend backend : Perft.Backend.values()) {
+            for (int threads : new int[]{1, 3}) {
+                Perft perft = new Perft(3, 3, 3, backend);
+                perft.setThreads(threads);
+                Perft.Counts counts = perft.run(new char[3][3], 'X', 9);
+                for (int depth = 1; depth <= 9; depth++) {
+                    long[] expected = TIC_TAC_TOE[depth - 1];
+                    assertEquals(expected[0], counts.getNodes(depth));
+                    assertEquals(expected[1], counts.getXWins(depth));
+                    assertEquals(expected[2], counts.getOWins(depth));
+                    assertEquals(expected[3], counts.getDraws(depth));
+                }
+                assertEquals(255168, counts.getGames());
+                assertEquals(549945, counts.getNodes());
+            }
+        }
+    }
+
+    @Test
+    void testBackendsAgreeFromPosition() {
+        char[][] board = GameState.parseBoard("X.../.O../..X./....");
+        Perft.Counts state = new Perft(4, 4, 3, Perft.Backend.STATE).run(board, 'O', 5);
+        Perft.Counts bits = new Perft(4, 4, 3, Perft.Backend.BITBOARD).run(board, 'O', 5);
+        assertEquals(13, state.getNodes(1)); // 13 üres mező
+        for (int depth = 1; depth <= 5; depth++) {
+            assertEquals(state.getNodes(depth), bits.getNodes(depth));
+            assertEquals(state.getXWins(depth), bits.getXWins(depth));
+            assertEquals(state.getOWins(depth), bits.getOWins(depth));
+            assertEquals(state.getDraws(depth), bits.getDraws(depth));
+        }
+        assertTrue(state.getXWins() > 0); // X-nek a 3. kővel már lehet sora
+    }
+
+    @Test
+    void testFinishedPositionHasNoChildren() {
+        Perft.Counts counts = new Perft(3, 3, 3, Perft.Backend.STATE).run(GameState.parseBoard("XXX/OO./..."), 'O', 4);
+        assertEquals(0, counts.getNodes());
+    }
+}
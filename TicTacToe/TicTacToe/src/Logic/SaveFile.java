@@ -0,0 +1,267 @@
+package Logic;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InvalidClassException;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * A SaveFile osztály a játék tömör, verziózott bináris mentésformátumát valósítja meg.
+ * <p>
+ * Felépítés (big-endian): "TTTS" azonosító, verzió (1 bájt), sorok és oszlopok száma, győzelmi
+ * feltétel, játékmód (0 = PvP, 1 = PvAI), soron következő játékos (1 bájt mindegyik), X és O
+ * győzelmei (int), a tábla cellánként 2 biten (0 = üres, 1 = X, 2 = O), végül a megelőző bájtok
+ * CRC32 ellenőrzőösszege. Egy 5x5-ös mentés 29 bájt. Az 1-es verzió (csak négyzetes tábla,
+ * egyetlen méret bájt) továbbra is olvasható.
+ * <p>
+ * A régi, Java szerializációval írt mentéseket az olvasó felismeri, szigorú szűrővel betölti,
+ * és azonnal átírja az új formátumba, így a deszerializáció legfeljebb egyszer fut le.
+ */
+public final class SaveFile {
+    private static final int MAGIC = 0x54545453; // "TTTS"
+    private static final byte VERSION = 2;
+    private static final byte VERSION_SQUARE = 1; // Régi formátum: egyetlen méret bájt
+    private static final int HEADER_SIZE = 4 + 1 + 5 + 4 + 4; // azonosító, verzió, 5 bájt beállítás, győzelmek
+    private static final short JAVA_SERIALIZATION_MAGIC = (short) 0xACED;
+    private static final int LEGACY_MAX_BYTES = 1 << 20; // A régi mentések is jóval kisebbek ennél
+    static final String PLAYER_VS_AI = "Player vs AI";
+    static final String PLAYER_VS_PLAYER = "Player vs Player";
+    /** A régi mentésekben csak a GamePanel és a Swing/AWT osztályai fordulhatnak elő. */
+    private static final ObjectInputFilter LEGACY_FILTER = ObjectInputFilter.Config.createFilter(
+            "maxdepth=64;maxrefs=100000;maxbytes=1048576;"
+            + "Logic.GamePanel;javax.swing.**;java.awt.**;java.lang.*;java.util.*;java.beans.*;"
+            + "sun.swing.**;sun.awt.**;[C;[[C;[I;[Ljava.lang.Object;!*");
+
+    /**
+     * Egy betöltött mentés tartalma.
+     */
+    public static final class Snapshot {
+        private final GameState state;
+        private final String gameMode;
+        private final int xWins;
+        private final int oWins;
+
+        Snapshot(GameState state, String gameMode, int xWins, int oWins) {
+            this.state = state;
+            this.gameMode = gameMode;
+            this.xWins = xWins;
+            this.oWins = oWins;
+        }
+
+        public GameState getState() {
+            return state;
+        }
+
+        public String getGameMode() {
+            return gameMode;
+        }
+
+        public int getXWins() {
+            return xWins;
+        }
+
+        public int getOWins() {
+            return oWins;
+        }
+    }
+
+    private SaveFile() {
+    }
+
+    /**
+     * Kiírja a játékot. Először egy ideiglenes fájlba ír, majd átnevezi, így összeomláskor sem sérül a régi mentés.
+     *
+     * @param path     A mentés helye.
+     * @param state    A játék állapota.
+     * @param gameMode A játékmód.
+     * @param xWins    X győzelmeinek száma.
+     * @param oWins    O győzelmeinek száma.
+     * @throws IOException Ha a fájl nem írható.
+     */
+    public static void write(Path path, GameState state, String gameMode, int xWins, int oWins) throws IOException {
+        SaveGameEvent event = new SaveGameEvent();
+        event.begin();
+        ByteBuffer buffer = encode(state, gameMode, xWins, oWins);
+        try {
+            event.bytes = buffer.remaining();
+            Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE,
+                    StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(true);
+            }
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            event.error = e.toString();
+            throw e;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.path = path.toString();
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * Beolvassa a mentést; régi formátum esetén átalakítja és visszaírja az új formátumban.
+     *
+     * @param path A mentés helye.
+     * @return A mentés tartalma.
+     * @throws IOException Ha a fájl nem olvasható, sérült vagy ismeretlen formátumú.
+     */
+    public static Snapshot read(Path path) throws IOException {
+        LoadGameEvent event = new LoadGameEvent();
+        event.begin();
+        try {
+            ByteBuffer buffer;
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                long size = channel.size();
+                if (size > LEGACY_MAX_BYTES) {
+                    throw new IOException("Save file too large: " + size + " bytes");
+                }
+                buffer = ByteBuffer.allocate((int) size);
+                while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                    // Olvasás, amíg a puffer meg nem telik
+                }
+                buffer.flip();
+            }
+            event.bytes = buffer.remaining();
+            if (buffer.remaining() >= 2 && buffer.getShort(0) == JAVA_SERIALIZATION_MAGIC) {
+                event.legacy = true;
+                Snapshot snapshot = readLegacy(buffer);
+                write(path, snapshot.getState(), snapshot.getGameMode(), snapshot.getXWins(), snapshot.getOWins());
+                return snapshot;
+            }
+            return decode(buffer);
+        } catch (IOException e) {
+            event.error = e.toString();
+            throw e;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.path = path.toString();
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * A játék bináris alakja.
+     */
+    static ByteBuffer encode(GameState state, String gameMode, int xWins, int oWins) {
+        int boardBytes = boardBytes(state.getRows(), state.getCols());
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + boardBytes + 4);
+        buffer.putInt(MAGIC);
+        buffer.put(VERSION);
+        buffer.put((byte) state.getRows());
+        buffer.put((byte) state.getCols());
+        buffer.put((byte) state.getWinCondition());
+        buffer.put((byte) (PLAYER_VS_AI.equals(gameMode) ? 1 : 0));
+        buffer.put((byte) state.getCurrentPlayer());
+        buffer.putInt(xWins);
+        buffer.putInt(oWins);
+        putBoard(buffer, state);
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), 0, buffer.position());
+        buffer.putInt((int) crc.getValue());
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * A bináris alak visszafejtése, ellenőrzőösszeggel.
+     */
+    static Snapshot decode(ByteBuffer buffer) throws IOException {
+        if (buffer.remaining() < HEADER_SIZE - 1 + 4 || buffer.getInt() != MAGIC) {
+            throw new IOException("Not a Tic-Tac-Toe save file");
+        }
+        byte version = buffer.get();
+        if (version != VERSION && version != VERSION_SQUARE) {
+            throw new IOException("Unsupported save file version: " + version);
+        }
+        int rows = buffer.get() & 0xFF;
+        int cols = version == VERSION_SQUARE ? rows : buffer.get() & 0xFF;
+        int winCondition = buffer.get();
+        String gameMode = buffer.get() == 1 ? PLAYER_VS_AI : PLAYER_VS_PLAYER;
+        char currentPlayer = (char) buffer.get();
+        int xWins = buffer.getInt();
+        int oWins = buffer.getInt();
+        int boardBytes = boardBytes(rows, cols);
+        if (rows < 1 || cols < 1 || winCondition < 1 || winCondition > Math.max(rows, cols)
+                || buffer.remaining() != boardBytes + 4
+                || (currentPlayer != 'X' && currentPlayer != 'O')) {
+            throw new IOException("Corrupted save file");
+        }
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), 0, buffer.position() + boardBytes);
+        char[][] board = getBoard(buffer, rows, cols);
+        if (buffer.getInt() != (int) crc.getValue()) {
+            throw new IOException("Save file checksum mismatch");
+        }
+        GameState state = new GameState(rows, cols, winCondition);
+        state.load(board, currentPlayer);
+        return new Snapshot(state, gameMode, xWins, oWins);
+    }
+
+    /**
+     * @return A tábla tömörített hossza bájtban (cellánként 2 bit).
+     */
+    static int boardBytes(int rows, int cols) {
+        return (rows * cols + 3) / 4;
+    }
+
+    /**
+     * Kiírja a táblát cellánként 2 biten (0 = üres, 1 = X, 2 = O).
+     */
+    static void putBoard(ByteBuffer buffer, GameState state) {
+        int cols = state.getCols();
+        int cells = state.getRows() * cols;
+        int packed = 0;
+        for (int cell = 0; cell < cells; cell++) {
+            char c = state.getCell(cell / cols, cell % cols);
+            packed |= (c == 'X' ? 1 : c == 'O' ? 2 : 0) << ((cell & 3) * 2);
+            if ((cell & 3) == 3 || cell == cells - 1) {
+                buffer.put((byte) packed);
+                packed = 0;
+            }
+        }
+    }
+
+    /**
+     * Beolvassa a putBoard által kiírt táblát.
+     */
+    static char[][] getBoard(ByteBuffer buffer, int rows, int cols) {
+        char[][] board = new char[rows][cols];
+        for (int cell = 0; cell < rows * cols; cell++) {
+            int bits = (buffer.get(buffer.position() + cell / 4) >> ((cell & 3) * 2)) & 3;
+            board[cell / cols][cell % cols] = bits == 1 ? 'X' : bits == 2 ? 'O' : 0;
+        }
+        buffer.position(buffer.position() + boardBytes(rows, cols));
+        return board;
+    }
+
+    /**
+     * Régi (a teljes GamePanel-t Java szerializációval tartalmazó) mentés betöltése szigorú szűrővel.
+     */
+    private static Snapshot readLegacy(ByteBuffer buffer) throws IOException {
+        try (ObjectInputStream in = new ObjectInputStream(
+                new ByteArrayInputStream(buffer.array(), buffer.position(), buffer.remaining()))) {
+            in.setObjectInputFilter(LEGACY_FILTER);
+            GamePanel legacy = (GamePanel) in.readObject();
+            return new Snapshot(legacy.state, legacy.getGameMode(), legacy.getXWins(), legacy.getOWins());
+        } catch (ClassNotFoundException | ClassCastException | InvalidClassException e) {
+            throw new IOException("Unreadable legacy save file: " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package Logic;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+class SaveFileTest {
+    private Path dir;
+    private Path file;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        dir = Files.createTempDirectory("tictactoe-save");
+        file = dir.resolve("tictactoe_save.dat");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+        Files.deleteIfExists(dir.resolve("tictactoe_save.dat.tmp"));
+        Files.deleteIfExists(dir);
+    }
+
+    @Test
+    void testRoundTrip() throws IOException {
+        GameState state = new GameState(5, 4);
+        state.applyMove(2, 2); // X
+        state.applyMove(0, 4); // O
+        state.applyMove(4, 0); // X
+        SaveFile.write(file, state, "Player vs AI", 3, 2);
+        assertEquals(29, Files.size(file)); // 18 bájt fejléc, 7 bájt tábla, 4 bájt CRC
+
+        SaveFile.Snapshot snapshot = SaveFile.read(file);
+        GameState loaded = snapshot.getState();
+        assertEquals(5, loaded.getRows());
+        assertEquals(5, loaded.getCols());
+        assertEquals(4, loaded.getWinCondition());
+        assertEquals('O', loaded.getCurrentPlayer());
+        assertEquals('X', loaded.getCell(2, 2));
+        assertEquals('O', loaded.getCell(0, 4));
+        assertEquals('X', loaded.getCell(4, 0));
+        assertEquals(0, loaded.getCell(1, 1));
+        assertEquals("Player vs AI", snapshot.getGameMode());
+        assertEquals(3, snapshot.getXWins());
+        assertEquals(2, snapshot.getOWins());
+    }
+
+    @Test
+    void testCorruptedFileIsRejected() throws IOException {
+        SaveFile.write(file, new GameState(3, 3), "Player vs Player", 0, 0);
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length - 6] ^= 0x01; // Egy cella bitje megváltozik
+        Files.write(file, bytes);
+        assertThrows(IOException.class, () -> SaveFile.read(file));
+    }
+
+    @Test
+    void testLegacySaveIsMigrated() throws Exception {
+        GamePanel panel = new GamePanel("Player vs AI", "3x3");
+        panel.state.applyMove(1, 1); // X
+        try (ObjectOutputStream out = new ObjectOutputStream(Files.newOutputStream(file))) {
+            out.writeObject(panel);
+        }
+
+        SaveFile.Snapshot snapshot = SaveFile.read(file);
+        assertEquals('X', snapshot.getState().getCell(1, 1));
+        assertEquals('O', snapshot.getState().getCurrentPlayer());
+        assertEquals("Player vs AI", snapshot.getGameMode());
+
+        byte[] migrated = Files.readAllBytes(file);
+        assertEquals('T', migrated[0]); // Az új formátumban írtuk vissza
+        assertEquals('X', SaveFile.read(file).getState().getCell(1, 1));
+    }
+
+    @Test
+    void testSaveAndLoadEmitFlightRecorderEvents() throws IOException {
+        Path recordingFile = dir.resolve("events.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("tictactoe.SaveGame");
+            recording.enable("tictactoe.LoadGame");
+            recording.start();
+            SaveFile.write(file, new GameState(5, 4), "Player vs AI", 0, 0);
+            SaveFile.read(file);
+            recording.stop();
+            recording.dump(recordingFile);
+        }
+        try {
+            List<RecordedEvent> events = RecordingFile.readAllEvents(recordingFile);
+            RecordedEvent save = find(events, "tictactoe.SaveGame");
+            RecordedEvent load = find(events, "tictactoe.LoadGame");
+            assertEquals(29, save.getLong("bytes"));
+            assertEquals(29, load.getLong("bytes"));
+            assertFalse(load.getBoolean("legacy"));
+            assertEquals(file.toString(), load.getString("path"));
+            assertNull(save.getString("error"));
+        } finally {
+            Files.deleteIfExists(recordingFile);
+        }
+    }
+
+    private static RecordedEvent find(List<RecordedEvent> events, String name) {
+        for (RecordedEvent event : events) {
+            if (event.getEventType().getName().equals(name)) {
+                return event;
+            }
+        }
+        fail("No " + name + " event");
+        return null;
+    }
+}
@@ -0,0 +1,29 @@
+package Logic;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Java Flight Recorder esemény egy mentésről (SaveFile.write): a kiírt bájtok és az írás ideje, az fsync-kel együtt.
+ */
+@Name("tictactoe.SaveGame")
+@Label("Save Game")
+@Category({"TicTacToe", "Game"})
+@Description("Writing the save file")
+@StackTrace(false)
+final class SaveGameEvent extends Event {
+    @Label("Path")
+    String path;
+
+    @Label("Bytes")
+    @DataAmount
+    long bytes;
+
+    @Label("Error")
+    String error;
+}
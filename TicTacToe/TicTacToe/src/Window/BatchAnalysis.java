@@ -0,0 +1,306 @@
+package Window;
+
+import AI.AIParent;
+import AI.Arena;
+import AI.BitBoard;
+import Logic.GameState;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A BatchAnalysis osztály felület nélkül elemez állásokat: soronként olvassa őket a bemenetről, párhuzamosan
+ * kiértékeli egy AI motorral, és minden sorra kiírja a legjobb lépést és az értéket, a bemenet sorrendjében.
+ * <p>
+ * Egy sor jelölése: "méret k tábla [lépő]", pl. "3 3 X.O/.X./... O" vagy "6x7 4 ......./... X". A méret N
+ * (négyzetes) vagy SORxOSZLOP, a tábla sorait '/' választja el, az üres mező '.'; ha a lépő hiányzik, a kövek
+ * számából adódik (X kezd). A kimenet soronként: a bemeneti sor, tabulátor, "sor,oszlop" (vagy "-", ha a játék
+ * már véget ért), tabulátor, az érték a lépő szemszögéből -1 és 1 között (vagy "?", ha a motor nem értékelt;
+ * kényszerlépésnél a lépés utáni állás értékét vesszük).
+ * A hibás sorokra "error" és az ok kerül a lépés és az érték helyére; az üres és a '#' kezdetű sorok változatlanul
+ * mennek tovább, így a kimenet sorai a bemenetével párba állíthatók.
+ * <p>
+ * A beolvasás, a kiértékelés és a kiírás külön szálakon fut. A folyamatban lévő sorok várakozási sora korlátos:
+ * ha a kiírás vagy a kiértékelés lemarad, a beolvasás megáll, így a memória a bemenet hosszától független.
+ * Minden munkaszál szabályonként és lépőnként egy motort tart, és azt soronként újrahasznosítja; a legrégebben
+ * használtakat eldobja, ha a bemenetben sokféle szabály szerepel.
+ */
+public final class BatchAnalysis {
+    private static final int QUEUE_PER_THREAD = 4; // Ennyi sor lehet szálanként folyamatban
+    private static final int SEATS_PER_THREAD = 8; // Ennyi motort tart meg egy munkaszál
+
+    private final String engineSpec; // A motor leírása (lásd Arena.engine), vagy "auto"
+    private final long moveMillis; // Az időkeret állásonként
+    private final int threads; // A munkaszálak száma
+    private final ThreadLocal<Map<String, Seat>> seats = ThreadLocal.withInitial(SeatCache::new);
+
+    /**
+     * Egy munkaszál motorja adott szabályokra és lépőre, a saját táblájával.
+     */
+    private static final class Seat {
+        private final GameState state; // Az állás ellenőrzéséhez
+        private final char[][] board; // A motor táblája
+        private final AIParent engine;
+
+        Seat(GameState state, char[][] board, AIParent engine) {
+            this.state = state;
+            this.board = board;
+            this.engine = engine;
+        }
+    }
+
+    /**
+     * Egy munkaszál motorjai a legutóbbi használat sorrendjében; a legrégebben használtat eldobja,
+     * így a motorok (és a tábláik) száma nem nő a bemenetben előforduló szabályokkal.
+     */
+    private static final class SeatCache extends LinkedHashMap<String, Seat> {
+        private static final long serialVersionUID = 1L;
+
+        SeatCache() {
+            super(16, 0.75f, true); // Hozzáférési sorrend
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Seat> eldest) {
+            return size() > SEATS_PER_THREAD;
+        }
+    }
+
+    /**
+     * Konstruktor az elemzés inicializálására.
+     *
+     * @param engineSpec A motor: "auto" (3x3-on, 3 egy sorban a tökéletes kereső, legfeljebb 64 cellás négyzetes
+     *                   táblán alfa-béta, különben Monte Carlo), vagy egy Arena.engine() szerinti leírás,
+     *                   pl. "alphabeta:depth=6" vagy "mcts".
+     * @param moveMillis Az időkeret állásonként ezredmásodpercben.
+     * @param threads    A munkaszálak száma (legalább 1).
+     */
+    public BatchAnalysis(String engineSpec, long moveMillis, int threads) {
+        if (!engineSpec.equals("auto")) {
+            Arena.engine(engineSpec); // A hibás leírás már itt kiderül
+        }
+        this.engineSpec = engineSpec;
+        this.moveMillis = Math.max(1, moveMillis);
+        this.threads = Math.max(1, threads);
+    }
+
+    /**
+     * Elemzi a bemenet összes sorát, és az eredményeket a bemenet sorrendjében kiírja.
+     *
+     * @param in  A bemenet (soronként egy állás).
+     * @param out A kimenet (nem zárja le, csak üríti).
+     * @return A beolvasott sorok száma.
+     * @throws IOException          Ha az olvasás vagy az írás nem sikerül.
+     * @throws InterruptedException Ha a várakozást megszakították.
+     */
+    public long run(BufferedReader in, Writer out) throws IOException, InterruptedException {
+        BlockingQueue<Future<String>> pending = new ArrayBlockingQueue<>(threads * QUEUE_PER_THREAD);
+        Future<String> end = CompletableFuture.completedFuture(null); // A bemenet végét jelzi
+        ExecutorService workers = Executors.newFixedThreadPool(threads, task -> {
+            Thread thread = new Thread(task, "tictactoe-analysis");
+            thread.setDaemon(true);
+            return thread;
+        });
+        AtomicReference<IOException> failure = new AtomicReference<>(); // Az írás első hibája
+        Thread writer = new Thread(() -> {
+            try {
+                for (Future<String> next = pending.take(); next != end; next = pending.take()) {
+                    if (failure.get() != null) {
+                        continue; // Hiba után csak ürítjük a sort, hogy a beolvasás ne akadjon el
+                    }
+                    try {
+                        out.write(next.get());
+                        out.write('\n');
+                        if (pending.isEmpty()) {
+                            out.flush(); // Ha nincs kész következő sor, ami megvan, menjen tovább
+                        }
+                    } catch (IOException e) {
+                        failure.set(e);
+                    } catch (ExecutionException e) {
+                        failure.set(new IOException("Analysis failed", e.getCause()));
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            try {
+                out.flush(); // Hiba esetén is kimegy, ami addig elkészült
+            } catch (IOException e) {
+                failure.compareAndSet(null, e);
+            }
+        }, "tictactoe-analysis-writer");
+        writer.start();
+
+        long lines = 0;
+        try {
+            for (String line = in.readLine(); line != null; line = in.readLine()) {
+                String position = line;
+                pending.put(workers.submit(() -> analyse(position))); // Teli sornál itt vár: visszanyomás
+                lines++;
+                if (failure.get() != null) {
+                    break;
+                }
+            }
+        } finally {
+            pending.put(end);
+            writer.join();
+            workers.shutdownNow();
+        }
+        if (failure.get() != null) {
+            throw failure.get();
+        }
+        return lines;
+    }
+
+    /**
+     * Elemez egy bemeneti sort a hívó szál motorjával.
+     *
+     * @param line A sor.
+     * @return A kimeneti sor.
+     */
+    String analyse(String line) {
+        String position = line.trim();
+        if (position.isEmpty() || position.startsWith("#")) {
+            return line;
+        }
+        try {
+            String[] parts = position.split("\\s+");
+            if (parts.length < 3 || parts.length > 4) {
+                throw new IllegalArgumentException("Expected: <size> <k> <board> [X|O]");
+            }
+            String[] size = parts[0].toLowerCase(Locale.ROOT).split("x");
+            int rows = Integer.parseInt(size[0]);
+            int cols = Integer.parseInt(size[size.length - 1]);
+            int k = Integer.parseInt(parts[1]);
+            char[][] board = GameState.parseBoard(parts[2]);
+            if (board.length != rows || board[0].length != cols) {
+                throw new IllegalArgumentException("Board is not " + rows + "x" + cols);
+            }
+            int stones = 0;
+            for (char[] row : board) {
+                for (char cell : row) {
+                    stones += cell != 0 ? 1 : 0;
+                }
+            }
+            char toMove = parts.length > 3 ? Character.toUpperCase(parts[3].charAt(0)) : stones % 2 == 0 ? 'X' : 'O';
+            if (toMove != 'X' && toMove != 'O') {
+                throw new IllegalArgumentException("Side to move must be X or O: " + parts[3]);
+            }
+
+            Seat seat = seat(rows, cols, k, toMove);
+            seat.state.load(board, toMove);
+            if (seat.state.isGameOver()) {
+                return position + "\t-\t" + format(score(seat.state.getResult(), toMove));
+            }
+            int[] move = search(seat, board);
+            double score = seat.engine.getLastScore();
+            if (Double.isNaN(score)) {
+                // Kényszerlépésnél (pl. blokkolásnál) a motor nem értékel: a lépés utáni állás értéke dönt
+                char opponent = toMove == 'X' ? 'O' : 'X';
+                board[move[0]][move[1]] = toMove;
+                Seat reply = seat(rows, cols, k, opponent);
+                reply.state.load(board, opponent);
+                if (reply.state.isGameOver()) {
+                    score = -score(reply.state.getResult(), opponent);
+                } else {
+                    search(reply, board);
+                    score = -reply.engine.getLastScore();
+                }
+            }
+            return position + "\t" + move[0] + "," + move[1] + "\t" + format(score);
+        } catch (RuntimeException e) { // Egy hibás sor (vagy motorhiba) nem állítja le a többi elemzését
+            return position + "\terror\t" + (e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+        }
+    }
+
+    private Seat seat(int rows, int cols, int k, char toMove) {
+        String key = rows + "x" + cols + "k" + k + toMove;
+        Seat seat = seats.get().get(key);
+        if (seat == null) {
+            GameState state = new GameState(rows, cols, k); // A szabályok ellenőrzése
+            char[][] board = new char[rows][cols];
+            String spec = engineSpec;
+            if (spec.equals("auto")) {
+                spec = rows == 3 && cols == 3 && k == 3 ? "perfect"
+                        : rows == cols && rows * cols <= BitBoard.MAX_CELLS ? "alphabeta" : "mcts";
+            }
+            AIParent engine = Arena.engine(spec).create(board, toMove, toMove == 'X' ? 'O' : 'X', k, moveMillis);
+            seat = new Seat(state, board, engine);
+            seats.get().put(key, seat);
+        }
+        return seat;
+    }
+
+    private static int[] search(Seat seat, char[][] board) {
+        for (int row = 0; row < board.length; row++) {
+            System.arraycopy(board[row], 0, seat.board[row], 0, board[row].length);
+        }
+        seat.engine.resume();
+        return seat.engine.getBestMove();
+    }
+
+    /**
+     * A véget ért játszma értéke a lépő szemszögéből.
+     */
+    private static double score(GameState.Result result, char toMove) {
+        if (result == GameState.Result.DRAW) {
+            return 0;
+        }
+        return (result == GameState.Result.X_WINS) == (toMove == 'X') ? 1 : -1;
+    }
+
+    private static String format(double score) {
+        return Double.isNaN(score) ? "?" : String.format(Locale.ROOT, "%.3f", score + 0.0); // -0.0 helyett 0
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        String engine = "auto";
+        long time = 100;
+        int threads = Runtime.getRuntime().availableProcessors();
+        String input = "-";
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--engine": engine = args[++i]; break;
+                case "--time": time = Long.parseLong(args[++i]); break;
+                case "--threads": threads = Integer.parseInt(args[++i]); break;
+                default:
+                    if (args[i].startsWith("--")) {
+                        System.err.println("Usage: java Window.BatchAnalysis [--engine auto|alphabeta[:...]|mcts[:...]"
+                                + "|perfect] [--time ms] [--threads T] [file|-]");
+                        System.exit(2);
+                    }
+                    input = args[i];
+            }
+        }
+        BatchAnalysis analysis = new BatchAnalysis(engine, time, threads);
+        long start = System.nanoTime();
+        long lines;
+        try (BufferedReader in = input.equals("-")
+                ? new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8))
+                : Files.newBufferedReader(Paths.get(input), StandardCharsets.UTF_8)) {
+            Writer out = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8), 1 << 16);
+            lines = analysis.run(in, out);
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.err.printf(Locale.ROOT, "%d lines in %.1f s (%.1f lines/s, %s, %d threads)%n", lines, seconds,
+                lines / Math.max(seconds, 1e-9), engine, threads);
+    }
+}
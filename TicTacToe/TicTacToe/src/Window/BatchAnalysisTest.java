@@ -0,0 +1,78 @@
+package Window;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+
+class BatchAnalysisTest {
+
+    @Test
+    void testStreamsResultsInInputOrder() throws IOException, InterruptedException {
+        StringBuilder input = new StringBuilder("# elemzés\n");
+        for (int i = 0; i < 40; i++) {
+            input.append("3 3 OO./X.X/X.. O\n"); // O nyer a (0, 2) mezővel
+            input.append("3 3 XXX/OO./...\n"); // Véget ért: X nyert, O következne
+            input.append("4 3 X.../.O../..../.... X\n");
+            input.append("3 3 XX/.../...\n");
+        }
+        StringWriter output = new StringWriter();
+        long lines = new BatchAnalysis("auto", 20, 3).run(new BufferedReader(new StringReader(input.toString())),
+                output);
+        assertEquals(161, lines);
+
+        String[] results = output.toString().split("\n");
+        assertEquals(161, results.length);
+        assertEquals("# elemzés", results[0]);
+        for (int i = 0; i < 40; i++) {
+            assertEquals("3 3 OO./X.X/X.. O\t0,2\t1.000", results[1 + 4 * i]);
+            assertEquals("3 3 XXX/OO./...\t-\t-1.000", results[2 + 4 * i]);
+            String[] analysed = results[3 + 4 * i].split("\t");
+            assertEquals("4 3 X.../.O../..../.... X", analysed[0]);
+            assertTrue(analysed[1].matches("\\d,\\d"));
+            assertTrue(results[4 + 4 * i].startsWith("3 3 XX/.../...\terror\t"));
+        }
+    }
+
+    @Test
+    void testPerfectEngineReportsExactScores() {
+        BatchAnalysis analysis = new BatchAnalysis("perfect", 20, 1);
+        assertTrue(analysis.analyse("3 3 .../.../...").endsWith("\t0.000")); // Döntetlen
+        assertTrue(analysis.analyse("3 3 XO./.../...").endsWith("\t1.000")); // X nyer
+        assertTrue(analysis.analyse("3 3 XO./.X./...").endsWith("\t-1.000")); // O blokkol, de X villát kap
+    }
+
+    @Test
+    void testAutoPlaysPerfectOn3x3() {
+        BatchAnalysis analysis = new BatchAnalysis("auto", 20, 1);
+        // Kényszerlépés (blokkolás) a tökéletes keresővel: a tábla eredménye adja az értéket, nem "?"
+        assertEquals("3 3 X.O/.X./..O X\t1,2\t0.000", analysis.analyse("3 3 X.O/.X./..O X"));
+    }
+
+    @Test
+    void testBadLinesReportErrors() throws IOException, InterruptedException {
+        BatchAnalysis analysis = new BatchAnalysis("auto", 20, 1);
+        assertTrue(analysis.analyse("0 3 /").startsWith("0 3 /\terror\t"));
+        assertTrue(analysis.analyse("3 3 .../.../... Z").startsWith("3 3 .../.../... Z\terror\t"));
+        assertTrue(analysis.analyse("3 3 .../...").startsWith("3 3 .../...\terror\t"));
+
+        StringWriter output = new StringWriter();
+        new BatchAnalysis("auto", 20, 2).run(new BufferedReader(new StringReader("0 3 /\n3 3 XX./OO./... X\n")),
+                output);
+        String[] results = output.toString().split("\n");
+        assertTrue(results[0].startsWith("0 3 /\terror\t"));
+        assertEquals("3 3 XX./OO./... X\t0,2\t1.000", results[1]);
+    }
+
+    @Test
+    void testLargeBoardUsesMonteCarlo() {
+        String line = "6x7 4 ......./......./......./...X.../......./....... O";
+        String[] result = new BatchAnalysis("auto", 20, 1).analyse(line).split("\t");
+        assertEquals(line, result[0]);
+        String[] move = result[1].split(",");
+        assertTrue(Integer.parseInt(move[0]) < 6 && Integer.parseInt(move[1]) < 7);
+    }
+}
@@ -2,7 +2,12 @@ package Window;
 
 import javax.swing.*;
 import Logic.GamePanel;
+import Logic.MoveJournal;
 import java.awt.*;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.io.IOException;
+import java.nio.file.Paths;
 
 /**
  * A MainWindow osztály az alkalmazás főablakát valósítja meg.
@@ -11,16 +16,19 @@ import java.awt.*;
  */
 public class MainWindow extends JFrame {
     private static final long serialVersionUID = 1L;
+    private static final String JOURNAL_FILE = "tictactoe_journal.dat"; // A lépésnapló helye
     private GamePanel gamePanel; // A játékot kezelő panel
     private String gameMode; // A kiválasztott játékmód (Player vs Player vagy Player vs AI)
-    private String boardSize; // A tábla mérete (3x3 vagy 5x5)
+    private String boardSize; // A tábla mérete (pl. 3x3, 6x7 vagy 15x15)
     private JLabel winCounterLabel; // A győzelmek számlálóját megjelenítő címke
+    private JLabel statusLabel; // Az AI állapotát megjelenítő címke
+    private StatsOverlay statsOverlay; // Az AI keresés mérőszámait mutató debug réteg
 
     /**
      * Konstruktor a MainWindow inicializálásához.
      *
      * @param gameMode  A kiválasztott játékmód (Player vs Player vagy Player vs AI).
-     * @param boardSize A kiválasztott tábla mérete (3x3 vagy 5x5).
+     * @param boardSize A kiválasztott tábla mérete (pl. 3x3, 6x7 vagy 15x15).
      */
     public MainWindow(String gameMode, String boardSize) {
         this.gameMode = gameMode;
@@ -33,6 +41,10 @@ public class MainWindow extends JFrame {
         setLocationRelativeTo(null);
         setLayout(new BorderLayout());
 
+        // Debug réteg az ablak fölött (alapból rejtett, a menüből kapcsolható)
+        statsOverlay = new StatsOverlay();
+        setGlassPane(statsOverlay);
+
         // Menü inicializálása
         initializeMenu();
 
@@ -61,7 +73,7 @@ public class MainWindow extends JFrame {
         restartButton.addActionListener(e -> gamePanel.startNewGame());
 
         // End gomb funkciója: Alkalmazás bezárása
-        endButton.addActionListener(e -> System.exit(0));
+        endButton.addActionListener(e -> exit());
 
         // Gombok hozzáadása és távolság beállítása
         controlPanel.add(saveButton);
@@ -76,15 +88,32 @@ public class MainWindow extends JFrame {
         winCounterLabel = new JLabel("X Wins: 0 | O Wins: 0");
         winCounterLabel.setFont(new Font("Arial", Font.BOLD, 14));
         winCounterPanel.add(winCounterLabel, BorderLayout.CENTER);
+        statusLabel = new JLabel(" ");
+        statusLabel.setFont(new Font("Arial", Font.ITALIC, 14));
+        winCounterPanel.add(statusLabel, BorderLayout.EAST);
 
         // Panelek hozzáadása a főablakhoz
         add(controlPanel, BorderLayout.EAST);
         add(winCounterPanel, BorderLayout.SOUTH);
+
+        fitToBoard();
+
+        // Bezáráskor a futó AI keresést is leállítjuk
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent e) {
+                gamePanel.shutdown();
+            }
+        });
+
+        // Lépésnapló: összeomlás után a befejezetlen játék innen folytatódik
+        openJournal();
     }
 
     /**
      * A menü inicializálása a főablakhoz.
-     * Tartalmaz új játék indítását, játék mentését, betöltését, valamint kilépést.
+     * Tartalmaz új játék indítását, játék mentését, betöltését, az előrekeresés és a debug réteg kapcsolóját,
+     * valamint kilépést.
      */
     private void initializeMenu() {//föablak JMenu-je, nem a nagy főmenű
         JMenuBar menuBar = new JMenuBar(); // Menü sáv létrehozása
@@ -102,14 +131,24 @@ public class MainWindow extends JFrame {
         JMenuItem loadGameItem = new JMenuItem("Load Game");
         loadGameItem.addActionListener(e -> loadGame());
 
+        // "Ponder" menüpont: az AI az ember idejében is keres
+        JCheckBoxMenuItem ponderItem = new JCheckBoxMenuItem("Ponder");
+        ponderItem.addActionListener(e -> gamePanel.setPondering(ponderItem.isSelected()));
+
+        // "Debug Overlay" menüpont: az AI keresés mérőszámai az ablak fölött
+        JCheckBoxMenuItem overlayItem = new JCheckBoxMenuItem("Debug Overlay");
+        overlayItem.addActionListener(e -> statsOverlay.setVisible(overlayItem.isSelected()));
+
         // "Exit" menüpont: Alkalmazás bezárása
         JMenuItem exitItem = new JMenuItem("Exit");
-        exitItem.addActionListener(e -> System.exit(0));
+        exitItem.addActionListener(e -> exit());
 
         // Menüpontok hozzáadása a menühöz
         gameMenu.add(newGameItem);
         gameMenu.add(saveGameItem);
         gameMenu.add(loadGameItem);
+        gameMenu.add(ponderItem);
+        gameMenu.add(overlayItem);
         gameMenu.add(exitItem);
 
         // Menü hozzáadása a menüsávhoz
@@ -119,6 +158,40 @@ public class MainWindow extends JFrame {
         setJMenuBar(menuBar);
     }
 
+    /**
+     * A lépésnapló megnyitása és a játékhoz kapcsolása; ha nem nyitható meg, naplózás nélkül játszunk.
+     * Az fsync szabálya a tictactoe.journal.sync (EVERY_RECORD, BATCHED, OS) és
+     * a tictactoe.journal.batchMillis rendszerváltozóval állítható.
+     */
+    private void openJournal() {
+        try {
+            MoveJournal.SyncPolicy policy = MoveJournal.SyncPolicy.valueOf(
+                    System.getProperty("tictactoe.journal.sync", MoveJournal.SyncPolicy.BATCHED.name()));
+            long batchMillis = Long.getLong("tictactoe.journal.batchMillis", 200);
+            gamePanel.attachJournal(MoveJournal.open(Paths.get(JOURNAL_FILE), policy, batchMillis));
+        } catch (IOException | IllegalArgumentException e) {
+            JOptionPane.showMessageDialog(this, "Move journal disabled: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Kilépés: előbb leállítjuk az AI-t és lezárjuk a naplót.
+     */
+    private void exit() {
+        gamePanel.shutdown();
+        System.exit(0);
+    }
+
+    /**
+     * Az ablak méretét a táblához igazítja (legalább 600x400), és középre helyezi.
+     * Betöltéskor is hívjuk, mert a mentett tábla mérete eltérhet.
+     */
+    public void fitToBoard() {
+        pack();
+        setSize(Math.max(getWidth(), 600), Math.max(getHeight(), 400));
+        setLocationRelativeTo(null);
+    }
+
     /**
      * A győzelmek számlálójának frissítése a játéktól kapott adatok alapján.
      *
@@ -129,6 +202,15 @@ public class MainWindow extends JFrame {
         winCounterLabel.setText("X Wins: " + xWins + " | O Wins: " + oWins);
     }
 
+    /**
+     * Az AI "gondolkodik" állapotának megjelenítése.
+     *
+     * @param thinking Gondolkodik-e az AI.
+     */
+    public void setThinking(boolean thinking) {
+        statusLabel.setText(thinking ? "AI is thinking..." : " ");
+    }
+
     /**
      * Játék betöltése fájlból.
      * A GamePanel objektumot frissíti a mentett állapot alapján.
@@ -1,6 +1,7 @@
 package Window;
 
 import javax.swing.*;
+import Logic.GamePanel;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
@@ -32,7 +33,9 @@ public class MenuFrame extends JFrame {
 
         // Játékmódok és tábla méretek inicializálása
         String[] gameModes = {"Player vs Player", "Player vs AI"};
-        String[] boardSizes = {"3x3", "5x5"};
+        // "sorok x oszlopok (győzelmi feltétel)"; a GamePanel ebből építi fel a táblát
+        String[] boardSizes = {"3x3", "4x4 (4 in a row)", "5x5 (4 in a row)", "6x7 (4 in a row)",
+                "8x8 (5 in a row)", "10x10 (5 in a row)", "15x15 (5 in a row)", "19x19 (5 in a row)", GamePanel.INFINITE_BOARD};
 
         // GUI elemek létrehozása
         modeComboBox = new JComboBox<>(gameModes); // Játékmód választó
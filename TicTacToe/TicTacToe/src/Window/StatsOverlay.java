@@ -0,0 +1,72 @@
+package Window;
+
+import javax.swing.*;
+import AI.SearchMonitor;
+import AI.SearchStats;
+import java.awt.*;
+
+/**
+ * A StatsOverlay osztály a főablak debug rétege: az ablak fölé (üveglapként) rajzolja az utolsó AI keresés
+ * mérőszámait a SearchMonitor-ból. Egérkezelője nincs, így a kattintások átmennek rajta a táblára.
+ * Csak látható állapotban frissül (negyed másodpercenként).
+ */
+class StatsOverlay extends JComponent {
+    private static final long serialVersionUID = 1L;
+    private static final int REFRESH_MILLIS = 250; // A frissítés gyakorisága
+    private static final int PADDING = 6; // A szöveg és a háttér széle közti távolság
+
+    private final Timer refresh = new Timer(REFRESH_MILLIS, e -> repaint()); // Frissítés, amíg látható
+
+    StatsOverlay() {
+        setOpaque(false);
+        setFont(new Font(Font.MONOSPACED, Font.PLAIN, 12));
+    }
+
+    @Override
+    public void setVisible(boolean visible) {
+        super.setVisible(visible);
+        if (visible) {
+            refresh.start();
+        } else {
+            refresh.stop();
+        }
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        String[] lines = lines(SearchMonitor.get().getLastStats());
+        FontMetrics metrics = g.getFontMetrics(getFont());
+        int width = 0;
+        for (String line : lines) {
+            width = Math.max(width, metrics.stringWidth(line));
+        }
+        int height = lines.length * metrics.getHeight();
+        g.setColor(new Color(0, 0, 0, 170)); // Áttetsző háttér, hogy a tábla is látsszon
+        g.fillRect(0, 0, width + 2 * PADDING, height + 2 * PADDING);
+        g.setColor(Color.GREEN);
+        g.setFont(getFont());
+        for (int i = 0; i < lines.length; i++) {
+            g.drawString(lines[i], PADDING, PADDING + i * metrics.getHeight() + metrics.getAscent());
+        }
+    }
+
+    /**
+     * @return A megjelenítendő sorok.
+     */
+    private static String[] lines(SearchStats stats) {
+        if (stats == null) {
+            return new String[]{"No AI search yet"};
+        }
+        return new String[]{
+            stats.getEngine(),
+            String.format("nodes      %,d", stats.getNodes()),
+            String.format("nodes/s    %,d", stats.getNodesPerSecond()),
+            String.format("depth      %d", stats.getDepth()),
+            String.format("time       %.1f ms", stats.getElapsedNanos() / 1e6),
+            String.format("TT hits    %.1f%%", stats.getTableHitRate() * 100),
+            String.format("branching  %.2f", stats.getBranchingFactor()),
+            stats.getAllocatedBytes() < 0 ? "allocated  n/a"
+                    : String.format("allocated  %,d KB", stats.getAllocatedBytes() / 1024)
+        };
+    }
+}